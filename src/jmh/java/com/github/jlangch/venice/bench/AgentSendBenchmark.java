@@ -0,0 +1,133 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.bench;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jlangch.venice.impl.util.concurrent.Mailbox;
+import com.github.jlangch.venice.impl.util.concurrent.StripedExecutorService;
+import com.github.jlangch.venice.impl.util.concurrent.StripedRunnable;
+
+
+// Agent 'send' throughput: many threads sending actions to many agents.
+//
+// striped: the former agent executor, a StripedExecutorService that
+//          serializes every submission on a global lock
+// mailbox: a lock-free MPSC mailbox per agent with batch draining
+
+
+@Warmup(iterations=3, time=3, timeUnit=TimeUnit.SECONDS)
+@Measurement(iterations=3, time=10, timeUnit=TimeUnit.SECONDS)
+@Fork(1)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@State (Scope.Benchmark)
+@Threads (8)
+public class AgentSendBenchmark {
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final int threads = 2 + Runtime.getRuntime().availableProcessors();
+
+        stripedExecutor = new StripedExecutorService(Executors.newFixedThreadPool(threads));
+
+        mailboxExecutor = Executors.newFixedThreadPool(threads);
+        stripes = new Object[agents];
+        mailboxes = new Mailbox[agents];
+        for(int ii=0; ii<agents; ii++) {
+            stripes[ii] = new Object();
+            mailboxes[ii] = new Mailbox();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        stripedExecutor.shutdown();
+        stripedExecutor.awaitTermination(60, TimeUnit.SECONDS);
+
+        mailboxExecutor.shutdown();
+        mailboxExecutor.awaitTermination(60, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void striped() {
+        final int agent = ThreadLocalRandom.current().nextInt(agents);
+        stripedExecutor.execute(new StripedAction(stripes[agent], counter));
+    }
+
+    @Benchmark
+    public void mailbox() {
+        final int agent = ThreadLocalRandom.current().nextInt(agents);
+        mailboxes[agent].send(mailboxExecutor, counter::increment);
+    }
+
+
+    private static class StripedAction implements StripedRunnable {
+        public StripedAction(final Object stripe, final LongAdder counter) {
+            this.stripe = stripe;
+            this.counter = counter;
+        }
+
+        @Override
+        public Object getStripe() {
+            return stripe;
+        }
+
+        @Override
+        public void run() {
+            counter.increment();
+        }
+
+        private final Object stripe;
+        private final LongAdder counter;
+    }
+
+
+    @Param({"10", "1000"})
+    private int agents;
+
+    private final LongAdder counter = new LongAdder();
+
+    private StripedExecutorService stripedExecutor;
+    private ExecutorService mailboxExecutor;
+    private Object[] stripes;
+    private Mailbox[] mailboxes;
+}
@@ -0,0 +1,168 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2021 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.bench;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jlangch.venice.impl.util.csv.CSVReader;
+
+
+@Warmup(iterations=3, time=3, timeUnit=TimeUnit.SECONDS)
+@Measurement(iterations=3, time=10, timeUnit=TimeUnit.SECONDS)
+@Fork(1)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@State (Scope.Benchmark)
+@Threads (1)
+public class CsvReaderBenchmark {
+
+    public CsvReaderBenchmark() {
+        final StringBuilder sb = new StringBuilder();
+        for(int ii=0; ii<10_000; ii++) {
+            sb.append(ii)
+              .append(",\"Zurich\",\"Wipkingen, X-\"\"1\"\"\",ZH,,")
+              .append(ii * 31L)
+              .append(",3.1415\n");
+        }
+        csv = sb.toString();
+    }
+
+
+    @Benchmark
+    public List<List<String>> regex_parser() {
+        return new RegexCSVReader(',', '"').parse(csv);
+    }
+
+    @Benchmark
+    public List<List<String>> state_machine_parser() {
+        return new CSVReader(',', '"').parse(csv);
+    }
+
+    @Benchmark
+    public long state_machine_parser_streaming() {
+        // consumes the records without materializing the whole file
+        long fields = 0;
+        final Iterator<List<String>> iter = new CSVReader(',', '"').iterator(new StringReader(csv));
+        while(iter.hasNext()) {
+            fields += iter.next().size();
+        }
+        return fields;
+    }
+
+
+    /**
+     * The former regex based CSV reader, kept as a baseline.
+     */
+    private static class RegexCSVReader {
+
+        public RegexCSVReader(final char separator, final char quote) {
+            this.separator = String.valueOf(separator);
+            this.quote = String.valueOf(quote);
+
+            this.doubleQuotes = this.quote + this.quote;
+            this.matcher = Pattern.compile(makeRegex()).matcher("");
+        }
+
+        public List<List<String>> parse(final String csv) {
+            final List<List<String>> records = new ArrayList<>();
+
+            try(BufferedReader br = new BufferedReader(new StringReader(csv))) {
+                String l = br.readLine();
+                while(l != null) {
+                    final List<String> items = split(l);
+                    final List<String> parsedItems = new ArrayList<>();
+                    int ii = 0;
+                    while(ii<items.size()) {
+                        final String v = items.get(ii);
+                        if (v.equals(separator)) {
+                            parsedItems.add(null);
+                            ii += 1;
+                        }
+                        else {
+                            parsedItems.add(unquote(v));
+                            ii += 2;
+                        }
+                    }
+
+                    records.add(parsedItems);
+                    l = br.readLine();
+                }
+                return records;
+            }
+            catch(Exception ex) {
+                throw new RuntimeException("Failed to parse CSV", ex);
+            }
+        }
+
+        private List<String> split(final String line) {
+            matcher.reset(line);
+
+            final List<String> items = new ArrayList<>();
+            while (matcher.find()) {
+                items.add(unquote(matcher.group()));
+            }
+            return items;
+        }
+
+        private String unquote(final String item) {
+            if (item.startsWith(quote) && item.endsWith(quote)) {
+                return item.substring(1, item.length()-1).replace(doubleQuotes, quote);
+            }
+            else {
+                return item;
+            }
+        }
+
+        private String makeRegex() {
+            return String.format(
+                    "[%s]|[^%s%s]+|[%s](?:[^%s]|[%s][%s])*[%s]",
+                    separator, separator, quote, quote, quote, quote, quote, quote);
+        }
+
+
+        private final String separator;
+        private final String quote;
+        private final String doubleQuotes;
+        private final Matcher matcher;
+    }
+
+
+    private final String csv;
+}
@@ -92,6 +92,33 @@ public class EnvLocalBenchmark {
          return env_level_100.get(LOCAL_SYMBOL);
      }
 
+     @Benchmark
+     public Object env_010_lexical() {
+         return env_level_10.findLocalVar(LOCAL_SYMBOL, 9, 3);
+     }
+
+     @Benchmark
+     public Object env_100_lexical() {
+         return env_level_100.findLocalVar(LOCAL_SYMBOL, 99, 3);
+     }
+
+     @Benchmark
+     public Object env_global_cached() {
+         // the symbol's inline cache is valid after the first lookup
+         return env_level_10.getGlobalOrNull(GLOBAL_SYMBOL);
+     }
+
+     @Benchmark
+     public Object env_global_uncached() {
+         // a fresh symbol has no inline cache
+         return env_level_10.getGlobalOrNull(new VncSymbol("test/global"));
+     }
+
+     @Benchmark
+     public Object env_create_3_locals() {
+         return createEnv(env_level_1);
+     }
+
 
      private Env createEnv(final int levels) {
          Env env = createEnv(null);
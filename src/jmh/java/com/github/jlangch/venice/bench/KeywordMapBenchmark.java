@@ -0,0 +1,89 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncLong;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncHashMap;
+import com.github.jlangch.venice.impl.types.collections.VncMap;
+
+
+// Keyword keyed map lookups: interned keywords are compared by identity,
+// non interned keywords by their name.
+
+
+@Warmup(iterations=3, time=3, timeUnit=TimeUnit.SECONDS)
+@Measurement(iterations=3, time=10, timeUnit=TimeUnit.SECONDS)
+@Fork(1)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.NANOSECONDS)
+@State (Scope.Benchmark)
+@Threads (1)
+public class KeywordMapBenchmark {
+
+    public KeywordMapBenchmark() {
+        VncMap m = VncHashMap.empty();
+        for(int ii=0; ii<KEYS; ii++) {
+            m = m.assoc(VncKeyword.intern("key-" + ii), new VncLong(ii));
+        }
+        map = m;
+
+        interned = new VncKeyword[KEYS];
+        fresh = new VncKeyword[KEYS];
+        for(int ii=0; ii<KEYS; ii++) {
+            interned[ii] = VncKeyword.intern("key-" + ii);
+            fresh[ii] = new VncKeyword(new String("key-" + ii));
+        }
+    }
+
+    @Benchmark
+    public VncVal get_interned() {
+        return map.get(interned[index++ & (KEYS-1)]);
+    }
+
+    @Benchmark
+    public VncVal get_not_interned() {
+        return map.get(fresh[index++ & (KEYS-1)]);
+    }
+
+
+    private static final int KEYS = 16;
+
+    private final VncMap map;
+    private final VncKeyword[] interned;
+    private final VncKeyword[] fresh;
+    private int index = 0;
+}
@@ -63,15 +63,41 @@ public class PrecompileBenchmark {
         return state.venice.eval(state.precompiledMacroExpand, state.parameters);
     }
 
+    @Benchmark
+    public Object precompilation_macroexpand_analyzed(State_ state) {
+        return state.venice.eval(state.precompiledAnalyzed, state.parameters);
+    }
+
+    @Benchmark
+    public Object precompilation_macroexpand_loop(State_ state) {
+        return state.venice.eval(state.precompiledLoop, state.parameters);
+    }
+
+    @Benchmark
+    public Object precompilation_macroexpand_loop_analyzed(State_ state) {
+        return state.venice.eval(state.precompiledLoopAnalyzed, state.parameters);
+    }
+
     @State(Scope.Benchmark)
     public static class State_ {
         public String expr = "(+ (cond (< x 0) -1 (> x 0) 1 :else 0) " +
                              "   (cond (< y 0) -1 (> y 0) 1 :else 0) " +
                              "   (cond (< z 0) -1 (> z 0) 1 :else 0))";
 
+        public String loopExpr = "(loop [i 0, sum 0]                  " +
+                                 "  (if (< i 100)                     " +
+                                 "    (let [s (+ sum (cond (< x 0) -1 " +
+                                 "                         (> x 0) 1  " +
+                                 "                         :else 0))] " +
+                                 "      (recur (inc i) s))            " +
+                                 "    sum))                           ";
+
         public Venice venice = new Venice();
         public PreCompiled precompiledNoMacroExpand = venice.precompile("example", expr, false);
         public PreCompiled precompiledMacroExpand = venice.precompile("example", expr, true);
+        public PreCompiled precompiledAnalyzed = venice.precompile("example", expr, true, true);
+        public PreCompiled precompiledLoop = venice.precompile("example", loopExpr, true);
+        public PreCompiled precompiledLoopAnalyzed = venice.precompile("example", loopExpr, true, true);
         public Map<String,Object> parameters = Parameters.of("x", -10, "y", 0, "z", 10);
     }
 }
@@ -23,12 +23,19 @@ package com.github.jlangch.venice;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import com.github.jlangch.venice.impl.ast.Node;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.util.serialize.AstDecoder;
+import com.github.jlangch.venice.impl.util.serialize.AstEncoder;
+
 
 /**
  * Holds a pre-compiled Venice script
@@ -36,8 +43,18 @@ import java.util.zip.GZIPOutputStream;
 public class PreCompiled implements Serializable {
 
     public PreCompiled(final String name, final Object precompiled, final boolean macroexpand) {
+        this(name, precompiled, null, macroexpand);
+    }
+
+    public PreCompiled(
+            final String name,
+            final Object precompiled,
+            final Object analyzed,
+            final boolean macroexpand
+    ) {
         this.name = name;
         this.precompiled = precompiled;
+        this.analyzed = analyzed;
         this.macroexpand = macroexpand;
         this.version = Version.VERSION;
     }
@@ -58,17 +75,70 @@ public class PreCompiled implements Serializable {
         return precompiled;
     }
 
+    public boolean isAnalyzed() {
+        return analyzed != null;
+    }
+
     /**
-     * Serializes this pre-compiled Venice script
+     * @return the analyzed node tree or <code>null</code> if the script
+     *         has not been analyzed
+     */
+    public Object getAnalyzed() {
+        return analyzed;
+    }
+
+    /**
+     * Serializes this pre-compiled Venice script to the compact binary
+     * format with GZIP compression
      *
      * @return the serialized byte array
      */
     public byte[] serialize() {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        return serialize(true);
+    }
 
-        try (GZIPOutputStream gzos = new GZIPOutputStream(baos, true)) {
-            new ObjectOutputStream(gzos).writeObject(this);
-            gzos.flush();
+    /**
+     * Serializes this pre-compiled Venice script to the compact binary
+     * format.
+     *
+     * <p>The binary format holds the symbols, keywords, and strings in a
+     * string table and writes integers as variable length integers. It is
+     * considerably smaller and faster to deserialize than the Java
+     * serialization of the script. Uncompressed scripts are larger but
+     * deserialize faster.
+     *
+     * @param compress if true compress the serialized script with GZIP
+     * @return the serialized byte array
+     */
+    public byte[] serialize(final boolean compress) {
+        if (!(precompiled instanceof VncVal) || !(analyzed == null || analyzed instanceof Node)) {
+            // not created by 'Venice::precompile', the binary format does not apply
+            return serializeJava();
+        }
+
+        try {
+            final AstEncoder encoder = new AstEncoder();
+            encoder.writeString(name);
+            encoder.writeString(version);
+            encoder.writeBoolean(macroexpand);
+            encoder.writeValue((VncVal)precompiled);
+            encoder.writeBoolean(analyzed != null);
+            if (analyzed != null) {
+                encoder.writeNode((Node)analyzed);
+            }
+
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream(encoder.size() + 16);
+            baos.write(MAGIC);
+            baos.write(FORMAT_VERSION);
+            baos.write(compress ? COMPRESSION_GZIP : COMPRESSION_NONE);
+            if (compress) {
+                try (GZIPOutputStream gzos = new GZIPOutputStream(baos)) {
+                    gzos.write(encoder.toByteArray());
+                }
+            }
+            else {
+                baos.write(encoder.toByteArray());
+            }
             return baos.toByteArray();
         }
         catch (Exception ex) {
@@ -77,7 +147,10 @@ public class PreCompiled implements Serializable {
     }
 
     /**
-     * Deserializes a pre-compiled Venice script
+     * Deserializes a pre-compiled Venice script.
+     *
+     * <p>Accepts the compact binary format as well as the Java serialized
+     * format written by former Venice versions.
      *
      * @param precompiled a serialized, pre-compiled Venice script
      * @return the deserialized pre-compiled script
@@ -86,18 +159,94 @@ public class PreCompiled implements Serializable {
      *              does not match this Venice version
      */
     public static PreCompiled deserialize(final byte[] precompiled) {
-        final PreCompiled preCompiled = deserialize_(precompiled);
-        if (!preCompiled.version.equals(Version.VERSION)) {
+        if (!isBinaryFormat(precompiled)) {
+            final PreCompiled preCompiled = deserializeJava(precompiled);
+            checkVersion(preCompiled.version);
+            return preCompiled;
+        }
+
+        try {
+            final AstDecoder decoder = new AstDecoder(decompress(precompiled));
+            final String name = decoder.readString();
+            checkVersion(decoder.readString());
+            final boolean macroexpand = decoder.readBoolean();
+            final VncVal ast = decoder.readValue();
+            final Node analyzed = decoder.readBoolean() ? decoder.readNode() : null;
+            return new PreCompiled(name, ast, analyzed, macroexpand);
+        }
+        catch (IncompatibleVersionException ex) {
+            throw ex;
+        }
+        catch (Exception ex) {
+            throw new RuntimeException("Failed to deserialize pre-compiled Venice script", ex);
+        }
+    }
+
+
+    private static void checkVersion(final String version) {
+        if (!Version.VERSION.equals(version)) {
             throw new IncompatibleVersionException(String.format(
                     "Failed to deserialize pre-compiled Venice script. "
                         + "The pre-compiled version %s does not match this Venice version %s",
-                    preCompiled.version,
+                    version,
                     Version.VERSION));
         }
-        return preCompiled;
     }
 
-    private static PreCompiled deserialize_(final byte[] precompiled) {
+    private static boolean isBinaryFormat(final byte[] data) {
+        if (data.length < MAGIC.length + 2) {
+            return false;
+        }
+        for(int ii=0; ii<MAGIC.length; ii++) {
+            if (data[ii] != MAGIC[ii]) return false;
+        }
+        return true;
+    }
+
+    private static byte[] decompress(final byte[] data) throws IOException {
+        final int headerSize = MAGIC.length + 2;
+        final int format = data[MAGIC.length];
+        final int compression = data[MAGIC.length + 1];
+
+        if (format != FORMAT_VERSION) {
+            throw new IOException("Unsupported pre-compiled format version " + format);
+        }
+
+        if (compression == COMPRESSION_NONE) {
+            return Arrays.copyOfRange(data, headerSize, data.length);
+        }
+        else if (compression == COMPRESSION_GZIP) {
+            final ByteArrayInputStream bais = new ByteArrayInputStream(
+                                                    data, headerSize, data.length - headerSize);
+            try (GZIPInputStream gzis = new GZIPInputStream(bais)) {
+                final ByteArrayOutputStream baos = new ByteArrayOutputStream(data.length * 4);
+                final byte[] buf = new byte[8192];
+                int n;
+                while((n = gzis.read(buf)) >= 0) {
+                    baos.write(buf, 0, n);
+                }
+                return baos.toByteArray();
+            }
+        }
+        else {
+            throw new IOException("Unsupported pre-compiled compression " + compression);
+        }
+    }
+
+    private byte[] serializeJava() {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzos = new GZIPOutputStream(baos, true)) {
+            new ObjectOutputStream(gzos).writeObject(this);
+            gzos.flush();
+            return baos.toByteArray();
+        }
+        catch (Exception ex) {
+            throw new RuntimeException("Failed to serialize pre-compiled Venice script", ex);
+        }
+    }
+
+    private static PreCompiled deserializeJava(final byte[] precompiled) {
         final ByteArrayInputStream bais = new ByteArrayInputStream(precompiled);
 
         try (GZIPInputStream gzis = new GZIPInputStream(bais)) {
@@ -109,10 +258,16 @@ public class PreCompiled implements Serializable {
     }
 
 
+    private static final byte[] MAGIC = new byte[] { 'V', 'N', 'C', 'P' };
+    private static final int FORMAT_VERSION = 1;
+    private static final int COMPRESSION_NONE = 0;
+    private static final int COMPRESSION_GZIP = 1;
+
     private static final long serialVersionUID = -3044466744877602703L;
 
     private final String name;
     private final Object precompiled;
+    private final Object analyzed;
     private final String version;
     private final boolean macroexpand;
 }
@@ -26,19 +26,25 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.Reader;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import com.github.jlangch.venice.impl.IVeniceInterpreter;
 import com.github.jlangch.venice.impl.RunMode;
 import com.github.jlangch.venice.impl.VeniceInterpreter;
+import com.github.jlangch.venice.impl.ast.Node;
+import com.github.jlangch.venice.impl.debug.agent.DebugAgent;
 import com.github.jlangch.venice.impl.env.Env;
 import com.github.jlangch.venice.impl.env.Var;
 import com.github.jlangch.venice.impl.functions.ConcurrencyFunctions;
+import com.github.jlangch.venice.impl.functions.DagFunctions;
 import com.github.jlangch.venice.impl.functions.ScheduleFunctions;
 import com.github.jlangch.venice.impl.javainterop.JavaInteropUtil;
 import com.github.jlangch.venice.impl.thread.ThreadContext;
@@ -106,6 +112,31 @@ public class Venice {
             final String scriptName,
             final String script,
             final boolean macroexpand
+    ) {
+        return precompile(scriptName, script, macroexpand, false);
+    }
+
+    /**
+     * Pre-compiles a Venice script with optional up-front macro expansion
+     * and an optional analysis stage.
+     *
+     * <p>The analysis stage compiles the macroexpanded script to a tree of
+     * executable nodes with the special forms 'do', 'if', 'let', 'loop',
+     * and 'recur' resolved up-front. It requires up-front macro expansion.
+     *
+     * @param scriptName A mandatory script name
+     * @param script A mandatory script
+     * @param macroexpand If true expand macros up-front (this can speed-up
+     *                    execution significantly)
+     * @param analyze If true compile the macroexpanded script to a node
+     *                tree (requires <code>macroexpand</code> to be true)
+     * @return the pre-compiled script
+     */
+    public PreCompiled precompile(
+            final String scriptName,
+            final String script,
+            final boolean macroexpand,
+            final boolean analyze
     ) {
         if (StringUtil.isBlank(scriptName)) {
             throw new IllegalArgumentException("A 'scriptName' must not be blank");
@@ -113,6 +144,9 @@ public class Venice {
         if (StringUtil.isBlank(script)) {
             throw new IllegalArgumentException("A 'script' must not be blank");
         }
+        if (analyze && !macroexpand) {
+            throw new IllegalArgumentException("The analysis requires up-front macro expansion");
+        }
 
         final long nanos = System.nanoTime();
 
@@ -137,7 +171,9 @@ public class Venice {
                 ast = venice.MACROEXPAND(ast, env);
             }
 
-            final PreCompiled pc = new PreCompiled(scriptName, ast, macroexpand);
+            final Node analyzed = analyze ? venice.ANALYZE(ast, env) : null;
+
+            final PreCompiled pc = new PreCompiled(scriptName, ast, analyzed, macroexpand);
 
             meterRegistry.record("venice.precompile", System.nanoTime() - nanos);
 
@@ -177,40 +213,67 @@ public class Venice {
             throw new IllegalArgumentException("A 'precompiled' script must not be null");
         }
 
-        final long nanos = System.nanoTime();
-
-        try {
-            ThreadContext.clear(true);
-
-            final IVeniceInterpreter venice = new VeniceInterpreter(interceptor, meterRegistry);
-
-            return runWithSandbox(venice, () -> {
-                final Env env = addParams(getPrecompiledEnv(), params);
-
-                // re-init namespaces!
-                venice.initNS();
-                venice.sealSystemNS();
-
-                if (meterRegistry.enabled) {
-                    meterRegistry.record("venice.setup", System.nanoTime() - nanos);
-                }
-
-                final VncVal result = venice.EVAL((VncVal)precompiled.getPrecompiled(), env);
+        return evalPrecompiled(precompiled, () -> addParams(getPrecompiledEnv(), params));
+    }
 
-                final Object jResult = result.convertToJavaObject();
+    /**
+     * Evaluates a pre-compiled script with parameters in a global env that
+     * is retained by this Venice instance.
+     *
+     * <p>Unlike {@link #eval(PreCompiled, Map)} the global vars a script
+     * defines are kept. They are visible to the scripts subsequently
+     * evaluated with this method, e.g. a function defined by one script
+     * can be called by another script.
+     *
+     * <p>The parameters and the I/O streams are bound in a layer of the
+     * evaluation's own. They are neither retained nor visible to
+     * concurrent evaluations.
+     *
+     * @param precompiled A mandatory pre-compiled script
+     * @param params Optional parameters, bound as global vars of this
+     *               evaluation
+     * @param locals Optional parameters, bound as local vars that are
+     *               visible to this evaluation only
+     * @return the result
+     */
+    public Object evalRetained(
+            final PreCompiled precompiled,
+            final Map<String,Object> params,
+            final Map<String,Object> locals
+    ) {
+        if (precompiled == null) {
+            throw new IllegalArgumentException("A 'precompiled' script must not be null");
+        }
 
-                if (meterRegistry.enabled) {
-                    meterRegistry.record("venice.total", System.nanoTime() - nanos);
-                }
+        final Env retained = getRetainedEnv();
+        final AtomicReference<Env> evalEnv = new AtomicReference<>(null);
 
-                return jResult;
-            });
+        try {
+            return evalPrecompiled(
+                    precompiled,
+                    () -> {
+                        final Env env = addParams(retained.newEvaluationLayer(), params);
+                        evalEnv.set(env);
+                        return addLocals(env, locals);
+                    });
         }
         finally {
-            ThreadContext.clear(false);
+            // keep the global vars the script has defined
+            final Env env = evalEnv.get();
+            if (env != null) {
+                retained.retainGlobals(env, paramSymbols(params));
+            }
         }
     }
 
+    /**
+     * Discards the global vars retained by
+     * {@link #evalRetained(PreCompiled, Map, Map)}.
+     */
+    public void clearRetained() {
+        retainedEnv.set(null);
+    }
+
     /**
      * Evaluates a script with disabled up-front macro expansion
      *
@@ -330,9 +393,52 @@ public class Venice {
     public static void shutdownExecutorServices() {
         ConcurrencyFunctions.shutdown();
         ScheduleFunctions.shutdown();
+        DagFunctions.shutdown();
         Agent.shutdown();
     }
 
+    private Object evalPrecompiled(
+            final PreCompiled precompiled,
+            final Supplier<Env> envSupplier
+    ) {
+        final long nanos = System.nanoTime();
+
+        try {
+            ThreadContext.clear(true);
+
+            final IVeniceInterpreter venice = new VeniceInterpreter(interceptor, meterRegistry);
+
+            return runWithSandbox(venice, () -> {
+                final Env env = envSupplier.get();
+
+                // re-init namespaces!
+                venice.initNS();
+                venice.sealSystemNS();
+
+                if (meterRegistry.enabled) {
+                    meterRegistry.record("venice.setup", System.nanoTime() - nanos);
+                }
+
+                // use the analyzed node tree if available, an attached debug
+                // agent requires the AST walker's breakpoint hooks
+                final VncVal result = precompiled.isAnalyzed() && !DebugAgent.isAttached()
+                                        ? venice.EVAL((Node)precompiled.getAnalyzed(), env)
+                                        : venice.EVAL((VncVal)precompiled.getPrecompiled(), env);
+
+                final Object jResult = result.convertToJavaObject();
+
+                if (meterRegistry.enabled) {
+                    meterRegistry.record("venice.total", System.nanoTime() - nanos);
+                }
+
+                return jResult;
+            });
+        }
+        finally {
+            ThreadContext.clear(false);
+        }
+    }
+
     private Env createEnv(
             final IVeniceInterpreter venice,
             final boolean macroexpand,
@@ -387,6 +493,32 @@ public class Venice {
         return env;
     }
 
+    private Set<VncSymbol> paramSymbols(final Map<String,Object> params) {
+        final Set<VncSymbol> symbols = new HashSet<>();
+        symbols.add(new VncSymbol("*out*"));
+        symbols.add(new VncSymbol("*err*"));
+        symbols.add(new VncSymbol("*in*"));
+        if (params != null) {
+            params.keySet().forEach(k -> symbols.add(new VncSymbol(k)));
+        }
+        return symbols;
+    }
+
+    private Env addLocals(final Env env, final Map<String,Object> locals) {
+        if (locals == null || locals.isEmpty()) {
+            return env;
+        }
+
+        final Env localEnv = new Env(env, locals.size());
+        for(Map.Entry<String,Object> entry : locals.entrySet()) {
+            localEnv.setLocal(
+                new Var(
+                    new VncSymbol(entry.getKey()),
+                    JavaInteropUtil.convertToVncVal(entry.getValue())));
+        }
+        return localEnv;
+    }
+
     private PrintStream buildPrintStream(final Object val, final String type) {
         if (val == null) {
             return new PrintStream(new NullOutputStream());
@@ -507,6 +639,15 @@ public class Venice {
         return env.copyGlobalToPrecompiledSymbols();
     }
 
+    private Env getRetainedEnv() {
+        Env env = retainedEnv.get();
+        if (env == null) {
+            retainedEnv.compareAndSet(null, getPrecompiledEnv());
+            env = retainedEnv.get();
+        }
+        return env;
+    }
+
 
     private static ManagedCachedThreadPoolExecutor mngdExecutor =
             new ManagedCachedThreadPoolExecutor("venice-timeout-pool", 100);
@@ -514,6 +655,7 @@ public class Venice {
     private final IInterceptor interceptor;
     private final MeterRegistry meterRegistry;
     private final AtomicReference<Env> precompiledEnv = new AtomicReference<>(null);
+    private final AtomicReference<Env> retainedEnv = new AtomicReference<>(null);
     private final PrintStream stdout = new PrintStream(System.out, true);
     private final PrintStream stderr = new PrintStream(System.err, true);
     private final Reader stdin = new InputStreamReader(System.in);
@@ -45,6 +45,7 @@ import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ArityExceptions.FnType;
 import com.github.jlangch.venice.impl.util.CallFrame;
 import com.github.jlangch.venice.impl.util.CallFrameFnData;
+import com.github.jlangch.venice.impl.util.CallProfiler;
 import com.github.jlangch.venice.impl.util.CallStack;
 import com.github.jlangch.venice.impl.util.WithCallStack;
 
@@ -72,6 +73,10 @@ public class FunctionBuilder {
         // the namespace the function/macro is defined for
         final Namespace functionNS = Namespaces.getCurrentNamespace();
 
+        // The function closes over 'env'. Loop frames in 'env' must keep
+        // their current values, recur must not rebind them in place anymore.
+        env.captureLoopFrames();
+
         // Note: Do not switch to the functions own namespace for the function
         //       "core/macroexpand-all". Handle "macroexpand-all" like a special
         //       form. This allows expanding locally defined macros from the REPL
@@ -101,6 +106,22 @@ public class FunctionBuilder {
             public VncVal apply(final VncList args) {
                 final ThreadContext threadCtx = ThreadContext.get();
 
+                if (!macro && threadCtx.getMeterRegistry_().profiling) {
+                    final CallProfiler profiler = threadCtx.getMeterRegistry_().getProfiler();
+                    profiler.enter(getQualifiedName(), args.size());
+                    try {
+                        return apply_(args, threadCtx);
+                    }
+                    finally {
+                        profiler.exit();
+                    }
+                }
+                else {
+                    return apply_(args, threadCtx);
+                }
+            }
+
+            private VncVal apply_(final VncList args, final ThreadContext threadCtx) {
                 final CallFrameFnData callFrameFnData = threadCtx.getAndClearCallFrameFnData_();
 
                 if (hasVariadicArgs()) {
@@ -112,7 +133,8 @@ public class FunctionBuilder {
                     throwFixedArityException(this, args, callFrameFnData);
                 }
 
-                final Env localEnv = new Env(env);
+                // pre-sized local var slots for the fn params
+                final Env localEnv = new Env(env, paramArr.length);
 
                 addFnArgsToEnv(args, localEnv);
 
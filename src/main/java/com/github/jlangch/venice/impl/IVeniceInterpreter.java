@@ -23,6 +23,7 @@ package com.github.jlangch.venice.impl;
 
 import java.util.List;
 
+import com.github.jlangch.venice.impl.ast.Node;
 import com.github.jlangch.venice.impl.env.Env;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.util.CallFrame;
@@ -42,8 +43,12 @@ public interface IVeniceInterpreter {
 
     VncVal EVAL(VncVal ast, Env env);
 
+    VncVal EVAL(Node node, Env env);
+
     VncVal MACROEXPAND(VncVal ast, Env env);
 
+    Node ANALYZE(VncVal ast, Env env);
+
     VncVal RE(String script, String name, Env env);
 
     String PRINT(VncVal exp);
@@ -26,8 +26,10 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.github.jlangch.venice.Venice;
+import com.github.jlangch.venice.Version;
 import com.github.jlangch.venice.VncException;
 import com.github.jlangch.venice.impl.thread.ThreadContext;
+import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.util.io.ClassPathResource;
 import com.github.jlangch.venice.javainterop.IInterceptor;
 
@@ -56,6 +58,30 @@ public class ModuleLoader {
         }
     }
 
+    /**
+     * Returns the cached form of a module. The form is the module's source
+     * wrapped with <code>(eval ...)</code>, read and optionally macroexpanded.
+     *
+     * <p>The cache is process wide and keyed by the module name and the
+     * Venice version.
+     *
+     * @param module the module name
+     * @param macroexpanded if true returns the macroexpanded form else the
+     *                      plain read form
+     * @return the form or <code>null</code> if not cached
+     */
+    public static VncVal getCachedModuleForm(final String module, final boolean macroexpanded) {
+        return moduleForms.get(moduleFormKey(module, macroexpanded));
+    }
+
+    public static void cacheModuleForm(
+            final String module,
+            final boolean macroexpanded,
+            final VncVal form
+    ) {
+        moduleForms.put(moduleFormKey(module, macroexpanded), form);
+    }
+
     public static String loadClasspathFile(final String file) {
         // For security reasons just allow to load venice scripts!
         if (!file.endsWith(".venice")) {
@@ -128,7 +154,13 @@ public class ModuleLoader {
     }
 
 
+    private static String moduleFormKey(final String module, final boolean macroexpanded) {
+        return module + "@" + Version.VERSION + (macroexpanded ? ":expanded" : ":read");
+    }
+
+
     private static final Map<String,String> modules = new ConcurrentHashMap<>();
+    private static final Map<String,VncVal> moduleForms = new ConcurrentHashMap<>();
     private static final Map<String,String> classpathFiles = new ConcurrentHashMap<>();
     private static final Map<String,String> externalFiles = new ConcurrentHashMap<>();
 }
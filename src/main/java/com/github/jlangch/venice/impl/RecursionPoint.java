@@ -25,6 +25,7 @@ import java.util.List;
 
 import com.github.jlangch.venice.impl.debug.agent.DebugAgent;
 import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.env.LoopVar;
 import com.github.jlangch.venice.impl.types.VncSymbol;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.collections.VncList;
@@ -34,6 +35,7 @@ public class RecursionPoint {
 
     public RecursionPoint(
             final List<VncSymbol> loopBindingNames,
+            final LoopVar[] loopVars,
             final VncList loopExpressions,
             final Env loopEnv,
             final VncVal meta,
@@ -41,6 +43,7 @@ public class RecursionPoint {
     ) {
         this.loopBindingNames = loopBindingNames;
         this.loopBindingNamesCount = loopBindingNames.size();
+        this.loopVars = loopVars;
         this.loopExpressions = loopExpressions;
         this.loopEnv = loopEnv;
         this.meta = meta;
@@ -68,6 +71,46 @@ public class RecursionPoint {
         return loopEnv;
     }
 
+    /**
+     * Rebinds the single loop var for the next iteration.
+     *
+     * @param val the new value
+     * @return the env for the next iteration
+     */
+    public Env recur(final VncVal val) {
+        nextIteration();
+        loopVars[0].rebind(val);
+        return loopEnv;
+    }
+
+    /**
+     * Rebinds two loop vars for the next iteration.
+     *
+     * @param val1 the first new value
+     * @param val2 the second new value
+     * @return the env for the next iteration
+     */
+    public Env recur(final VncVal val1, final VncVal val2) {
+        nextIteration();
+        loopVars[0].rebind(val1);
+        loopVars[1].rebind(val2);
+        return loopEnv;
+    }
+
+    /**
+     * Rebinds the loop vars for the next iteration.
+     *
+     * @param vals the new values
+     * @return the env for the next iteration
+     */
+    public Env recur(final VncVal[] vals) {
+        nextIteration();
+        for(int ii=0; ii<vals.length; ii++) {
+            loopVars[ii].rebind(vals[ii]);
+        }
+        return loopEnv;
+    }
+
     public VncVal getMeta() {
         return meta;
     }
@@ -81,10 +124,25 @@ public class RecursionPoint {
     }
 
 
+    private void nextIteration() {
+        // The loop vars are rebound in place unless a closure has captured
+        // the current loop frame. The captured frame keeps its values and
+        // the loop continues with a new frame.
+        if (loopEnv.isCapturedLoopFrame()) {
+            final Env env = new Env(loopEnv.parent(), loopBindingNamesCount, true);
+            for(int ii=0; ii<loopBindingNamesCount; ii++) {
+                loopVars[ii] = env.setLoopLocal(loopVars[ii].getName(), loopVars[ii].getVal());
+            }
+            loopEnv = env;
+        }
+    }
+
+
     private final List<VncSymbol> loopBindingNames;
     private final int loopBindingNamesCount;
+    private final LoopVar[] loopVars;
     private final VncList loopExpressions;
-    private final Env loopEnv;
+    private Env loopEnv;
     private final VncVal meta;
     private final DebugAgent debugAgent;
 }
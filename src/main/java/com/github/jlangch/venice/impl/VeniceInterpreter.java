@@ -42,10 +42,14 @@ import com.github.jlangch.venice.NotInTailPositionException;
 import com.github.jlangch.venice.SecurityException;
 import com.github.jlangch.venice.Version;
 import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.ast.Analyzer;
+import com.github.jlangch.venice.impl.ast.Node;
+import com.github.jlangch.venice.impl.ast.NodeContext;
 import com.github.jlangch.venice.impl.debug.agent.DebugAgent;
 import com.github.jlangch.venice.impl.debug.breakpoint.BreakpointFnRef;
 import com.github.jlangch.venice.impl.env.ComputedVar;
 import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.env.LoopVar;
 import com.github.jlangch.venice.impl.env.Var;
 import com.github.jlangch.venice.impl.functions.CoreFunctions;
 import com.github.jlangch.venice.impl.functions.Functions;
@@ -81,6 +85,7 @@ import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ArityExceptions.FnType;
 import com.github.jlangch.venice.impl.util.CallFrame;
 import com.github.jlangch.venice.impl.util.CallFrameFnData;
+import com.github.jlangch.venice.impl.util.CallProfiler;
 import com.github.jlangch.venice.impl.util.CallStack;
 import com.github.jlangch.venice.impl.util.CollectionUtil;
 import com.github.jlangch.venice.impl.util.MeterRegistry;
@@ -150,6 +155,8 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
                                         this.meterRegistry,
                                         this.sealedSystemNS);
 
+        this.nodeContext = new NodeContext(this::evaluate, this::applyFunction);
+
         ThreadContext.setInterceptor(interceptor);
         ThreadContext.setMeterRegistry(mr);
 
@@ -208,6 +215,24 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
         }
     }
 
+    @Override
+    public VncVal EVAL(final Node node, final Env env) {
+        // locals on the env levels below the node tree shadow the globals
+        final NodeContext ctx = env.level() > 0
+                                    ? nodeContext().withOuterLocals()
+                                    : nodeContext();
+
+        if (meterRegistry.enabled) {
+            final long nanos = System.nanoTime();
+            final VncVal val = node.eval(ctx, env);
+            meterRegistry.record("venice.eval", System.nanoTime() - nanos);
+            return val;
+        }
+        else {
+            return node.eval(ctx, env);
+        }
+    }
+
     @Override
     public VncVal MACROEXPAND(final VncVal ast, final Env env) {
         return macroexpand_all(
@@ -216,6 +241,25 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
                     env);
     }
 
+    @Override
+    public Node ANALYZE(final VncVal ast, final Env env) {
+        if (DebugAgent.isAttached()) {
+            // the analyzed nodes do not call the debugger's breakpoint
+            // hooks of the 'if', 'let', and 'loop' special forms
+            return null;
+        }
+
+        if (meterRegistry.enabled) {
+            final long nanos = System.nanoTime();
+            final Node node = new Analyzer(env).analyze(ast);
+            meterRegistry.record("venice.analyze", System.nanoTime() - nanos);
+            return node;
+        }
+        else {
+            return new Analyzer(env).analyze(ast);
+        }
+    }
+
     @Override
     public VncVal RE(
             final String script,
@@ -484,8 +528,6 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
                                 assertMinArity("loop", FnType.SpecialForm, args, 2);
                             }
                         }
-                        env = new Env(env);
-
                         final VncVector bindings = Coerce.toVncVector(args.first());
                         final VncList expressions = args.rest();
 
@@ -496,13 +538,18 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
                             }
                         }
 
-                        final List<VncSymbol> bindingNames = new ArrayList<>(bindings.size() / 2);
+                        // the loop frame's vars are rebound in place on recur
+                        final int bindingCount = bindings.size() / 2;
+                        env = new Env(env, bindingCount, true);
+
+                        final List<VncSymbol> bindingNames = new ArrayList<>(bindingCount);
+                        final LoopVar[] loopVars = new LoopVar[bindingCount];
                         final Iterator<VncVal> bindingsIter = bindings.iterator();
                         while(bindingsIter.hasNext()) {
                             final VncSymbol sym = Coerce.toVncSymbol(bindingsIter.next());
                             final VncVal val = evaluate(bindingsIter.next(), env, false);
 
-                            env.setLocal(new Var(sym, val));
+                            loopVars[bindingNames.size()] = env.setLoopLocal(sym, val);
                             bindingNames.add(sym);
                         }
 
@@ -511,6 +558,7 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
 
                         recursionPoint = new RecursionPoint(
                                                 bindingNames,
+                                                loopVars,
                                                 expressions,
                                                 env,
                                                 a0meta,
@@ -631,7 +679,9 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
                             if (optimized) {
                                 // evaluate function args
                                 final VncList fnArgs = (VncList)evaluate_sequence_values(args, env);
-                                return fn.apply(fnArgs);
+                                return meterRegistry.profiling && fn.isNative()
+                                        ? applyProfiled(fn, fnName, fnArgs)
+                                        : fn.apply(fnArgs);
                             }
                             else {
                                 final ThreadContext threadCtx = ThreadContext.get();
@@ -647,19 +697,7 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
 
                                 final long nanos = meterRegistry.enabled ? System.nanoTime() : 0L;
 
-                                // validate function call allowed by sandbox
-                                if (checkSandbox) {
-                                    final CallFrame cf = new CallFrame(fnName, fnArgs, a0meta, env);
-                                    try (WithCallStack cs = new WithCallStack(cf)) {
-                                        interceptor.validateVeniceFunction(fnName);
-                                    }
-                                    interceptor.validateMaxExecutionTime();
-                                }
-
-                                final Thread currThread = Thread.currentThread();
-
-                                InterruptChecker.checkInterrupted(currThread, fn);
-
+                                validateFunctionCall(fn, fnName, fnArgs, a0meta, env);
 
                                 // Automatic TCO (tail call optimization)
                                 if (tailPosition
@@ -681,57 +719,9 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
                                 }
                                 else {
                                     // invoke function with a new call frame
-                                    try {
-                                        if (fn.isNative()) {
-                                            callStack.push(new CallFrame(fnName, fnArgs, a0meta, env));
-
-                                            if (debugAgent != null && debugAgent.hasBreakpointFor(new BreakpointFnRef(fnName))) {
-                                                // Debugging handled for native functions only.
-                                                env.setLocal(new Var(new VncSymbol("debug::fn-args"), fnArgs));
-                                                try {
-                                                    debugAgent.onBreakFnEnter(fnName, fn, fnArgs, env, callStack);
-                                                    final VncVal retVal = fn.apply(fnArgs);
-                                                    debugAgent.onBreakFnExit(fnName, fn, fnArgs, retVal, env, callStack);
-                                                    return retVal;
-                                                }
-                                                catch(Exception ex) {
-                                                    debugAgent.onBreakFnException(fnName, fn, fnArgs, ex, env, callStack);
-                                                    throw ex;
-                                                }
-                                            }
-                                            else {
-                                                return fn.apply(fnArgs);
-                                            }
-                                        }
-                                        else {
-                                            // Debugging for non native functions is handled in the
-                                            // implementation of VncFunction::apply. See the builder
-                                            // FunctionBuilder::buildFunction(..)
-                                            threadCtx.setCallFrameFnData_(new CallFrameFnData(fnName, a0meta));
-                                            return fn.apply(fnArgs);
-                                        }
-                                    }
-                                    finally {
-                                        threadCtx.setCallFrameFnData_(null);
-                                        if (fn.isNative()) {
-                                            callStack.pop();
-                                        }
-
-                                        InterruptChecker.checkInterrupted(currThread, fn);
-                                        if (checkSandbox) {
-                                            interceptor.validateMaxExecutionTime();
-                                        }
-                                        if (meterRegistry.enabled) {
-                                            final long elapsed = System.nanoTime() - nanos;
-                                            if (fn instanceof VncMultiArityFunction) {
-                                                final VncFunction f = fn.getFunctionForArgs(fnArgs);
-                                                meterRegistry.record(fnName, f.getParams().size(), elapsed);
-                                            }
-                                            else {
-                                                meterRegistry.record(fnName, elapsed);
-                                            }
-                                        }
-                                    }
+                                    return invokeFunction(
+                                                fn, fnName, fnArgs, a0meta, env,
+                                                threadCtx, callStack, debugAgent, nanos);
                                 }
                             }
                         }
@@ -761,6 +751,169 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
         }
     }
 
+    /**
+     * Applies a function to already evaluated arguments. Used by the
+     * nodes of an analyzed AST (see {@link Analyzer}). The nodes resolve
+     * special forms and macros at analysis time, the function value
+     * <code>fn0</code> is thus never a macro or a special form.
+     *
+     * @param fn0 the function value
+     * @param fnArgs the evaluated function arguments
+     * @param a0meta the meta data of the function symbol
+     * @param env the env
+     * @return the function's result
+     */
+    private VncVal applyFunction(
+            final VncVal fn0,
+            final VncList fnArgs,
+            final VncVal a0meta,
+            final Env env
+    ) {
+        if (fn0 instanceof VncFunction) {
+            final VncFunction fn = (VncFunction)fn0;
+
+            if (optimized) {
+                return meterRegistry.profiling && fn.isNative()
+                        ? applyProfiled(fn, fn.getQualifiedName(), fnArgs)
+                        : fn.apply(fnArgs);
+            }
+            else {
+                final String fnName = fn.getQualifiedName();
+
+                final ThreadContext threadCtx = ThreadContext.get();
+                final CallStack callStack = threadCtx.getCallStack_();
+                final DebugAgent debugAgent = threadCtx.getDebugAgent_();
+
+                final long nanos = meterRegistry.enabled ? System.nanoTime() : 0L;
+
+                validateFunctionCall(fn, fnName, fnArgs, a0meta, env);
+
+                return invokeFunction(
+                            fn, fnName, fnArgs, a0meta, env,
+                            threadCtx, callStack, debugAgent, nanos);
+            }
+        }
+        else if (fn0 instanceof IVncFunction) {
+            // collection/keyword as function
+            final CallFrame cf = new CallFrame(fn0.getType().toString(), fnArgs, a0meta, env);
+            try (WithCallStack cs = new WithCallStack(cf)) {
+                return ((IVncFunction)fn0).apply(fnArgs);
+            }
+        }
+        else {
+            final CallFrame cf = new CallFrame("unknown", fnArgs, a0meta);
+            try (WithCallStack cs = new WithCallStack(cf)) {
+                throw new VncException(String.format(
+                        "Expected a function or keyword/set/map/vector as "
+                            + "s-expression symbol value but got a value "
+                            + "of type '%s'!",
+                        Types.getType(fn0)));
+            }
+        }
+    }
+
+    private void validateFunctionCall(
+            final VncFunction fn,
+            final String fnName,
+            final VncList fnArgs,
+            final VncVal a0meta,
+            final Env env
+    ) {
+        // validate function call allowed by sandbox
+        if (checkSandbox) {
+            final CallFrame cf = new CallFrame(fnName, fnArgs, a0meta, env);
+            try (WithCallStack cs = new WithCallStack(cf)) {
+                interceptor.validateVeniceFunction(fnName);
+            }
+            interceptor.validateMaxExecutionTime();
+        }
+
+        InterruptChecker.checkInterrupted(Thread.currentThread(), fn);
+    }
+
+    private VncVal invokeFunction(
+            final VncFunction fn,
+            final String fnName,
+            final VncList fnArgs,
+            final VncVal a0meta,
+            final Env env,
+            final ThreadContext threadCtx,
+            final CallStack callStack,
+            final DebugAgent debugAgent,
+            final long nanos
+    ) {
+        try {
+            if (fn.isNative()) {
+                callStack.push(new CallFrame(fnName, fnArgs, a0meta, env));
+
+                if (debugAgent != null && debugAgent.hasBreakpointFor(new BreakpointFnRef(fnName))) {
+                    // Debugging handled for native functions only.
+                    env.setLocal(new Var(new VncSymbol("debug::fn-args"), fnArgs));
+                    try {
+                        debugAgent.onBreakFnEnter(fnName, fn, fnArgs, env, callStack);
+                        final VncVal retVal = fn.apply(fnArgs);
+                        debugAgent.onBreakFnExit(fnName, fn, fnArgs, retVal, env, callStack);
+                        return retVal;
+                    }
+                    catch(Exception ex) {
+                        debugAgent.onBreakFnException(fnName, fn, fnArgs, ex, env, callStack);
+                        throw ex;
+                    }
+                }
+                else {
+                    return meterRegistry.profiling
+                            ? applyProfiled(fn, fnName, fnArgs)
+                            : fn.apply(fnArgs);
+                }
+            }
+            else {
+                // Debugging for non native functions is handled in the
+                // implementation of VncFunction::apply. See the builder
+                // FunctionBuilder::buildFunction(..)
+                threadCtx.setCallFrameFnData_(new CallFrameFnData(fnName, a0meta));
+                return fn.apply(fnArgs);
+            }
+        }
+        finally {
+            threadCtx.setCallFrameFnData_(null);
+            if (fn.isNative()) {
+                callStack.pop();
+            }
+
+            InterruptChecker.checkInterrupted(Thread.currentThread(), fn);
+            if (checkSandbox) {
+                interceptor.validateMaxExecutionTime();
+            }
+            if (meterRegistry.enabled) {
+                final long elapsed = System.nanoTime() - nanos;
+                if (fn instanceof VncMultiArityFunction) {
+                    final VncFunction f = fn.getFunctionForArgs(fnArgs);
+                    meterRegistry.record(fnName, f.getParams().size(), elapsed);
+                }
+                else {
+                    meterRegistry.record(fnName, elapsed);
+                }
+            }
+        }
+    }
+
+    private VncVal applyProfiled(
+            final VncFunction fn,
+            final String fnName,
+            final VncList fnArgs
+    ) {
+        // Non native functions are profiled by the function itself.
+        // See the builder FunctionBuilder::buildFunction(..)
+        final CallProfiler profiler = meterRegistry.getProfiler();
+        profiler.enter(fnName, fnArgs.size());
+        try {
+            return fn.apply(fnArgs);
+        }
+        finally {
+            profiler.exit();
+        }
+    }
+
     private VncVal evaluate_values(final VncVal ast, final Env env) {
         // System.out.println("EVAL VALUES:     " + Types.getType(ast) + " > " + ast.toString(true));
 
@@ -840,7 +993,7 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
         try {
             final long nanos = System.nanoTime();
 
-            RE("(eval " + ModuleLoader.loadModule(module) + ")", module, env);
+            EVAL(getModuleForm(module, env), env);
 
             if (meterRegistry.enabled) {
                 meterRegistry.record("venice.module." + module + ".load", System.nanoTime() - nanos);
@@ -854,6 +1007,36 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
         }
     }
 
+    private VncVal getModuleForm(final String module, final Env env) {
+        // The read and the macroexpanded module forms are cached process
+        // wide. Macroexpansion validates the macros against the sandbox,
+        // so sandboxed interpreters do not share macroexpanded forms.
+        final boolean macroexpand = macroExpandOnLoad;
+        final boolean cacheExpanded = macroexpand && !checkSandbox;
+
+        if (cacheExpanded) {
+            final VncVal expanded = ModuleLoader.getCachedModuleForm(module, true);
+            if (expanded != null) {
+                return expanded;
+            }
+        }
+
+        VncVal form = ModuleLoader.getCachedModuleForm(module, false);
+        if (form == null) {
+            form = READ("(eval " + ModuleLoader.loadModule(module) + ")", module);
+            ModuleLoader.cacheModuleForm(module, false, form);
+        }
+
+        if (macroexpand) {
+            form = MACROEXPAND(form, env);
+            if (cacheExpanded) {
+                ModuleLoader.cacheModuleForm(module, true, form);
+            }
+        }
+
+        return form;
+    }
+
     /**
      * Recursively expands a macro. Inside the loop, the first element
      * of the ast list (a symbol), is looked up in the environment to get
@@ -1089,46 +1272,42 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
             final Env env,
             final RecursionPoint recursionPoint
     ) {
-        final Env recur_env = recursionPoint.getLoopEnv();
-
-        final int argCount = args.size();
+        // All new values are calculated before the loop vars are rebound.
+        // The loop vars are rebound in place, no vars are allocated.
 
         // denormalize for best performance (short loops are performance critical)
-        switch(argCount) {
+        switch(args.size()) {
             case 0:
-                break;
+                return recursionPoint.getLoopEnv();
 
             case 1:
-                // [1][2] calculate and bind the single new value
-                final VncVal v = evaluate(args.first(), env, false);
-                recur_env.setLocal(new Var(recursionPoint.getLoopBindingName(0), v));
-                break;
+                return recursionPoint.recur(
+                        evaluate(args.first(), env, false));
 
             case 2:
-                // [1] calculate the new values
                 final VncVal v1 = evaluate(args.first(), env, false);
                 final VncVal v2 = evaluate(args.second(), env, false);
-
-                // [2] bind the new values
-                recur_env.setLocal(new Var(recursionPoint.getLoopBindingName(0), v1));
-                recur_env.setLocal(new Var(recursionPoint.getLoopBindingName(1), v2));
-                break;
+                return recursionPoint.recur(v1, v2);
 
             default:
-                // [1] calculate new values
+                final int argCount = args.size();
                 final VncVal[] newValues = new VncVal[argCount];
                 for(int ii=0; ii<argCount; ii++) {
                     newValues[ii] = evaluate(args.nth(ii), env, false);
                 }
-
-                // [2] bind the new values
-                for(int ii=0; ii<argCount; ii++) {
-                    recur_env.setLocal(new Var(recursionPoint.getLoopBindingName(ii), newValues[ii]));
-                }
-                break;
+                return recursionPoint.recur(newValues);
         }
+    }
 
-        return recur_env;
+    private NodeContext nodeContext() {
+        // the node context holds non serializable method references, it is
+        // rebuilt lazily after deserialization
+        NodeContext ctx = nodeContext;
+        if (ctx == null) {
+            ctx = new NodeContext(this::evaluate, this::applyFunction);
+            nodeContext = ctx;
+        }
+        return ctx;
     }
 
 
@@ -1142,6 +1321,7 @@ public class VeniceInterpreter implements IVeniceInterpreter, Serializable  {
     private final NamespaceRegistry nsRegistry;
 
     private final SpecialFormsContext specialFormsContext;
+    private transient volatile NodeContext nodeContext;
     private final FunctionBuilder functionBuilder;
 
     private final AtomicBoolean sealedSystemNS;
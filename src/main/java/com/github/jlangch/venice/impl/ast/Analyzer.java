@@ -0,0 +1,408 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import static com.github.jlangch.venice.impl.types.Constants.Nil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.types.VncFunction;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncCollection;
+import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncMap;
+import com.github.jlangch.venice.impl.types.collections.VncSequence;
+import com.github.jlangch.venice.impl.types.collections.VncSet;
+import com.github.jlangch.venice.impl.types.collections.VncVector;
+
+
+/**
+ * Analyzes a macroexpanded Venice form and compiles it to a tree of
+ * {@link Node nodes}.
+ *
+ * <p>The analyzer resolves the special forms 'do', 'if', 'let', 'loop',
+ * 'recur', and 'quote' at analysis time and distinguishes lexically bound
+ * symbols from global symbols. All other special forms, function bodies,
+ * and unexpanded macros are kept as {@link FormNode} and evaluated by the
+ * interpreter's AST walker.
+ *
+ * <p>The analyzer is conservative. Any form it does not fully understand
+ * (destructuring, wrong arity, misplaced 'recur', ...) is passed on to
+ * the AST walker that raises the appropriate errors at runtime.
+ */
+public class Analyzer {
+
+    public Analyzer(final Env env) {
+        this.env = env;
+    }
+
+
+    public Node analyze(final VncVal form) {
+        return analyze(form, new Scope(null), true, null);
+    }
+
+
+    private Node analyze(
+            final VncVal form,
+            final Scope locals,
+            final boolean tail,
+            final LoopInfo loop
+    ) {
+        if (form instanceof VncList) {
+            return analyzeList((VncList)form, locals, tail, loop);
+        }
+        else if (form instanceof VncSymbol) {
+            final VncSymbol sym = (VncSymbol)form;
+            return isLocal(sym, locals) ? locals.ref(sym) : new GlobalRefNode(sym);
+        }
+        else if (form instanceof VncSequence
+                    || form instanceof VncMap
+                    || form instanceof VncSet
+        ) {
+            // collection literals may contain forms that must be evaluated
+            return isEmptyCollection(form) ? new ConstNode(form) : new FormNode(form, false);
+        }
+        else {
+            return new ConstNode(form);
+        }
+    }
+
+    private Node analyzeList(
+            final VncList form,
+            final Scope locals,
+            final boolean tail,
+            final LoopInfo loop
+    ) {
+        if (form.isEmpty()) {
+            return new ConstNode(form);
+        }
+
+        final VncVal a0 = form.first();
+        final VncList args = form.rest();
+
+        if (a0 instanceof VncSymbol && !isLocal((VncSymbol)a0, locals)) {
+            final VncSymbol sym = (VncSymbol)a0;
+
+            switch(sym.getName()) {
+                case "do":    return analyzeDo(form, args, locals, tail, loop);
+                case "if":    return analyzeIf(form, args, locals, tail, loop);
+                case "let":   return analyzeLet(form, args, locals, tail, loop);
+                case "loop":  return analyzeLoop(form, args, locals, tail, loop);
+                case "recur": return analyzeRecur(form, args, locals, tail, loop);
+                case "quote": return args.size() == 1
+                                        ? new ConstNode(args.first())
+                                        : fallback(form, tail, loop);
+                default:
+                    if (sym.isSpecialFormName() || isMacro(sym)) {
+                        return fallback(form, tail, loop);
+                    }
+                    break;
+            }
+        }
+
+        markUnsafeRecur(form, tail, loop);
+
+        return new InvokeNode(
+                    analyze(a0, locals, false, null),
+                    analyzeAll(args, locals),
+                    form,
+                    tail);
+    }
+
+    private Node analyzeDo(
+            final VncList form,
+            final VncList args,
+            final Scope locals,
+            final boolean tail,
+            final LoopInfo loop
+    ) {
+        if (args.isEmpty()) {
+            return fallback(form, tail, loop);
+        }
+
+        return new DoNode(analyzeBody(args, locals, tail, loop));
+    }
+
+    private Node analyzeIf(
+            final VncList form,
+            final VncList args,
+            final Scope locals,
+            final boolean tail,
+            final LoopInfo loop
+    ) {
+        final int numArgs = args.size();
+        if (numArgs != 2 && numArgs != 3) {
+            return fallback(form, tail, loop);
+        }
+
+        return new IfNode(
+                    analyze(args.first(), locals, false, null),
+                    analyze(args.second(), locals, tail, loop),
+                    numArgs == 3 ? analyze(args.third(), locals, tail, loop) : new ConstNode(Nil));
+    }
+
+    private Node analyzeLet(
+            final VncList form,
+            final VncList args,
+            final Scope locals,
+            final boolean tail,
+            final LoopInfo loop
+    ) {
+        final VncVector bindings = plainBindings(args, 2);
+        if (bindings == null) {
+            return fallback(form, tail, loop);
+        }
+
+        final int count = bindings.size() / 2;
+        final VncSymbol[] syms = new VncSymbol[count];
+        final Node[] inits = new Node[count];
+
+        // 'let' introduces a new env level
+        final Scope letLocals = new Scope(locals);
+        for(int ii=0; ii<count; ii++) {
+            syms[ii] = (VncSymbol)bindings.nth(ii * 2);
+            inits[ii] = analyze(bindings.nth(ii * 2 + 1), letLocals, false, null);
+            letLocals.add(syms[ii]);
+        }
+
+        return new LetNode(syms, inits, analyzeBody(args.rest(), letLocals, tail, loop));
+    }
+
+    private Node analyzeLoop(
+            final VncList form,
+            final VncList args,
+            final Scope locals,
+            final boolean tail,
+            final LoopInfo loop
+    ) {
+        final VncVector bindings = plainBindings(args, 2);
+        if (bindings == null) {
+            return fallback(form, tail, loop);
+        }
+
+        final int count = bindings.size() / 2;
+        final VncSymbol[] syms = new VncSymbol[count];
+        final Node[] inits = new Node[count];
+
+        // 'loop' introduces a new env level
+        final Scope loopLocals = new Scope(locals);
+        for(int ii=0; ii<count; ii++) {
+            syms[ii] = (VncSymbol)bindings.nth(ii * 2);
+            inits[ii] = analyze(bindings.nth(ii * 2 + 1), loopLocals, false, null);
+            loopLocals.add(syms[ii]);
+        }
+
+        final LoopInfo loopInfo = new LoopInfo(count);
+        final Node[] body = analyzeBody(args.rest(), loopLocals, true, loopInfo);
+
+        // a 'recur' that only the AST walker can handle forces the
+        // whole loop to the AST walker
+        return loopInfo.unsafeRecur
+                ? fallback(form, tail, loop)
+                : new LoopNode(syms, inits, body);
+    }
+
+    private Node analyzeRecur(
+            final VncList form,
+            final VncList args,
+            final Scope locals,
+            final boolean tail,
+            final LoopInfo loop
+    ) {
+        if (loop == null || !tail) {
+            // the AST walker raises a NotInTailPositionException
+            return new FormNode(form, tail);
+        }
+        else if (args.size() != loop.bindingsCount) {
+            // let the AST walker raise the arity error
+            loop.unsafeRecur = true;
+            return new FormNode(form, tail);
+        }
+        else {
+            return new RecurNode(analyzeAll(args, locals));
+        }
+    }
+
+    private Node[] analyzeBody(
+            final VncList body,
+            final Scope locals,
+            final boolean tail,
+            final LoopInfo loop
+    ) {
+        if (body.isEmpty()) {
+            return new Node[] { new ConstNode(Nil) };
+        }
+
+        final int size = body.size();
+        final Node[] nodes = new Node[size];
+        for(int ii=0; ii<size; ii++) {
+            final boolean last = ii == size - 1;
+            nodes[ii] = analyze(body.nth(ii), locals, last && tail, last ? loop : null);
+        }
+        return nodes;
+    }
+
+    private Node[] analyzeAll(final VncList forms, final Scope locals) {
+        final Node[] nodes = new Node[forms.size()];
+        for(int ii=0; ii<nodes.length; ii++) {
+            nodes[ii] = analyze(forms.nth(ii), locals, false, null);
+        }
+        return nodes;
+    }
+
+    private Node fallback(final VncList form, final boolean tail, final LoopInfo loop) {
+        markUnsafeRecur(form, tail, loop);
+        return new FormNode(form, tail);
+    }
+
+    private void markUnsafeRecur(final VncVal form, final boolean tail, final LoopInfo loop) {
+        if (tail && loop != null && containsRecur(form)) {
+            loop.unsafeRecur = true;
+        }
+    }
+
+    private VncVector plainBindings(final VncList args, final int minArgs) {
+        if (args.size() < minArgs || !(args.first() instanceof VncVector)) {
+            return null;
+        }
+
+        final VncVector bindings = (VncVector)args.first();
+        if (bindings.size() % 2 != 0) {
+            return null;
+        }
+
+        for(int ii=0; ii<bindings.size(); ii+=2) {
+            final VncVal sym = bindings.nth(ii);
+            if (!(sym instanceof VncSymbol)) {
+                return null;  // destructuring
+            }
+            if (((VncSymbol)sym).hasNamespace()) {
+                return null;
+            }
+        }
+
+        return bindings;
+    }
+
+    private boolean isMacro(final VncSymbol sym) {
+        try {
+            final VncVal v = env.getGlobalOrNull(sym);
+            return v instanceof VncFunction && ((VncFunction)v).isMacro();
+        }
+        catch(RuntimeException ex) {
+            // e.g. private symbol access, resolved at runtime
+            return false;
+        }
+    }
+
+    private static boolean isLocal(final VncSymbol sym, final Scope locals) {
+        return !sym.hasNamespace() && locals.contains(sym);
+    }
+
+    private static boolean isEmptyCollection(final VncVal form) {
+        return ((VncCollection)form).isEmpty();
+    }
+
+    private static boolean containsRecur(final VncVal form) {
+        if (form instanceof VncSymbol) {
+            return "recur".equals(((VncSymbol)form).getName());
+        }
+        else if (form instanceof VncSequence) {
+            for(VncVal v : (VncSequence)form) {
+                if (containsRecur(v)) return true;
+            }
+            return false;
+        }
+        else if (form instanceof VncMap) {
+            for(Map.Entry<VncVal,VncVal> e : ((VncMap)form).getJavaMap().entrySet()) {
+                if (containsRecur(e.getKey()) || containsRecur(e.getValue())) return true;
+            }
+            return false;
+        }
+        else if (form instanceof VncSet) {
+            for(VncVal v : (VncSet)form) {
+                if (containsRecur(v)) return true;
+            }
+            return false;
+        }
+        else {
+            return false;
+        }
+    }
+
+
+    /**
+     * The lexical scope. Mirrors the env levels the nodes create at runtime.
+     * Each level holds its local symbols in the slot order the env stores
+     * them.
+     */
+    private static class Scope {
+        public Scope(final Scope outer) {
+            this.outer = outer;
+        }
+
+        public void add(final VncSymbol sym) {
+            // rebinding a symbol on the same level replaces its var in place
+            if (!symbols.contains(sym)) {
+                symbols.add(sym);
+            }
+        }
+
+        public boolean contains(final VncSymbol sym) {
+            for(Scope s=this; s!=null; s=s.outer) {
+                if (s.symbols.contains(sym)) return true;
+            }
+            return false;
+        }
+
+        public LocalRefNode ref(final VncSymbol sym) {
+            int levelsUp = 0;
+            for(Scope s=this; s!=null; s=s.outer, levelsUp++) {
+                final int slot = s.symbols.indexOf(sym);
+                if (slot >= 0) {
+                    return new LocalRefNode(sym, levelsUp, slot);
+                }
+            }
+            return null;
+        }
+
+        private final Scope outer;
+        private final List<VncSymbol> symbols = new ArrayList<>();
+    }
+
+
+    private static class LoopInfo {
+        public LoopInfo(final int bindingsCount) {
+            this.bindingsCount = bindingsCount;
+        }
+
+        private final int bindingsCount;
+        private boolean unsafeRecur;
+    }
+
+
+    private final Env env;
+}
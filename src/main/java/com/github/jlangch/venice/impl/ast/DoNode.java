@@ -0,0 +1,55 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+public class DoNode implements Node {
+
+    public DoNode(final Node[] body) {
+        this.body = body;
+    }
+
+    @Override
+    public VncVal eval(final NodeContext ctx, final Env env) {
+        return evalBody(body, ctx, env);
+    }
+
+    static VncVal evalBody(final Node[] body, final NodeContext ctx, final Env env) {
+        final int last = body.length - 1;
+        for(int ii=0; ii<last; ii++) {
+            body[ii].eval(ctx, env);
+        }
+        return body[last].eval(ctx, env);
+    }
+
+    public Node[] getBody() {
+        return body;
+    }
+
+
+    private static final long serialVersionUID = 1L;
+
+    private final Node[] body;
+}
@@ -0,0 +1,57 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+/**
+ * A form the analyzer does not compile. It is evaluated by the
+ * interpreter's AST walker.
+ */
+public class FormNode implements Node {
+
+    public FormNode(final VncVal form, final boolean tailPosition) {
+        this.form = form;
+        this.tailPosition = tailPosition;
+    }
+
+    @Override
+    public VncVal eval(final NodeContext ctx, final Env env) {
+        return ctx.getEvaluator().evaluate(form, env, tailPosition);
+    }
+
+    public VncVal getForm() {
+        return form;
+    }
+
+    public boolean isTailPosition() {
+        return tailPosition;
+    }
+
+
+    private static final long serialVersionUID = 1L;
+
+    private final VncVal form;
+    private final boolean tailPosition;
+}
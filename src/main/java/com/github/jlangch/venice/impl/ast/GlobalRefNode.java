@@ -0,0 +1,65 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.env.GlobalRefVar;
+import com.github.jlangch.venice.impl.env.Var;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+/**
+ * A reference to a symbol that is not lexically bound within the analyzed
+ * form. The local env levels are skipped at runtime unless the form is
+ * evaluated in an env with outer locals the analyzer could not see.
+ */
+public class GlobalRefNode implements Node {
+
+    public GlobalRefNode(final VncSymbol sym) {
+        this.sym = sym;
+    }
+
+    @Override
+    public VncVal eval(final NodeContext ctx, final Env env) {
+        if (ctx.hasOuterLocals() && !sym.hasNamespace()) {
+            final Var local = env.findLocalVar(sym);
+            if (local != null && !(local instanceof GlobalRefVar)) {
+                return local.getVal();
+            }
+        }
+
+        final VncVal v = env.getGlobalOrNull(sym);
+
+        // let 'Env::get' deal with unknown symbols and their error messages
+        return v != null ? v : env.get(sym);
+    }
+
+    public VncSymbol getSymbol() {
+        return sym;
+    }
+
+
+    private static final long serialVersionUID = 1L;
+
+    private final VncSymbol sym;
+}
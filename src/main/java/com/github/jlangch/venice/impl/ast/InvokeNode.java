@@ -0,0 +1,107 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.types.VncFunction;
+import com.github.jlangch.venice.impl.types.VncSpecialForm;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncList;
+
+
+/**
+ * A function call.
+ *
+ * <p>If the function symbol resolves at runtime to a macro or a special
+ * form (e.g. a macro defined by the script itself) the original form is
+ * handed over to the interpreter's AST walker.
+ */
+public class InvokeNode implements Node {
+
+    public InvokeNode(
+            final Node fn,
+            final Node[] args,
+            final VncList form,
+            final boolean tailPosition
+    ) {
+        this.fn = fn;
+        this.args = args;
+        this.form = form;
+        this.meta = form.first().getMeta();
+        this.tailPosition = tailPosition;
+    }
+
+    @Override
+    public VncVal eval(final NodeContext ctx, final Env env) {
+        final VncVal fnVal = fn.eval(ctx, env);
+
+        if (fnVal instanceof VncSpecialForm
+                || (fnVal instanceof VncFunction && ((VncFunction)fnVal).isMacro())
+        ) {
+            return ctx.getEvaluator().evaluate(form, env, tailPosition);
+        }
+
+        return ctx.getFunctionApplier().apply(fnVal, evalArgs(ctx, env), meta, env);
+    }
+
+    private VncList evalArgs(final NodeContext ctx, final Env env) {
+        switch(args.length) {
+            case 0:
+                return VncList.empty();
+            case 1:
+                return VncList.of(args[0].eval(ctx, env));
+            case 2:
+                return VncList.of(args[0].eval(ctx, env), args[1].eval(ctx, env));
+            default:
+                final VncVal[] values = new VncVal[args.length];
+                for(int ii=0; ii<args.length; ii++) {
+                    values[ii] = args[ii].eval(ctx, env);
+                }
+                return VncList.of(values);
+        }
+    }
+
+    public Node getFn() {
+        return fn;
+    }
+
+    public Node[] getArgs() {
+        return args;
+    }
+
+    public VncList getForm() {
+        return form;
+    }
+
+    public boolean isTailPosition() {
+        return tailPosition;
+    }
+
+
+    private static final long serialVersionUID = 1L;
+
+    private final Node fn;
+    private final Node[] args;
+    private final VncList form;
+    private final VncVal meta;
+    private final boolean tailPosition;
+}
@@ -0,0 +1,75 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.env.Var;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+/**
+ * A 'let' with plain symbol bindings. Bindings with destructuring are
+ * left to the interpreter.
+ */
+public class LetNode implements Node {
+
+    public LetNode(
+            final VncSymbol[] syms,
+            final Node[] inits,
+            final Node[] body
+    ) {
+        this.syms = syms;
+        this.inits = inits;
+        this.body = body;
+    }
+
+    @Override
+    public VncVal eval(final NodeContext ctx, final Env env) {
+        final Env localEnv = new Env(env, syms.length);
+
+        for(int ii=0; ii<syms.length; ii++) {
+            localEnv.setLocal(new Var(syms[ii], inits[ii].eval(ctx, localEnv)));
+        }
+
+        return DoNode.evalBody(body, ctx, localEnv);
+    }
+
+    public VncSymbol[] getSymbols() {
+        return syms;
+    }
+
+    public Node[] getInits() {
+        return inits;
+    }
+
+    public Node[] getBody() {
+        return body;
+    }
+
+
+    private static final long serialVersionUID = 1L;
+
+    private final VncSymbol[] syms;
+    private final Node[] inits;
+    private final Node[] body;
+}
@@ -0,0 +1,69 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.env.GlobalRefVar;
+import com.github.jlangch.venice.impl.env.Var;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+/**
+ * A reference to a symbol bound by an enclosing 'let' or 'loop'.
+ *
+ * <p>The symbol is resolved at analysis time to its lexical address
+ * (levelsUp, slot).
+ */
+public class LocalRefNode implements Node {
+
+    public LocalRefNode(final VncSymbol sym, final int levelsUp, final int slot) {
+        this.sym = sym;
+        this.levelsUp = levelsUp;
+        this.slot = slot;
+    }
+
+    @Override
+    public VncVal eval(final NodeContext ctx, final Env env) {
+        final Var v = env.findLocalVar(sym, levelsUp, slot);
+        return v == null || v instanceof GlobalRefVar ? env.get(sym) : v.getVal();
+    }
+
+    public VncSymbol getSymbol() {
+        return sym;
+    }
+
+    public int getLevelsUp() {
+        return levelsUp;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+
+    private static final long serialVersionUID = 1L;
+
+    private final VncSymbol sym;
+    private final int levelsUp;
+    private final int slot;
+}
@@ -0,0 +1,99 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.impl.env.Env;
+import com.github.jlangch.venice.impl.env.LoopVar;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+/**
+ * A 'loop' with plain symbol bindings.
+ *
+ * <p>A 'recur' in tail position of the loop body evaluates to a
+ * {@link RecurValues} that rebinds the loop symbols in place and restarts
+ * the loop body.
+ */
+public class LoopNode implements Node {
+
+    public LoopNode(
+            final VncSymbol[] syms,
+            final Node[] inits,
+            final Node[] body
+    ) {
+        this.syms = syms;
+        this.inits = inits;
+        this.body = body;
+    }
+
+    @Override
+    public VncVal eval(final NodeContext ctx, final Env env) {
+        Env loopEnv = new Env(env, syms.length, true);
+
+        final LoopVar[] loopVars = new LoopVar[syms.length];
+        for(int ii=0; ii<syms.length; ii++) {
+            loopVars[ii] = loopEnv.setLoopLocal(syms[ii], inits[ii].eval(ctx, loopEnv));
+        }
+
+        while(true) {
+            final VncVal val = DoNode.evalBody(body, ctx, loopEnv);
+            if (val instanceof RecurValues) {
+                final VncVal[] values = ((RecurValues)val).getValues();
+                if (loopEnv.isCapturedLoopFrame()) {
+                    // a closure keeps the captured frame, continue with a new one
+                    loopEnv = new Env(env, syms.length, true);
+                    for(int ii=0; ii<syms.length; ii++) {
+                        loopVars[ii] = loopEnv.setLoopLocal(syms[ii], values[ii]);
+                    }
+                }
+                else {
+                    for(int ii=0; ii<syms.length; ii++) {
+                        loopVars[ii].rebind(values[ii]);
+                    }
+                }
+            }
+            else {
+                return val;
+            }
+        }
+    }
+
+    public VncSymbol[] getSymbols() {
+        return syms;
+    }
+
+    public Node[] getInits() {
+        return inits;
+    }
+
+    public Node[] getBody() {
+        return body;
+    }
+
+
+    private static final long serialVersionUID = 1L;
+
+    private final VncSymbol[] syms;
+    private final Node[] inits;
+    private final Node[] body;
+}
@@ -0,0 +1,75 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.impl.IFormEvaluator;
+
+
+/**
+ * The interpreter services required by the nodes of an analyzed AST
+ */
+public class NodeContext {
+
+    public NodeContext(
+            final IFormEvaluator evaluator,
+            final IFunctionApplier functionApplier
+    ) {
+        this(evaluator, functionApplier, false);
+    }
+
+    private NodeContext(
+            final IFormEvaluator evaluator,
+            final IFunctionApplier functionApplier,
+            final boolean outerLocals
+    ) {
+        this.evaluator = evaluator;
+        this.functionApplier = functionApplier;
+        this.outerLocals = outerLocals;
+    }
+
+
+    public IFormEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    public IFunctionApplier getFunctionApplier() {
+        return functionApplier;
+    }
+
+    /**
+     * @return <code>true</code> if the node tree is evaluated in an env
+     *         that has local levels the analyzer did not see (e.g. locals
+     *         passed by the caller). These locals shadow global symbols.
+     */
+    public boolean hasOuterLocals() {
+        return outerLocals;
+    }
+
+    public NodeContext withOuterLocals() {
+        return outerLocals ? this : new NodeContext(evaluator, functionApplier, true);
+    }
+
+
+    private final IFormEvaluator evaluator;
+    private final IFunctionApplier functionApplier;
+    private final boolean outerLocals;
+}
@@ -0,0 +1,64 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.ast;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.types.TypeRank;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+/**
+ * The values of a 'recur' passed back to the enclosing {@link LoopNode}.
+ *
+ * <p>Never escapes a loop. The analyzer only creates a {@link RecurNode}
+ * for a 'recur' in tail position of a loop.
+ */
+class RecurValues extends VncVal {
+
+    RecurValues(final VncVal[] values) {
+        this.values = values;
+    }
+
+    VncVal[] getValues() {
+        return values;
+    }
+
+    @Override
+    public VncVal withMeta(final VncVal meta) {
+        return this;
+    }
+
+    @Override
+    public TypeRank typeRank() {
+        return TypeRank.LIST;
+    }
+
+    @Override
+    public Object convertToJavaObject() {
+        throw new VncException("A recur value can not be converted to a Java object!");
+    }
+
+
+    private static final long serialVersionUID = 1L;
+
+    private final VncVal[] values;
+}
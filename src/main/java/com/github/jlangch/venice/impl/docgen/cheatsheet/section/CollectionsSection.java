@@ -51,6 +51,8 @@ public class CollectionsSection implements ISectionBuilder {
         generic.addItem(diBuilder.getDocItem("cons"));
         generic.addItem(diBuilder.getDocItem("conj"));
         generic.addItem(diBuilder.getDocItem("conj!"));
+        generic.addItem(diBuilder.getDocItem("transient"));
+        generic.addItem(diBuilder.getDocItem("persistent!"));
         generic.addItem(diBuilder.getDocItem("remove"));
         generic.addItem(diBuilder.getDocItem("repeat"));
         generic.addItem(diBuilder.getDocItem("repeatedly"));
@@ -168,6 +170,8 @@ public class CollectionsSection implements ISectionBuilder {
         vec_create.addItem(diBuilder.getDocItem("vector"));
         vec_create.addItem(diBuilder.getDocItem("vector*"));
         vec_create.addItem(diBuilder.getDocItem("mutable-vector"));
+        vec_create.addItem(diBuilder.getDocItem("long-vector"));
+        vec_create.addItem(diBuilder.getDocItem("double-vector"));
         vec_create.addItem(diBuilder.getDocItem("mapv"));
 
         final DocSection vec_access = new DocSection("Access", "collections.vectors.access");
@@ -230,6 +234,8 @@ public class CollectionsSection implements ISectionBuilder {
         vectors.addSection(vec_test);
         vec_test.addItem(diBuilder.getDocItem("vector?"));
         vec_test.addItem(diBuilder.getDocItem("mutable-vector?"));
+        vec_test.addItem(diBuilder.getDocItem("long-vector?"));
+        vec_test.addItem(diBuilder.getDocItem("double-vector?"));
         vec_test.addItem(diBuilder.getDocItem("contains?"));
         vec_test.addItem(diBuilder.getDocItem("not-contains?"));
         vec_test.addItem(diBuilder.getDocItem("every?"));
@@ -257,6 +263,7 @@ public class CollectionsSection implements ISectionBuilder {
         set_modify.addItem(diBuilder.getDocItem("conj"));
         set_modify.addItem(diBuilder.getDocItem("conj!"));
         set_modify.addItem(diBuilder.getDocItem("disj"));
+        set_modify.addItem(diBuilder.getDocItem("disj!"));
 
         final DocSection algebra = new DocSection("Algebra", "collections.sets.algebra");
         sets.addSection(algebra);
@@ -468,6 +475,10 @@ public class CollectionsSection implements ISectionBuilder {
         dag_sort.addItem(diBuilder.getDocItem("dag/topological-sort"));
         dag_sort.addItem(diBuilder.getDocItem("dag/compare-fn"));
 
+        final DocSection dag_exec = new DocSection("Execute", "collections.dag.execute");
+        dag.addSection(dag_exec);
+        dag_exec.addItem(diBuilder.getDocItem("dag/execute"));
+
         final DocSection dag_test = new DocSection("Test", "collections.dag.test");
         dag.addSection(dag_test);
         dag_test.addItem(diBuilder.getDocItem("dag/dag?"));
@@ -160,7 +160,11 @@ public class ConcurrencySection implements ISectionBuilder {
         final DocSection parallel = new DocSection("Parallel", "concurrency.parallel");
         all.addSection(parallel);
         parallel.addItem(diBuilder.getDocItem("pmap"));
+        parallel.addItem(diBuilder.getDocItem("upmap"));
         parallel.addItem(diBuilder.getDocItem("pcalls"));
+        parallel.addItem(diBuilder.getDocItem("fold"));
+        parallel.addItem(diBuilder.getDocItem("pmap-parallelism"));
+        parallel.addItem(diBuilder.getDocItem("pmap-window"));
 
         return section;
     }
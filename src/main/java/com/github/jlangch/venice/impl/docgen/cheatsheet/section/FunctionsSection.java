@@ -48,6 +48,7 @@ public class FunctionsSection implements ISectionBuilder {
         create.addItem(diBuilder.getDocItem("comp"));
         create.addItem(diBuilder.getDocItem("partial"));
         create.addItem(diBuilder.getDocItem("memoize"));
+        create.addItem(diBuilder.getDocItem("memoize-stats"));
         create.addItem(diBuilder.getDocItem("juxt"));
         create.addItem(diBuilder.getDocItem("fnil"));
         create.addItem(diBuilder.getDocItem("trampoline"));
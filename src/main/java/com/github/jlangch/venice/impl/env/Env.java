@@ -31,11 +31,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import com.github.jlangch.venice.SymbolNotFoundException;
 import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.namespaces.Namespace;
 import com.github.jlangch.venice.impl.namespaces.Namespaces;
 import com.github.jlangch.venice.impl.thread.ThreadContext;
 import com.github.jlangch.venice.impl.types.Constants;
@@ -61,28 +64,66 @@ public class Env implements Serializable {
     }
 
     public Env(final Env outer) {
+        this(outer, 0);
+    }
+
+    /**
+     * Create a new env
+     *
+     * @param outer the outer env, may be <code>null</code>
+     * @param localsCapacity the expected number of local vars. The local
+     *                       var slots are allocated lazily if 0.
+     */
+    public Env(final Env outer, final int localsCapacity) {
+        this(outer, localsCapacity, false);
+    }
+
+    /**
+     * Create a new env
+     *
+     * @param outer the outer env, may be <code>null</code>
+     * @param localsCapacity the expected number of local vars. The local
+     *                       var slots are allocated lazily if 0.
+     * @param loopFrame if <code>true</code> the env holds the bindings of a
+     *                  <code>loop</code>, that are rebound in place on
+     *                  <code>recur</code>
+     */
+    public Env(final Env outer, final int localsCapacity, final boolean loopFrame) {
         if (outer == null) {
             this.outer = null;
             this.level = 0;
             this.precompiledGlobalSymbols = null;
+            this.retainedGlobalSymbols = null;
             this.globalSymbols = new ConcurrentHashMap<>(2048);
-            this.localSymbols = new ConcurrentHashMap<>(64);
+            this.globalsVersion = new AtomicLong(0L);
         }
         else {
             this.outer = outer;
             this.level = outer.level() + 1;
             this.precompiledGlobalSymbols = outer.precompiledGlobalSymbols;
+            this.retainedGlobalSymbols = outer.retainedGlobalSymbols;
             this.globalSymbols = outer.globalSymbols;
-            this.localSymbols = new ConcurrentHashMap<>(64);
+            this.globalsVersion = outer.globalsVersion;
         }
+
+        this.localVars = localsCapacity <= 0 ? NO_LOCAL_VARS : new Var[localsCapacity];
+        this.loopFrame = loopFrame;
+        this.inLoopFrame = loopFrame || (outer != null && outer.inLoopFrame);
     }
 
-    private Env(final Map<VncSymbol,Var> precompiledGlobalSymbols) {
+    private Env(
+            final Map<VncSymbol,Var> precompiledGlobalSymbols,
+            final Map<VncSymbol,Var> retainedGlobalSymbols
+    ) {
         this.outer = null;
         this.level = 0;
         this.precompiledGlobalSymbols = precompiledGlobalSymbols;
+        this.retainedGlobalSymbols = retainedGlobalSymbols;
         this.globalSymbols = new ConcurrentHashMap<>(256);
-        this.localSymbols = new ConcurrentHashMap<>(64);
+        this.globalsVersion = new AtomicLong(0L);
+        this.localVars = NO_LOCAL_VARS;
+        this.loopFrame = false;
+        this.inLoopFrame = false;
     }
 
     public Env copyGlobalToPrecompiledSymbols() {
@@ -90,7 +131,40 @@ public class Env implements Serializable {
         // Move the global symbols to core global symbols so they remain untouched
         // while running the precompiled script and thus can be reused by subsequent
         // precompiled script invocations
-        return new Env(globalSymbols);
+        return new Env(globalSymbols, null);
+    }
+
+    /**
+     * Creates a root env for a single evaluation on top of this env's
+     * global symbols.
+     *
+     * <p>The global vars the evaluation defines go to a layer of its own
+     * that is looked up before this env's global symbols. So concurrent
+     * evaluations do not see each other's parameters and I/O streams.
+     * Use {@link #retainGlobals(Env, Set)} to keep the global vars an
+     * evaluation has defined.
+     *
+     * @return the evaluation's env
+     */
+    public Env newEvaluationLayer() {
+        return new Env(precompiledGlobalSymbols, globalSymbols);
+    }
+
+    /**
+     * Copies the global vars an evaluation has defined in its layer to
+     * this env's global symbols.
+     *
+     * @param evalEnv an env created by {@link #newEvaluationLayer()}
+     * @param excluded the symbols that are not copied (e.g. the
+     *                 evaluation's parameters)
+     */
+    public void retainGlobals(final Env evalEnv, final Set<VncSymbol> excluded) {
+        evalEnv.globalSymbols.forEach((sym, v) -> {
+            if (!excluded.contains(sym)) {
+                globalSymbols.put(sym, v);
+            }
+        });
+        globalsVersion.incrementAndGet();
     }
 
     public Env parent() {
@@ -250,7 +324,7 @@ public class Env implements Serializable {
      * @return the value or <code>Nil</code> if not found
      */
     public VncVal getGlobalOrNil(final VncSymbol sym) {
-        final Var v = getGlobalVar(sym);
+        final Var v = getGlobalVarCached(sym);
         return v != null ? v.getVal() : Nil;
     }
 
@@ -272,7 +346,7 @@ public class Env implements Serializable {
      * @return the value or <code>null</code> if not found
      */
     public VncVal getGlobalOrNull(final VncSymbol sym) {
-        final Var v = getGlobalVar(sym);
+        final Var v = getGlobalVarCached(sym);
         return v != null ? v.getVal() : null;
     }
 
@@ -294,7 +368,7 @@ public class Env implements Serializable {
      * @return the value or <code>null</code> if not found
      */
     public Var getGlobalVarOrNull(final VncSymbol sym) {
-        return getGlobalVar(sym);
+        return getGlobalVarCached(sym);
     }
 
     public Env setLocal(final Var localVar) {
@@ -331,7 +405,7 @@ public class Env implements Serializable {
             }
         }
 
-        localSymbols.put(sym, localVar);
+        putLocalVar(localVar);
 
         return this;
     }
@@ -361,6 +435,41 @@ public class Env implements Serializable {
         return this;
     }
 
+    /**
+     * Binds a loop var in a loop frame.
+     *
+     * @param sym the loop binding name
+     * @param val the initial value
+     * @return the loop var, it is rebound in place on <code>recur</code>
+     */
+    public LoopVar setLoopLocal(final VncSymbol sym, final VncVal val) {
+        final LoopVar v = new LoopVar(sym, val);
+        setLocal(v);
+        return v;
+    }
+
+    /**
+     * @return <code>true</code> if a closure has captured this loop frame
+     */
+    public boolean isCapturedLoopFrame() {
+        return captured;
+    }
+
+    /**
+     * Marks the loop frames this env is nested in as captured by a closure.
+     *
+     * <p>A captured loop frame must keep its values. The next <code>recur</code>
+     * continues with a new loop frame instead of rebinding the loop vars in
+     * place.
+     */
+    public void captureLoopFrames() {
+        for(Env env=this; env != null && env.inLoopFrame; env=env.outer) {
+            if (env.loopFrame) {
+                env.captured = true;
+            }
+        }
+    }
+
     public Env addGlobalVars(final List<Var> vars) {
         vars.forEach(v -> setGlobal(v));
         return this;
@@ -387,13 +496,17 @@ public class Env implements Serializable {
             env = env == null ? null : env.outer;
         }
 
-        return env == null
-                ? new ArrayList<>()
-                : env.localSymbols
-                     .values()
-                     .stream()
-                     .filter(v -> !(v instanceof GlobalRefVar))
-                     .collect(Collectors.toList());
+        final List<Var> vars = new ArrayList<>();
+        if (env != null) {
+            final int count = env.localVarsCount;
+            final Var[] slots = env.localVars;
+            for(int ii=0; ii<count; ii++) {
+                if (!(slots[ii] instanceof GlobalRefVar)) {
+                    vars.add(slots[ii]);
+                }
+            }
+        }
+        return vars;
     }
 
     public void pushGlobalDynamic(final VncSymbol sym, final VncVal val) {
@@ -451,6 +564,7 @@ public class Env implements Serializable {
         // system namespace symbols!
 
         globalSymbols.remove(sym);
+        globalsVersion.incrementAndGet();
     }
 
     public void removeGlobalSymbolsByNS(final VncSymbol ns) {
@@ -468,6 +582,8 @@ public class Env implements Serializable {
             .stream()
             .filter(s -> nsName.equals(s.getNamespace()))
             .forEach(s -> globalSymbols.remove(s));
+
+        globalsVersion.incrementAndGet();
     }
 
     public Env setStdoutPrintStream(final PrintStream ps) {
@@ -523,7 +639,7 @@ public class Env implements Serializable {
     private VncVal getOrElse(final VncSymbol sym, final VncVal defaultVal) {
         if (sym.hasNamespace()) {
             // if we got a namespace it must be a global var
-            final Var glob = getGlobalVar(sym);
+            final Var glob = getGlobalVarCached(sym);
             return glob == null ? defaultVal : glob.getVal();
         }
         else {
@@ -532,7 +648,7 @@ public class Env implements Serializable {
             if (globalVarLookupOptimization) {
                 if (local != null) {
                     if (local instanceof GlobalRefVar) {
-                        final Var glob = getGlobalVar(sym);
+                        final Var glob = getGlobalVarCached(sym);
                         return glob == null ? defaultVal : glob.getVal();
                     }
                     else {
@@ -540,9 +656,9 @@ public class Env implements Serializable {
                     }
                 }
                 else {
-                    final Var glob = getGlobalVar(sym);
+                    final Var glob = getGlobalVarCached(sym);
                     if (glob != null) {
-                        localSymbols.put(sym, new GlobalRefVar(sym));
+                        putLocalVar(new GlobalRefVar(sym));
                         return glob.getVal();
                     }
                     else {
@@ -555,7 +671,7 @@ public class Env implements Serializable {
                     return local.getVal();
                 }
                 else {
-                    final Var glob = getGlobalVar(sym);
+                    final Var glob = getGlobalVarCached(sym);
                     return glob == null ? defaultVal : glob.getVal();
                 }
             }
@@ -563,13 +679,13 @@ public class Env implements Serializable {
     }
 
     public Var findLocalVar(final VncSymbol sym) {
-        Var v = localSymbols.get(sym);
+        Var v = getLocalVar(sym);
         if (v != null) return v;
 
         // descend through the env levels
         Env env = outer;
         while(env != null) {
-            v = env.localSymbols.get(sym);
+            v = env.getLocalVar(sym);
             if (v != null) return v;
             env = env.outer;
         }
@@ -577,6 +693,102 @@ public class Env implements Serializable {
         return null;
     }
 
+    /**
+     * Lexical addressing. Find a local var by its (levelsUp, slot) address
+     * resolved at analysis time.
+     *
+     * <p>The address is a hint only. If the env structure differs at runtime
+     * from the analyzed structure (e.g. the AST walker has added global
+     * reference vars to a local level) the var is looked up by its symbol.
+     *
+     * @param sym a symbol
+     * @param levelsUp the number of levels to move up through the outer levels
+     * @param slot the slot within the level
+     * @return the local var or <code>null</code> if not found
+     */
+    public Var findLocalVar(final VncSymbol sym, final int levelsUp, final int slot) {
+        Env env = this;
+        for(int ii=0; ii<levelsUp && env != null; ii++) {
+            env = env.outer;
+        }
+
+        if (env != null && slot < env.localVarsCount) {
+            final Var v = env.localVars[slot];
+            if (v.getName().equals(sym)) {
+                return v;
+            }
+        }
+
+        return findLocalVar(sym);
+    }
+
+    private Var getLocalVar(final VncSymbol sym) {
+        // read the count before the slots (publication order, see putLocalVar)
+        final int count = localVarsCount;
+        final Var[] slots = localVars;
+
+        final Map<VncSymbol,Integer> index = localVarsIndex;
+        if (index != null) {
+            // slots beyond the count have been added after reading the count
+            final Integer slot = index.get(sym);
+            return slot != null && slot < count ? slots[slot] : null;
+        }
+
+        final int hash = sym.hashCode();
+        for(int ii=0; ii<count; ii++) {
+            final Var v = slots[ii];
+            final VncSymbol name = v.getName();
+            if (name.hashCode() == hash && name.equals(sym)) return v;
+        }
+        return null;
+    }
+
+    private void putLocalVar(final Var localVar) {
+        final VncSymbol sym = localVar.getName();
+
+        // Local vars are mostly written by the owning thread. Other threads
+        // may add global reference vars concurrently (closures passed to
+        // futures, ...). Writes are serialized, reads are lock free: a new
+        // slot array is published before the count.
+        synchronized(this) {
+            final int count = localVarsCount;
+            final Var[] slots = localVars;
+            for(int ii=0; ii<count; ii++) {
+                if (slots[ii].getName().equals(sym)) {
+                    slots[ii] = localVar;
+                    return;
+                }
+            }
+
+            if (count == slots.length) {
+                final Var[] newSlots = new Var[Math.max(4, count * 2)];
+                System.arraycopy(slots, 0, newSlots, 0, count);
+                newSlots[count] = localVar;
+                localVars = newSlots;
+            }
+            else {
+                slots[count] = localVar;
+            }
+
+            // Levels with many vars (e.g. the global reference vars the
+            // AST walker adds) are looked up by an index. The index is
+            // updated before the count is published.
+            if (localVarsIndex != null) {
+                localVarsIndex.put(sym, count);
+            }
+            else if (count + 1 > LOCAL_VARS_INDEX_THRESHOLD) {
+                final Var[] all = localVars;
+                final Map<VncSymbol,Integer> index = new ConcurrentHashMap<>(count * 2);
+                for(int ii=0; ii<=count; ii++) {
+                    index.put(all[ii].getName(), ii);
+                }
+                localVarsIndex = index;
+            }
+
+            localVarsCount = count + 1;
+        }
+    }
+
     private Var getGlobalVar(final VncSymbol sym) {
         Var v = null;
 
@@ -633,17 +845,52 @@ public class Env implements Serializable {
         }
     }
 
+    /**
+     * Global var lookup with an inline cache attached to the symbol.
+     *
+     * <p>The cache entry is validated against the global var table's version
+     * stamp that is incremented whenever a global var is added, replaced, or
+     * removed. So repeated lookups of stable global vars skip the symbol
+     * resolution.
+     *
+     * @param sym a symbol
+     * @return the var or <code>null</code> if not found
+     */
+    private Var getGlobalVarCached(final VncSymbol sym) {
+        final Namespace ns = Namespaces.getCurrentNamespace();
+
+        // read the version before resolving the var
+        final long version = globalsVersion.get();
+
+        final GlobalVarCache cache = sym.getGlobalVarCache();
+        if (cache != null && cache.isValid(globalsVersion, version, ns)) {
+            return cache.getVar();
+        }
+
+        final long aliasesVersion = ns.getAliasesVersion();
+        final Var v = getGlobalVar(sym);
+        if (v != null) {
+            sym.setGlobalVarCache(
+                new GlobalVarCache(globalsVersion, version, ns, aliasesVersion, v));
+        }
+        return v;
+    }
+
     private Var getGlobalVarRaw(final VncSymbol sym) {
         if (precompiledGlobalSymbols != null) {
             final Var v = precompiledGlobalSymbols.get(sym);
             if (v != null) return v;
         }
 
-        return globalSymbols.get(sym);
+        final Var v = globalSymbols.get(sym);
+        if (v != null || retainedGlobalSymbols == null) return v;
+
+        return retainedGlobalSymbols.get(sym);
     }
 
     private void setGlobalVar(final VncSymbol sym, final Var value) {
         globalSymbols.put(sym, value);
+        globalsVersion.incrementAndGet();
     }
 
     public Map<VncSymbol,Var> getAllGlobalSymbols() {
@@ -653,6 +900,10 @@ public class Env implements Serializable {
             all.putAll(precompiledGlobalSymbols);
         }
 
+        if (retainedGlobalSymbols != null) {
+            all.putAll(retainedGlobalSymbols);
+        }
+
         all.putAll(globalSymbols);
 
         return all;
@@ -711,6 +962,23 @@ public class Env implements Serializable {
     private final Env outer;
     private final int level;
     private final Map<VncSymbol,Var> precompiledGlobalSymbols;
+    private final Map<VncSymbol,Var> retainedGlobalSymbols;
     private final Map<VncSymbol,Var> globalSymbols;
-    private final Map<VncSymbol,Var> localSymbols;
+
+    // version stamp of the global symbols, validates the inline caches
+    private final AtomicLong globalsVersion;
+
+    // local vars: plain slot arrays, most envs hold just a few local vars
+    private volatile Var[] localVars;
+    private volatile int localVarsCount;
+    private volatile Map<VncSymbol,Integer> localVarsIndex;
+
+    // loop frames
+    private final boolean loopFrame;
+    private final boolean inLoopFrame;  // this or an outer env is a loop frame
+    private volatile boolean captured;
+
+    private static final Var[] NO_LOCAL_VARS = new Var[0];
+
+    private static final int LOCAL_VARS_INDEX_THRESHOLD = 8;
 }
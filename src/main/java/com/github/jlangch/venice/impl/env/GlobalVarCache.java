@@ -0,0 +1,77 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.env;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.jlangch.venice.impl.namespaces.Namespace;
+
+
+/**
+ * A monomorphic inline cache entry for a global var lookup.
+ *
+ * <p>The entry is attached to the symbol at a call site. It is valid as
+ * long as the global var table, the table's version stamp, the current
+ * namespace, and the namespace's aliases are the same as at the time the
+ * var has been resolved.
+ *
+ * <p>Entries are immutable and safely published through their final fields.
+ */
+public final class GlobalVarCache {
+
+    GlobalVarCache(
+            final AtomicLong globalsVersion,
+            final long version,
+            final Namespace ns,
+            final long aliasesVersion,
+            final Var var
+    ) {
+        this.globalsVersion = globalsVersion;
+        this.version = version;
+        this.ns = ns;
+        this.aliasesVersion = aliasesVersion;
+        this.var = var;
+    }
+
+
+    boolean isValid(
+            final AtomicLong globalsVersion,
+            final long version,
+            final Namespace ns
+    ) {
+        return this.globalsVersion == globalsVersion
+                && this.version == version
+                && this.ns == ns
+                && this.aliasesVersion == ns.getAliasesVersion();
+    }
+
+    Var getVar() {
+        return var;
+    }
+
+
+    private final AtomicLong globalsVersion;
+    private final long version;
+    private final Namespace ns;
+    private final long aliasesVersion;
+    private final Var var;
+}
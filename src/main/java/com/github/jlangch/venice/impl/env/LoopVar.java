@@ -0,0 +1,64 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.env;
+
+import com.github.jlangch.venice.impl.types.Constants;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+/**
+ * A loop binding. The value is rebound in place on <code>recur</code>
+ * as long as no closure has captured the loop frame.
+ */
+public class LoopVar extends Var {
+
+    public LoopVar(final VncSymbol name, final VncVal val) {
+        super(name, Constants.Nil);
+
+        this.val = val == null ? Constants.Nil : val;
+    }
+
+    @Override
+    public VncVal getVal() {
+        return val;
+    }
+
+    public void rebind(final VncVal val) {
+        this.val = val == null ? Constants.Nil : val;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString();
+    }
+
+    @Override
+    public String toString(final boolean print_readably) {
+        return super.toString(print_readably);
+    }
+
+
+    private static final long serialVersionUID = 1598432086227773369L;
+
+    private VncVal val;
+}
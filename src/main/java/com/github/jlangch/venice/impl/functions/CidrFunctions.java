@@ -21,6 +21,7 @@
  */
 package com.github.jlangch.venice.impl.functions;
 
+import java.io.File;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
@@ -36,12 +37,15 @@ import com.github.jlangch.venice.impl.types.VncLong;
 import com.github.jlangch.venice.impl.types.VncString;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncSequence;
 import com.github.jlangch.venice.impl.types.collections.VncVector;
 import com.github.jlangch.venice.impl.types.util.Coerce;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ArityExceptions;
 import com.github.jlangch.venice.impl.util.SymbolMapBuilder;
 import com.github.jlangch.venice.impl.util.cidr.CIDR;
+import com.github.jlangch.venice.impl.util.cidr.collect.CidrLookup;
+import com.github.jlangch.venice.impl.util.cidr.collect.CidrTable;
 import com.github.jlangch.venice.impl.util.cidr.collect.CidrTrie;
 
 
@@ -255,7 +259,7 @@ public class CidrFunctions {
                     VncFunction
                         .meta()
                         .arglists("(cidr/size trie)")
-                        .doc("Returns the size of the trie.")
+                        .doc("Returns the size of a trie or a table.")
                         .examples(
                             "(do                                                \n" +
                             "  (let [trie (cidr/trie)]                          \n" +
@@ -270,7 +274,7 @@ public class CidrFunctions {
                     ArityExceptions.assertArity(this, args, 1);
 
                     @SuppressWarnings("unchecked")
-                    final CidrTrie<VncVal> trie = Coerce.toVncJavaObject(args.first(), CidrTrie.class);
+                    final CidrLookup<VncVal> trie = Coerce.toVncJavaObject(args.first(), CidrLookup.class);
 
                     return new VncLong(trie.size());
                 }
@@ -321,7 +325,7 @@ public class CidrFunctions {
                     .meta()
                     .arglists("(cidr/lookup trie ip)")
                     .doc(
-                        "Lookup the associated value of a CIDR in the trie. " +
+                        "Lookup the associated value of a CIDR in the trie or table. " +
                         "A cidr \"192.16.10.0/24\" or an inet address " +
                         "\"192.16.10.15\" can be passed as ip.")
                     .examples(
@@ -338,7 +342,7 @@ public class CidrFunctions {
                 ArityExceptions.assertArity(this, args, 2);
 
                 @SuppressWarnings("unchecked")
-                final CidrTrie<VncVal> trie = Coerce.toVncJavaObject(args.first(), CidrTrie.class);
+                final CidrLookup<VncVal> trie = Coerce.toVncJavaObject(args.first(), CidrLookup.class);
 
                 if (Types.isVncString(args.second())) {
                     final String ip = ((VncString)args.second()).getValue();
@@ -367,10 +371,11 @@ public class CidrFunctions {
                     .meta()
                     .arglists("(cidr/lookup-mixed trie-ip4 trie-ip6 ip)")
                     .doc(
-                        "Lookup the associated value of a CIDR in the IPv4 or IPv6 trie. " +
+                        "Lookup the associated value of a CIDR in the IPv4 or IPv6 trie " +
+                        "or table. " +
                         "A cidr \"192.16.10.0/24\" or an inet address \"192.16.10.15\" " +
                         "(IPv4 or IPv6) can be passed as ip. The ip will then be routed " +
-                        "to the corresponding IPv4 or IPv6 trie.")
+                        "to the corresponding IPv4 or IPv6 trie or table.")
                     .examples(
                         "(do                                               \n" +
                         "  (let [trie-ip4 (cidr/trie)                      \n" +
@@ -391,9 +396,9 @@ public class CidrFunctions {
                     final String ip = ((VncString)args.third()).getValue();
 
                     @SuppressWarnings("unchecked")
-                    final CidrTrie<VncVal> trie = Coerce.toVncJavaObject(
+                    final CidrLookup<VncVal> trie = Coerce.toVncJavaObject(
                                                         ip.contains(".") ? args.first() : args.second(),
-                                                        CidrTrie.class);
+                                                        CidrLookup.class);
                     final VncVal val = trie.getValue(ip);
                     return val == null ? Constants.Nil : val;
                 }
@@ -401,9 +406,9 @@ public class CidrFunctions {
                     final CIDR cidr = Coerce.toVncJavaObject(args.third(), CIDR.class);
 
                     @SuppressWarnings("unchecked")
-                    final CidrTrie<VncVal> trie = Coerce.toVncJavaObject(
+                    final CidrLookup<VncVal> trie = Coerce.toVncJavaObject(
                                                         cidr.isIP4() ? args.first() : args.second(),
-                                                        CidrTrie.class);
+                                                        CidrLookup.class);
                     final VncVal val = trie.getValue(cidr);
                     return val == null ? Constants.Nil : val;
                 }
@@ -423,7 +428,7 @@ public class CidrFunctions {
                     VncFunction
                         .meta()
                         .arglists("(cidr/lookup-reverse trie ip)")
-                        .doc("Reverse lookup a CIDR in the trie given an IP address")
+                        .doc("Reverse lookup a CIDR in the trie or table given an IP address")
                         .examples(
                             "(do                                                \n" +
                             "  (let [trie (cidr/trie)]                          \n" +
@@ -438,7 +443,7 @@ public class CidrFunctions {
                     ArityExceptions.assertArity(this, args, 2);
 
                     @SuppressWarnings("unchecked")
-                    final CidrTrie<VncVal> trie = Coerce.toVncJavaObject(args.first(), CidrTrie.class);
+                    final CidrLookup<VncVal> trie = Coerce.toVncJavaObject(args.first(), CidrLookup.class);
 
                     if (Types.isVncString(args.second())) {
                         final String ip = ((VncString)args.second()).getValue();
@@ -456,6 +461,158 @@ public class CidrFunctions {
             };
 
 
+    ///////////////////////////////////////////////////////////////////////////
+    // Table
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static VncFunction table =
+        new VncFunction(
+                "cidr/table",
+                VncFunction
+                    .meta()
+                    .arglists(
+                        "(cidr/table trie)",
+                        "(cidr/table items)")
+                    .doc(
+                        "Creates an immutable compact CIDR table from a trie or from " +
+                        "a sequence of [cidr value] items. The cidr of an item can be " +
+                        "a string or a parsed CIDR.\n\n" +
+                        "A table stores the CIDR blocks as a sorted array of disjoint " +
+                        "address ranges and looks up an address with a binary search. " +
+                        "It uses a fraction of the memory of a trie. A table holds " +
+                        "either IPv4 or IPv6 blocks.\n\n" +
+                        "Tables work with the functions `cidr/lookup`, " +
+                        "`cidr/lookup-mixed`, `cidr/lookup-reverse`, and `cidr/size`. " +
+                        "They can be saved to a binary file with `cidr/save-table` " +
+                        "and loaded from it with `cidr/load-table`.")
+                    .examples(
+                        "(do                                                 \n" +
+                        "  (let [table (cidr/table [[\"192.16.0.0/16\" \"EU\"]    \n" +
+                        "                           [\"192.16.10.0/24\" \"DE\"]]) ] \n" +
+                        "    (cidr/lookup table \"192.16.10.15\")))               ",
+                        "(do                                                 \n" +
+                        "  (let [trie (cidr/trie)]                           \n" +
+                        "    (cidr/insert trie                               \n" +
+                        "                 (cidr/parse \"192.16.10.0/24\")    \n" +
+                        "                 \"Germany\")                       \n" +
+                        "    (cidr/lookup (cidr/table trie) \"192.16.10.15\")))")
+                    .seeAlso("cidr/trie", "cidr/save-table", "cidr/load-table")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1);
+
+                if (Types.isVncJavaObject(args.first(), CidrTrie.class)) {
+                    @SuppressWarnings("unchecked")
+                    final CidrTrie<VncVal> trie = Coerce.toVncJavaObject(args.first(), CidrTrie.class);
+
+                    return new VncJavaObject(CidrTable.of(trie));
+                }
+                else if (Types.isVncSequence(args.first())) {
+                    final CidrTable.Builder<VncVal> builder = CidrTable.builder();
+
+                    for(VncVal item : Coerce.toVncSequence(args.first())) {
+                        final VncSequence kv = Coerce.toVncSequence(item);
+                        final VncVal cidr = kv.first();
+                        builder.add(
+                            Types.isVncString(cidr)
+                                ? CIDR.parse(((VncString)cidr).getValue())
+                                : Coerce.toVncJavaObject(cidr, CIDR.class),
+                            kv.second());
+                    }
+
+                    return new VncJavaObject(builder.build());
+                }
+                else {
+                    throw new VncException(String.format(
+                            "Invalid argument type %s while calling function 'cidr/table'",
+                            Types.getType(args.first())));
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction save_table =
+        new VncFunction(
+                "cidr/save-table",
+                VncFunction
+                    .meta()
+                    .arglists("(cidr/save-table table f)")
+                    .doc(
+                        "Saves a CIDR table to the binary file f. f must be a file " +
+                        "or a string (file path). The table's values must be " +
+                        "serializable.")
+                    .examples(
+                        "(do                                                 \n" +
+                        "  (let [table (cidr/table [[\"192.16.10.0/24\" \"DE\"]])] \n" +
+                        "    (cidr/save-table table \"/tmp/cidr.bin\")           \n" +
+                        "    (-> (cidr/load-table \"/tmp/cidr.bin\")            \n" +
+                        "        (cidr/lookup \"192.16.10.15\"))))                 ")
+                    .seeAlso("cidr/table", "cidr/load-table")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 2);
+
+                sandboxFunctionCallValidation();
+
+                @SuppressWarnings("unchecked")
+                final CidrTable<VncVal> table = Coerce.toVncJavaObject(args.first(), CidrTable.class);
+
+                final File f = IOFunctions.convertToFile(
+                                    args.second(),
+                                    "Function 'cidr/save-table' does not allow %s as f");
+
+                table.save(f);
+
+                return Constants.Nil;
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction load_table =
+        new VncFunction(
+                "cidr/load-table",
+                VncFunction
+                    .meta()
+                    .arglists("(cidr/load-table f)")
+                    .doc(
+                        "Loads a CIDR table from the binary file f that has been " +
+                        "saved with `cidr/save-table`. f must be a file or a string " +
+                        "(file path). The file's address ranges are memory mapped " +
+                        "and not copied to the heap.")
+                    .examples(
+                        "(do                                                 \n" +
+                        "  (let [table (cidr/table [[\"192.16.10.0/24\" \"DE\"]])] \n" +
+                        "    (cidr/save-table table \"/tmp/cidr.bin\")           \n" +
+                        "    (-> (cidr/load-table \"/tmp/cidr.bin\")            \n" +
+                        "        (cidr/lookup \"192.16.10.15\"))))                 ")
+                    .seeAlso("cidr/table", "cidr/save-table")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1);
+
+                sandboxFunctionCallValidation();
+
+                final File f = IOFunctions.convertToFile(
+                                    args.first(),
+                                    "Function 'cidr/load-table' does not allow %s as f");
+
+                IOFunctions.validateReadableFile(f);
+
+                return new VncJavaObject(CidrTable.<VncVal>load(f));
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+
     ///////////////////////////////////////////////////////////////////////////
     // InetAddress
     ///////////////////////////////////////////////////////////////////////////
@@ -665,6 +822,9 @@ public class CidrFunctions {
                     .add(lookup)
                     .add(lookup_mixed)
                     .add(lookup_reverse)
+                    .add(table)
+                    .add(save_table)
+                    .add(load_table)
                     .add(start_inet_addr)
                     .add(end_inet_addr)
                     .toMap();
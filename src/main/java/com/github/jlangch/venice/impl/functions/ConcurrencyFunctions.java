@@ -26,13 +26,20 @@ import static com.github.jlangch.venice.impl.types.VncBoolean.False;
 import static com.github.jlangch.venice.impl.types.VncBoolean.True;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
@@ -49,8 +56,10 @@ import com.github.jlangch.venice.SecurityException;
 import com.github.jlangch.venice.ValueException;
 import com.github.jlangch.venice.VncException;
 import com.github.jlangch.venice.impl.thread.ThreadBridge;
+import com.github.jlangch.venice.impl.thread.ThreadContext;
 import com.github.jlangch.venice.impl.threadpool.GlobalThreadFactory;
 import com.github.jlangch.venice.impl.threadpool.ManagedCachedThreadPoolExecutor;
+import com.github.jlangch.venice.impl.threadpool.ManagedForkJoinPoolExecutor;
 import com.github.jlangch.venice.impl.types.IDeref;
 import com.github.jlangch.venice.impl.types.IVncFunction;
 import com.github.jlangch.venice.impl.types.VncAtom;
@@ -63,8 +72,8 @@ import com.github.jlangch.venice.impl.types.VncString;
 import com.github.jlangch.venice.impl.types.VncThreadLocal;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.VncVolatile;
+import com.github.jlangch.venice.impl.types.collections.VncCollection;
 import com.github.jlangch.venice.impl.types.collections.VncHashMap;
-import com.github.jlangch.venice.impl.types.collections.VncLazySeq;
 import com.github.jlangch.venice.impl.types.collections.VncList;
 import com.github.jlangch.venice.impl.types.collections.VncMap;
 import com.github.jlangch.venice.impl.types.collections.VncSequence;
@@ -76,6 +85,8 @@ import com.github.jlangch.venice.impl.util.ArityExceptions;
 import com.github.jlangch.venice.impl.util.CallFrame;
 import com.github.jlangch.venice.impl.util.MetaUtil;
 import com.github.jlangch.venice.impl.util.SymbolMapBuilder;
+import com.github.jlangch.venice.impl.util.Tuple2;
+import com.github.jlangch.venice.impl.util.concurrent.FoldTask;
 
 
 public class ConcurrencyFunctions {
@@ -3089,91 +3100,71 @@ public class ConcurrencyFunctions {
                         "came (in *coll*/*colls*).\n" +
                         "In contrast, side effects of *f* (if any) are coming in random " +
                         "order!\n\n" +
-                        "`pmap` is implemented using Venice futures and processes " +
-                        "`(+ 2 (cpus))` items in parallel.")
+                        "`pmap` runs *f* on a work-stealing thread pool sized to the " +
+                        "number of cpus by default. It keeps a sliding window of " +
+                        "`(pmap-window)` items in flight, `(+ 2 (pmap-parallelism))` " +
+                        "by default. A new item is started as soon as any running item " +
+                        "has completed, so a single slow item does not stall the " +
+                        "others.\n\n" +
+                        "At most `(pmap-parallelism)` items run at the same time. For " +
+                        "blocking (e.g. IO bound) functions raise the pool size with " +
+                        "`pmap-parallelism`.")
                     .examples(
-                        ";; With `pmap`, the total elapsed time is just over 2 seconds:\n" +
-                        "(do                                          \n" +
-                        "  (defn long-running-job [n]                 \n" +
-                        "    (sleep 2000)  ; wait for 2 seconds       \n" +
-                        "    (+ n 10))                                \n" +
-                        "  (time (pmap long-running-job (range 4))))   ",
+                        ";; With `pmap`, the total elapsed time is roughly             \n" +
+                        ";; 2 * (ceil (/ 4 (pmap-parallelism))) seconds. With a pool   \n" +
+                        ";; of at least 4 threads it is just over 2 seconds:           \n" +
+                        "(do                                                           \n" +
+                        "  (defn long-running-job [n]                                  \n" +
+                        "    (sleep 2000)  ; wait for 2 seconds                        \n" +
+                        "    (+ n 10))                                                 \n" +
+                        "  (pmap-parallelism (max 4 (cpus)))                           \n" +
+                        "  (time (pmap long-running-job (range 4))))                     ",
                         ";; With `map`, the total elapsed time is roughly 4 * 2 seconds:\n" +
                         "(do                                          \n" +
                         "  (defn long-running-job [n]                 \n" +
                         "    (sleep 2000)  ; wait for 2 seconds       \n" +
                         "    (+ n 10))                                \n" +
                         "  (time (map long-running-job (range 4))))  ")
-                    .seeAlso("pcalls", "map", "cpus")
+                    .seeAlso("upmap", "pcalls", "map", "pmap-parallelism", "pmap-window", "cpus")
                     .build()
         ) {
             @Override
             public VncVal apply(final VncList args) {
                 ArityExceptions.assertMinArity(this, args, 2);
 
-                if (args.size() == 2 && args.second() == Nil) {
-                    return VncList.empty();
-                }
-
-                final IVncFunction fn = Coerce.toIVncFunction(args.first());
-
-                VncLazySeq lazySeq;
-
-                if (args.size() == 2) {
-                    // single collection
-                    final VncSequence seq = VncSequence.coerceToSequence(args.second());
-
-                    lazySeq = VncLazySeq
-                                .ofAll(seq, Nil)
-                                .map(v -> future.applyOf(
-                                            VncFunction.of(() -> fn.applyOf(v))));
-                }
-                else {
-                    // multiple collections
-                    final VncList listsOfSeqs = args.rest().filter(v -> v != Nil);
-
-                    final VncSequence[] seqs = new VncSequence[listsOfSeqs.size()];
-                    for(int ii=0; ii<listsOfSeqs.size(); ii++) {
-                        seqs[ii] = VncSequence.coerceToSequence(listsOfSeqs.nth(ii));
-                    }
-
-                    VncList mappingFnArgs = VncList.empty();
-
-                    while(!isOneSeqEmpty(seqs)) {
-                        VncList fnArgs = VncList.empty();
-                        for(int ii=0; ii<seqs.length; ii++) {
-                            fnArgs = fnArgs.addAtEnd(seqs[ii].first());
-                            seqs[ii] = seqs[ii].rest();
-                        }
-                        mappingFnArgs = mappingFnArgs.addAtEnd(fnArgs);
-                    }
-
-                    lazySeq = VncLazySeq
-                                .ofAll(mappingFnArgs, Nil)
-                                .map(v -> future.applyOf(
-                                            VncFunction.of(() -> fn.apply((VncList)v))));
-                }
-
-
-                // parallelization
-                final int n = 2 + Runtime.getRuntime().availableProcessors();
+                sandboxFunctionCallValidation();
 
-                VncList result = VncList.empty();
-                while(true) {
-                    final VncLazySeq part = lazySeq.take(n);
-                    if (part.isEmpty()) {
-                        break;
-                    }
+                return parallelMap(this, args, true);
+            }
 
-                    lazySeq = lazySeq.drop(n);
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
 
-                    final VncList partialRes = part.realize()
-                                                   .map(v -> deref.applyOf(v));
+    public static VncFunction upmap =
+        new VncFunction(
+                "upmap",
+                VncFunction
+                    .meta()
+                    .arglists("(upmap f coll)", "(upmap f coll & colls)")
+                    .doc(
+                        "Like `pmap`, except that the results are returned in the " +
+                        "order the items have completed and not in the order of the " +
+                        "items in *coll* (or *colls*).\n\n" +
+                        "Use `upmap` if the order of the results does not matter.")
+                    .examples(
+                        "(sort (upmap inc [1 2 3 4 5 6]))",
+                        ";; the fast items come first:\n" +
+                        "(upmap #(do (sleep %) %) [300 100 200])")
+                    .seeAlso("pmap", "pcalls", "map", "pmap-parallelism", "pmap-window", "cpus")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertMinArity(this, args, 2);
 
-                    result = result.addAllAtEnd(partialRes);
-                }
+                sandboxFunctionCallValidation();
 
-                return result;
+                return parallelMap(this, args, false);
             }
 
             private static final long serialVersionUID = -1848883965231344442L;
@@ -3190,11 +3181,11 @@ public class ConcurrencyFunctions {
                         "of their values in the same order the functions are passed.\n" +
                         "In contrast, side effects of *fns* (if any) are coming in random " +
                         "order!\n\n" +
-                        "`pcalls` is implemented using Venice futures and processes " +
-                        "`(+ 2 (cpus))` functions in parallel.")
+                        "`pcalls` is implemented using `pmap` and runs up to " +
+                        "`(pmap-parallelism)` functions in parallel.")
                     .examples(
                         "(pcalls #(+ 1 2) #(+ 2 3) #(+ 3 4))")
-                    .seeAlso("pmap", "cpus")
+                    .seeAlso("pmap", "upmap", "pmap-parallelism", "cpus")
                     .build()
         ) {
             @Override
@@ -3210,6 +3201,235 @@ public class ConcurrencyFunctions {
             private static final long serialVersionUID = -1848883965231344442L;
         };
 
+    public static VncFunction pmap_parallelism =
+        new VncFunction(
+                "pmap-parallelism",
+                VncFunction
+                    .meta()
+                    .arglists("(pmap-parallelism)", "(pmap-parallelism n)")
+                    .doc(
+                        "Returns the number of threads of the pool `pmap`, `upmap`, " +
+                        "`pcalls`, and `fold` run on. With an argument sets the pool " +
+                        "size to *n* and returns it.\n\n" +
+                        "The pool is sized to the number of cpus by default, which " +
+                        "suits computationally intensive functions. Raise it for " +
+                        "functions that block (e.g. on IO) most of the time. A new " +
+                        "pool size applies to the parallel calls started afterwards, " +
+                        "running calls complete on the old pool.\n\n" +
+                        "Note: the pool is shared by all Venice instances of the JVM. " +
+                        "A new pool size applies to the parallel calls of all " +
+                        "instances. Use `pmap-window` to limit the items a single " +
+                        "call keeps in flight.")
+                    .examples(
+                        "(pmap-parallelism)",
+                        ";; run blocking jobs with 16 threads\n" +
+                        "(do                                          \n" +
+                        "  (pmap-parallelism 16)                      \n" +
+                        "  (time (pmap (fn [n] (sleep 500) n)         \n" +
+                        "              (range 16))))                   ")
+                    .seeAlso("pmap", "upmap", "pcalls", "fold", "pmap-window", "cpus")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 0, 1);
+
+                if (args.size() == 1) {
+                    sandboxFunctionCallValidation();
+
+                    final long n = Coerce.toVncLong(args.first()).getValue();
+                    if (n < 1) {
+                        throw new VncException(
+                                "pmap-parallelism: the pool size n must be a positive number");
+                    }
+
+                    parallelExecutor.setParallelism((int)Math.min(n, MAX_PARALLELISM));
+                }
+
+                return new VncLong(parallelExecutor.getParallelism());
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction pmap_window =
+        new VncFunction(
+                "pmap-window",
+                VncFunction
+                    .meta()
+                    .arglists("(pmap-window)", "(pmap-window n)")
+                    .doc(
+                        "Returns the number of items `pmap`, `upmap`, and `pcalls` " +
+                        "keep in flight. With an argument sets the number to *n* " +
+                        "and returns it. `(pmap-window nil)` resets it to the " +
+                        "default `(+ 2 (pmap-parallelism))`.\n\n" +
+                        "Unlike `pmap-parallelism` the window is not shared. It " +
+                        "applies to the current thread and to the futures and " +
+                        "agents it starts, until the evaluation completes.\n\n" +
+                        "A larger window keeps the pool busy if the items' run times " +
+                        "differ widely, a smaller window limits the items a call " +
+                        "holds at once.")
+                    .examples(
+                        "(pmap-window)",
+                        "(do                                          \n" +
+                        "  (pmap-window 64)                           \n" +
+                        "  (pmap inc (range 1000))                    \n" +
+                        "  (pmap-window))                               ")
+                    .seeAlso("pmap", "upmap", "pcalls", "pmap-parallelism")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 0, 1);
+
+                if (args.size() == 1) {
+                    if (args.first() == Nil) {
+                        ThreadContext.removeValue(PMAP_WINDOW_KEY);
+                    }
+                    else {
+                        final long n = Coerce.toVncLong(args.first()).getValue();
+                        if (n < 1) {
+                            throw new VncException(
+                                    "pmap-window: the window n must be a positive number");
+                        }
+
+                        ThreadContext.setValue(
+                                PMAP_WINDOW_KEY,
+                                new VncLong(Math.min(n, MAX_PMAP_WINDOW)));
+                    }
+                }
+
+                return new VncLong(pmapWindow(parallelExecutor.getParallelism()));
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction fold =
+        new VncFunction(
+                "fold",
+                VncFunction
+                    .meta()
+                    .arglists(
+                        "(fold reducef coll)",
+                        "(fold combinef reducef coll)",
+                        "(fold n combinef reducef coll)",
+                        "(fold n combinef xform reducef coll)")
+                    .doc(
+                        "Reduces a collection using a (potentially parallel) " +
+                        "reduce-combine strategy. The collection is partitioned into " +
+                        "chunks of approximately *n* items (default 512), each of which " +
+                        "is reduced with *reducef* using `(combinef)` as the init value. " +
+                        "The chunk results are then reduced with *combinef* " +
+                        "(*combinef* defaults to *reducef*).\n\n" +
+                        "*combinef* must be associative, and, when called with no " +
+                        "arguments, `(combinef)` must produce its identity element. " +
+                        "These operations may be performed in parallel on a " +
+                        "fork/join pool, but the results preserve the order of " +
+                        "the collection.\n\n" +
+                        "If a transducer *xform* is passed, every chunk is reduced " +
+                        "with its own transformed reduce function `(xform reducef)` " +
+                        "like `transduce` does.\n\n" +
+                        "Vectors, lists, long and double vectors, maps (map entries), " +
+                        "and sets are folded in parallel. All other collections are " +
+                        "reduced sequentially as a single chunk.")
+                    .examples(
+                        "(fold + (range 1 10001))",
+                        "(fold 100 + + (long-vector (range 1 10001)))",
+                        "(fold 100 + (map #(* % %)) + (vec (range 1 101)))",
+                        "(fold 100                                     \n" +
+                        "      (fn ([] 0) ([x y] (max x y)))            \n" +
+                        "      (fn [acc x] (max acc (count x)))          \n" +
+                        "      [\"ab\" \"abcd\" \"a\" \"abc\"])                ")
+                    .seeAlso("reduce", "transduce", "pmap")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 2, 3, 4, 5);
+
+                final int n;
+                final IVncFunction combineFn;
+                final IVncFunction xform;
+                final IVncFunction reduceFn;
+
+                switch(args.size()) {
+                    case 2:
+                        n = DEFAULT_FOLD_CHUNK_SIZE;
+                        reduceFn = Coerce.toIVncFunction(args.first());
+                        combineFn = reduceFn;
+                        xform = null;
+                        break;
+                    case 3:
+                        n = DEFAULT_FOLD_CHUNK_SIZE;
+                        combineFn = Coerce.toIVncFunction(args.first());
+                        reduceFn = Coerce.toIVncFunction(args.second());
+                        xform = null;
+                        break;
+                    case 4:
+                        n = Coerce.toVncLong(args.first()).getIntValue();
+                        combineFn = Coerce.toIVncFunction(args.second());
+                        reduceFn = Coerce.toIVncFunction(args.third());
+                        xform = null;
+                        break;
+                    default:
+                        n = Coerce.toVncLong(args.first()).getIntValue();
+                        combineFn = Coerce.toIVncFunction(args.second());
+                        xform = Coerce.toIVncFunction(args.third());
+                        reduceFn = Coerce.toIVncFunction(args.nth(3));
+                        break;
+                }
+
+                if (n < 1) {
+                    throw new VncException("fold: the chunk size n must be a positive number");
+                }
+
+                final VncVal coll = args.last();
+
+                final boolean foldable = Types.isVncVector(coll)
+                                            || Types.isVncList(coll)
+                                            || Types.isVncLongVector(coll)
+                                            || Types.isVncDoubleVector(coll)
+                                            || Types.isVncMap(coll)
+                                            || Types.isVncSet(coll);
+
+                final VncSequence seq;
+                if (coll == Nil) {
+                    seq = VncList.empty();
+                }
+                else if (Types.isVncMap(coll) || Types.isVncSet(coll)) {
+                    seq = ((VncCollection)coll).toVncList();
+                }
+                else {
+                    seq = VncSequence.coerceToSequence(coll);
+                }
+
+                final ThreadBridge threadBridge = ThreadBridge.create(
+                                                    "fold",
+                                                    new CallFrame(this, args));
+
+                if (!foldable || seq.size() <= n) {
+                    // a single chunk, reduce it in the current thread
+                    final VncSequence chunk = seq.toVncList();
+                    return new FoldTask(
+                                threadBridge,
+                                chunk, 0, chunk.size(), Math.max(1, chunk.size()),
+                                combineFn, xform, reduceFn).invoke();
+                }
+
+                sandboxFunctionCallValidation();
+
+                final FoldTask task = new FoldTask(
+                                            threadBridge,
+                                            seq, 0, seq.size(), n,
+                                            combineFn, xform, reduceFn);
+
+                return parallelExecutor.getExecutor().invoke(task);
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
 
 
     ///////////////////////////////////////////////////////////////////////////
@@ -3218,6 +3438,7 @@ public class ConcurrencyFunctions {
 
     public static void shutdown() {
         mngdExecutor.shutdown();
+        parallelExecutor.shutdown();
     }
 
     public static void setMaximumFutureThreadPoolSize(final int maximumPoolSize) {
@@ -3312,6 +3533,148 @@ public class ConcurrencyFunctions {
         return result;
     }
 
+    private static int pmapWindow(final int parallelism) {
+        final VncVal window = ThreadContext.getValue(PMAP_WINDOW_KEY);
+        return window == Nil
+                ? parallelism + 2
+                : ((VncLong)window).toJavaInteger();
+    }
+
+    private static VncList parallelMap(
+            final VncFunction caller,
+            final VncList args,
+            final boolean ordered
+    ) {
+        if (args.size() == 2 && args.second() == Nil) {
+            return VncList.empty();
+        }
+
+        final IVncFunction fn = Coerce.toIVncFunction(args.first());
+
+        final Iterator<VncList> fnArgs;
+        if (args.size() == 2) {
+            // single collection
+            final VncSequence seq = VncSequence.coerceToSequence(args.second());
+            final Iterator<VncVal> it = seq.iterator();
+            fnArgs = new Iterator<VncList>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+                @Override
+                public VncList next() {
+                    return VncList.of(it.next());
+                }
+            };
+        }
+        else {
+            // multiple collections
+            final VncList listsOfSeqs = args.rest().filter(v -> v != Nil);
+
+            final VncSequence[] seqs = new VncSequence[listsOfSeqs.size()];
+            for(int ii=0; ii<listsOfSeqs.size(); ii++) {
+                seqs[ii] = VncSequence.coerceToSequence(listsOfSeqs.nth(ii));
+            }
+
+            fnArgs = new Iterator<VncList>() {
+                @Override
+                public boolean hasNext() {
+                    return !isOneSeqEmpty(seqs);
+                }
+                @Override
+                public VncList next() {
+                    final List<VncVal> items = new ArrayList<>(seqs.length);
+                    for(int ii=0; ii<seqs.length; ii++) {
+                        items.add(seqs[ii].first());
+                        seqs[ii] = seqs[ii].rest();
+                    }
+                    return VncList.ofList(items);
+                }
+            };
+        }
+
+        final ForkJoinPool pool = parallelExecutor.getExecutor();
+
+        if (ForkJoinTask.getPool() == pool) {
+            // A nested pmap runs within a pool thread. Waiting for the
+            // nested tasks would block the pool's threads, so map sequentially.
+            final List<VncVal> results = new ArrayList<>();
+            while(fnArgs.hasNext()) {
+                results.add(fn.apply(fnArgs.next()));
+            }
+            return VncList.ofList(results);
+        }
+
+        final ThreadBridge threadBridge = ThreadBridge.create(
+                                            caller.getSimpleName(),
+                                            new CallFrame(caller, args));
+
+        final CompletionService<Tuple2<Integer,VncVal>> completionService =
+                new ExecutorCompletionService<>(pool);
+
+        // sliding window: keep up to 'window' items in flight
+        final int window = pmapWindow(pool.getParallelism());
+
+        final Set<Future<Tuple2<Integer,VncVal>>> inFlight = new HashSet<>();
+        final List<VncVal> results = new ArrayList<>();
+
+        try {
+            int index = 0;
+            while(true) {
+                while(inFlight.size() < window && fnArgs.hasNext()) {
+                    final int idx = index++;
+                    final VncList itemArgs = fnArgs.next();
+                    inFlight.add(completionService.submit(
+                                    threadBridge.bridgeCallable(
+                                        () -> new Tuple2<>(idx, fn.apply(itemArgs)))));
+                    if (ordered) {
+                        results.add(Nil);  // placeholder
+                    }
+                }
+
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+
+                final Future<Tuple2<Integer,VncVal>> done = completionService.take();
+                inFlight.remove(done);
+
+                final Tuple2<Integer,VncVal> result = done.get();
+                if (ordered) {
+                    results.set(result.getFirst(), result.getSecond());
+                }
+                else {
+                    results.add(result.getSecond());
+                }
+            }
+
+            return VncList.ofList(results);
+        }
+        catch(ExecutionException ex) {
+            if (ex.getCause() instanceof SecurityException) {
+                throw (SecurityException)ex.getCause();
+            }
+            else if (ex.getCause() instanceof VncException) {
+                throw (VncException)ex.getCause();
+            }
+            else {
+                throw new VncException(
+                        String.format("%s: item failure", caller.getSimpleName()),
+                        ex.getCause() == null ? ex : ex.getCause());
+            }
+        }
+        catch(InterruptedException ex) {
+            throw new com.github.jlangch.venice.InterruptedException(
+                    String.format(
+                        "Interrupted while waiting for %s items to complete.",
+                        caller.getSimpleName()));
+        }
+        finally {
+            // cancel the items still running after a failure
+            inFlight.forEach(f -> safelyCancelFuture(f));
+        }
+    }
+
     private static boolean isOneSeqEmpty(final VncSequence[] seqs) {
         for(int ii=0; ii<seqs.length; ii++) {
             if (seqs[ii].isEmpty()) {
@@ -3406,12 +3769,26 @@ public class ConcurrencyFunctions {
                     .add(thread_local_map)
 
                     .add(pmap)
+                    .add(upmap)
                     .add(pcalls)
+                    .add(fold)
+                    .add(pmap_parallelism)
+                    .add(pmap_window)
 
                     .toMap();
 
 
 
+    private static final int DEFAULT_FOLD_CHUNK_SIZE = 512;
+    private static final int MAX_PARALLELISM = 0x7fff;  // ForkJoinPool limit
+    private static final int MAX_PMAP_WINDOW = 0x7fff;
+
+    private static final VncKeyword PMAP_WINDOW_KEY = new VncKeyword(":core/pmap-window");
+
     private static ManagedCachedThreadPoolExecutor mngdExecutor =
             new ManagedCachedThreadPoolExecutor("venice-future-pool", 200);
+
+    // the pool is shared by all Venice instances of the JVM
+    private static ManagedForkJoinPoolExecutor parallelExecutor =
+            new ManagedForkJoinPoolExecutor("venice-parallel-pool");
 }
@@ -35,6 +35,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -73,12 +74,14 @@ import com.github.jlangch.venice.impl.types.VncThreadLocal;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.collections.VncCollection;
 import com.github.jlangch.venice.impl.types.collections.VncDelayQueue;
+import com.github.jlangch.venice.impl.types.collections.VncDoubleVector;
 import com.github.jlangch.venice.impl.types.collections.VncHashMap;
 import com.github.jlangch.venice.impl.types.collections.VncHashSet;
 import com.github.jlangch.venice.impl.types.collections.VncJavaList;
 import com.github.jlangch.venice.impl.types.collections.VncJavaSet;
 import com.github.jlangch.venice.impl.types.collections.VncLazySeq;
 import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncLongVector;
 import com.github.jlangch.venice.impl.types.collections.VncMap;
 import com.github.jlangch.venice.impl.types.collections.VncMapEntry;
 import com.github.jlangch.venice.impl.types.collections.VncMutable;
@@ -93,6 +96,11 @@ import com.github.jlangch.venice.impl.types.collections.VncSet;
 import com.github.jlangch.venice.impl.types.collections.VncSortedMap;
 import com.github.jlangch.venice.impl.types.collections.VncSortedSet;
 import com.github.jlangch.venice.impl.types.collections.VncStack;
+import com.github.jlangch.venice.impl.types.collections.VncTinyList;
+import com.github.jlangch.venice.impl.types.collections.VncTransient;
+import com.github.jlangch.venice.impl.types.collections.VncTransientHashMap;
+import com.github.jlangch.venice.impl.types.collections.VncTransientHashSet;
+import com.github.jlangch.venice.impl.types.collections.VncTransientVector;
 import com.github.jlangch.venice.impl.types.collections.VncVector;
 import com.github.jlangch.venice.impl.types.custom.VncCustomType;
 import com.github.jlangch.venice.impl.types.util.Coerce;
@@ -102,8 +110,10 @@ import com.github.jlangch.venice.impl.util.ArityExceptions.FnType;
 import com.github.jlangch.venice.impl.util.CallFrame;
 import com.github.jlangch.venice.impl.util.CallStack;
 import com.github.jlangch.venice.impl.util.MeterRegistry;
+import com.github.jlangch.venice.impl.util.RegexPatternCache;
 import com.github.jlangch.venice.impl.util.StringUtil;
 import com.github.jlangch.venice.impl.util.SymbolMapBuilder;
+import com.github.jlangch.venice.impl.util.concurrent.MemoizeCache;
 import com.github.jlangch.venice.impl.util.transducer.Reducer;
 
 
@@ -632,7 +642,7 @@ public class CoreFunctions {
                     return args.first();
                 }
                 else if (Types.isVncString(args.first())) {
-                    return new VncKeyword(((VncString)args.first()).getValue());
+                    return VncKeyword.intern(((VncString)args.first()).getValue());
                 }
                 else {
                     throw new VncException(String.format(
@@ -1082,7 +1092,17 @@ public class CoreFunctions {
                 ArityExceptions.assertMinArity(this, args, 1);
 
                 if (args.size() == 2) {
-                    return VncBoolean.of(Types._equal_Q(args.first(), args.second()));
+                    // monomorphic fast paths
+                    final VncVal op1 = args.first();
+                    final VncVal op2 = args.second();
+                    if (op1 instanceof VncLong && op2 instanceof VncLong) {
+                        return VncBoolean.of(((VncLong)op1).toJavaLong() == ((VncLong)op2).toJavaLong());
+                    }
+                    else if (op1 instanceof VncDouble && op2 instanceof VncDouble) {
+                        return VncBoolean.of(((VncDouble)op1).toJavaDouble() == ((VncDouble)op2).toJavaDouble());
+                    }
+
+                    return VncBoolean.of(Types._equal_Q(op1, op2));
                 }
                 else if (args.size() == 1) {
                     return True;
@@ -1186,6 +1206,18 @@ public class CoreFunctions {
                 ArityExceptions.assertMinArity(this, args, 2);
 
                 VncVal op1 = args.first();
+
+                if (args.size() == 2) {
+                    // monomorphic fast paths
+                    final VncVal op2 = args.second();
+                    if (op1 instanceof VncLong && op2 instanceof VncLong) {
+                        return VncBoolean.of(((VncLong)op1).toJavaLong() < ((VncLong)op2).toJavaLong());
+                    }
+                    else if (op1 instanceof VncDouble && op2 instanceof VncDouble) {
+                        return VncBoolean.of(compareDoubles(((VncDouble)op1).toJavaDouble(), ((VncDouble)op2).toJavaDouble()) < 0);
+                    }
+                }
+
                 if (!Types.isVncNumber(op1)) {
                     throw new VncException("Function '<' supports numbers only.");
                 }
@@ -1243,6 +1275,18 @@ public class CoreFunctions {
                 ArityExceptions.assertMinArity(this, args, 2);
 
                 VncVal op1 = args.first();
+
+                if (args.size() == 2) {
+                    // monomorphic fast paths
+                    final VncVal op2 = args.second();
+                    if (op1 instanceof VncLong && op2 instanceof VncLong) {
+                        return VncBoolean.of(((VncLong)op1).toJavaLong() <= ((VncLong)op2).toJavaLong());
+                    }
+                    else if (op1 instanceof VncDouble && op2 instanceof VncDouble) {
+                        return VncBoolean.of(compareDoubles(((VncDouble)op1).toJavaDouble(), ((VncDouble)op2).toJavaDouble()) <= 0);
+                    }
+                }
+
                 if (!Types.isVncNumber(op1)) {
                     throw new VncException("Function '<=' supports numbers only.");
                 }
@@ -1298,6 +1342,18 @@ public class CoreFunctions {
                 ArityExceptions.assertMinArity(this, args, 2);
 
                 VncVal op1 = args.first();
+
+                if (args.size() == 2) {
+                    // monomorphic fast paths
+                    final VncVal op2 = args.second();
+                    if (op1 instanceof VncLong && op2 instanceof VncLong) {
+                        return VncBoolean.of(((VncLong)op1).toJavaLong() > ((VncLong)op2).toJavaLong());
+                    }
+                    else if (op1 instanceof VncDouble && op2 instanceof VncDouble) {
+                        return VncBoolean.of(compareDoubles(((VncDouble)op1).toJavaDouble(), ((VncDouble)op2).toJavaDouble()) > 0);
+                    }
+                }
+
                 if (!Types.isVncNumber(op1)) {
                     throw new VncException("Function '>' supports numbers only.");
                 }
@@ -1353,6 +1409,18 @@ public class CoreFunctions {
                 ArityExceptions.assertMinArity(this, args, 2);
 
                 VncVal op1 = args.first();
+
+                if (args.size() == 2) {
+                    // monomorphic fast paths
+                    final VncVal op2 = args.second();
+                    if (op1 instanceof VncLong && op2 instanceof VncLong) {
+                        return VncBoolean.of(((VncLong)op1).toJavaLong() >= ((VncLong)op2).toJavaLong());
+                    }
+                    else if (op1 instanceof VncDouble && op2 instanceof VncDouble) {
+                        return VncBoolean.of(compareDoubles(((VncDouble)op1).toJavaDouble(), ((VncDouble)op2).toJavaDouble()) >= 0);
+                    }
+                }
+
                 if (!Types.isVncNumber(op1)) {
                     throw new VncException("Function '>=' supports numbers only.");
                 }
@@ -2269,6 +2337,144 @@ public class CoreFunctions {
                 private static final long serialVersionUID = -1848883965231344442L;
             };
 
+    public static VncFunction new_long_vector =
+        new VncFunction(
+                "long-vector",
+                VncFunction
+                    .meta()
+                    .arglists(
+                        "(long-vector coll)",
+                        "(long-vector len)",
+                        "(long-vector len init-val)")
+                    .doc(
+                        "Creates a new immutable vector of primitive longs containing " +
+                        "the items of coll or a vector with the given length and an " +
+                        "optional init value. \n\n" +
+                        "A long vector stores its values unboxed. `+`, `-`, `*`, `/`, " +
+                        "`min`, `max`, and `math/mean` applied to a long vector and the " +
+                        "statistics functions run on the primitive values.")
+                    .examples(
+                        "(long-vector [1 2 3])",
+                        "(long-vector 5)",
+                        "(long-vector 5 42)",
+                        "(apply + (long-vector (range 100)))",
+                        "(math/median (long-vector [3 1 2]))")
+                    .seeAlso("double-vector", "long-vector?", "long-array")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1, 2);
+
+                final VncVal arg = args.first();
+
+                if (Types.isVncLong(arg)) {
+                    final long[] arr = new long[((VncLong)arg).getIntValue()];
+                    if (args.size() == 2) {
+                        Arrays.fill(arr, VncLong.of(args.second()).getValue());
+                    }
+                    return new VncLongVector(arr, null);
+                }
+                else if (Types.isVncJavaObject(arg, long[].class)) {
+                    return new VncLongVector(((long[])((VncJavaObject)arg).getDelegate()).clone(), null);
+                }
+                else {
+                    return VncLongVector.ofAll(Coerce.toVncSequence(arg), null);
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction new_double_vector =
+        new VncFunction(
+                "double-vector",
+                VncFunction
+                    .meta()
+                    .arglists(
+                        "(double-vector coll)",
+                        "(double-vector len)",
+                        "(double-vector len init-val)")
+                    .doc(
+                        "Creates a new immutable vector of primitive doubles containing " +
+                        "the items of coll or a vector with the given length and an " +
+                        "optional init value. \n\n" +
+                        "A double vector stores its values unboxed. `+`, `-`, `*`, `/`, " +
+                        "`min`, `max`, and `math/mean` applied to a double vector and the " +
+                        "statistics functions run on the primitive values.")
+                    .examples(
+                        "(double-vector [1.0 2.5 3])",
+                        "(double-vector 5)",
+                        "(double-vector 5 1.5)",
+                        "(apply math/mean (double-vector [1.0 2.0 4.5]))",
+                        "(math/standard-deviation :sample (double-vector [1.4 3.6 7.8 9.0 2.2]))")
+                    .seeAlso("long-vector", "double-vector?", "double-array")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1, 2);
+
+                final VncVal arg = args.first();
+
+                if (Types.isVncLong(arg)) {
+                    final double[] arr = new double[((VncLong)arg).getIntValue()];
+                    if (args.size() == 2) {
+                        Arrays.fill(arr, VncDouble.of(args.second()).getValue());
+                    }
+                    return new VncDoubleVector(arr, null);
+                }
+                else if (Types.isVncJavaObject(arg, double[].class)) {
+                    return new VncDoubleVector(((double[])((VncJavaObject)arg).getDelegate()).clone(), null);
+                }
+                else {
+                    return VncDoubleVector.ofAll(Coerce.toVncSequence(arg), null);
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction long_vector_Q =
+        new VncFunction(
+                "long-vector?",
+                VncFunction
+                    .meta()
+                    .arglists("(long-vector? obj)")
+                    .doc("Returns true if obj is a vector of primitive longs")
+                    .examples("(long-vector? (long-vector [1 2]))")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1);
+
+                return VncBoolean.of(Types.isVncLongVector(args.first()));
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction double_vector_Q =
+        new VncFunction(
+                "double-vector?",
+                VncFunction
+                    .meta()
+                    .arglists("(double-vector? obj)")
+                    .doc("Returns true if obj is a vector of primitive doubles")
+                    .examples("(double-vector? (double-vector [1.0 2.0]))")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1);
+
+                return VncBoolean.of(Types.isVncDoubleVector(args.first()));
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
     public static VncFunction mutable_Q =
         new VncFunction(
                 "mutable?",
@@ -3592,6 +3798,7 @@ public class CoreFunctions {
                     .examples(
                         "(assoc! nil :a 1 :b 2)",
                         "(assoc! (mutable-map) :a 1 :b 2)",
+                        "(persistent! (assoc! (transient {}) :a 1 :b 2))",
                         "(assoc! (mutable-vector 1 2 3) 0 10)",
                         "(assoc! (mutable-vector 1 2 3) 3 10)",
                         "(assoc! (mutable-vector 1 2 3) 6 10)")
@@ -3604,6 +3811,30 @@ public class CoreFunctions {
                 if (coll == Nil) {
                     return new VncMutableMap().assoc(args.rest());
                 }
+                else if (Types.isVncTransient(coll)) {
+                    final VncList keyvals = args.rest();
+                    if (keyvals.size() % 2 != 0) {
+                        throw new VncException(
+                                "Function 'assoc!' requires an even number of key/vals");
+                    }
+
+                    for(int ii=0; ii<keyvals.size(); ii+=2) {
+                        if (coll instanceof VncTransientHashMap) {
+                            ((VncTransientHashMap)coll).assoc(keyvals.nth(ii), keyvals.nth(ii+1));
+                        }
+                        else if (coll instanceof VncTransientVector) {
+                            ((VncTransientVector)coll).assoc(
+                                    Coerce.toVncLong(keyvals.nth(ii)).getIntValue(),
+                                    keyvals.nth(ii+1));
+                        }
+                        else {
+                            throw new VncException(String.format(
+                                    "Function 'assoc!' does not allow %s as collection.",
+                                    Types.getType(coll)));
+                        }
+                    }
+                    return coll;
+                }
                 else if (Types.isVncMutableMap(coll) || Types.isVncJavaMap(coll)) {
                     return ((VncMap)coll).assoc(args.rest());
                 }
@@ -3969,6 +4200,13 @@ public class CoreFunctions {
                 if (coll == Nil) {
                     return Nil;
                 }
+                else if (coll instanceof VncTransientHashMap) {
+                    final VncTransientHashMap map = (VncTransientHashMap)coll;
+                    for(VncVal key : args.rest()) {
+                        map.dissoc(key);
+                    }
+                    return map;
+                }
                 else if (Types.isVncMutableMap(coll)) {
                     return ((VncMap)coll).dissoc(args.rest());
                 }
@@ -4589,15 +4827,45 @@ public class CoreFunctions {
                 final VncCollection from = Coerce.toVncCollection(args.second());
 
                 if (Types.isVncVector(to)) {
-                    return ((VncVector)to).addAllAtEnd(from.toVncList());
+                    final VncTransientVector t = new VncTransientVector((VncVector)to);
+                    for(VncVal it : from.toVncList()) {
+                        t.conj(it);
+                    }
+                    return t.persistent();
                 }
                 else if (Types.isVncList(to)) {
                     // add reversed as defined by Clojure
                     return ((VncList)to).addAllAtStart(from.toVncList(), true);
                 }
+                else if (Types.isVncHashSet(to)) {
+                    final VncTransientHashSet t = new VncTransientHashSet((VncHashSet)to);
+                    for(VncVal it : from.toVncList()) {
+                        t.conj(it);
+                    }
+                    return t.persistent();
+                }
                 else if (Types.isVncSet(to)) {
                     return ((VncSet)to).addAll(from.toVncList());
                 }
+                else if (Types.isVncHashMap(to) && Types.isVncSequence(from)) {
+                    final VncTransientHashMap t = new VncTransientHashMap((VncHashMap)to);
+                    for(VncVal it : ((VncSequence)from)) {
+                        if (Types.isVncSequence(it)) {
+                            final VncSequence kvs = (VncSequence)it;
+                            if (kvs.size() % 2 != 0) {
+                                throw new VncException(
+                                        "hash-map: assoc requires an even number of items.");
+                            }
+                            for(int ii=0; ii<kvs.size(); ii+=2) {
+                                t.assoc(kvs.nth(ii), kvs.nth(ii+1));
+                            }
+                        }
+                        else if (Types.isVncMapEntry(it) || Types.isVncMap(it)) {
+                            t.conj(it);
+                        }
+                    }
+                    return t.persistent();
+                }
                 else if (Types.isVncMap(to)) {
                     if (Types.isVncSequence(from)) {
                         VncMap toMap = (VncMap)to;
@@ -4635,6 +4903,88 @@ public class CoreFunctions {
             private static final long serialVersionUID = -1848883965231344442L;
         };
 
+    public static VncFunction transient_ =
+        new VncFunction(
+                "transient",
+                VncFunction
+                    .meta()
+                    .arglists("(transient coll)")
+                    .doc(
+                        "Returns a new transient of the persistent vector, hash-map, " +
+                        "or hash-set coll in O(1). A transient is modified in place " +
+                        "with `conj!`, `assoc!`, `dissoc!`, and `disj!` and frozen " +
+                        "into a persistent collection with `persistent!` in O(1).\n\n" +
+                        "A transient is owned by the thread that created it and must " +
+                        "not be used by other threads. It must not be used after " +
+                        "`persistent!` has been called on it.")
+                    .examples(
+                        "(persistent! (conj! (transient [1 2 3]) 4 5))",
+                        "(persistent! (assoc! (transient {:a 1}) :b 2))",
+                        "(persistent! (reduce conj! (transient #{}) (range 5)))")
+                    .seeAlso("persistent!", "conj!", "assoc!", "dissoc!", "disj!")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1);
+
+                final VncVal coll = args.first();
+
+                if (Types.isVncVector(coll)) {
+                    return new VncTransientVector((VncVector)coll);
+                }
+                else if (Types.isVncHashMap(coll)) {
+                    return new VncTransientHashMap((VncHashMap)coll);
+                }
+                else if (Types.isVncHashSet(coll)) {
+                    return new VncTransientHashSet((VncHashSet)coll);
+                }
+                else {
+                    throw new VncException(String.format(
+                            "Function 'transient' does not allow %s as coll. " +
+                            "It works with vectors, hash-maps, and hash-sets only.",
+                            Types.getType(coll)));
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction persistent_BANG =
+        new VncFunction(
+                "persistent!",
+                VncFunction
+                    .meta()
+                    .arglists("(persistent! coll)")
+                    .doc(
+                        "Returns the persistent collection of the transient coll in " +
+                        "O(1). The transient must not be used afterwards.")
+                    .examples(
+                        "(persistent! (conj! (transient [1 2 3]) 4 5))",
+                        "(persistent! (disj! (transient #{1 2 3}) 2))")
+                    .seeAlso("transient", "conj!", "assoc!", "dissoc!", "disj!")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1);
+
+                final VncVal coll = args.first();
+
+                if (Types.isVncTransient(coll)) {
+                    return ((VncTransient)coll).persistent();
+                }
+                else {
+                    throw new VncException(String.format(
+                            "Function 'persistent!' does not allow %s as coll. " +
+                            "It works with transients only.",
+                            Types.getType(coll)));
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
     public static VncFunction into_BANG =
         new VncFunction(
                 "into!",
@@ -5213,6 +5563,9 @@ public class CoreFunctions {
                 else if (Types.isVncCollection(arg)) {
                     return new VncLong(((VncCollection)arg).size());
                 }
+                else if (Types.isVncTransient(arg)) {
+                    return new VncLong(((VncTransient)arg).size());
+                }
                 else {
                     throw new VncException(String.format(
                             "Invalid argument type %s while calling function 'count'",
@@ -5610,6 +5963,8 @@ public class CoreFunctions {
                         "(conj! (mutable-list 1 2 3) 4)",
                         "(conj! (mutable-list 1 2 3) 4 5)",
                         "(conj! (mutable-list 1 2 3) '(4 5))",
+                        "(conj! (mutable-vector 1 2 3) 4)",
+                        "(persistent! (conj! (transient [1 2 3]) 4 5))",
                         "(conj! (mutable-set 1 2 3) 4)",
                         "(conj! (mutable-map :a 1 :b 2) [:c 3])",
                         "(conj! (mutable-map :a 1 :b 2) {:c 3})",
@@ -5634,6 +5989,14 @@ public class CoreFunctions {
                         coll = new VncMutableList();
                     }
 
+                    if (Types.isVncTransient(coll)) {
+                        final VncTransient t = (VncTransient)coll;
+                        for(VncVal v : args.rest()) {
+                            t.conj(v);
+                        }
+                        return t;
+                    }
+
                     if (!(coll instanceof VncMutable)) {
                         throw new VncException(
                                 "Function 'conj!' does not allow persistent collections as coll. " +
@@ -5643,6 +6006,9 @@ public class CoreFunctions {
                     if (Types.isVncMutableList(coll)) {
                         return ((VncMutableList)coll).addAllAtEnd(args.rest());
                     }
+                    else if (Types.isVncMutableVector(coll)) {
+                        return ((VncMutableVector)coll).addAllAtEnd(args.rest());
+                    }
                     else if (Types.isVncMutableSet(coll)) {
                         return ((VncMutableSet)coll).addAll(args.rest());
                     }
@@ -7228,21 +7594,22 @@ public class CoreFunctions {
                 final IVncFunction fn = Coerce.toIVncFunction(args.first());
                 final VncSequence coll = Coerce.toVncSequence(args.second());
 
-                VncMap map = new VncOrderedMap();
+                // build each group in a transient vector, the groups keep
+                // the order of their first element
+                final Map<VncVal,VncTransientVector> groups = new LinkedHashMap<>();
 
                 for(VncVal v : coll) {
                     final VncVal key = VncFunction.applyWithMeter(fn, VncList.of(v), meterRegistry);
-                    final Object val = map.getJavaMap().get(key);
-                    if (val == null) {
-                        map = map.assoc(key, VncVector.of(v));
-                    }
-                    else {
-                        final VncSequence seq = Coerce.toVncSequence((VncVal)val);
-                        map = map.assoc(key, seq.addAtEnd(v));
-                    }
+                    groups.computeIfAbsent(key, k -> new VncTransientVector(VncVector.empty()))
+                          .conj(v);
                 }
 
-                return map;
+                io.vavr.collection.LinkedHashMap<VncVal,VncVal> map = io.vavr.collection.LinkedHashMap.empty();
+                for(Map.Entry<VncVal,VncTransientVector> e : groups.entrySet()) {
+                    map = map.put(e.getKey(), e.getValue().persistent());
+                }
+
+                return new VncOrderedMap(map, Nil);
             }
 
             private static final long serialVersionUID = -1848883965231344442L;
@@ -7269,19 +7636,14 @@ public class CoreFunctions {
 
                 final VncSequence coll = Coerce.toVncSequence(args.first());
 
-                final Map<VncVal,VncLong> map = new HashMap<>();
+                final VncTransientHashMap map = new VncTransientHashMap(VncHashMap.EMPTY);
 
                 for(VncVal v : coll) {
-                    VncLong count = map.get(v);
-                    if (count == null) {
-                        map.put(v, new VncLong(1L));
-                    }
-                    else {
-                        map.put(v, new VncLong(count.getValue()+1));
-                    }
+                    final VncVal count = map.get(v);
+                    map.assoc(v, new VncLong(count == null ? 1L : ((VncLong)count).getValue() + 1));
                 }
 
-                return new VncHashMap(map);
+                return map.persistent();
             }
 
             private static final long serialVersionUID = -1848883965231344442L;
@@ -7308,6 +7670,14 @@ public class CoreFunctions {
                 final VncList fn_args = args.slice(1,args.size()-1);
 
                 final VncVal coll = args.last();
+
+                if (fn_args.isEmpty() && (Types.isVncLongVector(coll) || Types.isVncDoubleVector(coll))) {
+                    final VncVal result = MathFunctions.applyToPrimitiveVector(fn, (VncSequence)coll);
+                    if (result != null) {
+                        return result;
+                    }
+                }
+
                 return coll == Nil
                         ? fn.apply(fn_args)
                         : fn.apply(fn_args.addAllAtEnd(Coerce.toVncSequence(coll)));
@@ -7472,6 +7842,152 @@ public class CoreFunctions {
             private static final long serialVersionUID = -1848883965231344442L;
         };
 
+    public static VncFunction memoize =
+        new VncFunction(
+                "memoize",
+                VncFunction
+                    .meta()
+                    .arglists(
+                        "(memoize f)",
+                        "(memoize f & options)")
+                    .doc(
+                        "Returns a memoized version of a referentially transparent function.\n\n" +
+                        "The value for a particular set of args is computed only once. " +
+                        "Concurrent callers with the same args wait for the running " +
+                        "computation instead of computing the value again.\n\n" +
+                        "Options: \n\n" +
+                        "| :max-size n            | the max number of cached values, " +
+                        "                           defaults to 0 (unbounded) |\n" +
+                        "| :eviction e            | the eviction policy of a bounded cache, " +
+                        "                           :lru (least recently used) or :lfu " +
+                        "                           (least frequently used), defaults to :lru |\n" +
+                        "| :expire-after-write t  | the values expire t milliseconds after " +
+                        "                           they have been computed |\n" +
+                        "| :expire-after-access t | the values expire t milliseconds after " +
+                        "                           their last access |\n\n" +
+                        "The cache statistics are available through `memoize-stats`.\n\n" +
+                        "Note:¶\n" +
+                        "Use memoization for expensive calculations. If used with fast " +
+                        "calculations it has the opposite effect and can slow it down " +
+                        "actually!")
+                    .examples(
+                        "(do                                                       \n" +
+                        "  (def fibonacci                                          \n" +
+                        "    (memoize                                              \n" +
+                        "      (fn [n]                                             \n" +
+                        "        (cond                                             \n" +
+                        "          (<= n 0) 0                                      \n" +
+                        "          (< n 2) 1                                       \n" +
+                        "          :else (+ (fibonacci (- n 1)) (fibonacci (- n 2)))))))  \n" +
+                        "                                                          \n" +
+                        "  (time (fibonacci 25)))                                    ",
+                        "(do                                                       \n" +
+                        "  (defn test [a b]                                        \n" +
+                        "    (println (str \"calculating a=\" a \", b=\" b))         \n" +
+                        "    (+ a b))                                              \n" +
+                        "                                                          \n" +
+                        "  (def test-memo (memoize test))                          \n" +
+                        "                                                          \n" +
+                        "  (test-memo 1 1)                                         \n" +
+                        "  (test-memo 1 2)                                         \n" +
+                        "  (test-memo 1 1)                                         \n" +
+                        "  (test-memo 1 2)                                         \n" +
+                        "  (test-memo 1 1))                                          ",
+                        "(do                                                       \n" +
+                        "  (def lookup (memoize (fn [x] (* x 10))                  \n" +
+                        "                       :max-size 2                        \n" +
+                        "                       :expire-after-write 60000))        \n" +
+                        "  (lookup 1)                                              \n" +
+                        "  (lookup 2)                                              \n" +
+                        "  (lookup 3)                                              \n" +
+                        "  (lookup 3)                                              \n" +
+                        "  (memoize-stats lookup))                                   ")
+                    .seeAlso("memoize-stats", "delay")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertMinArity(this, args, 1);
+
+                final IVncFunction fn = Coerce.toIVncFunction(args.first());
+
+                final VncHashMap options = VncHashMap.ofAll(args.rest());
+                final VncVal maxSize = options.get(new VncKeyword("max-size"), new VncLong(0L));
+                final VncVal eviction = options.get(new VncKeyword("eviction"), new VncKeyword("lru"));
+                final VncVal expireAfterWrite = options.get(new VncKeyword("expire-after-write"), new VncLong(0L));
+                final VncVal expireAfterAccess = options.get(new VncKeyword("expire-after-access"), new VncLong(0L));
+
+                final MemoizeCache.Eviction evictionPolicy;
+                switch(Coerce.toVncKeyword(eviction).getSimpleName()) {
+                    case "lru": evictionPolicy = MemoizeCache.Eviction.LRU; break;
+                    case "lfu": evictionPolicy = MemoizeCache.Eviction.LFU; break;
+                    default:
+                        throw new VncException(String.format(
+                                "Function 'memoize' invalid eviction policy %s. Use :lru or :lfu!",
+                                eviction.toString(true)));
+                }
+
+                try {
+                    return new MemoizedFunction(
+                                createAnonymousFuncName("memoize"),
+                                fn,
+                                new MemoizeCache<>(
+                                        Coerce.toVncLong(maxSize).toJavaLong(),
+                                        evictionPolicy,
+                                        Coerce.toVncLong(expireAfterWrite).toJavaLong(),
+                                        Coerce.toVncLong(expireAfterAccess).toJavaLong()));
+                }
+                catch(IllegalArgumentException ex) {
+                    throw new VncException("Function 'memoize'. " + ex.getMessage());
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
+    public static VncFunction memoize_stats =
+        new VncFunction(
+                "memoize-stats",
+                VncFunction
+                    .meta()
+                    .arglists("(memoize-stats f)")
+                    .doc(
+                        "Returns the cache statistics of a memoized function as a map " +
+                        "with the keys :hits, :misses, :hit-rate, :evictions, " +
+                        ":expirations, and :size.")
+                    .examples(
+                        "(do                                 \n" +
+                        "  (def sq (memoize (fn [x] (* x x)))) \n" +
+                        "  (sq 2)                            \n" +
+                        "  (sq 2)                            \n" +
+                        "  (memoize-stats sq))                 ")
+                    .seeAlso("memoize")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 1);
+
+                if (!(args.first() instanceof MemoizedFunction)) {
+                    throw new VncException(String.format(
+                            "Function 'memoize-stats' requires a memoized function. Got a %s!",
+                            Types.getType(args.first())));
+                }
+
+                final MemoizeCache.Stats stats = ((MemoizedFunction)args.first()).getStats();
+
+                return VncOrderedMap.of(
+                        new VncKeyword("hits"),        new VncLong(stats.hits),
+                        new VncKeyword("misses"),      new VncLong(stats.misses),
+                        new VncKeyword("hit-rate"),    new VncDouble(stats.getHitRate()),
+                        new VncKeyword("evictions"),   new VncLong(stats.evictions),
+                        new VncKeyword("expirations"), new VncLong(stats.expirations),
+                        new VncKeyword("size"),        new VncLong(stats.size));
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
     public static VncFunction mapv =
         new VncFunction(
                 "mapv",
@@ -7941,6 +8457,16 @@ public class CoreFunctions {
                 final VncVal init = noInitValue ? null : args.second();
                 final VncVal coll = noInitValue ? args.second() : args.third();
 
+                if (noInitValue
+                        && reduceFn != MathFunctions.mean
+                        && (Types.isVncLongVector(coll) || Types.isVncDoubleVector(coll))
+                ) {
+                    final VncVal result = MathFunctions.applyToPrimitiveVector(reduceFn, (VncSequence)coll);
+                    if (result != null) {
+                        return result;
+                    }
+                }
+
                 if (Types.isVncSequence(coll)) {
                     return reduce_sequence((VncSequence)coll, reduceFn, init);
                 }
@@ -8231,6 +8757,46 @@ public class CoreFunctions {
             private static final long serialVersionUID = -1848883965231344442L;
         };
 
+    public static VncFunction disj_BANG =
+        new VncFunction(
+                "disj!",
+                VncFunction
+                    .meta()
+                    .arglists("(disj! set x)", "(disj! set x & xs)")
+                    .doc(
+                        "Removes the x, xs from the transient or mutable set, " +
+                        "returns the set.")
+                    .examples(
+                        "(persistent! (disj! (transient #{1 2 3}) 3))",
+                        "(disj! (mutable-set 1 2 3) 3)")
+                    .seeAlso("disj", "transient", "conj!")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertMinArity(this, args, 2);
+
+                final VncVal coll = args.first();
+                if (coll instanceof VncTransientHashSet) {
+                    final VncTransientHashSet set = (VncTransientHashSet)coll;
+                    for(VncVal v : args.rest()) {
+                        set.disj(v);
+                    }
+                    return set;
+                }
+                else if (Types.isVncMutableSet(coll)) {
+                    return ((VncMutableSet)coll).removeAll(args.rest());
+                }
+                else {
+                    throw new VncException(String.format(
+                            "Invalid coll %s while calling function 'disj!'",
+                            Types.getType(coll)));
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
     public static VncFunction seq =
         new VncFunction(
                 "seq",
@@ -8968,9 +9534,50 @@ public class CoreFunctions {
         }
     }
 
+    private static class MemoizedFunction extends VncFunction {
+        public MemoizedFunction(
+                final String name,
+                final IVncFunction fn,
+                final MemoizeCache<VncList,VncVal> cache
+        ) {
+            super(name);
+            this.fn = fn;
+            this.cache = cache;
+        }
+
+        @Override
+        public VncVal apply(final VncList args) {
+            return cache.get(toKey(args), fn::apply);
+        }
+
+        public MemoizeCache.Stats getStats() {
+            return cache.getStats();
+        }
+
+        private static VncList toKey(final VncList args) {
+            // small lists compare equal only if they have the same
+            // representation
+            return args.size() <= VncTinyList.MAX_ELEMENTS && !(args instanceof VncTinyList)
+                    ? VncList.ofList(args.getJavaList())
+                    : args;
+        }
+
+        private static final long serialVersionUID = -1L;
+
+        private final IVncFunction fn;
+        private final MemoizeCache<VncList,VncVal> cache;
+    }
+
+    private static int compareDoubles(final double x, final double y) {
+        // same ordering as VncDouble::compareTo
+        return x < y ? -1 : (x == y ? 0 : 1);
+    }
+
     private static boolean matchesRegex(VncVal text, VncVal regex) {
         if (text instanceof VncString) {
-            return ((VncString)text).getValue().matches(((VncString)regex).getValue());
+            return RegexPatternCache.compile(((VncString)regex).getValue())
+                                    .matcher(((VncString)text).getValue())
+                                    .matches();
         }
         else {
             return false;
@@ -9069,6 +9676,10 @@ public class CoreFunctions {
                 .add(vector_Q)
                 .add(new_mutable_vector)
                 .add(mutable_vector_Q)
+                .add(new_long_vector)
+                .add(new_double_vector)
+                .add(long_vector_Q)
+                .add(double_vector_Q)
                 .add(new_lazy_seq)
                 .add(lazyseq_Q)
                 .add(map_Q)
@@ -9131,6 +9742,8 @@ public class CoreFunctions {
                 .add(split_with)
                 .add(into)
                 .add(into_BANG)
+                .add(transient_)
+                .add(persistent_BANG)
                 .add(sequential_Q)
                 .add(coll_Q)
                 .add(cons)
@@ -9178,6 +9791,8 @@ public class CoreFunctions {
                 .add(apply)
                 .add(comp)
                 .add(partial)
+                .add(memoize)
+                .add(memoize_stats)
                 .add(mapv)
                 .add(partition)
                 .add(partition_by)
@@ -9198,6 +9813,7 @@ public class CoreFunctions {
                 .add(merge_with)
                 .add(merge_deep)
                 .add(disj)
+                .add(disj_BANG)
                 .add(seq)
                 .add(repeat)
                 .add(repeatedly)
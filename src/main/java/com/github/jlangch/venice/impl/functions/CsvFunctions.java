@@ -21,27 +21,38 @@
  */
 package com.github.jlangch.venice.impl.functions;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import com.github.jlangch.venice.VncException;
 import com.github.jlangch.venice.impl.types.Constants;
+import com.github.jlangch.venice.impl.types.IVncFunction;
+import com.github.jlangch.venice.impl.types.VncByteBuffer;
 import com.github.jlangch.venice.impl.types.VncChar;
 import com.github.jlangch.venice.impl.types.VncFunction;
 import com.github.jlangch.venice.impl.types.VncKeyword;
 import com.github.jlangch.venice.impl.types.VncString;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.collections.VncHashMap;
+import com.github.jlangch.venice.impl.types.collections.VncLazySeq;
 import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncSequence;
 import com.github.jlangch.venice.impl.types.util.Coerce;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ArityExceptions;
@@ -76,10 +87,17 @@ public class CsvFunctions {
                         "| :encoding enc  | used when reading from a binary data source " +
                         "                   e.g :encoding :utf-8, defaults to :utf-8 |\n" +
                         "| :separator val | e.g. \",\", defaults to a comma |\n" +
-                        "| :quote val     | e.g. \"'\", defaults to a double quote |")
+                        "| :quote val     | e.g. \"'\", defaults to a double quote |\n" +
+                        "| :columns cols  | a vector of the column indexes to read, " +
+                        "                   e.g. [0 2], defaults to all columns |\n" +
+                        "| :coerce fns    | a map of column indexes to functions that " +
+                        "                   coerce the non nil column values, " +
+                        "                   e.g. {0 long} |")
                     .examples(
                         "(csv/read \"1,\\\"ab\\\",false\")",
-                        "(csv/read \"1:::'ab':false\" :separator \":\" :quote \"'\")")
+                        "(csv/read \"1:::'ab':false\" :separator \":\" :quote \"'\")",
+                        "(csv/read \"1,\\\"ab\\\",false\" :columns [0 2] :coerce {0 long})")
+                    .seeAlso("csv/read-seq")
                     .build()
         ) {
             @Override
@@ -89,74 +107,94 @@ public class CsvFunctions {
                 sandboxFunctionCallValidation();
 
                 try {
-                    final VncVal source = args.first();
                     final VncHashMap options = VncHashMap.ofAll(args.rest());
-                    final char separator = toChar(options.get(new VncKeyword("separator")), ',');
-                    final char quote = toChar(options.get(new VncKeyword("quote")), '"');
-
-                    final CSVReader parser = new CSVReader(separator, quote);
-
-                    if (Types.isVncString(source)) {
-                        return map(parser.parse(((VncString)source).getValue()));
-                    }
-                    else if (Types.isVncJavaObject(source, File.class)) {
-                        final File file = Types.isVncString(source)
-                                            ? new File(((VncString)source).getValue())
-                                            : (File)(Coerce.toVncJavaObject(args.first()).getDelegate());
-
-                        IOFunctions.validateReadableFile(file);
-
-                        final VncVal encVal = options.get(new VncKeyword("encoding"));
-
-                        try(FileInputStream is = new FileInputStream(file)) {
-                            return map(parser.parse(is, IOFunctions.encoding(encVal)));
+                    final CSVReader parser = parser(options);
+                    final RecordMapper mapper = new RecordMapper(options);
+
+                    try(Reader rd = openReader(args.first(), options, "csv/read")) {
+                        final List<VncVal> records = new ArrayList<>();
+                        final Iterator<List<String>> iter = parser.iterator(rd);
+                        while(iter.hasNext()) {
+                            records.add(mapper.map(iter.next()));
                         }
+                        return VncList.ofList(records);
                     }
-                    else if (Types.isVncJavaObject(source, InputStream.class)) {
-                        final InputStream is = (InputStream)(Coerce.toVncJavaObject(args.first()).getDelegate());
+                }
+                catch (VncException ex) {
+                    throw ex;
+                }
+                catch (Exception ex) {
+                    throw new VncException(ex.getMessage(), ex);
+                }
+            }
 
-                        final VncVal encVal = options.get(new VncKeyword("encoding"));
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
 
-                        try(InputStream is_ = is) {
-                            return map(parser.parse(is_, IOFunctions.encoding(encVal)));
-                        }
-                    }
-                    else if (Types.isVncJavaObject(source, URL.class)) {
-                        final URL url = (URL)(Coerce.toVncJavaObject(args.first()).getDelegate());
+    public static VncFunction read_seq =
+        new VncFunction(
+                "csv/read-seq",
+                VncFunction
+                    .meta()
+                    .arglists("(csv/read-seq source & options)")
+                    .doc(
+                        "Reads CSV-data from a source and returns the records as a lazy " +
+                        "sequence. The records are parsed on demand, so arbitrarily large " +
+                        "sources can be processed in constant memory, e.g. with " +
+                        "`transduce` or `docoll`. The source is closed when the " +
+                        "sequence has been fully realized.\n\n" +
+                        "The source may be a `string`, `bytebuf`, `java.io.File`, " +
+                        "`java.io.InputStream`, `java.io.Reader`, `java.net.URL`, " +
+                        "or `java.net.URI`.\n\n" +
+                        "Options:\n\n" +
+                        "| :encoding enc  | used when reading from a binary data source " +
+                        "                   e.g :encoding :utf-8, defaults to :utf-8 |\n" +
+                        "| :separator val | e.g. \",\", defaults to a comma |\n" +
+                        "| :quote val     | e.g. \"'\", defaults to a double quote |\n" +
+                        "| :columns cols  | a vector of the column indexes to read, " +
+                        "                   e.g. [0 2], defaults to all columns |\n" +
+                        "| :coerce fns    | a map of column indexes to functions that " +
+                        "                   coerce the non nil column values, " +
+                        "                   e.g. {0 long} |")
+                    .examples(
+                        "(doall (csv/read-seq \"1,a\\n2,b\\n3,c\" :coerce {0 long}))",
+                        "(transduce (map first) + (csv/read-seq \"1,a\\n2,b\" :coerce {0 long}))")
+                    .seeAlso("csv/read")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertMinArity(this, args, 1);
 
-                        final VncVal encVal = options.get(new VncKeyword("encoding"));
+                sandboxFunctionCallValidation();
 
-                        try(InputStream is = url.openStream()) {
-                            return map(parser.parse(is, IOFunctions.encoding(encVal)));
-                        }
-                    }
-                    else if (Types.isVncJavaObject(source, URI.class)) {
-                        final URI uri = (URI)(Coerce.toVncJavaObject(args.first()).getDelegate());
+                final VncHashMap options = VncHashMap.ofAll(args.rest());
+                final CSVReader parser = parser(options);
+                final RecordMapper mapper = new RecordMapper(options);
 
-                        final VncVal encVal = options.get(new VncKeyword("encoding"));
+                final Reader rd = openReader(args.first(), options, "csv/read-seq");
+                final Iterator<List<String>> iter = parser.iterator(rd);
 
-                        try(InputStream is = uri.toURL().openStream()) {
-                            return map(parser.parse(is, IOFunctions.encoding(encVal)));
+                final VncFunction next = new VncFunction("csv/read-seq-next") {
+                    @Override
+                    public VncVal apply(final VncList args) {
+                        try {
+                            if (iter.hasNext()) {
+                                return mapper.map(iter.next());
+                            }
                         }
-                    }
-                    else if (Types.isVncJavaObject(source, Reader.class)) {
-                        final Reader rd = (Reader)(Coerce.toVncJavaObject(args.first()).getDelegate());
-                        try(Reader rd_ = rd) {
-                            return map(parser.parse(rd_));
+                        catch(RuntimeException ex) {
+                            close(rd);
+                            throw ex;
                         }
+
+                        close(rd);
+                        return Constants.Nil;
                     }
-                    else {
-                        throw new VncException(String.format(
-                                "Function 'csv/read' does not allow %s as f",
-                                Types.getType(args.first())));
-                    }
-                }
-                catch (VncException ex) {
-                    throw ex;
-                }
-                catch (Exception ex) {
-                    throw new VncException(ex.getMessage(), ex);
-                }
+                    private static final long serialVersionUID = 1L;
+                };
+
+                return VncLazySeq.iterate(next, Constants.Nil);
             }
 
             private static final long serialVersionUID = -1848883965231344442L;
@@ -274,16 +312,75 @@ public class CsvFunctions {
             };
 
 
-    private static VncList map(final List<List<String>> data) {
-        final List<VncVal> vncRecords = new ArrayList<>();
-        for(List<String> record : data) {
-            final List<VncVal> vncRecord = new ArrayList<>();
-            for(String s : record) {
-                vncRecord.add(s == null ? Constants.Nil : new VncString(s));
+    private static CSVReader parser(final VncHashMap options) {
+        final char separator = toChar(options.get(new VncKeyword("separator")), ',');
+        final char quote = toChar(options.get(new VncKeyword("quote")), '"');
+
+        return new CSVReader(separator, quote);
+    }
+
+    private static Reader openReader(
+            final VncVal source,
+            final VncHashMap options,
+            final String fnName
+    ) {
+        try {
+            final Charset charset = Charset.forName(
+                                        IOFunctions.encoding(
+                                            options.get(new VncKeyword("encoding"))));
+
+            if (Types.isVncString(source)) {
+                return new StringReader(((VncString)source).getValue());
+            }
+            else if (Types.isVncByteBuffer(source)) {
+                return new InputStreamReader(
+                            new ByteArrayInputStream(((VncByteBuffer)source).getBytes()),
+                            charset);
+            }
+            else if (Types.isVncJavaObject(source, File.class)) {
+                final File file = (File)(Coerce.toVncJavaObject(source).getDelegate());
+
+                IOFunctions.validateReadableFile(file);
+
+                return new InputStreamReader(new FileInputStream(file), charset);
+            }
+            else if (Types.isVncJavaObject(source, InputStream.class)) {
+                final InputStream is = (InputStream)(Coerce.toVncJavaObject(source).getDelegate());
+                return new InputStreamReader(is, charset);
+            }
+            else if (Types.isVncJavaObject(source, URL.class)) {
+                final URL url = (URL)(Coerce.toVncJavaObject(source).getDelegate());
+                return new InputStreamReader(url.openStream(), charset);
+            }
+            else if (Types.isVncJavaObject(source, URI.class)) {
+                final URI uri = (URI)(Coerce.toVncJavaObject(source).getDelegate());
+                return new InputStreamReader(uri.toURL().openStream(), charset);
+            }
+            else if (Types.isVncJavaObject(source, Reader.class)) {
+                return (Reader)(Coerce.toVncJavaObject(source).getDelegate());
+            }
+            else {
+                throw new VncException(String.format(
+                        "Function '%s' does not allow %s as source",
+                        fnName,
+                        Types.getType(source)));
             }
-            vncRecords.add(VncList.ofList(vncRecord));
         }
-        return VncList.ofList(vncRecords);
+        catch (VncException ex) {
+            throw ex;
+        }
+        catch (Exception ex) {
+            throw new VncException(ex.getMessage(), ex);
+        }
+    }
+
+    private static void close(final Reader reader) {
+        try {
+            reader.close();
+        }
+        catch(IOException ex) {
+            // ignore
+        }
     }
 
     private static char toChar(final VncVal v, final char defaultChar) {
@@ -318,6 +415,72 @@ public class CsvFunctions {
     }
 
 
+    /**
+     * Maps a parsed CSV record to a Venice list applying the optional column
+     * projection and column coercion functions.
+     */
+    private static class RecordMapper {
+
+        public RecordMapper(final VncHashMap options) {
+            final VncVal cols = options.get(new VncKeyword("columns"));
+            final VncVal coerce = options.get(new VncKeyword("coerce"));
+
+            if (cols == Constants.Nil) {
+                columns = null;
+            }
+            else {
+                final VncSequence seq = Coerce.toVncSequence(cols);
+                columns = new int[seq.size()];
+                for(int ii=0; ii<columns.length; ii++) {
+                    columns[ii] = Coerce.toVncLong(seq.nth(ii)).getIntValue();
+                }
+            }
+
+            coercers = new HashMap<>();
+            if (coerce != Constants.Nil) {
+                for(Map.Entry<VncVal,VncVal> e : Coerce.toVncMap(coerce).getJavaMap().entrySet()) {
+                    coercers.put(
+                        Coerce.toVncLong(e.getKey()).getIntValue(),
+                        Coerce.toIVncFunction(e.getValue()));
+                }
+            }
+        }
+
+        public VncList map(final List<String> record) {
+            if (columns == null) {
+                final List<VncVal> vals = new ArrayList<>(record.size());
+                for(int ii=0; ii<record.size(); ii++) {
+                    vals.add(value(record, ii));
+                }
+                return VncList.ofList(vals);
+            }
+            else {
+                final List<VncVal> vals = new ArrayList<>(columns.length);
+                for(int col : columns) {
+                    vals.add(value(record, col));
+                }
+                return VncList.ofList(vals);
+            }
+        }
+
+        private VncVal value(final List<String> record, final int col) {
+            final String s = col < record.size() ? record.get(col) : null;
+            if (s == null) {
+                return Constants.Nil;
+            }
+            else {
+                final IVncFunction fn = coercers.isEmpty() ? null : coercers.get(col);
+                final VncString v = new VncString(s);
+                return fn == null ? v : fn.apply(VncList.of(v));
+            }
+        }
+
+
+        private final int[] columns;
+        private final Map<Integer,IVncFunction> coercers;
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////
     // types_ns is namespace of type functions
     ///////////////////////////////////////////////////////////////////////////
@@ -325,6 +488,7 @@ public class CsvFunctions {
     public static Map<VncVal, VncVal> ns =
             new SymbolMapBuilder()
                     .add(read)
+                    .add(read_seq)
                     .add(write)
                     .add(write_str)
                     .toMap();
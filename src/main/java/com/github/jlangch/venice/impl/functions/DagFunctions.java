@@ -24,16 +24,27 @@ package com.github.jlangch.venice.impl.functions;
 import static com.github.jlangch.venice.impl.types.Constants.Nil;
 
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
+import com.github.jlangch.venice.SecurityException;
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.thread.ThreadBridge;
+import com.github.jlangch.venice.impl.threadpool.ManagedCachedThreadPoolExecutor;
 import com.github.jlangch.venice.impl.types.VncBoolean;
 import com.github.jlangch.venice.impl.types.VncFunction;
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncLong;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.collections.VncDAG;
+import com.github.jlangch.venice.impl.types.collections.VncHashMap;
 import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncOrderedMap;
 import com.github.jlangch.venice.impl.types.util.Coerce;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ArityExceptions;
+import com.github.jlangch.venice.impl.util.CallFrame;
 import com.github.jlangch.venice.impl.util.SymbolMapBuilder;
+import com.github.jlangch.venice.impl.util.dag.DagScheduler;
 
 
 public class DagFunctions {
@@ -65,7 +76,7 @@ public class DagFunctions {
                     .seeAlso(
                         "dag/dag?",
                         "dag/add-edges", "dag/add-nodes",
-                        "dag/topological-sort",
+                        "dag/topological-sort", "dag/execute",
                         "dag/edges", "dag/edge?",
                         "dag/nodes", "dag/node?",
                         "dag/roots",
@@ -115,7 +126,7 @@ public class DagFunctions {
                         "Add edges to a DAG. Returns a new DAG with added edges.\n\n" +
                         "An edge is a vector of two nodes forming a parent/child " +
                         "relationship. Any *Venice* value can be used for a node.\n\n" +
-                        "Note: The graph is reconstructed after adding edges. To " +
+                        "Note: Every `add-edges` call copies the graph once. To " +
                         "have best performance pass the edges with a single `add-edges` " +
                         "call to the DAG.")
                     .examples(
@@ -145,7 +156,7 @@ public class DagFunctions {
                     .doc(
                         "Add nodes to a DAG. Returns a new DAG with added nodes.\n\n" +
                         "Any *Venice* value can be used for a node.\n\n" +
-                        "Note: The graph is reconstructed after adding nodes. To " +
+                        "Note: Every `add-nodes` call copies the graph once. To " +
                         "have best performance pass the nodes with a single `add-nodes` " +
                         "call to the DAG.")
                     .examples(
@@ -241,6 +252,102 @@ public class DagFunctions {
             private static final long serialVersionUID = -1848883965231344442L;
         };
 
+    public static VncFunction execute =
+        new VncFunction(
+                "dag/execute",
+                VncFunction
+                    .meta()
+                    .arglists(
+                        "(execute dag f)",
+                        "(execute dag f & options)")
+                    .doc(
+                        "Runs the function *f* for every node of a DAG on a thread " +
+                        "pool. *f* is called with the node as its single argument. " +
+                        "A node's function is started as soon as the functions of " +
+                        "all its parents have completed, so independent nodes run " +
+                        "in parallel.\n\n" +
+                        "Returns an ordered map with the results of *f* keyed by " +
+                        "node. The map is ordered by completion, a node always " +
+                        "comes after its parents.\n\n" +
+                        "If *f* fails for a node, the running functions are " +
+                        "cancelled, no further nodes are started, and the " +
+                        "failure is thrown.\n\n" +
+                        "Options: \n\n" +
+                        "| :parallelism n | the max number of functions running in " +
+                        "                   parallel, defaults to the number of cpus |")
+                    .examples(
+                        "(dag/execute (dag/dag [\"A\" \"B\"] [\"A\" \"C\"] [\"B\" \"D\"] [\"C\" \"D\"]) \n" +
+                        "             (fn [node] (str node \"-done\")))                             ",
+                        "(dag/execute (dag/dag [\"A\" \"B\"] [\"A\" \"C\"] [\"B\" \"D\"] [\"C\" \"D\"]) \n" +
+                        "             (fn [node] (sleep 100) node)                                  \n" +
+                        "             :parallelism 2)                                               ")
+                    .seeAlso(
+                        "dag/dag", "dag/topological-sort", "pmap")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertMinArity(this, args, 2);
+
+                sandboxFunctionCallValidation();
+
+                final VncDAG dag = Coerce.toVncDAG(args.first());
+                final VncFunction fn = Coerce.toVncFunction(args.second());
+
+                final VncHashMap options = VncHashMap.ofAll(args.slice(2));
+                final int parallelism = Coerce.toVncLong(
+                                            options.get(
+                                                new VncKeyword("parallelism"),
+                                                new VncLong(Runtime.getRuntime().availableProcessors()))
+                                        ).getIntValue();
+                if (parallelism < 1) {
+                    throw new VncException(
+                            "Function 'dag/execute' requires a :parallelism greater than 0!");
+                }
+
+                if (dag.isEmpty()) {
+                    return new VncOrderedMap();
+                }
+
+                // Run the node functions with the Venice thread context
+                // inherited from this thread
+                final ThreadBridge threadBridge = ThreadBridge.create(
+                                                    "dag/execute",
+                                                    new CallFrame[] {
+                                                        new CallFrame(this, args),
+                                                        new CallFrame(fn) });
+
+                try {
+                    final Map<VncVal,VncVal> results =
+                        new DagScheduler<VncVal,VncVal>(dag.getDAG(), mngdExecutor.getExecutor(), parallelism)
+                            .execute(
+                                node -> fn.applyOf(node),
+                                task -> threadBridge.bridgeCallable(task));
+
+                    return new VncOrderedMap(results);
+                }
+                catch(ExecutionException ex) {
+                    if (ex.getCause() instanceof SecurityException) {
+                        throw (SecurityException)ex.getCause();
+                    }
+                    else if (ex.getCause() instanceof VncException) {
+                        throw (VncException)ex.getCause();
+                    }
+                    else {
+                        throw new VncException(
+                                "dag/execute: node failure",
+                                ex.getCause() == null ? ex : ex.getCause());
+                    }
+                }
+                catch(InterruptedException ex) {
+                    throw new com.github.jlangch.venice.InterruptedException(
+                            "Interrupted while waiting for dag/execute nodes to complete.");
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
     public static VncFunction edges =
         new VncFunction(
                 "dag/edges",
@@ -593,6 +700,15 @@ public class DagFunctions {
         };
 
 
+    ///////////////////////////////////////////////////////////////////////////
+    // Utils
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static void shutdown() {
+        mngdExecutor.shutdown();
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////
     // types_ns is namespace of type functions
     ///////////////////////////////////////////////////////////////////////////
@@ -603,6 +719,7 @@ public class DagFunctions {
                     .add(dag_Q)
                     .add(topological_sort)
                     .add(compare_fn)
+                    .add(execute)
                     .add(add_edges)
                     .add(add_nodes)
                     .add(edges)
@@ -617,4 +734,8 @@ public class DagFunctions {
                     .add(node_Q)
                     .add(edge_Q)
                     .toMap();
+
+
+    private static ManagedCachedThreadPoolExecutor mngdExecutor =
+            new ManagedCachedThreadPoolExecutor("venice-dag-pool", 200);
 }
@@ -28,10 +28,12 @@ import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.types.IVncFunction;
 import com.github.jlangch.venice.impl.types.VncBigDecimal;
 import com.github.jlangch.venice.impl.types.VncBigInteger;
 import com.github.jlangch.venice.impl.types.VncBoolean;
@@ -43,8 +45,10 @@ import com.github.jlangch.venice.impl.types.VncNumber;
 import com.github.jlangch.venice.impl.types.VncString;
 import com.github.jlangch.venice.impl.types.VncSymbol;
 import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncDoubleVector;
 import com.github.jlangch.venice.impl.types.collections.VncLazySeq;
 import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncLongVector;
 import com.github.jlangch.venice.impl.types.collections.VncSequence;
 import com.github.jlangch.venice.impl.types.collections.VncVector;
 import com.github.jlangch.venice.impl.types.util.Coerce;
@@ -80,7 +84,18 @@ public class MathFunctions {
                 final int arity = args.size();
 
                 if (arity == 0) {
-                    return new VncLong(0L);
+                    return VncLong.of(0L);
+                }
+                else if (arity == 2) {
+                    // monomorphic fast paths
+                    final VncVal x = args.first();
+                    final VncVal y = args.second();
+                    if (x instanceof VncLong && y instanceof VncLong) {
+                        return VncLong.of(((VncLong)x).toJavaLong() + ((VncLong)y).toJavaLong());
+                    }
+                    else if (x instanceof VncDouble && y instanceof VncDouble) {
+                        return new VncDouble(((VncDouble)x).toJavaDouble() + ((VncDouble)y).toJavaDouble());
+                    }
                 }
 
                 VncNumber n = validateNumber("+", args.first());
@@ -125,7 +140,18 @@ public class MathFunctions {
                 final int arity = args.size();
 
                 if (arity == 0) {
-                    return new VncLong(0L);
+                    return VncLong.of(0L);
+                }
+                else if (arity == 2) {
+                    // monomorphic fast paths
+                    final VncVal x = args.first();
+                    final VncVal y = args.second();
+                    if (x instanceof VncLong && y instanceof VncLong) {
+                        return VncLong.of(((VncLong)x).toJavaLong() - ((VncLong)y).toJavaLong());
+                    }
+                    else if (x instanceof VncDouble && y instanceof VncDouble) {
+                        return new VncDouble(((VncDouble)x).toJavaDouble() - ((VncDouble)y).toJavaDouble());
+                    }
                 }
 
                 VncNumber n = validateNumber("-", args.first());
@@ -170,7 +196,18 @@ public class MathFunctions {
                 final int arity = args.size();
 
                 if (arity == 0) {
-                    return new VncLong(1L);
+                    return VncLong.of(1L);
+                }
+                else if (arity == 2) {
+                    // monomorphic fast paths
+                    final VncVal x = args.first();
+                    final VncVal y = args.second();
+                    if (x instanceof VncLong && y instanceof VncLong) {
+                        return VncLong.of(((VncLong)x).toJavaLong() * ((VncLong)y).toJavaLong());
+                    }
+                    else if (x instanceof VncDouble && y instanceof VncDouble) {
+                        return new VncDouble(((VncDouble)x).toJavaDouble() * ((VncDouble)y).toJavaDouble());
+                    }
                 }
 
                 VncNumber n = validateNumber("*", args.first());
@@ -219,6 +256,20 @@ public class MathFunctions {
                     ArityExceptions.assertMinArity(this, args, 1);
                     return Nil;
                 }
+                else if (arity == 2) {
+                    // monomorphic fast paths
+                    final VncVal x = args.first();
+                    final VncVal y = args.second();
+                    if (x instanceof VncLong && y instanceof VncLong) {
+                        final long divisor = ((VncLong)y).toJavaLong();
+                        if (divisor != 0L) {
+                            return VncLong.of(((VncLong)x).toJavaLong() / divisor);
+                        }
+                    }
+                    else if (x instanceof VncDouble && y instanceof VncDouble) {
+                        return new VncDouble(((VncDouble)x).toJavaDouble() / ((VncDouble)y).toJavaDouble());
+                    }
+                }
 
                 VncNumber n = validateNumber("*", args.first());
 
@@ -331,7 +382,10 @@ public class MathFunctions {
                 ArityExceptions.assertArity(this, args, 1);
 
                 final VncVal arg = args.first();
-                if (arg instanceof VncNumber) {
+                if (arg instanceof VncLong) {
+                    return VncLong.of(((VncLong)arg).toJavaLong() + 1L);
+                }
+                else if (arg instanceof VncNumber) {
                     return ((VncNumber)arg).inc();
                 }
                 else {
@@ -364,7 +418,10 @@ public class MathFunctions {
                 ArityExceptions.assertArity(this, args, 1);
 
                 final VncVal arg = args.first();
-                if (arg instanceof VncNumber) {
+                if (arg instanceof VncLong) {
+                    return VncLong.of(((VncLong)arg).toJavaLong() - 1L);
+                }
+                else if (arg instanceof VncNumber) {
                     return ((VncNumber)arg).dec();
                 }
                 else {
@@ -1213,6 +1270,11 @@ public class MathFunctions {
                 ArityExceptions.assertArity(this, args, 2);
 
                 final boolean sample = "sample".equals(Coerce.toVncKeyword(args.first()).getValue());
+
+                if (isPrimitiveVector(args.second()) && ((VncSequence)args.second()).size() > 1) {
+                    return primitiveStandardDeviation(args.second(), sample);
+                }
+
                 final VncList data = Coerce.toVncList(args.second());
 
                 if (data.isEmpty() || data.size() == 1) {
@@ -1257,6 +1319,10 @@ public class MathFunctions {
             public VncVal apply(final VncList args) {
                 ArityExceptions.assertArity(this, args, 1);
 
+                if (isPrimitiveVector(args.first())) {
+                    return primitiveMedian(args.first());
+                }
+
                 final VncList data = Coerce.toVncList(args.first());
 
                 if (data.isEmpty()) {
@@ -1291,6 +1357,10 @@ public class MathFunctions {
             public VncVal apply(final VncList args) {
                 ArityExceptions.assertArity(this, args, 1);
 
+                if (isPrimitiveVector(args.first())) {
+                    return primitiveQuartiles(args.first());
+                }
+
                 final VncList list = Coerce.toVncList(args.first());
 
                 if (list.size() < 2) {
@@ -1332,6 +1402,11 @@ public class MathFunctions {
                 ArityExceptions.assertArity(this, args, 2);
 
                 final double q = Coerce.toVncDouble(args.first()).getValue();
+
+                if (isPrimitiveVector(args.second()) && ((VncSequence)args.second()).size() > 1) {
+                    return primitiveQuantile(q, args.second());
+                }
+
                 final VncList list = Coerce.toVncList(args.second());
 
                 if (list.size() < 2) {
@@ -1986,6 +2061,228 @@ public class MathFunctions {
         return val % 2 == 1;
     }
 
+    /**
+     * Fast path to apply one of the functions <code>+ - * / min max</code> or
+     * <code>math/mean</code> to all values of a primitive long or double vector
+     * without boxing the values.
+     *
+     * @param fn the function
+     * @param coll the values
+     * @return the result or <code>null</code> if there is no fast path
+     */
+    public static VncVal applyToPrimitiveVector(final IVncFunction fn, final VncSequence coll) {
+        if (coll.size() < 2) {
+            return null;  // the generic path handles the 0 and 1 arity semantics
+        }
+
+        if (coll instanceof VncLongVector) {
+            final long[] arr = ((VncLongVector)coll).getArray();
+
+            if (fn == add || fn == mean) {
+                long sum = 0L;
+                for(long v : arr) sum += v;
+                return fn == add ? new VncLong(sum) : new VncDouble(sum / (double)arr.length);
+            }
+            else if (fn == subtract) {
+                long n = arr[0];
+                for(int ii=1; ii<arr.length; ii++) n -= arr[ii];
+                return new VncLong(n);
+            }
+            else if (fn == multiply) {
+                long n = arr[0];
+                for(int ii=1; ii<arr.length; ii++) n *= arr[ii];
+                return new VncLong(n);
+            }
+            else if (fn == divide) {
+                long n = arr[0];
+                for(int ii=1; ii<arr.length; ii++) {
+                    if (arr[ii] == 0L) return null; // let the generic path raise the error
+                    n /= arr[ii];
+                }
+                return new VncLong(n);
+            }
+            else if (fn == min) {
+                long n = arr[0];
+                for(long v : arr) n = Math.min(n, v);
+                return new VncLong(n);
+            }
+            else if (fn == max) {
+                long n = arr[0];
+                for(long v : arr) n = Math.max(n, v);
+                return new VncLong(n);
+            }
+        }
+        else if (coll instanceof VncDoubleVector) {
+            final double[] arr = ((VncDoubleVector)coll).getArray();
+
+            if (fn == add || fn == mean) {
+                double sum = 0.0D;
+                for(double v : arr) sum += v;
+                return new VncDouble(fn == add ? sum : sum / arr.length);
+            }
+            else if (fn == subtract) {
+                double n = arr[0];
+                for(int ii=1; ii<arr.length; ii++) n -= arr[ii];
+                return new VncDouble(n);
+            }
+            else if (fn == multiply) {
+                double n = arr[0];
+                for(int ii=1; ii<arr.length; ii++) n *= arr[ii];
+                return new VncDouble(n);
+            }
+            else if (fn == divide) {
+                double n = arr[0];
+                for(int ii=1; ii<arr.length; ii++) n /= arr[ii];
+                return new VncDouble(n);
+            }
+            else if (fn == min) {
+                // compareTo semantics: NaN is larger than any other value
+                double n = arr[0];
+                for(double v : arr) n = Double.compare(v, n) < 0 ? v : n;
+                return new VncDouble(n);
+            }
+            else if (fn == max) {
+                double n = arr[0];
+                for(double v : arr) n = Double.compare(v, n) > 0 ? v : n;
+                return new VncDouble(n);
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isPrimitiveVector(final VncVal val) {
+        return val instanceof VncLongVector || val instanceof VncDoubleVector;
+    }
+
+    private static VncVal primitiveMedian(final VncVal val) {
+        if (val instanceof VncLongVector) {
+            final long[] sorted = sorted((VncLongVector)val);
+            return medianOfSorted(sorted, 0, sorted.length);
+        }
+        else {
+            final double[] sorted = sorted((VncDoubleVector)val);
+            return medianOfSorted(sorted, 0, sorted.length);
+        }
+    }
+
+    private static VncVal primitiveQuartiles(final VncVal val) {
+        final int n = ((VncSequence)val).size();
+        if (n < 2) {
+            return Nil;
+        }
+
+        final int upperStart = isOdd(n) ? n / 2 + 1 : n / 2;
+
+        if (val instanceof VncLongVector) {
+            final long[] sorted = sorted((VncLongVector)val);
+            return VncList.of(
+                    medianOfSorted(sorted, 0, n / 2),
+                    medianOfSorted(sorted, 0, n),
+                    medianOfSorted(sorted, upperStart, n));
+        }
+        else {
+            final double[] sorted = sorted((VncDoubleVector)val);
+            return VncList.of(
+                    medianOfSorted(sorted, 0, n / 2),
+                    medianOfSorted(sorted, 0, n),
+                    medianOfSorted(sorted, upperStart, n));
+        }
+    }
+
+    private static VncVal primitiveQuantile(final double q, final VncVal val) {
+        if (q < 0.0D || q > 1.0D) {
+            throw new VncException("A quantile q must be in the range 0.0 .. 1.0");
+        }
+
+        final double[] data;
+        if (val instanceof VncLongVector) {
+            final long[] sorted = sorted((VncLongVector)val);
+            if (q == 0.0D) {
+                return new VncLong(sorted[0]);
+            }
+            else if (q == 1.0D) {
+                return new VncLong(sorted[sorted.length-1]);
+            }
+            data = Arrays.stream(sorted).asDoubleStream().toArray();
+        }
+        else {
+            data = sorted((VncDoubleVector)val);
+            if (q == 0.0D) {
+                return new VncDouble(data[0]);
+            }
+            else if (q == 1.0D) {
+                return new VncDouble(data[data.length-1]);
+            }
+        }
+
+        final int n = data.length - 1;
+
+        final double x = q * n;
+
+        final double f = Math.floor(x);
+        final int idx = (int)f;
+        final double p = x - f;
+
+        return new VncDouble((p * data[idx + 1]) + ((1.0D - p) * data[idx]));
+    }
+
+    private static long[] sorted(final VncLongVector vec) {
+        final long[] arr = vec.getArray().clone();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    private static double[] sorted(final VncDoubleVector vec) {
+        final double[] arr = vec.getArray().clone();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    private static VncVal medianOfSorted(final long[] sorted, final int from, final int to) {
+        final int size = to - from;
+        if (size == 0) {
+            return Nil;
+        }
+        else if (isOdd(size)) {
+            return new VncDouble(sorted[from + size / 2]);
+        }
+        else {
+            return new VncDouble((sorted[from + size / 2 - 1] + sorted[from + size / 2]) / 2.0D);
+        }
+    }
+
+    private static VncVal medianOfSorted(final double[] sorted, final int from, final int to) {
+        final int size = to - from;
+        if (size == 0) {
+            return Nil;
+        }
+        else if (isOdd(size)) {
+            return new VncDouble(sorted[from + size / 2]);
+        }
+        else {
+            return new VncDouble((sorted[from + size / 2 - 1] + sorted[from + size / 2]) / 2.0D);
+        }
+    }
+
+    private static VncVal primitiveStandardDeviation(final VncVal val, final boolean sample) {
+        final double[] arr = val instanceof VncLongVector
+                                ? Arrays.stream(((VncLongVector)val).getArray()).asDoubleStream().toArray()
+                                : ((VncDoubleVector)val).getArray();
+
+        double sum = 0.0D;
+        for(double v : arr) sum += v;
+        final double average = sum / arr.length;
+
+        double deltaSum = 0.0D;
+        for(double v : arr) {
+            final double diff = v - average;
+            deltaSum += diff * diff;
+        }
+
+        return new VncDouble(Math.sqrt(deltaSum / (sample ? arr.length - 1 : arr.length)));
+    }
+
     private static VncList medianWithHalfs(final VncList sortedData) {
         VncVal median;
         VncList lowerHalf;
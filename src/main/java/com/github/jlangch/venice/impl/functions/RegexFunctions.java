@@ -44,6 +44,7 @@ import com.github.jlangch.venice.impl.types.collections.VncMap;
 import com.github.jlangch.venice.impl.types.util.Coerce;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ArityExceptions;
+import com.github.jlangch.venice.impl.util.RegexPatternCache;
 import com.github.jlangch.venice.impl.util.SymbolMapBuilder;
 
 
@@ -77,7 +78,7 @@ public class RegexFunctions {
                     try {
                         // "[Regex Pattern](https://docs.oracle.com/javase/8/docs/api/java/util/regex/Pattern.html)"
                         return new VncJavaObject(
-                                Pattern.compile(
+                                RegexPatternCache.compile(
                                         Coerce.toVncString(args.first()).getValue()));
                     }
                     catch (PatternSyntaxException ex) {
@@ -96,7 +97,8 @@ public class RegexFunctions {
                     .arglists("(regex/matcher pattern str)")
                     .doc(
                         "Returns an instance of `java.util.regex.Matcher`.¶" +
-                        "The pattern can be either a string or a pattern created by `(regex/pattern s)`.\n\n" +
+                        "The pattern can be either a string or a pattern created by `(regex/pattern s)`. " +
+                        "String patterns are compiled once and cached.\n\n" +
                         "Matchers are mutable and are not safe for use by multiple " +
                         "concurrent threads! \n\n" +
                         "JavaDoc: [Pattern](https://docs.oracle.com/javase/8/docs/api/java/util/regex/Pattern.html)")
@@ -113,10 +115,7 @@ public class RegexFunctions {
             public VncVal apply(final VncList args) {
                 ArityExceptions.assertArity(this, args, 2);
 
-                final VncVal pattern = args.first();
-                final Pattern p = Types.isVncString(pattern)
-                                    ? Pattern.compile(((VncString)pattern).getValue())
-                                    : (Pattern)Coerce.toVncJavaObject(args.first()).getDelegate();
+                final Pattern p = toPattern(args.first());
                 final String s = Coerce.toVncString(args.second()).getValue();
                 return new VncJavaObject(p.matcher(s));
             }
@@ -222,10 +221,7 @@ public class RegexFunctions {
             public VncVal apply(final VncList args) {
                 ArityExceptions.assertArity(this, args, 2);
 
-                final VncVal pattern = args.first();
-                final Pattern p = Types.isVncString(pattern)
-                                    ? Pattern.compile(((VncString)pattern).getValue())
-                                    : (Pattern)Coerce.toVncJavaObject(args.first()).getDelegate();
+                final Pattern p = toPattern(args.first());
                 final String s = Coerce.toVncString(args.second()).getValue();
                 final Matcher m = p.matcher(s);
 
@@ -530,6 +526,21 @@ public class RegexFunctions {
         };
 
 
+    private static Pattern toPattern(final VncVal pattern) {
+        if (Types.isVncString(pattern)) {
+            try {
+                return RegexPatternCache.compile(((VncString)pattern).getValue());
+            }
+            catch (PatternSyntaxException ex) {
+                throw new VncException("Illegal regex pattern: " + ex.getMessage(), ex);
+            }
+        }
+        else {
+            return (Pattern)Coerce.toVncJavaObject(pattern).getDelegate();
+        }
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////
     // types_ns is namespace of type functions
     ///////////////////////////////////////////////////////////////////////////
@@ -61,6 +61,7 @@ import com.github.jlangch.venice.impl.util.ArityExceptions;
 import com.github.jlangch.venice.impl.util.HexFormatter;
 import com.github.jlangch.venice.impl.util.HexUtil;
 import com.github.jlangch.venice.impl.util.LoremIpsum;
+import com.github.jlangch.venice.impl.util.RegexPatternCache;
 import com.github.jlangch.venice.impl.util.StringEscapeUtil;
 import com.github.jlangch.venice.impl.util.StringUtil;
 import com.github.jlangch.venice.impl.util.SymbolMapBuilder;
@@ -961,9 +962,13 @@ public class StringFunctions {
                 VncFunction
                     .meta()
                     .arglists("(str/split s regex)")
-                    .doc("Splits string on a regular expression.")
+                    .doc(
+                        "Splits string on a regular expression. The regex is either " +
+                        "a string or a pattern (e.g. `#\"[ ]*,[ ]*\"`). String regexes " +
+                        "are compiled once and cached.")
                     .examples(
                         "(str/split \"abc,def,ghi\" \",\")",
+                        "(str/split \"abc , def , ghi\" #\"[ ]*,[ ]*\")",
                         "(str/split \"abc , def , ghi\" \"[ *],[ *]\")",
                         "(str/split \"abc,def,ghi\" \"((?<=,)|(?=,))\")",
                         "(str/split nil \",\")")
@@ -977,12 +982,23 @@ public class StringFunctions {
                     return VncList.empty();
                 }
                 else {
-                    final VncString string = Coerce.toVncString(args.first());
-                    final VncString regex = Coerce.toVncString(args.second());
+                    final String string = Coerce.toVncString(args.first()).getValue();
+                    final VncVal regex = args.second();
+
+                    final String[] parts;
+                    if (Types.isVncJavaObject(regex, Pattern.class)) {
+                        parts = ((Pattern)((VncJavaObject)regex).getDelegate()).split(string);
+                    }
+                    else {
+                        final String r = Coerce.toVncString(regex).getValue();
+                        parts = r.length() == 1
+                                    ? string.split(r)  // String::split does not compile single chars
+                                    : RegexPatternCache.compile(r).split(string);
+                    }
 
                     return VncList.ofList(
                             Arrays
-                                .asList(string.getValue().split(regex.getValue()))
+                                .asList(parts)
                                 .stream()
                                 .map(s -> new VncString(s))
                                 .collect(Collectors.toList()));
@@ -2299,7 +2315,7 @@ public class StringFunctions {
                 }
                 else {
                     final String s = Coerce.toVncString(arg).getValue();
-                    return VncBoolean.of(s.matches(EMAIL_REGEX));
+                    return VncBoolean.of(EMAIL_REGEX.matcher(s).matches());
                 }
             }
 
@@ -2338,8 +2354,8 @@ public class StringFunctions {
 
 
     // see: https://howtodoinjava.com/regex/java-regex-validate-email-address/
-    private static final String EMAIL_REGEX =
-            "^[\\w!#$%&’*+/=?`{|}~^-]+(?:\\.[\\w!#$%&’*+/=?`{|}~^-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,6}$";
+    private static final Pattern EMAIL_REGEX = Pattern.compile(
+            "^[\\w!#$%&’*+/=?`{|}~^-]+(?:\\.[\\w!#$%&’*+/=?`{|}~^-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,6}$");
 
 
 
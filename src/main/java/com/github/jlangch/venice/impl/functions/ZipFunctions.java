@@ -105,7 +105,7 @@ public class ZipFunctions {
                         "(->> (io/zip \"a.txt\" (bytebuf-from-string \"abc\" :utf-8)      \n" +
                         "             \"z/\" nil)                                         \n" +
                         "     (io/spit \"test.zip\"))                                       ")
-                    .seeAlso("io/zip-file", "io/unzip", "io/gzip", "io/spit", "io/zip-list", "io/zip-list-entry-names", "io/zip-append", "io/zip-remove")
+                    .seeAlso("io/zip-file", "io/zip-to-stream", "io/unzip", "io/gzip", "io/spit", "io/zip-list", "io/zip-list-entry-names", "io/zip-append", "io/zip-remove")
                     .build()
         ) {
             @Override
@@ -119,50 +119,54 @@ public class ZipFunctions {
                 }
 
                 try {
-                    if (args.size() % 2 == 1) {
-                        throw new VncException("Function 'io/zip' requires an even number of arguments");
-                    }
-
-                    int idx = 0;
-                    final LinkedHashMap<String,Object> map = new LinkedHashMap<>();
+                    return new VncByteBuffer(Zipper.zip(zipEntries("io/zip", args)));
+                }
+                catch (Exception ex) {
+                    throw new VncException(ex.getMessage(), ex);
+                }
+            }
 
-                    while (idx < args.size()) {
-                        final String name = Coerce.toVncString(args.nth(idx++)).getValue();
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
 
-                        if (map.containsKey(name)) {
-                            throw new VncException(String.format(
-                                    "Function 'io/zip' duplicate entry name %s", name));
-                        }
+    public static VncFunction io_zip_to_stream =
+        new VncFunction(
+                "io/zip-to-stream",
+                VncFunction
+                    .meta()
+                    .arglists("(io/zip-to-stream os & entries)")
+                    .doc(
+                        "Zips the entries to the OutputStream os. An entry is given by a " +
+                        "name and data. The entry data may be nil, a bytebuf, a file, " +
+                        "a string (file path), or an InputStream.¶" +
+                        "The data of file and InputStream entries is streamed to the zip " +
+                        "without loading it into memory. An entry name with a trailing " +
+                        "'/' creates a directory. The OutputStream is flushed but not " +
+                        "closed. Returns nil.")
+                    .examples(
+                        "(do                                                          \n" +
+                        "  (import :java.io.ByteArrayOutputStream)                    \n" +
+                        "  (try-with [os (. :ByteArrayOutputStream :new)]             \n" +
+                        "    (io/zip-to-stream os                                     \n" +
+                        "                      \"a.txt\" (bytebuf-from-string \"abc\" :utf-8)  \n" +
+                        "                      \"b.txt\" (bytebuf-from-string \"def\" :utf-8)) \n" +
+                        "    (-> (. os :toByteArray)                                  \n" +
+                        "        (io/unzip \"b.txt\")                                 \n" +
+                        "        (bytebuf-to-string :utf-8))))                          ")
+                    .seeAlso("io/zip", "io/zip-file", "io/unzip-to-stream")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertMinArity(this, args, 3);
 
-                        final VncVal dataVal = args.nth(idx++);
-                        Object data;
-                        if (dataVal == Nil) {
-                            data = new byte[0];
-                        }
-                        else if (Types.isVncByteBuffer(dataVal)) {
-                            data = ((VncByteBuffer)dataVal).getBytes();
-                        }
-                        else if (Types.isVncJavaObject(dataVal, InputStream.class)) {
-                            data = ((VncJavaObject)dataVal).getDelegate();
-                        }
-                        else if (Types.isVncJavaObject(dataVal, File.class)) {
-                            data = ((VncJavaObject)dataVal).getDelegate();
-                            validateReadableFile((File)data);
-                        }
-                        else if (Types.isVncString(dataVal)) {
-                            data = new File(Coerce.toVncString(dataVal).getValue());
-                            validateReadableFile((File)data);
-                        }
-                        else {
-                            throw new VncException(String.format(
-                                    "Function 'io/zip' does not allow %s as f",
-                                    Types.getType(dataVal)));
-                        }
+                sandboxFunctionCallValidation();
 
-                        map.put(name, data);
-                    }
+                final OutputStream os = Coerce.toVncJavaObject(args.first(), OutputStream.class);
 
-                    return new VncByteBuffer(Zipper.zip(map));
+                try {
+                    Zipper.zip(zipEntries("io/zip-to-stream", args.rest()), os);
+                    return Nil;
                 }
                 catch (Exception ex) {
                     throw new VncException(ex.getMessage(), ex);
@@ -375,11 +379,13 @@ public class ZipFunctions {
                     .arglists("(io/unzip f entry-name)")
                     .doc(
                         "Unzips an entry from zip f the entry's data as a bytebuf. f may be a bytebuf, \n" +
-                        "a file, a string (file path) or an InputStream.")
+                        "a file, a string (file path) or an InputStream.\n\n" +
+                        "A zip file is accessed randomly through its central directory. Only " +
+                        "the requested entry is inflated.")
                     .examples(
                         "(-> (io/zip \"a.txt\" (bytebuf-from-string \"abcdef\" :utf-8)) \n" +
                         "    (io/unzip \"a.txt\"))")
-                    .seeAlso("io/zip", "io/zip?")
+                    .seeAlso("io/zip", "io/zip?", "io/unzip-to-stream")
                     .build()
         ) {
             @Override
@@ -428,6 +434,74 @@ public class ZipFunctions {
             private static final long serialVersionUID = -1848883965231344442L;
         };
 
+    public static VncFunction io_unzip_to_stream =
+        new VncFunction(
+                "io/unzip-to-stream",
+                VncFunction
+                    .meta()
+                    .arglists("(io/unzip-to-stream f entry-name)")
+                    .doc(
+                        "Returns an InputStream to read the data of the entry from the zip f. " +
+                        "The entry's data is inflated on the fly while reading the stream. " +
+                        "Returns nil if the zip has no entry with the name. f may be a " +
+                        "bytebuf, a file, a string (file path) or an InputStream.¶" +
+                        "A zip file is accessed randomly through its central directory " +
+                        "without reading the other entries. The InputStream must be " +
+                        "closed after use.")
+                    .examples(
+                        "(try-with [is (-> (io/zip \"a.txt\" (bytebuf-from-string \"abc\" :utf-8)  \n" +
+                        "                          \"b.txt\" (bytebuf-from-string \"def\" :utf-8)) \n" +
+                        "                  (io/unzip-to-stream \"b.txt\"))]                        \n" +
+                        "  (io/slurp-stream is :binary false :encoding :utf-8))                ")
+                    .seeAlso("io/unzip", "io/zip-to-stream", "io/zip")
+                    .build()
+        ) {
+            @Override
+            public VncVal apply(final VncList args) {
+                ArityExceptions.assertArity(this, args, 2);
+
+                sandboxFunctionCallValidation();
+
+                final VncVal buf = args.first();
+                final String entryName = Coerce.toVncString(args.second()).getValue();
+                try {
+                    final InputStream is;
+
+                    if (buf == Nil) {
+                        return Nil;
+                    }
+                    else if (Types.isVncByteBuffer(buf)) {
+                        is = Zipper.unzipToStream(((VncByteBuffer)buf).getBytes(), entryName);
+                    }
+                    else if (Types.isVncJavaObject(buf, InputStream.class)) {
+                        is = Zipper.unzipToStream((InputStream)((VncJavaObject)buf).getDelegate(), entryName);
+                    }
+                    else if (Types.isVncJavaObject(buf, File.class)) {
+                        final File file = (File)((VncJavaObject)buf).getDelegate();
+                        validateReadableFile(file);
+                        is = Zipper.unzipToStream(file, entryName);
+                    }
+                    else if (Types.isVncString(buf)) {
+                        final File file = new File(Coerce.toVncString(buf).getValue());
+                        validateReadableFile(file);
+                        is = Zipper.unzipToStream(file, entryName);
+                    }
+                    else {
+                        throw new VncException(String.format(
+                                "Function 'io/unzip-to-stream' does not allow %s as f",
+                                Types.getType(buf)));
+                    }
+
+                    return is == null ? Nil : new VncJavaObject(is);
+                }
+                catch (Exception ex) {
+                    throw new VncException(ex.getMessage(), ex);
+                }
+            }
+
+            private static final long serialVersionUID = -1848883965231344442L;
+        };
+
     public static VncFunction io_unzip_first =
         new VncFunction(
                 "io/unzip-first",
@@ -683,6 +757,8 @@ public class ZipFunctions {
                         "                  a :java.io.InputStream. The real file is used " +
                         "                  when nil is returned. |\n" +
                         "| :silent b     | if false prints the added entries to *out*, " +
+                        "                  defaults to false |\n" +
+                        "| :parallel b   | if true deflates the files in parallel, " +
                         "                  defaults to false |\n\n" +
                         "Example: \n\n" +
                         "```\n" +
@@ -707,6 +783,9 @@ public class ZipFunctions {
                         "; zip all files in from two directories and print the added entries\n" +
                         "(io/zip-file :silent false \"test.zip\" \"dirA\" \"dirB\")",
 
+                        "; zip all files from a directory deflating the files in parallel\n" +
+                        "(io/zip-file :parallel true \"test.zip\" \"dir\")",
+
                         "; zip all *.txt files from a directory\n" +
                         "(io/zip-file :filter-fn (fn [dir name] (str/ends-with? name \".txt\"))  \n" +
                         "             \"test.zip\" \n" +
@@ -745,6 +824,9 @@ public class ZipFunctions {
                 // option: silent
                 final boolean silent = !VncBoolean.isFalse(options.get(new VncKeyword("silent")));
 
+                // option: parallel
+                final boolean parallel = VncBoolean.isTrue(options.get(new VncKeyword("parallel")));
+
                 // option: file filter
                 final VncVal filterFnVal = options.get(new VncKeyword("filter-fn"));
                 final VncFunction filterFn = filterFnVal == Nil ? null : Coerce.toVncFunction(filterFnVal);
@@ -761,15 +843,15 @@ public class ZipFunctions {
                 try {
                     if (Types.isVncJavaObject(dest, File.class)) {
                         Zipper.zipFileOrDir(
-                                Coerce.toVncJavaObject(dest, File.class), filesToZip, filter, mapper, ps);
+                                Coerce.toVncJavaObject(dest, File.class), filesToZip, filter, mapper, ps, parallel);
                     }
                     else if (Types.isVncString(dest)) {
                         Zipper.zipFileOrDir(
-                                new File(Coerce.toVncString(dest).getValue()), filesToZip, filter, mapper, ps);
+                                new File(Coerce.toVncString(dest).getValue()), filesToZip, filter, mapper, ps, parallel);
                     }
                     else if (Types.isVncJavaObject(dest, OutputStream.class)) {
                         Zipper.zipFileOrDir(
-                                Coerce.toVncJavaObject(dest, OutputStream.class), filesToZip, filter, mapper, ps);
+                                Coerce.toVncJavaObject(dest, OutputStream.class), filesToZip, filter, mapper, ps, parallel);
                     }
                     else {
                         throw new VncException(String.format(
@@ -1359,6 +1441,55 @@ public class ZipFunctions {
         };
 
 
+    private static Map<String,Object> zipEntries(final String fnName, final VncList args) {
+        if (args.size() % 2 == 1) {
+            throw new VncException(String.format(
+                    "Function '%s' requires an even number of arguments", fnName));
+        }
+
+        int idx = 0;
+        final LinkedHashMap<String,Object> map = new LinkedHashMap<>();
+
+        while (idx < args.size()) {
+            final String name = Coerce.toVncString(args.nth(idx++)).getValue();
+
+            if (map.containsKey(name)) {
+                throw new VncException(String.format(
+                        "Function '%s' duplicate entry name %s", fnName, name));
+            }
+
+            final VncVal dataVal = args.nth(idx++);
+            Object data;
+            if (dataVal == Nil) {
+                data = new byte[0];
+            }
+            else if (Types.isVncByteBuffer(dataVal)) {
+                data = ((VncByteBuffer)dataVal).getBytes();
+            }
+            else if (Types.isVncJavaObject(dataVal, InputStream.class)) {
+                data = ((VncJavaObject)dataVal).getDelegate();
+            }
+            else if (Types.isVncJavaObject(dataVal, File.class)) {
+                data = ((VncJavaObject)dataVal).getDelegate();
+                validateReadableFile((File)data);
+            }
+            else if (Types.isVncString(dataVal)) {
+                data = new File(Coerce.toVncString(dataVal).getValue());
+                validateReadableFile((File)data);
+            }
+            else {
+                throw new VncException(String.format(
+                        "Function '%s' does not allow %s as f",
+                        fnName,
+                        Types.getType(dataVal)));
+            }
+
+            map.put(name, data);
+        }
+
+        return map;
+    }
+
     private static File convertToFile(final VncVal f, final String errFormat) {
         if (Types.isVncString(f)) {
             return new File(((VncString)f).getValue());
@@ -1470,6 +1601,7 @@ public class ZipFunctions {
     public static Map<VncVal, VncVal> ns =
             new SymbolMapBuilder()
                     .add(io_zip)
+                    .add(io_zip_to_stream)
                     .add(io_zip_append)
                     .add(io_zip_remove)
                     .add(io_zip_file)
@@ -1477,6 +1609,7 @@ public class ZipFunctions {
                     .add(io_zip_list_entry_names)
                     .add(io_zip_Q)
                     .add(io_unzip)
+                    .add(io_unzip_to_stream)
                     .add(io_unzip_first)
                     .add(io_unzip_nth)
                     .add(io_unzip_all)
@@ -22,6 +22,7 @@
 package com.github.jlangch.venice.impl.namespaces;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.github.jlangch.venice.impl.javainterop.JavaImports;
 import com.github.jlangch.venice.impl.types.VncSymbol;
@@ -42,10 +43,20 @@ public class Namespace {
 
     public void addAlias(final String alias, final String ns) {
         aliases.put(alias, ns);
+        aliasesVersion.incrementAndGet();
     }
 
     public void removeAlias(final String alias) {
         aliases.remove(alias);
+        aliasesVersion.incrementAndGet();
+    }
+
+    /**
+     * @return a version stamp that changes whenever an alias is added or
+     *         removed
+     */
+    public long getAliasesVersion() {
+        return aliasesVersion.get();
     }
 
     public String lookupByAlias(final String alias) {
@@ -78,4 +89,5 @@ public class Namespace {
     private final VncSymbol ns;
     private final JavaImports javaImports = new JavaImports();
     private final ConcurrentHashMap<String,String> aliases = new ConcurrentHashMap<>();
+    private final AtomicLong aliasesVersion = new AtomicLong(0L);
 }
@@ -25,7 +25,6 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
@@ -54,6 +53,7 @@ import com.github.jlangch.venice.impl.types.collections.VncVector;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ErrorMessage;
 import com.github.jlangch.venice.impl.util.MetaUtil;
+import com.github.jlangch.venice.impl.util.RegexPatternCache;
 import com.github.jlangch.venice.impl.util.StringUtil;
 
 
@@ -215,7 +215,7 @@ public class Reader {
                 }
 
             case KEYWORD:
-                return new VncKeyword(sToken, MetaUtil.toMeta(token));
+                return VncKeyword.intern(sToken, MetaUtil.toMeta(token));
 
             case SYMBOL: {
                     final VncSymbol sym = new VncSymbol(sToken);
@@ -379,7 +379,7 @@ public class Reader {
                         String s = t.getToken();
                         if (s.startsWith("\"")) s = s.substring(1);
                         if (s.endsWith("\"")) s = s.substring(0, s.length()-1);
-                        return new VncJavaObject(Pattern.compile(s));
+                        return new VncJavaObject(RegexPatternCache.compile(s));
                     }
                     catch (PatternSyntaxException ex) {
                         throw new ParseError(formatParseError(
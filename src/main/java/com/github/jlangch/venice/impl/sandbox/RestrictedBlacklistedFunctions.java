@@ -98,6 +98,13 @@ public class RestrictedBlacklistedFunctions {
                     "await-termination-agents",
                     "await-termination-agents?",
                     "thread",
+                    "pmap",
+                    "upmap",
+                    "pcalls",
+                    "fold",
+                    "dag/execute",
+                    "pmap-parallelism",
+                    "pmap-window",
 
                     // scheduler
                     "schedule-delay",
@@ -147,11 +154,13 @@ public class RestrictedBlacklistedFunctions {
 
                     // I/O zip
                     "io/zip",
+                    "io/zip-to-stream",
                     "io/zip-append",
                     "io/zip-remove",
                     "io/zip-file",
                     "io/zip-list",
                     "io/unzip",
+                    "io/unzip-to-stream",
                     "io/unzip-first",
                     "io/unzip-nth",
                     "io/unzip-all",
@@ -160,7 +169,11 @@ public class RestrictedBlacklistedFunctions {
                     "io/gzip",
                     "io/gzip-to-stream",
                     "io/ungzip",
-                    "io/ungzip-to-stream"));
+                    "io/ungzip-to-stream",
+
+                    // I/O cidr
+                    "cidr/save-table",
+                    "cidr/load-table"));
 
     private static Set<String> SPECIAL_FORMS =
         new HashSet<>(
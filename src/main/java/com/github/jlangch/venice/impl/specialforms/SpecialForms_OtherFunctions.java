@@ -839,7 +839,17 @@ public class SpecialForms_OtherFunctions {
                         "Profiling recursive functions:¶\n" +
                         "Because the profiler reports \"time with children\" and accumulates the " +
                         "elapsed time across all recursive calls the resulting time for a " +
-                        "particular recursive function is higher than the effective time.")
+                        "particular recursive function is higher than the effective time.\n\n" +
+                        "Call profiler:¶\n" +
+                        "The call profiler records per function and per call path the self " +
+                        "time, the time with children, the allocated bytes, and the number " +
+                        "of calls by arity. Recursive calls are not counted twice. The " +
+                        "allocated bytes are only measured if the call profiler is turned " +
+                        "on with `(prof :profile-on :alloc)`, otherwise they are 0. The call " +
+                        "paths can be exported in the collapsed stack format " +
+                        "(`\"a;b;c 1234\"`) used by flame graph tools. With the option " +
+                        "`:alloc` the paths are weighted by the allocated bytes instead of " +
+                        "the elapsed nanoseconds.")
                     .examples(
                         "(do  \n" +
                         "  (prof :on)   ; turn profiler on  \n" +
@@ -849,6 +859,15 @@ public class SpecialForms_OtherFunctions {
                         "  (prof :data)   ; returns the profiler data as map  \n" +
                         "  (prof :data-formatted)   ; returns the profiler data as formatted text  \n" +
                         "  (prof :data-formatted \"Metrics\")   ; returns the profiler data as formatted text with a title  \n" +
+                        "  nil)  ",
+                        "(do  \n" +
+                        "  (prof :profile-on)   ; turn call profiler on  \n" +
+                        "  (prof :profile-on :alloc)   ; turn call profiler on, measuring allocated bytes too  \n" +
+                        "  (prof :profile-off)   ; turn call profiler off  \n" +
+                        "  (prof :profile-status)   ; returns the call profiler on/off staus  \n" +
+                        "  (prof :profile-data)   ; returns the call profiler data as map  \n" +
+                        "  (prof :profile-collapsed)   ; returns the call paths as collapsed stacks weighted by time  \n" +
+                        "  (prof :profile-collapsed :alloc)   ; returns the call paths as collapsed stacks weighted by allocated bytes  \n" +
                         "  nil)  ")
                     .seeAlso("perf", "time")
                     .build()
@@ -922,13 +941,35 @@ public class SpecialForms_OtherFunctions {
                             }
 
                             return new VncString(meterRegistry.getTimerDataFormatted(title, anonFn));
+
+                        case "profile-on":
+                            meterRegistry.enableProfiling(
+                                    Types.isVncKeyword(args.second())
+                                        && ((VncKeyword)args.second()).hasValue("alloc"));
+                            return new VncKeyword("on");
+
+                        case "profile-off":
+                            meterRegistry.disableProfiling();
+                            return new VncKeyword("off");
+
+                        case "profile-status":
+                            return new VncKeyword(meterRegistry.isProfiling() ? "on" : "off");
+
+                        case "profile-data":
+                            return meterRegistry.getVncProfilerData();
+
+                        case "profile-collapsed":
+                            final boolean alloc = Types.isVncKeyword(args.second())
+                                                    && ((VncKeyword)args.second()).hasValue("alloc");
+                            return new VncString(meterRegistry.getProfilerCollapsedStacks(alloc));
                     }
                 }
 
                 throw new VncException(
                         "Function 'prof' expects a single keyword argument: " +
                         ":on, :off, :status, :clear, :clear-all-but, :data, " +
-                        "or :data-formatted");
+                        ":data-formatted, :profile-on, :profile-off, :profile-status, " +
+                        ":profile-data, or :profile-collapsed");
             }
 
             private static final long serialVersionUID = -1848883965231344442L;
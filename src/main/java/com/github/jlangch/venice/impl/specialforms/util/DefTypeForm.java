@@ -24,9 +24,7 @@ package com.github.jlangch.venice.impl.specialforms.util;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import com.github.jlangch.venice.VncException;
@@ -42,7 +40,6 @@ import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.collections.VncHashSet;
 import com.github.jlangch.venice.impl.types.collections.VncList;
 import com.github.jlangch.venice.impl.types.collections.VncMap;
-import com.github.jlangch.venice.impl.types.collections.VncOrderedMap;
 import com.github.jlangch.venice.impl.types.collections.VncVector;
 import com.github.jlangch.venice.impl.types.custom.CustomWrappableTypes;
 import com.github.jlangch.venice.impl.types.custom.VncChoiceTypeDef;
@@ -319,25 +316,28 @@ public class DefTypeForm {
                     typeArgs.size()));
         }
 
-        final Map<VncVal,VncVal> fields = new LinkedHashMap<>();
-
-        for(int ii=0; ii<typeDef.count(); ii++) {
-            final VncCustomTypeFieldDef fieldDef = typeDef.getFieldDef(ii);
-            final VncVal arg = typeArgs.get(ii);
-
-            validateTypeCompatibility(typeDef.getType(), fieldDef, arg);
+        return createCustomType(
+                    typeDef,
+                    typeArgs.toArray(new VncVal[typeArgs.size()]),
+                    meta);
+    }
 
-            fields.put(fieldDef.getName(), arg);
+    public static VncCustomType createCustomType(
+            final VncCustomTypeDef typeDef,
+            final VncVal[] fields,
+            final VncVal meta
+    ) {
+        for(int ii=0; ii<fields.length; ii++) {
+            validateTypeCompatibility(typeDef.getType(), typeDef.getFieldDef(ii), fields[ii]);
         }
 
-        final VncMap data = new VncOrderedMap(fields, Constants.Nil);
+        final VncCustomType val = new VncCustomType(typeDef, fields, meta);
 
-        typeDef.validate(data);
+        if (typeDef.getValidationFn() != null) {
+            typeDef.validate(val.toVncMap());
+        }
 
-        return new VncCustomType(
-                        typeDef,
-                        data,
-                        meta);
+        return val;
     }
 
     public static VncCustomType createCustomType(
@@ -373,26 +373,36 @@ public class DefTypeForm {
                     fields.size()));
         }
 
-        final Map<VncVal,VncVal> fieldsNew = new LinkedHashMap<>();
+        final VncVal[] fieldsNew = new VncVal[typeDef.count()];
 
         for(int ii=0; ii<typeDef.count(); ii++) {
-            final VncCustomTypeFieldDef fieldDef = typeDef.getFieldDef(ii);
-
-            final VncVal arg = fields.get(fieldDef.getName());
-
-            validateTypeCompatibility(typeDef.getType(), fieldDef, arg);
-
-            fieldsNew.put(fieldDef.getName(), arg);
+            fieldsNew[ii] = fields.get(typeDef.getFieldDef(ii).getName());
         }
 
-        final VncMap data = new VncOrderedMap(fieldsNew, Constants.Nil);
-
-        typeDef.validate(data);
+        return createCustomType(typeDef, fieldsNew, meta);
+    }
 
-        return new VncCustomType(
-                        typeDef,
-                        data,
-                        meta);
+    public static int getFieldIndex(
+            final VncCustomTypeDef typeDef,
+            final VncVal name
+    ) {
+        final int idx = typeDef.getFieldIndex(name);
+        if (idx >= 0) {
+            return idx;
+        }
+        else if (name instanceof VncKeyword) {
+            throw new VncException(String.format(
+                    "The custom type %s does not support the field %s",
+                    typeDef.getType().toString(),
+                    name.toString()));
+        }
+        else {
+            throw new VncException(String.format(
+                    "The custom type %s requires field names of type keyword. "
+                    + "An invalid field name of type %s has been passed.",
+                    typeDef.getType().toString(),
+                    name.getType().toString()));
+        }
     }
 
     public static VncVal createWrappedType(
@@ -79,6 +79,10 @@ public class ThreadContext {
         return callStack;
     }
 
+    public MeterRegistry getMeterRegistry_() {
+        return meterRegistry;
+    }
+
     public CallFrameFnData getAndClearCallFrameFnData_() {
         final CallFrameFnData data = callFrameFnData;
         callFrameFnData = null;
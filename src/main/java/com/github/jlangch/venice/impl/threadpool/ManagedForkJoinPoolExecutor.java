@@ -0,0 +1,104 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.threadpool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * A managed work-stealing pool for compute bound tasks. The pool is sized
+ * to the number of available processors by default and runs daemon threads
+ * named after the pool.
+ *
+ * <p>The pool runs in async mode (FIFO scheduling of forked tasks that are
+ * never joined) which suits the event-style tasks submitted by
+ * <code>pmap</code>.
+ */
+public class ManagedForkJoinPoolExecutor extends ManagedExecutor {
+
+    public ManagedForkJoinPoolExecutor(
+            final String threadPoolName
+    ) {
+        this(threadPoolName, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ManagedForkJoinPoolExecutor(
+            final String threadPoolName,
+            final int parallelism
+    ) {
+        this.threadPoolName = threadPoolName;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+
+    @Override
+    public ForkJoinPool getExecutor() {
+        return (ForkJoinPool)super.getExecutor();
+    }
+
+    @Override
+    protected ExecutorService createExecutorService() {
+        return new ForkJoinPool(
+                    parallelism,
+                    pool -> {
+                        final ForkJoinWorkerThread thread = ForkJoinPool
+                                                                .defaultForkJoinWorkerThreadFactory
+                                                                .newThread(pool);
+                        thread.setDaemon(true);
+                        thread.setName(threadPoolName + "-" + counter.getAndIncrement());
+                        return thread;
+                    },
+                    null,
+                    true);
+    }
+
+    public int getParallelism() {
+        synchronized(this) {
+            return parallelism;
+        }
+    }
+
+    /**
+     * Sets the pool's parallelism. A running pool is shut down and replaced
+     * by a new pool with the new parallelism on its next use. The tasks
+     * running on the old pool are completed.
+     *
+     * @param parallelism the new parallelism
+     */
+    public void setParallelism(final int parallelism) {
+        synchronized(this) {
+            final int p = Math.max(1, parallelism);
+            if (p != this.parallelism) {
+                this.parallelism = p;
+                shutdown();
+            }
+        }
+    }
+
+
+    private final String threadPoolName;
+    private int parallelism;
+    private final AtomicLong counter = new AtomicLong(1L);
+}
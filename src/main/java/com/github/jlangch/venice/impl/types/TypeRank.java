@@ -44,6 +44,9 @@ public enum TypeRank {
 
     VECTOR (210),
     MUTABLEVECTOR (211),
+    LONGVECTOR (212),
+    DOUBLEVECTOR (213),
+    TRANSIENTVECTOR (214),
 
     HASHMAP (220),
     ORDEREDMAP (221),
@@ -51,11 +54,13 @@ public enum TypeRank {
     JAVAMAP (223),
     MAPENTRY (224),
     MUTABLEMAP (225),
+    TRANSIENTMAP (226),
 
     HASHSET (230),
     SORTEDSET (231),
     JAVASET (232),
     MUTABLESET (233),
+    TRANSIENTSET (234),
 
     DAG (240),
 
@@ -32,6 +32,7 @@ import com.github.jlangch.venice.impl.types.collections.VncList;
 import com.github.jlangch.venice.impl.types.collections.VncVector;
 import com.github.jlangch.venice.impl.types.util.QualifiedName;
 import com.github.jlangch.venice.impl.util.CallFrame;
+import com.github.jlangch.venice.impl.util.CallProfiler;
 import com.github.jlangch.venice.impl.util.MetaUtil;
 import com.github.jlangch.venice.impl.util.MeterRegistry;
 import com.github.jlangch.venice.impl.util.StringUtil;
@@ -310,6 +311,27 @@ public abstract class VncFunction
             final IVncFunction fn,
             final VncList args,
             final MeterRegistry meterRegistry
+    ) {
+        if (meterRegistry.profiling && fn.isNative()) {
+            // Non native functions profile themselves
+            final CallProfiler profiler = meterRegistry.getProfiler();
+            profiler.enter(((VncFunction)fn).getQualifiedName(), args.size());
+            try {
+                return applyWithMeter_(fn, args, meterRegistry);
+            }
+            finally {
+                profiler.exit();
+            }
+        }
+        else {
+            return applyWithMeter_(fn, args, meterRegistry);
+        }
+    }
+
+    private static VncVal applyWithMeter_(
+            final IVncFunction fn,
+            final VncList args,
+            final MeterRegistry meterRegistry
     ) {
         if (meterRegistry.enabled && fn.isNative()) {
             // Non native functions are profiled by the VeniceInterpreter while executing
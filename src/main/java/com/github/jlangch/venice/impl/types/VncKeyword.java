@@ -21,6 +21,10 @@
  */
 package com.github.jlangch.venice.impl.types;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.github.jlangch.venice.VncException;
 import com.github.jlangch.venice.impl.types.collections.VncList;
 import com.github.jlangch.venice.impl.types.collections.VncMap;
@@ -65,6 +69,7 @@ public class VncKeyword extends VncString implements IVncFunction, INamespaceAwa
         this.namespace = qn.getNamespace();
         this.simpleName = qn.getSimpleName();
         this.qualifiedName = qn.getQualifiedName();
+        this.hash = qualifiedName.hashCode();
     }
 
     private VncKeyword(
@@ -78,6 +83,7 @@ public class VncKeyword extends VncString implements IVncFunction, INamespaceAwa
         this.namespace = namespace;
         this.simpleName = simpleName;
         this.qualifiedName = qualifiedName;
+        this.hash = qualifiedName.hashCode();
     }
 
     private VncKeyword(final VncKeyword other, final VncVal meta) {
@@ -86,6 +92,58 @@ public class VncKeyword extends VncString implements IVncFunction, INamespaceAwa
         qualifiedName = other.qualifiedName;
         simpleName = other.simpleName;
         namespace = other.namespace;
+        hash = other.hash;
+
+        // a copy keeps the interned keyword it derives from alive
+        canonical = other.canonical;
+    }
+
+    private VncKeyword(final String key, final boolean interned) {
+        this(QualifiedName.parse(key), Constants.Nil);
+
+        canonical = interned ? this : null;
+    }
+
+
+    /**
+     * Returns the interned keyword for a name.
+     *
+     * <p>Interned keywords are canonical instances without meta data that
+     * are held in a weak table. The keywords derived from an interned
+     * keyword (e.g. copies with meta data) hold a strong reference to it.
+     * So the interned keyword lives as long as any of its copies and
+     * these keywords are compared by the identity of their interned
+     * keyword.
+     *
+     * @param name a keyword name with or without the leading colon
+     * @return the interned keyword
+     */
+    public static VncKeyword intern(final String name) {
+        final String key = stripColon(name);
+        if (key == null) {
+            throw new VncException("A keyword name must not be null!");
+        }
+
+        final KeywordRef ref = internTable.get(key);
+        final VncKeyword kw = ref == null ? null : ref.get();
+        if (kw != null) {
+            return kw;
+        }
+
+        return internNew(key);
+    }
+
+    /**
+     * Returns the interned keyword for a name with the given meta data.
+     * The returned keyword references the interned keyword.
+     *
+     * @param name a keyword name with or without the leading colon
+     * @param meta the meta data
+     * @return the keyword
+     */
+    public static VncKeyword intern(final String name, final VncVal meta) {
+        final VncKeyword kw = intern(name);
+        return meta == Constants.Nil ? kw : new VncKeyword(kw, meta);
     }
 
 
@@ -233,7 +291,7 @@ public class VncKeyword extends VncString implements IVncFunction, INamespaceAwa
 
     @Override
     public int hashCode() {
-        return qualifiedName.hashCode();
+        return hash;
     }
 
     @Override
@@ -241,11 +299,20 @@ public class VncKeyword extends VncString implements IVncFunction, INamespaceAwa
         if (this == obj) {
             return true;
         }
-        else if (getClass() != obj.getClass()) {
+        else if (obj == null || getClass() != obj.getClass()) {
             return false;
         }
         else {
-            return qualifiedName.equals(((VncKeyword)obj).qualifiedName);
+            final VncKeyword other = (VncKeyword)obj;
+
+            if (canonical != null && other.canonical != null) {
+                // there is only one live interned keyword per name
+                return canonical == other.canonical;
+            }
+
+            return hash == other.hash
+                    && (qualifiedName == other.qualifiedName
+                            || qualifiedName.equals(other.qualifiedName));
         }
     }
 
@@ -276,6 +343,50 @@ public class VncKeyword extends VncString implements IVncFunction, INamespaceAwa
         }
     }
 
+    private static VncKeyword internNew(final String key) {
+        purgeInternTable();
+
+        final VncKeyword kw = new VncKeyword(key, true);
+
+        while(true) {
+            final KeywordRef ref = internTable.putIfAbsent(
+                                        kw.qualifiedName,
+                                        new KeywordRef(kw, internQueue));
+            if (ref == null) {
+                return kw;
+            }
+
+            final VncKeyword existing = ref.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            // the interned keyword has been collected, replace its entry
+            internTable.remove(kw.qualifiedName, ref);
+        }
+    }
+
+    private static void purgeInternTable() {
+        KeywordRef ref;
+        while((ref = (KeywordRef)internQueue.poll()) != null) {
+            internTable.remove(ref.name, ref);
+        }
+    }
+
+
+    private static class KeywordRef extends WeakReference<VncKeyword> {
+        public KeywordRef(
+                final VncKeyword kw,
+                final ReferenceQueue<VncKeyword> queue
+        ) {
+            super(kw, queue);
+            this.name = kw.qualifiedName;
+        }
+
+        private final String name;
+    }
+
+
     public static final String TYPE = ":core/keyword";
 
     private static final long serialVersionUID = -1848883965231344442L;
@@ -284,4 +395,12 @@ public class VncKeyword extends VncString implements IVncFunction, INamespaceAwa
     private final String qualifiedName;
     private final String simpleName;
     private final String namespace;
+    private final int hash;
+
+    // the interned keyword or null if the keyword is not interned.
+    // Deserialized keywords are not interned.
+    private transient VncKeyword canonical;
+
+    private static final ConcurrentHashMap<String,KeywordRef> internTable = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<VncKeyword> internQueue = new ReferenceQueue<>();
 }
@@ -53,9 +53,23 @@ public class VncLong extends VncNumber {
     }
 
 
+    /**
+     * Returns a long without meta data. Like <code>Long.valueOf</code> the
+     * values in the range [-128..1024] are served from a preallocated
+     * cache.
+     *
+     * @param v a long value
+     * @return the VncLong
+     */
+    public static VncLong of(final long v) {
+        return v >= CACHE_LOW && v <= CACHE_HIGH
+                ? CACHE[(int)(v - CACHE_LOW)]
+                : new VncLong(v);
+    }
+
     public static VncLong of(final VncVal v) {
         if (Types.isVncNumber(v)) {
-            return new VncLong(((VncNumber)v).toJavaLong());
+            return of(((VncNumber)v).toJavaLong());
         }
         else {
             throw new VncException(String.format(
@@ -92,26 +106,26 @@ public class VncLong extends VncNumber {
 
     @Override
     public VncLong inc() {
-        return new VncLong(value + 1L);
+        return of(value + 1L);
     }
 
     @Override
     public VncLong dec() {
-        return new VncLong(value - 1L);
+        return of(value - 1L);
     }
 
     @Override
     public VncLong negate() {
-        return new VncLong(Math.negateExact(value));
+        return of(Math.negateExact(value));
     }
 
     @Override
     public VncNumber add(final VncVal op) {
         if (op instanceof VncLong) {
-            return new VncLong(value + ((VncLong)op).value);
+            return of(value + ((VncLong)op).value);
         }
         else if (op instanceof VncInteger) {
-            return new VncLong(value + ((VncInteger)op).toJavaLong());
+            return of(value + ((VncInteger)op).toJavaLong());
         }
         else if (op instanceof VncDouble) {
             return new VncDouble(value + ((VncDouble)op).toJavaDouble());
@@ -132,10 +146,10 @@ public class VncLong extends VncNumber {
     @Override
     public VncNumber sub(final VncVal op) {
         if (op instanceof VncLong) {
-            return new VncLong(value - ((VncLong)op).value);
+            return of(value - ((VncLong)op).value);
         }
         else if (op instanceof VncInteger) {
-            return new VncLong(value - ((VncInteger)op).toJavaLong());
+            return of(value - ((VncInteger)op).toJavaLong());
         }
         else if (op instanceof VncDouble) {
             return new VncDouble(value - ((VncDouble)op).toJavaDouble());
@@ -156,10 +170,10 @@ public class VncLong extends VncNumber {
     @Override
     public VncNumber mul(final VncVal op) {
         if (op instanceof VncLong) {
-            return new VncLong(value * ((VncLong)op).value);
+            return of(value * ((VncLong)op).value);
         }
         else if (op instanceof VncInteger) {
-            return new VncLong(value * ((VncInteger)op).toJavaLong());
+            return of(value * ((VncInteger)op).toJavaLong());
         }
         else if (op instanceof VncDouble) {
             return new VncDouble(value * ((VncDouble)op).toJavaDouble());
@@ -181,10 +195,10 @@ public class VncLong extends VncNumber {
     public VncNumber div(final VncVal op) {
         try {
             if (op instanceof VncLong) {
-                return new VncLong(value / ((VncLong)op).value);
+                return of(value / ((VncLong)op).value);
             }
             else if (op instanceof VncInteger) {
-                return new VncLong(value / ((VncInteger)op).toJavaLong());
+                return of(value / ((VncInteger)op).toJavaLong());
             }
             else if (op instanceof VncDouble) {
                 return new VncDouble(value / ((VncDouble)op).toJavaDouble());
@@ -247,7 +261,7 @@ public class VncLong extends VncNumber {
 
     @Override
     public VncNumber square() {
-        return new VncLong(value * value);
+        return of(value * value);
     }
 
     @Override
@@ -360,5 +374,15 @@ public class VncLong extends VncNumber {
 
     private static final long serialVersionUID = -1848883965231344442L;
 
+    private static final long CACHE_LOW = -128L;
+    private static final long CACHE_HIGH = 1024L;
+    private static final VncLong[] CACHE = new VncLong[(int)(CACHE_HIGH - CACHE_LOW + 1)];
+
+    static {
+        for(int ii=0; ii<CACHE.length; ii++) {
+            CACHE[ii] = new VncLong(CACHE_LOW + ii);
+        }
+    }
+
     private final long value;
 }
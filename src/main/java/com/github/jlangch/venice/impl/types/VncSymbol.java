@@ -22,6 +22,7 @@
 package com.github.jlangch.venice.impl.types;
 
 import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.env.GlobalVarCache;
 import com.github.jlangch.venice.impl.env.ReservedSymbols;
 import com.github.jlangch.venice.impl.specialforms.SpecialForms;
 import com.github.jlangch.venice.impl.types.util.QualifiedName;
@@ -203,6 +204,18 @@ public class VncSymbol extends VncVal implements INamespaceAware {
         return qualifiedName;
     }
 
+    /**
+     * @return the inline cache for global var lookups of this symbol or
+     *         <code>null</code> if there is none
+     */
+    public GlobalVarCache getGlobalVarCache() {
+        return globalVarCache;
+    }
+
+    public void setGlobalVarCache(final GlobalVarCache cache) {
+        this.globalVarCache = cache;
+    }
+
 
     public static final String TYPE = ":core/symbol";
 
@@ -214,4 +227,7 @@ public class VncSymbol extends VncVal implements INamespaceAware {
     private final boolean specialFormName;
     private final boolean reservedName;
     private final int hash;
+
+    // inline cache, the symbol at a call site caches its global var
+    private transient GlobalVarCache globalVarCache;
 }
@@ -83,7 +83,7 @@ public class VncDAG extends VncCollection {
             return new VncDAG(dag.addNode(node), getMeta());
         }
         catch(DagCycleException ex) {
-            throw new VncException("The edge is a cycle", ex);
+            throw new VncException("The edge is a cycle: " + ex.getMessage(), ex);
         }
     }
 
@@ -92,7 +92,7 @@ public class VncDAG extends VncCollection {
             return new VncDAG(dag.addEdge(parent, child), getMeta());
         }
         catch(DagCycleException ex) {
-            throw new VncException("The edge is a cycle", ex);
+            throw new VncException("The edge is a cycle: " + ex.getMessage(), ex);
         }
     }
 
@@ -103,7 +103,7 @@ public class VncDAG extends VncCollection {
             return new VncDAG(dag.addNodes(list), getMeta());
         }
         catch(DagCycleException ex) {
-            throw new VncException("The edge is a cycle", ex);
+            throw new VncException("The edge is a cycle: " + ex.getMessage(), ex);
         }
     }
 
@@ -136,10 +136,14 @@ public class VncDAG extends VncCollection {
             return new VncDAG(dag.addEdges(list), getMeta());
         }
         catch(DagCycleException ex) {
-            throw new VncException("The edge is a cycle", ex);
+            throw new VncException("The edge is a cycle: " + ex.getMessage(), ex);
         }
     }
 
+    public DAG<VncVal> getDAG() {
+        return dag;
+    }
+
     public VncList nodes() {
         return VncList.ofColl(
                 dag.getNodes()
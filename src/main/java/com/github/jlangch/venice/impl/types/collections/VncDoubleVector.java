@@ -0,0 +1,561 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.types.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.Printer;
+import com.github.jlangch.venice.impl.types.Constants;
+import com.github.jlangch.venice.impl.types.IVncFunction;
+import com.github.jlangch.venice.impl.types.TypeRank;
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncDouble;
+import com.github.jlangch.venice.impl.types.VncString;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.util.Coerce;
+import com.github.jlangch.venice.impl.types.util.Types;
+import com.github.jlangch.venice.impl.util.ArityExceptions;
+import com.github.jlangch.venice.impl.util.ArityExceptions.FnType;
+import com.github.jlangch.venice.impl.util.MetaUtil;
+
+
+/**
+ * An immutable vector of primitive doubles.
+ *
+ * <p>The values are stored unboxed in a <code>double[]</code>. Operations
+ * that keep the vector's values doubles return a double vector, all other
+ * operations return a boxed vector or list.
+ *
+ * <p>Adding a value at the end is amortized O(1). The array has spare
+ * capacity and is shared by the vectors built on it. Each vector uses the
+ * first <code>size</code> slots only. The vector that ends at the array's
+ * used length appends in place, all others copy the array.
+ */
+public class VncDoubleVector extends VncSequence implements IVncFunction {
+
+    /**
+     * Creates a double vector. The vector takes ownership of the array, the
+     * array must not be modified afterwards!
+     *
+     * @param values the values
+     * @param meta the meta data
+     */
+    public VncDoubleVector(final double[] values, final VncVal meta) {
+        super(meta == null ? Constants.Nil : meta);
+        this.value = values == null ? EMPTY_ARR : values;
+        this.size = this.value.length;
+        this.tail = new AtomicInteger(this.size);
+    }
+
+    private VncDoubleVector(
+            final double[] values,
+            final int size,
+            final AtomicInteger tail,
+            final VncVal meta
+    ) {
+        super(meta == null ? Constants.Nil : meta);
+        this.value = values;
+        this.size = size;
+        this.tail = tail;
+    }
+
+
+    public static VncDoubleVector of(final double... values) {
+        return new VncDoubleVector(values, null);
+    }
+
+    public static VncDoubleVector ofAll(final Iterable<? extends VncVal> iter, final VncVal meta) {
+        if (iter instanceof VncDoubleVector) {
+            return ((VncDoubleVector)iter).withMeta(meta);
+        }
+
+        double[] arr = new double[iter instanceof VncCollection ? ((VncCollection)iter).size() : 16];
+        int size = 0;
+        for(VncVal v : iter) {
+            if (size == arr.length) {
+                arr = Arrays.copyOf(arr, Math.max(16, size * 2));
+            }
+            arr[size] = toDouble(v, size);
+            size++;
+        }
+
+        return new VncDoubleVector(size == arr.length ? arr : Arrays.copyOf(arr, size), meta);
+    }
+
+
+    @Override
+    public VncVal apply(final VncList args) {
+        ArityExceptions.assertArity(this, FnType.Collection, args, 1, 2);
+
+        if (args.size() == 1) {
+            return nth(Coerce.toVncLong(args.first()).getValue().intValue());
+        }
+        else {
+            return nthOrDefault(Coerce.toVncLong(args.first()).getValue().intValue(), args.second());
+        }
+    }
+
+    @Override
+    public VncList getArgLists() {
+        return VncList.of(
+                new VncString("(vec index)"),
+                new VncString("(vec index default-val)"));
+    }
+
+    @Override
+    public VncDoubleVector emptyWithMeta() {
+        return new VncDoubleVector(EMPTY_ARR, getMeta());
+    }
+
+    @Override
+    public VncSequence withVariadicValues(final VncVal... replaceVals) {
+        return withValues(Arrays.asList(replaceVals), getMeta());
+    }
+
+    @Override
+    public VncSequence withValues(final List<? extends VncVal> replaceVals) {
+        return withValues(replaceVals, getMeta());
+    }
+
+    @Override
+    public VncSequence withValues(final List<? extends VncVal> replaceVals, final VncVal meta) {
+        return allDoubles(replaceVals)
+                ? ofAll(replaceVals, meta)
+                : VncVector.ofList(replaceVals, meta);
+    }
+
+    @Override
+    public VncDoubleVector withMeta(final VncVal meta) {
+        return new VncDoubleVector(value, size, tail, meta);
+    }
+
+    @Override
+    public VncKeyword getType() {
+        return new VncKeyword(
+                        TYPE,
+                        MetaUtil.typeMeta(
+                            new VncKeyword(VncSequence.TYPE),
+                            new VncKeyword(VncCollection.TYPE),
+                            new VncKeyword(VncVal.TYPE)));
+    }
+
+    @Override
+    public Iterator<VncVal> iterator() {
+        return new Iterator<VncVal>() {
+            @Override
+            public boolean hasNext() {
+                return idx < size;
+            }
+
+            @Override
+            public VncVal next() {
+                if (idx >= size) {
+                    throw new NoSuchElementException();
+                }
+                return new VncDouble(value[idx++]);
+            }
+
+            private int idx = 0;
+        };
+    }
+
+    @Override
+    public Stream<VncVal> stream() {
+        return Arrays.stream(value, 0, size).mapToObj(v -> new VncDouble(v));
+    }
+
+    @Override
+    public void forEach(Consumer<? super VncVal> action) {
+        for(int ii=0; ii<size; ii++) action.accept(new VncDouble(value[ii]));
+    }
+
+    @Override
+    public VncVector filter(final Predicate<? super VncVal> predicate) {
+        return VncVector.ofAll(stream().filter(predicate), getMeta());
+    }
+
+    @Override
+    public VncVector map(final Function<? super VncVal, ? extends VncVal> mapper) {
+        return VncVector.ofAll(stream().map(mapper), getMeta());
+    }
+
+    @Override
+    public List<VncVal> getJavaList() {
+        return Collections.unmodifiableList(stream().collect(Collectors.toList()));
+    }
+
+    /**
+     * @return the backing array or a copy of it if the backing array has
+     *         spare capacity. The array must not be modified!
+     */
+    public double[] getArray() {
+        return size == value.length ? value : Arrays.copyOf(value, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public VncVal nth(final int idx) {
+        if (idx < 0 || idx >= size) {
+            throw new VncException(String.format(
+                            "nth: index %d out of range for a double vector of size %d.",
+                            idx,
+                            size()));
+        }
+
+        return new VncDouble(value[idx]);
+    }
+
+    @Override
+    public VncVal nthOrDefault(final int idx, final VncVal defaultVal) {
+        return idx >= 0 && idx < size ? new VncDouble(value[idx]) : defaultVal;
+    }
+
+    @Override
+    public VncVal first() {
+        return isEmpty() ? Constants.Nil : new VncDouble(value[0]);
+    }
+
+    @Override
+    public VncVal last() {
+        return isEmpty() ? Constants.Nil : new VncDouble(value[size-1]);
+    }
+
+    @Override
+    public VncDoubleVector rest() {
+        return isEmpty() ? this : slice(1);
+    }
+
+    @Override
+    public VncDoubleVector butlast() {
+        return isEmpty() ? this : slice(0, size-1);
+    }
+
+    @Override
+    public VncDoubleVector drop(final int n) {
+        return n <= 0 ? this : slice(n);
+    }
+
+    @Override
+    public VncDoubleVector dropWhile(final Predicate<? super VncVal> predicate) {
+        for(int ii=0; ii<size; ii++) {
+            if (!predicate.test(new VncDouble(value[ii]))) {
+                return slice(ii);
+            }
+        }
+
+        return emptyWithMeta();
+    }
+
+    @Override
+    public VncDoubleVector dropRight(final int n) {
+        return n <= 0 ? this : slice(0, size - n);
+    }
+
+    @Override
+    public VncDoubleVector take(final int n) {
+        return slice(0, n);
+    }
+
+    @Override
+    public VncDoubleVector takeWhile(final Predicate<? super VncVal> predicate) {
+        for(int ii=0; ii<size; ii++) {
+            if (!predicate.test(new VncDouble(value[ii]))) {
+                return slice(0, ii);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public VncDoubleVector takeRight(final int n) {
+        return n >= size ? this : slice(size - Math.max(0, n));
+    }
+
+    @Override
+    public VncDoubleVector reverse() {
+        final double[] arr = new double[size];
+        for(int ii=0; ii<size; ii++) {
+            arr[ii] = value[size-1-ii];
+        }
+        return new VncDoubleVector(arr, getMeta());
+    }
+
+    @Override
+    public VncDoubleVector shuffle() {
+        final List<Double> list = new ArrayList<>(size);
+        for(int ii=0; ii<size; ii++) list.add(value[ii]);
+        Collections.shuffle(list);
+        return new VncDoubleVector(list.stream().mapToDouble(v -> v).toArray(), getMeta());
+    }
+
+    @Override
+    public VncDoubleVector distinct() {
+        return new VncDoubleVector(Arrays.stream(value, 0, size).distinct().toArray(), getMeta());
+    }
+
+    @Override
+    public VncDoubleVector slice(final int start, final int end) {
+        final int from = Math.max(0, start);
+        final int to = Math.min(end, size);
+        if (from == 0 && to == size) {
+            return this;
+        }
+        else if (from >= to) {
+            return emptyWithMeta();
+        }
+        else {
+            return new VncDoubleVector(Arrays.copyOfRange(value, from, to), getMeta());
+        }
+    }
+
+    @Override
+    public VncDoubleVector slice(final int start) {
+        return slice(start, size);
+    }
+
+    @Override
+    public VncList toVncList() {
+        return VncList.ofList(getJavaList(), getMeta());
+    }
+
+    @Override
+    public VncVector toVncVector() {
+        return VncVector.ofList(getJavaList(), getMeta());
+    }
+
+
+    @Override
+    public VncSequence addAtStart(final VncVal val) {
+        // a vector has no spare capacity at its start, switch to a boxed
+        // vector that prepends in amortized O(1)
+        return toVncVector().addAtStart(val);
+    }
+
+    @Override
+    public VncSequence addAllAtStart(final VncSequence list, final boolean reverseAdd) {
+        if (list instanceof VncDoubleVector) {
+            final VncDoubleVector seq = reverseAdd ? ((VncDoubleVector)list).reverse() : (VncDoubleVector)list;
+            return new VncDoubleVector(concat(seq.value, seq.size, value, size), getMeta());
+        }
+        else {
+            return toVncVector().addAllAtStart(list, reverseAdd);
+        }
+    }
+
+    @Override
+    public VncSequence addAtEnd(final VncVal val) {
+        if (Types.isVncDouble(val)) {
+            final double v = ((VncDouble)val).getValue();
+
+            // append in place if this vector ends at the array's used length
+            if (size < value.length && tail.compareAndSet(size, size+1)) {
+                value[size] = v;
+                return new VncDoubleVector(value, size+1, tail, getMeta());
+            }
+
+            final double[] arr = Arrays.copyOf(value, Math.max(MIN_CAPACITY, size * 2));
+            arr[size] = v;
+            return new VncDoubleVector(arr, size+1, new AtomicInteger(size+1), getMeta());
+        }
+        else {
+            return toVncVector().addAtEnd(val);
+        }
+    }
+
+    @Override
+    public VncSequence addAllAtEnd(final VncSequence list) {
+        if (list instanceof VncDoubleVector) {
+            final VncDoubleVector seq = (VncDoubleVector)list;
+            return new VncDoubleVector(concat(value, size, seq.value, seq.size), getMeta());
+        }
+        else {
+            return toVncVector().addAllAtEnd(list);
+        }
+    }
+
+    @Override
+    public VncSequence setAt(final int idx, final VncVal val) {
+        if (Types.isVncDouble(val)) {
+            nth(idx); // range check
+            final double[] arr = Arrays.copyOf(value, size);
+            arr[idx] = ((VncDouble)val).getValue();
+            return new VncDoubleVector(arr, getMeta());
+        }
+        else {
+            return toVncVector().setAt(idx, val);
+        }
+    }
+
+    @Override
+    public VncDoubleVector removeAt(final int idx) {
+        nth(idx); // range check
+        final double[] arr = new double[size-1];
+        System.arraycopy(value, 0, arr, 0, idx);
+        System.arraycopy(value, idx+1, arr, idx, size-idx-1);
+        return new VncDoubleVector(arr, getMeta());
+    }
+
+    @Override
+    public TypeRank typeRank() {
+        return TypeRank.DOUBLEVECTOR;
+    }
+
+    @Override
+    public Object convertToJavaObject() {
+        return Arrays.stream(value, 0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Override
+    public int compareTo(final VncVal o) {
+        if (o == Constants.Nil) {
+            return 1;
+        }
+        else if (o instanceof VncDoubleVector) {
+            final VncDoubleVector other = (VncDoubleVector)o;
+            int c = Integer.compare(size, other.size);
+            if (c != 0) {
+                return c;
+            }
+            else {
+                for(int ii=0; ii<size; ii++) {
+                    c = Double.compare(value[ii], other.value[ii]);
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return 0;
+            }
+        }
+
+        return super.compareTo(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // the list hash code of the boxed values, equal to the hash code
+        // of a VncVector with the same values
+        int result = 1;
+        for(int ii=0; ii<size; ii++) {
+            result = 31 * result + Double.hashCode(value[ii]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj instanceof VncDoubleVector) {
+            final VncDoubleVector other = (VncDoubleVector)obj;
+            if (size != other.size)
+                return false;
+            for(int ii=0; ii<size; ii++) {
+                if (Double.doubleToLongBits(value[ii]) != Double.doubleToLongBits(other.value[ii]))
+                    return false;
+            }
+            return true;
+        }
+        if (obj instanceof VncVector) {
+            // equal to a boxed vector with the same values
+            final VncVector other = (VncVector)obj;
+            if (size != other.size())
+                return false;
+            for(int ii=0; ii<size; ii++) {
+                if (!new VncDouble(value[ii]).equals(other.nth(ii)))
+                    return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + Printer.join(this, " ", true) + "]";
+    }
+
+    @Override
+    public String toString(final boolean print_machine_readably) {
+        return "[" + Printer.join(this, " ", print_machine_readably) + "]";
+    }
+
+
+    private static double[] concat(
+            final double[] a, final int aSize,
+            final double[] b, final int bSize
+    ) {
+        final double[] arr = Arrays.copyOf(a, aSize + bSize);
+        System.arraycopy(b, 0, arr, aSize, bSize);
+        return arr;
+    }
+
+    private static boolean allDoubles(final List<? extends VncVal> vals) {
+        for(VncVal v : vals) {
+            if (!Types.isVncDouble(v)) return false;
+        }
+        return true;
+    }
+
+    private static double toDouble(final VncVal v, final int pos) {
+        if (v == Constants.Nil || !Types.isVncNumber(v)) {
+            throw new VncException(String.format(
+                    "The value at pos %d in the collection is not a number",
+                    pos));
+        }
+        return VncDouble.of(v).getValue();
+    }
+
+
+    public static final String TYPE = ":core/double-vector";
+
+    private static final long serialVersionUID = -1848883965231344442L;
+
+    private static final double[] EMPTY_ARR = new double[0];
+
+    private static final int MIN_CAPACITY = 8;
+
+    private final double[] value;
+    private final int size;
+    private final AtomicInteger tail;  // the array's used length
+}
@@ -36,6 +36,7 @@ import com.github.jlangch.venice.impl.types.TypeRank;
 import com.github.jlangch.venice.impl.types.VncBoolean;
 import com.github.jlangch.venice.impl.types.VncKeyword;
 import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.util.StructuralHash;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.MetaUtil;
 
@@ -279,7 +280,28 @@ public class VncHashMap extends VncMap {
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        final long h = hash;
+        if (StructuralHash.isCached(h)) {
+            return (int)h;
+        }
+
+        final int hc = value.hashCode();
+        if (h == StructuralHash.UNKNOWN) {
+            // the children's stability is known after hashing them
+            hash = isStable(value) ? StructuralHash.pack(hc) : StructuralHash.UNSTABLE;
+        }
+        return hc;
+    }
+
+    /**
+     * @return <code>true</code> if the hash code of this collection cannot
+     *         change and is cached
+     */
+    public boolean isHashStable() {
+        if (hash == StructuralHash.UNKNOWN) {
+            hashCode();
+        }
+        return StructuralHash.isCached(hash);
     }
 
     @Override
@@ -289,6 +311,8 @@ public class VncHashMap extends VncMap {
         if (getClass() != obj.getClass())
             return false;
         VncHashMap other = (VncHashMap) obj;
+        if (StructuralHash.differ(hash, other.hash))
+            return false;
         return value.equals(other.value);
     }
 
@@ -308,12 +332,29 @@ public class VncHashMap extends VncMap {
         return "{" + Printer.join(stream, " ", print_machine_readably) + "}";
     }
 
+    io.vavr.collection.HashMap<VncVal,VncVal> toVavrMap() {
+        return value;
+    }
+
 
     public static final String TYPE = ":core/hash-map";
 
     public static final VncHashMap EMPTY = new VncHashMap();
 
+    private static boolean isStable(final io.vavr.collection.HashMap<VncVal,VncVal> map) {
+        for(io.vavr.Tuple2<VncVal,VncVal> e : map) {
+            if (!StructuralHash.isStable(e._1) || !StructuralHash.isStable(e._2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
     private static final long serialVersionUID = -1848883965231344442L;
 
+    // cached hash code, see StructuralHash
+    private transient volatile long hash;
+
     private final io.vavr.collection.HashMap<VncVal,VncVal> value;
 }
@@ -33,6 +33,7 @@ import com.github.jlangch.venice.impl.types.Constants;
 import com.github.jlangch.venice.impl.types.TypeRank;
 import com.github.jlangch.venice.impl.types.VncKeyword;
 import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.util.StructuralHash;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.EmptyIterator;
 import com.github.jlangch.venice.impl.util.MetaUtil;
@@ -208,7 +209,28 @@ public class VncHashSet extends VncSet {
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        final long h = hash;
+        if (StructuralHash.isCached(h)) {
+            return (int)h;
+        }
+
+        final int hc = value.hashCode();
+        if (h == StructuralHash.UNKNOWN) {
+            // the children's stability is known after hashing them
+            hash = StructuralHash.allStable(value) ? StructuralHash.pack(hc) : StructuralHash.UNSTABLE;
+        }
+        return hc;
+    }
+
+    /**
+     * @return <code>true</code> if the hash code of this collection cannot
+     *         change and is cached
+     */
+    public boolean isHashStable() {
+        if (hash == StructuralHash.UNKNOWN) {
+            hashCode();
+        }
+        return StructuralHash.isCached(hash);
     }
 
     @Override
@@ -218,6 +240,8 @@ public class VncHashSet extends VncSet {
         if (getClass() != obj.getClass())
             return false;
         VncHashSet other = (VncHashSet) obj;
+        if (StructuralHash.differ(hash, other.hash))
+            return false;
         return value.equals(other.value);
     }
 
@@ -231,10 +255,17 @@ public class VncHashSet extends VncSet {
         return "#{" + Printer.join(toVncList(), " ", print_machine_readably) + "}";
     }
 
+    io.vavr.collection.HashSet<VncVal> toVavrSet() {
+        return value;
+    }
+
 
     public static final String TYPE = ":core/hash-set";
 
     private static final long serialVersionUID = -1848883965231344442L;
 
+    // cached hash code, see StructuralHash
+    private transient volatile long hash;
+
     private final io.vavr.collection.HashSet<VncVal> value;
 }
@@ -39,6 +39,7 @@ import com.github.jlangch.venice.VncException;
 import com.github.jlangch.venice.impl.Printer;
 import com.github.jlangch.venice.impl.types.VncKeyword;
 import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.util.StructuralHash;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.EmptyIterator;
 import com.github.jlangch.venice.impl.util.StreamUtil;
@@ -642,6 +643,12 @@ public class VncTinyList extends VncList {
 
 
 
+    @Override
+    public boolean isHashStable() {
+        // tiny collections do not cache their hash code
+        return StructuralHash.allStable(this);
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
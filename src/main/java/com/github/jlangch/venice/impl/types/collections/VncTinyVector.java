@@ -41,6 +41,7 @@ import com.github.jlangch.venice.impl.types.Constants;
 import com.github.jlangch.venice.impl.types.VncKeyword;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.util.Coerce;
+import com.github.jlangch.venice.impl.types.util.StructuralHash;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ArityExceptions;
 import com.github.jlangch.venice.impl.util.ArityExceptions.FnType;
@@ -228,6 +229,11 @@ public class VncTinyVector extends VncVector {
         }
     }
 
+    @Override
+    io.vavr.collection.Vector<VncVal> toVavrVector() {
+        return io.vavr.collection.Vector.ofAll(getJavaList());
+    }
+
     @Override
     public List<VncVal> getJavaList() {
         final ArrayList<VncVal> list = new ArrayList<>(len);
@@ -679,15 +685,22 @@ public class VncTinyVector extends VncVector {
 
 
 
+    @Override
+    public boolean isHashStable() {
+        // tiny collections do not cache their hash code
+        return StructuralHash.allStable(this);
+    }
+
     @Override
     public int hashCode() {
+        // the list hash code, a primitive vector with the same values
+        // has the same hash code
         final int prime = 31;
         int result = 1;
-        result = prime * result + len;
-        result = prime * result + ((first == null)  ? 0 : first.hashCode());
-        result = prime * result + ((second == null) ? 0 : second.hashCode());
-        result = prime * result + ((third == null)  ? 0 : third.hashCode());
-        result = prime * result + ((fourth == null) ? 0 : fourth.hashCode());
+        if (len > 0) result = prime * result + first.hashCode();
+        if (len > 1) result = prime * result + second.hashCode();
+        if (len > 2) result = prime * result + third.hashCode();
+        if (len > 3) result = prime * result + fourth.hashCode();
         return result;
     }
 
@@ -695,6 +708,8 @@ public class VncTinyVector extends VncVector {
     public boolean equals(Object obj) {
         if (this == obj)
             return true;
+        if (obj instanceof VncLongVector || obj instanceof VncDoubleVector)
+            return obj.equals(this);
         if (getClass() != obj.getClass())
             return false;
         VncTinyVector other = (VncTinyVector) obj;
@@ -0,0 +1,110 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.types.collections;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+/**
+ * Base of the transient collections.
+ *
+ * <p>A transient is a builder for a persistent collection. It is owned by
+ * the thread that created it and must not be used by another thread.
+ * <code>persistent!</code> freezes the transient into its persistent
+ * collection in O(1) and invalidates the transient, any further use
+ * fails.
+ */
+public abstract class VncTransient extends VncVal {
+
+    protected VncTransient(final VncVal meta) {
+        super(meta);
+        this.owner = Thread.currentThread();
+    }
+
+
+    /**
+     * Adds a value to the transient
+     *
+     * @param val a value
+     * @return this transient
+     */
+    public abstract VncTransient conj(final VncVal val);
+
+    public abstract int size();
+
+    /**
+     * Freezes the transient into its persistent collection and invalidates
+     * the transient.
+     *
+     * @return the persistent collection
+     */
+    public VncCollection persistent() {
+        ensureEditable();
+        owner = null;
+        return freeze();
+    }
+
+    @Override
+    public VncVal withMeta(final VncVal meta) {
+        throw new VncException("Transients do not support meta data!");
+    }
+
+    @Override
+    public Object convertToJavaObject() {
+        return null;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj;
+    }
+
+    @Override
+    public String toString() {
+        return "#transient";
+    }
+
+
+    protected abstract VncCollection freeze();
+
+    protected void ensureEditable() {
+        final Thread t = owner;
+        if (t == null) {
+            throw new VncException("Transient used after persistent! call");
+        }
+        if (t != Thread.currentThread()) {
+            throw new VncException("Transient used by non-owner thread");
+        }
+    }
+
+
+    private static final long serialVersionUID = -1848883965231344442L;
+
+    // null after persistent!
+    private transient volatile Thread owner;
+}
@@ -0,0 +1,121 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.types.collections;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.types.TypeRank;
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.util.Types;
+import com.github.jlangch.venice.impl.util.MetaUtil;
+
+
+/**
+ * A transient hash map that builds a persistent hash map in place.
+ */
+public class VncTransientHashMap extends VncTransient {
+
+    public VncTransientHashMap(final VncHashMap map) {
+        super(map.getMeta());
+        this.value = map.toVavrMap();
+    }
+
+
+    /**
+     * Adds a map entry, a <code>[key val]</code> vector, or all entries of
+     * a map.
+     *
+     * @param val the entry to add
+     * @return this transient
+     */
+    @Override
+    public VncTransientHashMap conj(final VncVal val) {
+        if (Types.isVncMapEntry(val)) {
+            final VncMapEntry entry = (VncMapEntry)val;
+            return assoc(entry.getKey(), entry.getValue());
+        }
+        else if (Types.isVncSequence(val) && ((VncSequence)val).size() == 2) {
+            final VncSequence kv = (VncSequence)val;
+            return assoc(kv.first(), kv.second());
+        }
+        else if (Types.isVncMap(val)) {
+            for(VncMapEntry entry : ((VncMap)val).entries()) {
+                assoc(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+        else {
+            throw new VncException(String.format(
+                    "Invalid value %s to conj to a transient hash map",
+                    Types.getType(val)));
+        }
+    }
+
+    public VncTransientHashMap assoc(final VncVal key, final VncVal val) {
+        ensureEditable();
+        value = value.put(key, val);
+        return this;
+    }
+
+    public VncTransientHashMap dissoc(final VncVal key) {
+        ensureEditable();
+        value = value.remove(key);
+        return this;
+    }
+
+    public VncVal get(final VncVal key) {
+        ensureEditable();
+        return value.get(key).getOrNull();
+    }
+
+    @Override
+    public int size() {
+        ensureEditable();
+        return value.size();
+    }
+
+    @Override
+    public VncKeyword getType() {
+        return new VncKeyword(
+                        TYPE,
+                        MetaUtil.typeMeta(
+                            new VncKeyword(VncVal.TYPE)));
+    }
+
+    @Override
+    public TypeRank typeRank() {
+        return TypeRank.TRANSIENTMAP;
+    }
+
+
+    @Override
+    protected VncHashMap freeze() {
+        return new VncHashMap(value, getMeta());
+    }
+
+
+    public static final String TYPE = ":core/transient-hash-map";
+
+    private static final long serialVersionUID = -1848883965231344442L;
+
+    private io.vavr.collection.HashMap<VncVal,VncVal> value;
+}
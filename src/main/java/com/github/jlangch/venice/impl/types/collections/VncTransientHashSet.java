@@ -0,0 +1,90 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.types.collections;
+
+import com.github.jlangch.venice.impl.types.TypeRank;
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.util.MetaUtil;
+
+
+/**
+ * A transient hash set that builds a persistent hash set in place.
+ */
+public class VncTransientHashSet extends VncTransient {
+
+    public VncTransientHashSet(final VncHashSet set) {
+        super(set.getMeta());
+        this.value = set.toVavrSet();
+    }
+
+
+    @Override
+    public VncTransientHashSet conj(final VncVal val) {
+        ensureEditable();
+        value = value.add(val);
+        return this;
+    }
+
+    public VncTransientHashSet disj(final VncVal val) {
+        ensureEditable();
+        value = value.remove(val);
+        return this;
+    }
+
+    public boolean contains(final VncVal val) {
+        ensureEditable();
+        return value.contains(val);
+    }
+
+    @Override
+    public int size() {
+        ensureEditable();
+        return value.size();
+    }
+
+    @Override
+    public VncKeyword getType() {
+        return new VncKeyword(
+                        TYPE,
+                        MetaUtil.typeMeta(
+                            new VncKeyword(VncVal.TYPE)));
+    }
+
+    @Override
+    public TypeRank typeRank() {
+        return TypeRank.TRANSIENTSET;
+    }
+
+
+    @Override
+    protected VncHashSet freeze() {
+        return new VncHashSet(value, getMeta());
+    }
+
+
+    public static final String TYPE = ":core/transient-hash-set";
+
+    private static final long serialVersionUID = -1848883965231344442L;
+
+    private io.vavr.collection.HashSet<VncVal> value;
+}
@@ -0,0 +1,98 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.types.collections;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.types.TypeRank;
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.util.MetaUtil;
+
+
+/**
+ * A transient vector that builds a persistent vector in place.
+ */
+public class VncTransientVector extends VncTransient {
+
+    public VncTransientVector(final VncVector vector) {
+        super(vector.getMeta());
+        this.value = vector.toVavrVector();
+    }
+
+
+    @Override
+    public VncTransientVector conj(final VncVal val) {
+        ensureEditable();
+        value = value.append(val);
+        return this;
+    }
+
+    public VncTransientVector assoc(final int idx, final VncVal val) {
+        ensureEditable();
+        if (idx >= 0 && idx < value.size()) {
+            value = value.update(idx, val);
+        }
+        else if (idx == value.size()) {
+            value = value.append(val);
+        }
+        else {
+            throw new VncException(String.format(
+                    "Index %d out of bounds for transient vector of size %d",
+                    idx, value.size()));
+        }
+        return this;
+    }
+
+    @Override
+    public int size() {
+        ensureEditable();
+        return value.size();
+    }
+
+    @Override
+    public VncKeyword getType() {
+        return new VncKeyword(
+                        TYPE,
+                        MetaUtil.typeMeta(
+                            new VncKeyword(VncVal.TYPE)));
+    }
+
+    @Override
+    public TypeRank typeRank() {
+        return TypeRank.TRANSIENTVECTOR;
+    }
+
+
+    @Override
+    protected VncVector freeze() {
+        return value.size() <= VncTinyVector.MAX_ELEMENTS
+                ? VncTinyVector.ofArr(value.toJavaList().toArray(new VncVal[0]), getMeta())
+                : new VncVector(value, getMeta());
+    }
+
+
+    public static final String TYPE = ":core/transient-vector";
+
+    private static final long serialVersionUID = -1848883965231344442L;
+
+    private io.vavr.collection.Vector<VncVal> value;
+}
@@ -39,6 +39,7 @@ import com.github.jlangch.venice.impl.types.VncKeyword;
 import com.github.jlangch.venice.impl.types.VncString;
 import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.util.Coerce;
+import com.github.jlangch.venice.impl.types.util.StructuralHash;
 import com.github.jlangch.venice.impl.types.util.Types;
 import com.github.jlangch.venice.impl.util.ArityExceptions;
 import com.github.jlangch.venice.impl.util.ArityExceptions.FnType;
@@ -406,16 +407,47 @@ public class VncVector extends VncSequence implements IVncFunction {
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        final long h = hash;
+        if (StructuralHash.isCached(h)) {
+            return (int)h;
+        }
+
+        // the list hash code, a primitive vector with the same values has
+        // the same hash code
+        int hc = 1;
+        for(VncVal v : value) {
+            hc = 31 * hc + v.hashCode();
+        }
+
+        if (h == StructuralHash.UNKNOWN) {
+            // the children's stability is known after hashing them
+            hash = StructuralHash.allStable(value) ? StructuralHash.pack(hc) : StructuralHash.UNSTABLE;
+        }
+        return hc;
+    }
+
+    /**
+     * @return <code>true</code> if the hash code of this collection cannot
+     *         change and is cached
+     */
+    public boolean isHashStable() {
+        if (hash == StructuralHash.UNKNOWN) {
+            hashCode();
+        }
+        return StructuralHash.isCached(hash);
     }
 
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
             return true;
+        if (obj instanceof VncLongVector || obj instanceof VncDoubleVector)
+            return obj.equals(this);
         if (getClass() != obj.getClass())
             return false;
         VncVector other = (VncVector)obj;
+        if (StructuralHash.differ(hash, other.hash))
+            return false;
         return value.equals(other.value);
     }
 
@@ -429,6 +461,10 @@ public class VncVector extends VncSequence implements IVncFunction {
         return "[" + Printer.join(this, " ", print_machine_readably) + "]";
     }
 
+    io.vavr.collection.Vector<VncVal> toVavrVector() {
+        return value;
+    }
+
     public static VncVector empty() {
         return VncTinyVector.EMPTY;
     }
@@ -438,5 +474,8 @@ public class VncVector extends VncSequence implements IVncFunction {
 
     private static final long serialVersionUID = -1848883965231344442L;
 
+    // cached hash code, see StructuralHash
+    private transient volatile long hash;
+
     private final io.vavr.collection.Vector<VncVal> value;
 }
@@ -23,7 +23,10 @@ package com.github.jlangch.venice.impl.types.concurrent;
 
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -48,8 +51,7 @@ import com.github.jlangch.venice.impl.types.util.Coerce;
 import com.github.jlangch.venice.impl.util.CallFrame;
 import com.github.jlangch.venice.impl.util.CallStack;
 import com.github.jlangch.venice.impl.util.Watchable;
-import com.github.jlangch.venice.impl.util.concurrent.StripedExecutorService;
-import com.github.jlangch.venice.impl.util.concurrent.StripedRunnable;
+import com.github.jlangch.venice.impl.util.concurrent.Mailbox;
 
 
 public class Agent implements IDeref {
@@ -82,7 +84,8 @@ public class Agent implements IDeref {
             final VncFunction fn,
             final VncList args
     ) {
-        sendExecutor.execute(
+        dispatch(
+                sendExecutor,
                 new Action(
                         this,
                         fn,
@@ -100,7 +103,8 @@ public class Agent implements IDeref {
             final VncFunction fn,
             final VncList args
     ) {
-        sendOffExecutor.execute(
+        dispatch(
+                sendOffExecutor,
                 new Action(
                         this,
                         fn,
@@ -218,22 +222,22 @@ public class Agent implements IDeref {
     public static VncMap sendExecutorInfo() {
         return VncOrderedMap.of(
                 new VncKeyword("core-pool-size"),
-                new VncLong(sendExecutor.getCoreThreadPoolSize()),
+                new VncLong(sendExecutor.getCorePoolSize()),
 
                 new VncKeyword("maximum-pool-size"),
-                new VncLong(sendExecutor.getMaximumThreadPoolSize()),
+                new VncLong(sendExecutor.getMaximumPoolSize()),
 
                 new VncKeyword("current-pool-size"),
-                new VncLong(sendExecutor.getThreadPoolSize()),
+                new VncLong(sendExecutor.getPoolSize()),
 
                 new VncKeyword("largest-pool-size"),
-                new VncLong(sendExecutor.getLargestThreadPoolSize()),
+                new VncLong(sendExecutor.getLargestPoolSize()),
 
                 new VncKeyword("active-thread-count"),
-                new VncLong(sendExecutor.getActiveThreadCount()),
+                new VncLong(sendExecutor.getActiveCount()),
 
                 new VncKeyword("scheduled-task-count"),
-                new VncLong(sendExecutor.getScheduledTaskCount()),
+                new VncLong(sendExecutor.getTaskCount()),
 
                 new VncKeyword("completed-task-count"),
                 new VncLong(sendExecutor.getCompletedTaskCount()));
@@ -242,22 +246,22 @@ public class Agent implements IDeref {
     public static VncMap sendOffExecutorInfo() {
         return VncOrderedMap.of(
                 new VncKeyword("core-pool-size"),
-                new VncLong(sendOffExecutor.getCoreThreadPoolSize()),
+                new VncLong(sendOffExecutor.getCorePoolSize()),
 
                 new VncKeyword("maximum-pool-size"),
-                new VncLong(sendOffExecutor.getMaximumThreadPoolSize()),
+                new VncLong(sendOffExecutor.getMaximumPoolSize()),
 
                 new VncKeyword("current-pool-size"),
-                new VncLong(sendOffExecutor.getThreadPoolSize()),
+                new VncLong(sendOffExecutor.getPoolSize()),
 
                 new VncKeyword("largest-pool-size"),
-                new VncLong(sendOffExecutor.getLargestThreadPoolSize()),
+                new VncLong(sendOffExecutor.getLargestPoolSize()),
 
                 new VncKeyword("active-thread-count"),
-                new VncLong(sendOffExecutor.getActiveThreadCount()),
+                new VncLong(sendOffExecutor.getActiveCount()),
 
                 new VncKeyword("scheduled-task-count"),
-                new VncLong(sendOffExecutor.getScheduledTaskCount()),
+                new VncLong(sendOffExecutor.getTaskCount()),
 
                 new VncKeyword("completed-task-count"),
                 new VncLong(sendOffExecutor.getCompletedTaskCount()));
@@ -320,7 +324,17 @@ public class Agent implements IDeref {
         }
     }
 
-    private static class Action implements StripedRunnable {
+    private void dispatch(final ExecutorService executor, final Action action) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The agent executor has been shut down");
+        }
+
+        // Actions for this agent are serialized through its mailbox,
+        // regardless whether they have been sent with send or send-off.
+        mailbox.send(executor, action);
+    }
+
+    private static class Action implements Runnable {
 
         public Action(
                 final Agent agent,
@@ -336,11 +350,6 @@ public class Agent implements IDeref {
             this.threadBridge = threadBridge;
         }
 
-        @Override
-        public Object getStripe() {
-            return agent.getID();
-        }
-
         @Override
         public void run() {
             final Runnable task = threadBridge.bridgeRunnable(() -> {
@@ -437,6 +446,7 @@ public class Agent implements IDeref {
     private final AtomicReference<Value> value = new AtomicReference<>(new Value(Constants.Nil, null));
     private final VncFunction validatorFn;
     private final Watchable watchable = new Watchable();
+    private final Mailbox mailbox = new Mailbox();
     private final long id = agentCounter.getAndIncrement();
 
     private final boolean continueOnError;
@@ -444,18 +454,16 @@ public class Agent implements IDeref {
 
     private final static AtomicLong agentCounter = new AtomicLong(0);
 
-    private final static StripedExecutorService sendExecutor =
-            new StripedExecutorService(
-                Executors.newFixedThreadPool(
-                        2 + Runtime.getRuntime().availableProcessors(),
-                        ThreadPoolUtil.createCountedThreadFactory(
-                                "venice-agent-send-pool",
-                                true /* daemon threads */)));
-
-    private final static StripedExecutorService sendOffExecutor =
-            new StripedExecutorService(
-                Executors.newCachedThreadPool(
-                        ThreadPoolUtil.createCountedThreadFactory(
-                                "venice-agent-send-off-pool",
-                                true /* daemon threads */)));
+    private final static ThreadPoolExecutor sendExecutor =
+            (ThreadPoolExecutor)Executors.newFixedThreadPool(
+                    2 + Runtime.getRuntime().availableProcessors(),
+                    ThreadPoolUtil.createCountedThreadFactory(
+                            "venice-agent-send-pool",
+                            true /* daemon threads */));
+
+    private final static ThreadPoolExecutor sendOffExecutor =
+            (ThreadPoolExecutor)Executors.newCachedThreadPool(
+                    ThreadPoolUtil.createCountedThreadFactory(
+                            "venice-agent-send-off-pool",
+                            true /* daemon threads */));
 }
@@ -22,15 +22,17 @@
 package com.github.jlangch.venice.impl.types.custom;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import com.github.jlangch.venice.VncException;
 import com.github.jlangch.venice.impl.specialforms.util.DefTypeForm;
 import com.github.jlangch.venice.impl.types.Constants;
 import com.github.jlangch.venice.impl.types.TypeRank;
+import com.github.jlangch.venice.impl.types.VncBoolean;
 import com.github.jlangch.venice.impl.types.VncFunction;
 import com.github.jlangch.venice.impl.types.VncInteger;
 import com.github.jlangch.venice.impl.types.VncKeyword;
@@ -43,30 +45,61 @@ import com.github.jlangch.venice.impl.types.collections.VncMapEntry;
 import com.github.jlangch.venice.impl.types.collections.VncOrderedMap;
 import com.github.jlangch.venice.impl.types.collections.VncSequence;
 import com.github.jlangch.venice.impl.types.collections.VncVector;
+import com.github.jlangch.venice.impl.types.util.StructuralHash;
 import com.github.jlangch.venice.impl.util.MetaUtil;
 
 
+/**
+ * A custom type value defined by <code>deftype</code>.
+ *
+ * <p>The field values are stored in an array in the order of the type's
+ * field definitions. Field access by keyword resolves the field's slot
+ * index through the type definition. The map view of the fields is only
+ * created on demand.
+ */
 public class VncCustomType extends VncMap {
 
     public VncCustomType(
             final VncCustomTypeDef typeDef,
-            final VncMap values,
+            final VncVal[] fields,
             final VncVal meta
     ) {
-        this(typeDef, values, null, meta);
+        this(typeDef, fields, null, meta);
     }
 
     public VncCustomType(
             final VncCustomTypeDef typeDef,
-            final VncMap values,
+            final VncVal[] fields,
             final VncWrappingTypeDef wrappingTypeDef,
             final VncVal meta
     ) {
         super(wrappingTypeDef, meta);
 
+        if (fields.length != typeDef.count()) {
+            throw new VncException(String.format(
+                    "The custom type %s requires %d fields. %d have been passed",
+                    typeDef.getType().toString(),
+                    typeDef.count(),
+                    fields.length));
+        }
+
         this.type = typeDef.getType();
         this.typeDef = typeDef;
-        this.values = values;
+        this.fields = fields;
+    }
+
+    private VncCustomType(
+            final VncCustomType other,
+            final VncWrappingTypeDef wrappingTypeDef,
+            final VncVal meta
+    ) {
+        super(wrappingTypeDef, meta);
+
+        this.type = other.type;
+        this.typeDef = other.typeDef;
+        this.fields = other.fields;
+        this.values = other.values;
+        this.hash = other.hash;
     }
 
     @Override
@@ -88,12 +121,12 @@ public class VncCustomType extends VncMap {
 
     @Override
     public VncCustomType wrap(final VncWrappingTypeDef wrappingTypeDef, final VncVal meta) {
-        return new VncCustomType(typeDef, values, wrappingTypeDef, meta);
+        return new VncCustomType(this, wrappingTypeDef, meta);
     }
 
     @Override
     public VncCustomType withMeta(final VncVal meta) {
-        return new VncCustomType(typeDef, values, meta);
+        return new VncCustomType(this, null, meta);
     }
 
     @Override
@@ -110,40 +143,55 @@ public class VncCustomType extends VncMap {
         return typeDef;
     }
 
+    /**
+     * Returns the value of the field at a slot index.
+     *
+     * @param index the field's index in the type's field definitions
+     * @return the field's value
+     */
+    public VncVal getField(final int index) {
+        return fields[index];
+    }
+
     @Override
     public Map<VncVal,VncVal> getJavaMap() {
-        return values.getJavaMap();
+        return toVncMap().getJavaMap();
     }
 
     @Override
     public VncVal containsKey(final VncVal key) {
-        return values.containsKey(key);
+        return VncBoolean.of(typeDef.getFieldIndex(key) >= 0);
     }
 
     @Override
     public VncVal get(final VncVal key) {
-        return values.get(key);
+        final int idx = typeDef.getFieldIndex(key);
+        return idx < 0 ? Constants.Nil : fields[idx];
     }
 
     @Override
     public VncList keys() {
-        return VncList.ofList(new ArrayList<>(getJavaMap().keySet()));
+        final List<VncVal> keys = new ArrayList<>(fields.length);
+        for(VncCustomTypeFieldDef f : typeDef.getFieldDefs()) {
+            keys.add(f.getName());
+        }
+        return VncList.ofList(keys);
     }
 
     @Override
     public List<VncMapEntry> entries() {
-        return Collections.unmodifiableList(
-                    getJavaMap()
-                        .entrySet()
-                        .stream().map(e -> new VncMapEntry(e.getKey(), e.getValue()))
-                        .collect(Collectors.toList()));
+        final List<VncMapEntry> entries = new ArrayList<>(fields.length);
+        for(int ii=0; ii<fields.length; ii++) {
+            entries.add(new VncMapEntry(typeDef.getFieldDef(ii).getName(), fields[ii]));
+        }
+        return Collections.unmodifiableList(entries);
     }
 
     @Override
     public VncMap putAll(final VncMap map) {
         // return a normal map because after putting fields the value
         // will not comply anymore to the custom type contract
-        return values.putAll(map);
+        return toVncMap().putAll(map);
     }
 
     @Override
@@ -153,9 +201,9 @@ public class VncCustomType extends VncMap {
                     ":core/custom-type: assoc requires an even number of items."));
         }
 
-        VncMap tmp = values;
+        final VncVal[] tmp = fields.clone();
         for (int i=0; i<mvs.length; i+=2) {
-            tmp = tmp.assoc(mvs[i], mvs[i+1]);
+            tmp[DefTypeForm.getFieldIndex(typeDef, mvs[i])] = mvs[i+1];
         }
 
         return DefTypeForm.createCustomType(typeDef, tmp, getMeta());
@@ -168,52 +216,65 @@ public class VncCustomType extends VncMap {
                     ":core/custom-type: assoc requires an even number of items."));
         }
 
-        VncMap map = values;
+        final VncVal[] tmp = fields.clone();
         VncSequence kv = mvs;
         while(!kv.isEmpty()) {
-            map = map.assoc(kv.first(), kv.second());
+            tmp[DefTypeForm.getFieldIndex(typeDef, kv.first())] = kv.second();
             kv = kv.drop(2);
         }
 
-        return DefTypeForm.createCustomType(typeDef, map, getMeta());
+        return DefTypeForm.createCustomType(typeDef, tmp, getMeta());
     }
 
     @Override
     public VncMap dissoc(final VncVal... keys) {
         // return a normal map because after removing a field the value
         // will not comply anymore to the custom type contract
-        return values.dissoc(keys);
+        return toVncMap().dissoc(keys);
     }
 
     @Override
     public VncMap dissoc(final VncSequence keys) {
         // return a normal map because after removing a field the value
         // will not comply anymore to the custom type contract
-        return values.dissoc(keys);
+        return toVncMap().dissoc(keys);
     }
 
     @Override
     public VncList toVncList() {
-        return values.toVncList();
+        return toVncMap().toVncList();
     }
 
     @Override
     public VncVector toVncVector() {
-        return values.toVncVector();
+        return toVncMap().toVncVector();
     }
 
+    /**
+     * @return the fields as an ordered map. The map is created on the
+     *         first call.
+     */
     public VncMap toVncMap() {
-        return values;
+        VncMap m = values;
+        if (m == null) {
+            final Map<VncVal,VncVal> map = new LinkedHashMap<>();
+            for(int ii=0; ii<fields.length; ii++) {
+                map.put(typeDef.getFieldDef(ii).getName(), fields[ii]);
+            }
+            m = new VncOrderedMap(map, Constants.Nil);
+            values = m;
+        }
+        return m;
     }
 
     @Override
     public int size() {
-        return values.size();
+        return fields.length;
     }
 
     @Override
     public boolean isEmpty() {
-        return values.isEmpty();
+        return fields.length == 0;
     }
 
     @Override
@@ -223,7 +284,7 @@ public class VncCustomType extends VncMap {
 
     @Override
     public Object convertToJavaObject() {
-        return values.convertToJavaObject();
+        return toVncMap().convertToJavaObject();
     }
 
     @Override
@@ -233,7 +294,7 @@ public class VncCustomType extends VncMap {
             if (type.equals(other.type)) {
                 final VncFunction fn = typeDef.getCustomCompareToFn();
                 return fn == null
-                        ? values.compareTo(other.values)
+                        ? toVncMap().compareTo(other.toVncMap())
                         : customCompareTo(fn, other);
             }
             else {
@@ -250,13 +311,36 @@ public class VncCustomType extends VncMap {
 
     @Override
     public int hashCode() {
+        final long h = hash;
+        if (StructuralHash.isCached(h)) {
+            return (int)h;
+        }
+
         final int prime = 31;
         int result = super.hashCode();
         result = prime * result + ((type == null) ? 0 : type.hashCode());
-        result = prime * result + ((values == null) ? 0 : values.hashCode());
+        result = prime * result + Arrays.hashCode(fields);
+
+        if (h == StructuralHash.UNKNOWN) {
+            // the fields' stability is known after hashing them
+            hash = StructuralHash.allStable(Arrays.asList(fields))
+                        ? StructuralHash.pack(result)
+                        : StructuralHash.UNSTABLE;
+        }
         return result;
     }
 
+    /**
+     * @return <code>true</code> if the hash code of this custom type value
+     *         cannot change and is cached
+     */
+    public boolean isHashStable() {
+        if (hash == StructuralHash.UNKNOWN) {
+            hashCode();
+        }
+        return StructuralHash.isCached(hash);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -266,15 +350,14 @@ public class VncCustomType extends VncMap {
         if (getClass() != obj.getClass())
             return false;
         VncCustomType other = (VncCustomType) obj;
+        if (StructuralHash.differ(hash, other.hash))
+            return false;
         if (type == null) {
             if (other.type != null)
                 return false;
         } else if (!type.equals(other.type))
             return false;
-        if (values == null) {
-            if (other.values != null)
-                return false;
-        } else if (!values.equals(other.values))
+        if (!Arrays.equals(fields, other.fields))
             return false;
         return true;
     }
@@ -286,7 +369,7 @@ public class VncCustomType extends VncMap {
         return fn == null
                 ? VncOrderedMap
                     .of(new VncKeyword(":custom-type*"), type)
-                    .putAll(values)
+                    .putAll(toVncMap())
                     .toString()
                 : customToString(fn);
     }
@@ -298,7 +381,7 @@ public class VncCustomType extends VncMap {
         return fn == null
                 ? VncOrderedMap
                     .of(new VncKeyword(":custom-type*"), type)
-                    .putAll(values)
+                    .putAll(toVncMap())
                     .toString(print_machine_readably)
                 : customToString(fn);
     }
@@ -329,5 +412,11 @@ public class VncCustomType extends VncMap {
 
     private final VncKeyword type;
     private final VncCustomTypeDef typeDef;
-    private final VncMap values;
+    private final VncVal[] fields;
+
+    // map view of the fields, created on demand
+    private transient volatile VncMap values;
+
+    // cached hash code, see StructuralHash
+    private transient volatile long hash;
 }
@@ -23,7 +23,11 @@ package com.github.jlangch.venice.impl.types.custom;
 
 import static com.github.jlangch.venice.impl.types.Constants.Nil;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -50,6 +54,21 @@ public class VncCustomTypeDef extends VncCustomBaseTypeDef {
 
         this.fieldDefs = fieldDefs;
         this.validationFn = validationFn;
+
+        this.fieldNames = new VncKeyword[fieldDefs.size()];
+        for(int ii=0; ii<fieldNames.length; ii++) {
+            fieldNames[ii] = fieldDefs.get(ii).getName();
+        }
+
+        if (fieldNames.length > MAX_LINEAR_LOOKUP) {
+            fieldIndex = new HashMap<>();
+            for(int ii=0; ii<fieldNames.length; ii++) {
+                fieldIndex.put(fieldNames[ii], ii);
+            }
+        }
+        else {
+            fieldIndex = null;
+        }
     }
 
 
@@ -68,7 +87,33 @@ public class VncCustomTypeDef extends VncCustomBaseTypeDef {
     }
 
     public Set<VncKeyword> getFieldNames() {
-        return fieldDefs.stream().map(f -> f.getName()).collect(Collectors.toSet());
+        final Set<VncKeyword> names = new LinkedHashSet<>();
+        Collections.addAll(names, fieldNames);
+        return names;
+    }
+
+    /**
+     * Returns the slot index of a field.
+     *
+     * @param name a field name
+     * @return the field's index or -1 if the type has no field with the name
+     */
+    public int getFieldIndex(final VncVal name) {
+        if (fieldIndex == null) {
+            // keywords derived from the same interned keyword compare by
+            // the identity of that keyword, a linear scan beats hashing for
+            // the few fields most types have
+            for(int ii=0; ii<fieldNames.length; ii++) {
+                if (fieldNames[ii].equals(name)) {
+                    return ii;
+                }
+            }
+            return -1;
+        }
+        else {
+            final Integer idx = fieldIndex.get(name);
+            return idx == null ? -1 : idx;
+        }
     }
 
     public VncFunction getValidationFn() {
@@ -119,6 +164,10 @@ public class VncCustomTypeDef extends VncCustomBaseTypeDef {
 
     private static final long serialVersionUID = -1848883965231344442L;
 
+    private static final int MAX_LINEAR_LOOKUP = 8;
+
     private final List<VncCustomTypeFieldDef> fieldDefs;
     private final VncFunction validationFn;
+    private final VncKeyword[] fieldNames;
+    private final Map<VncVal,Integer> fieldIndex;
 }
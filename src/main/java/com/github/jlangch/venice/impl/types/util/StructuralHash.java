@@ -0,0 +1,168 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.types.util;
+
+import com.github.jlangch.venice.impl.types.VncByteBuffer;
+import com.github.jlangch.venice.impl.types.VncJavaObject;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncHashMap;
+import com.github.jlangch.venice.impl.types.collections.VncHashSet;
+import com.github.jlangch.venice.impl.types.collections.VncLazySeq;
+import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncMap;
+import com.github.jlangch.venice.impl.types.collections.VncMapEntry;
+import com.github.jlangch.venice.impl.types.collections.VncMutable;
+import com.github.jlangch.venice.impl.types.collections.VncSequence;
+import com.github.jlangch.venice.impl.types.collections.VncSet;
+import com.github.jlangch.venice.impl.types.collections.VncSortedMap;
+import com.github.jlangch.venice.impl.types.collections.VncVector;
+import com.github.jlangch.venice.impl.types.custom.VncCustomType;
+
+
+/**
+ * Support for persistent collections that cache their structural hash
+ * code.
+ *
+ * <p>A persistent collection can cache its hash code if its hash code
+ * cannot change, that is if it holds no mutable values at any depth.
+ * The cached state is packed into a <code>long</code>, so it can be
+ * published with a single volatile write. It is either {@link #UNKNOWN},
+ * {@link #UNSTABLE}, or a hash code packed with {@link #pack(int)}.
+ *
+ * <p>The stability of a persistent collection never changes. It is
+ * computed once together with the first hash code, thus a collection
+ * with a mutable value at any depth is not re-checked on every hash.
+ */
+public class StructuralHash {
+
+    public static long pack(final int hash) {
+        return CACHED | (hash & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param packed a packed hash state
+     * @return <code>true</code> if the state holds a cached hash code
+     */
+    public static boolean isCached(final long packed) {
+        return (packed & CACHED) != 0L;
+    }
+
+    /**
+     * Returns <code>true</code> if two packed hash codes prove that the
+     * collections are not equal.
+     *
+     * @param packed1 a packed hash code
+     * @param packed2 another packed hash code
+     * @return <code>true</code> if both hash codes are cached and differ
+     */
+    public static boolean differ(final long packed1, final long packed2) {
+        return isCached(packed1) && isCached(packed2) && packed1 != packed2;
+    }
+
+    public static boolean isStable(final VncVal val) {
+        if (val instanceof VncMutable || val instanceof VncByteBuffer || val instanceof VncLazySeq) {
+            return false;
+        }
+        else if (val instanceof VncVector) {
+            return ((VncVector)val).isHashStable();
+        }
+        else if (val instanceof VncList) {
+            return ((VncList)val).isHashStable();
+        }
+        else if (val instanceof VncHashMap) {
+            return ((VncHashMap)val).isHashStable();
+        }
+        else if (val instanceof VncSortedMap) {
+            return ((VncSortedMap)val).isHashStable();
+        }
+        else if (val instanceof VncHashSet) {
+            return ((VncHashSet)val).isHashStable();
+        }
+        else if (val instanceof VncCustomType) {
+            return ((VncCustomType)val).isHashStable();
+        }
+        else if (val instanceof VncJavaObject) {
+            return isImmutable(((VncJavaObject)val).getDelegate());
+        }
+        else if (val instanceof VncSequence) {
+            return allStable((VncSequence)val);
+        }
+        else if (val instanceof VncSet) {
+            return allStable((VncSet)val);
+        }
+        else if (val instanceof VncMap) {
+            for(VncMapEntry e : ((VncMap)val).entries()) {
+                if (!isStable(e.getKey()) || !isStable(e.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        else if (val instanceof VncMapEntry) {
+            final VncMapEntry e = (VncMapEntry)val;
+            return isStable(e.getKey()) && isStable(e.getValue());
+        }
+        else {
+            // scalars, functions, and reference types (atoms, volatiles, ...)
+            // have a stable hash code
+            return true;
+        }
+    }
+
+    public static boolean allStable(final Iterable<VncVal> values) {
+        for(VncVal v : values) {
+            if (!isStable(v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static boolean isImmutable(final Object obj) {
+        if (obj == null
+                || obj instanceof String
+                || obj instanceof Number
+                || obj instanceof Boolean
+                || obj instanceof Character
+                || obj instanceof Enum
+                || obj instanceof Class
+        ) {
+            // note: the mutable java.util.concurrent.atomic numbers do not
+            //       override hashCode
+            return true;
+        }
+        else {
+            final String pkg = obj.getClass().getName();
+            return pkg.startsWith("java.time.") || pkg.equals("java.util.UUID");
+        }
+    }
+
+
+    /** The hash code has not been computed yet */
+    public static final long UNKNOWN = 0L;
+
+    /** The collection holds mutable values, its hash code is not cached */
+    public static final long UNSTABLE = 1L << 33;
+
+    private static final long CACHED = 1L << 32;
+}
@@ -56,6 +56,7 @@ import com.github.jlangch.venice.impl.types.VncVolatile;
 import com.github.jlangch.venice.impl.types.collections.VncCollection;
 import com.github.jlangch.venice.impl.types.collections.VncDAG;
 import com.github.jlangch.venice.impl.types.collections.VncDelayQueue;
+import com.github.jlangch.venice.impl.types.collections.VncDoubleVector;
 import com.github.jlangch.venice.impl.types.collections.VncHashMap;
 import com.github.jlangch.venice.impl.types.collections.VncHashSet;
 import com.github.jlangch.venice.impl.types.collections.VncJavaList;
@@ -63,6 +64,7 @@ import com.github.jlangch.venice.impl.types.collections.VncJavaMap;
 import com.github.jlangch.venice.impl.types.collections.VncJavaSet;
 import com.github.jlangch.venice.impl.types.collections.VncLazySeq;
 import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncLongVector;
 import com.github.jlangch.venice.impl.types.collections.VncMap;
 import com.github.jlangch.venice.impl.types.collections.VncMapEntry;
 import com.github.jlangch.venice.impl.types.collections.VncMutableList;
@@ -76,6 +78,7 @@ import com.github.jlangch.venice.impl.types.collections.VncSet;
 import com.github.jlangch.venice.impl.types.collections.VncSortedMap;
 import com.github.jlangch.venice.impl.types.collections.VncSortedSet;
 import com.github.jlangch.venice.impl.types.collections.VncStack;
+import com.github.jlangch.venice.impl.types.collections.VncTransient;
 import com.github.jlangch.venice.impl.types.collections.VncVector;
 import com.github.jlangch.venice.impl.types.custom.VncCustomType;
 import com.github.jlangch.venice.impl.types.custom.VncProtocol;
@@ -183,6 +186,10 @@ public class Types {
         return val != null && (val instanceof VncMutableSet);
     }
 
+    public static boolean isVncTransient(final VncVal val) {
+        return val != null && (val instanceof VncTransient);
+    }
+
     public static boolean isVncSequence(final VncVal val) {
         return val != null && (val instanceof VncSequence);
     }
@@ -207,6 +214,14 @@ public class Types {
         return val != null && (val instanceof VncMutableVector);
     }
 
+    public static boolean isVncLongVector(final VncVal val) {
+        return val != null && (val instanceof VncLongVector);
+    }
+
+    public static boolean isVncDoubleVector(final VncVal val) {
+        return val != null && (val instanceof VncDoubleVector);
+    }
+
     public static boolean isVncMap(final VncVal val) {
         return val != null && (val instanceof VncMap);
     }
@@ -347,6 +362,8 @@ public class Types {
             case ":core/list":          return Types.isVncList(val);
             case ":core/mutable-list":  return Types.isVncMutableList(val);
             case ":core/mutable-vector": return Types.isVncMutableVector(val);
+            case ":core/long-vector":   return Types.isVncLongVector(val);
+            case ":core/double-vector": return Types.isVncDoubleVector(val);
 
             case ":core/set":           return Types.isVncSet(val);
             case ":core/hash-set":      return Types.isVncHashSet(val);
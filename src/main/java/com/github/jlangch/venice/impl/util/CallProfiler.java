@@ -0,0 +1,456 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+
+/**
+ * Records self and inclusive time and allocated bytes per function and
+ * per call path.
+ *
+ * <p>Every thread keeps its own stack of active calls. The time a call
+ * spends in its callees is subtracted from the call's self time. The
+ * inclusive time of a recursive function is only accounted for its
+ * outermost call, so nested calls are not counted twice.
+ *
+ * <p>The allocated bytes are taken from the JVM's per thread allocation
+ * counter (<code>com.sun.management.ThreadMXBean</code>). They are only
+ * measured while allocation tracking is enabled, otherwise and if the JVM
+ * does not support it they are reported as 0. The JVM's counter is
+ * switched on JVM-wide while any profiler tracks allocations, and switched
+ * back off when the last one stops, unless it was on before.
+ *
+ * <p>The call paths are exported in the collapsed stack format
+ * (<code>"a;b;c 1234"</code>) used by flame graph tools.
+ */
+public class CallProfiler implements Serializable {
+
+    public CallProfiler() {
+    }
+
+
+    public void enter(final String name, final int arity) {
+        final ThreadState ts = threadState.get();
+
+        final Node parent = ts.depth == 0 ? root : ts.frames[ts.depth-1].node;
+
+        FunctionStats fs = functions.get(name);
+        if (fs == null) {
+            fs = functions.computeIfAbsent(name, FunctionStats::new);
+        }
+        fs.countCall(arity);
+
+        int[] active = ts.active.get(name);
+        if (active == null) {
+            active = new int[1];
+            ts.active.put(name, active);
+        }
+
+        final Frame frame = ts.push();
+        frame.node = parent.child(name);
+        frame.fn = fs;
+        frame.active = active;
+        frame.outermost = active[0]++ == 0;
+        frame.childNanos = 0L;
+        frame.childAlloc = 0L;
+        frame.trackAlloc = allocationTracking;
+        frame.startAlloc = frame.trackAlloc ? allocatedBytes() : 0L;
+        frame.startNanos = System.nanoTime();
+    }
+
+    public void exit() {
+        final long nanos = System.nanoTime();
+
+        final ThreadState ts = threadState.get();
+        if (ts.depth == 0) {
+            return; // unbalanced exit
+        }
+
+        final Frame frame = ts.frames[--ts.depth];
+        final long alloc = frame.trackAlloc ? allocatedBytes() : 0L;
+
+        final long totalNanos = nanos - frame.startNanos;
+        final long totalAlloc = alloc - frame.startAlloc;
+        final long selfNanos = totalNanos - frame.childNanos;
+        final long selfAlloc = totalAlloc - frame.childAlloc;
+
+        frame.node.add(totalNanos, selfNanos, totalAlloc, selfAlloc);
+        frame.fn.addSelf(selfNanos, selfAlloc);
+        frame.active[0]--;
+        if (frame.outermost) {
+            frame.fn.addTotal(totalNanos, totalAlloc);
+        }
+
+        if (ts.depth > 0) {
+            final Frame parent = ts.frames[ts.depth-1];
+            parent.childNanos += totalNanos;
+            if (parent.trackAlloc) {
+                parent.childAlloc += totalAlloc;
+            }
+        }
+
+        frame.node = null;
+        frame.fn = null;
+        frame.active = null;
+    }
+
+    /**
+     * Clears the recorded data. Calls that are active while clearing
+     * are not recorded.
+     */
+    public void reset() {
+        root = new Node("");
+        functions.clear();
+    }
+
+    public boolean isAllocationTrackingSupported() {
+        return ALLOC_MX_BEAN != null;
+    }
+
+    public boolean isAllocationTracking() {
+        return allocationTracking;
+    }
+
+    public synchronized void enableAllocationTracking() {
+        if (!allocationTracking && ALLOC_MX_BEAN != null) {
+            acquireAllocatedMemoryCounter();
+            allocationTracking = true;
+        }
+    }
+
+    public synchronized void disableAllocationTracking() {
+        if (allocationTracking) {
+            allocationTracking = false;
+            releaseAllocatedMemoryCounter();
+        }
+    }
+
+    public List<FunctionProfile> getFunctionProfiles() {
+        return functions
+                .values()
+                .stream()
+                .map(FunctionStats::toProfile)
+                .sorted((u,v) -> Long.compare(v.selfNanos, u.selfNanos))
+                .collect(Collectors.toList());
+    }
+
+    public List<StackProfile> getStackProfiles() {
+        final List<StackProfile> stacks = new ArrayList<>();
+        for(Node n : root.sortedChildren()) {
+            collect(n, n.name, stacks);
+        }
+        return stacks;
+    }
+
+    /**
+     * Returns the call paths in the collapsed stack format. Every line
+     * holds a call path followed by the path's self time in nanoseconds
+     * or its self allocated bytes.
+     *
+     * @param allocation if <code>true</code> the paths are weighted by
+     *                   allocated bytes else by elapsed nanoseconds
+     * @return the collapsed stacks
+     */
+    public String getCollapsedStacks(final boolean allocation) {
+        return getStackProfiles()
+                .stream()
+                .filter(s -> (allocation ? s.selfAlloc : s.selfNanos) > 0L)
+                .map(s -> s.path + " " + (allocation ? s.selfAlloc : s.selfNanos))
+                .collect(Collectors.joining("\n"));
+    }
+
+
+    private void collect(final Node node, final String path, final List<StackProfile> stacks) {
+        stacks.add(new StackProfile(
+                        path,
+                        node.calls.sum(),
+                        node.selfNanos.sum(),
+                        node.totalNanos.sum(),
+                        node.selfAlloc.sum(),
+                        node.totalAlloc.sum()));
+
+        for(Node n : node.sortedChildren()) {
+            collect(n, path + ";" + n.name, stacks);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ALLOC_MX_BEAN == null
+                ? 0L
+                : ALLOC_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMXBean() {
+        try {
+            final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean b = (com.sun.management.ThreadMXBean)bean;
+                if (b.isThreadAllocatedMemorySupported()) {
+                    return b;
+                }
+            }
+        }
+        catch(Throwable ex) {
+            // not supported by this JVM
+        }
+        return null;
+    }
+
+    private static synchronized void acquireAllocatedMemoryCounter() {
+        if (allocationTrackers++ == 0 && !ALLOC_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            ALLOC_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+            allocatedMemoryCounterEnabled = true;
+        }
+    }
+
+    private static synchronized void releaseAllocatedMemoryCounter() {
+        if (--allocationTrackers == 0 && allocatedMemoryCounterEnabled) {
+            ALLOC_MX_BEAN.setThreadAllocatedMemoryEnabled(false);
+            allocatedMemoryCounterEnabled = false;
+        }
+    }
+
+    private static LongAdder[] newAdders(final int size) {
+        final LongAdder[] adders = new LongAdder[size];
+        for(int ii=0; ii<size; ii++) {
+            adders[ii] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private Object readResolve() {
+        // the recorded data is not carried over
+        return new CallProfiler();
+    }
+
+
+    public static class FunctionProfile {
+        public FunctionProfile(
+                final String name,
+                final long calls,
+                final Map<Integer,Long> callsByArity,
+                final long selfNanos,
+                final long totalNanos,
+                final long selfAlloc,
+                final long totalAlloc
+        ) {
+            this.name = name;
+            this.calls = calls;
+            this.callsByArity = Collections.unmodifiableMap(callsByArity);
+            this.selfNanos = selfNanos;
+            this.totalNanos = totalNanos;
+            this.selfAlloc = selfAlloc;
+            this.totalAlloc = totalAlloc;
+        }
+
+        public final String name;
+        public final long calls;
+        public final Map<Integer,Long> callsByArity;
+        public final long selfNanos;
+        public final long totalNanos;
+        public final long selfAlloc;
+        public final long totalAlloc;
+    }
+
+    public static class StackProfile {
+        public StackProfile(
+                final String path,
+                final long calls,
+                final long selfNanos,
+                final long totalNanos,
+                final long selfAlloc,
+                final long totalAlloc
+        ) {
+            this.path = path;
+            this.calls = calls;
+            this.selfNanos = selfNanos;
+            this.totalNanos = totalNanos;
+            this.selfAlloc = selfAlloc;
+            this.totalAlloc = totalAlloc;
+        }
+
+        public final String path;
+        public final long calls;
+        public final long selfNanos;
+        public final long totalNanos;
+        public final long selfAlloc;
+        public final long totalAlloc;
+    }
+
+
+    private static class Node implements Serializable {
+        public Node(final String name) {
+            this.name = name;
+        }
+
+        public Node child(final String name) {
+            final Node n = children.get(name);
+            return n != null ? n : children.computeIfAbsent(name, Node::new);
+        }
+
+        public void add(
+                final long totalNanos,
+                final long selfNanos,
+                final long totalAlloc,
+                final long selfAlloc
+        ) {
+            calls.increment();
+            this.totalNanos.add(totalNanos);
+            this.selfNanos.add(selfNanos);
+            this.totalAlloc.add(totalAlloc);
+            this.selfAlloc.add(selfAlloc);
+        }
+
+        public List<Node> sortedChildren() {
+            return new TreeMap<>(children).values().stream().collect(Collectors.toList());
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final Map<String,Node> children = new ConcurrentHashMap<>();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder selfNanos = new LongAdder();
+        private final LongAdder totalAlloc = new LongAdder();
+        private final LongAdder selfAlloc = new LongAdder();
+    }
+
+    private static class FunctionStats implements Serializable {
+        public FunctionStats(final String name) {
+            this.name = name;
+        }
+
+        public void countCall(final int arity) {
+            if (arity < callsByArity.length) {
+                callsByArity[arity].increment();
+            }
+            else {
+                LongAdder c = callsByVariadicArity.get(arity);
+                if (c == null) {
+                    c = callsByVariadicArity.computeIfAbsent(arity, k -> new LongAdder());
+                }
+                c.increment();
+            }
+        }
+
+        public void addSelf(final long nanos, final long alloc) {
+            selfNanos.add(nanos);
+            selfAlloc.add(alloc);
+        }
+
+        public void addTotal(final long nanos, final long alloc) {
+            totalNanos.add(nanos);
+            totalAlloc.add(alloc);
+        }
+
+        public FunctionProfile toProfile() {
+            final Map<Integer,Long> arities = new TreeMap<>();
+            for(int ii=0; ii<callsByArity.length; ii++) {
+                final long c = callsByArity[ii].sum();
+                if (c > 0L) {
+                    arities.put(ii, c);
+                }
+            }
+            callsByVariadicArity.forEach((k,v) -> arities.put(k, v.sum()));
+
+            return new FunctionProfile(
+                        name,
+                        arities.values().stream().mapToLong(Long::longValue).sum(),
+                        arities,
+                        selfNanos.sum(),
+                        totalNanos.sum(),
+                        selfAlloc.sum(),
+                        totalAlloc.sum());
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final LongAdder[] callsByArity = newAdders(8);
+        private final Map<Integer,LongAdder> callsByVariadicArity = new ConcurrentHashMap<>();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder selfNanos = new LongAdder();
+        private final LongAdder totalAlloc = new LongAdder();
+        private final LongAdder selfAlloc = new LongAdder();
+    }
+
+    private static class Frame {
+        private Node node;
+        private FunctionStats fn;
+        private int[] active;
+        private boolean outermost;
+        private boolean trackAlloc;
+        private long startNanos;
+        private long startAlloc;
+        private long childNanos;
+        private long childAlloc;
+    }
+
+    private static class ThreadState {
+        public Frame push() {
+            if (depth == frames.length) {
+                frames = Arrays.copyOf(frames, depth * 2);
+            }
+
+            Frame f = frames[depth];
+            if (f == null) {
+                f = new Frame();
+                frames[depth] = f;
+            }
+            depth++;
+            return f;
+        }
+
+        private Frame[] frames = new Frame[64];
+        private int depth;
+        private final Map<String,int[]> active = new HashMap<>();
+    }
+
+
+    private static final long serialVersionUID = -5206539727431418317L;
+
+    private static final com.sun.management.ThreadMXBean ALLOC_MX_BEAN = allocationMXBean();
+
+    // the profilers tracking allocations, guarded by CallProfiler.class
+    private static int allocationTrackers;
+    private static boolean allocatedMemoryCounterEnabled;
+
+    private volatile boolean allocationTracking;
+
+    private volatile Node root = new Node("");
+    private final Map<String,FunctionStats> functions = new ConcurrentHashMap<>();
+    private final transient ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(ThreadState::new);
+}
@@ -56,8 +56,8 @@ public class MetaUtil {
     public static VncVal toMeta(final Token token) {
         return VncHashMap.of(
                     FILE, new VncString(token.getFile()),
-                    LINE, new VncLong(token.getLine()),
-                    COLUMN, new VncLong(token.getColumn()));
+                    LINE, VncLong.of(token.getLine()),
+                    COLUMN, VncLong.of(token.getColumn()));
     }
 
     public static VncVal addMetaVal(final VncVal meta, final VncVal... mvs) {
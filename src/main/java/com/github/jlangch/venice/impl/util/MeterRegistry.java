@@ -24,6 +24,7 @@ package com.github.jlangch.venice.impl.util;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -33,6 +34,7 @@ import java.util.stream.Collectors;
 import com.github.jlangch.venice.impl.types.VncKeyword;
 import com.github.jlangch.venice.impl.types.VncLong;
 import com.github.jlangch.venice.impl.types.VncString;
+import com.github.jlangch.venice.impl.types.VncVal;
 import com.github.jlangch.venice.impl.types.collections.VncHashMap;
 import com.github.jlangch.venice.impl.types.collections.VncList;
 import com.github.jlangch.venice.impl.types.collections.VncMap;
@@ -59,8 +61,36 @@ public class MeterRegistry implements Serializable {
         enabled = false;
     }
 
+    public boolean isProfiling() {
+        return profiling;
+    }
+
+    public void enableProfiling() {
+        enableProfiling(false);
+    }
+
+    public void enableProfiling(final boolean allocation) {
+        if (allocation) {
+            profiler.enableAllocationTracking();
+        }
+        else {
+            profiler.disableAllocationTracking();
+        }
+        profiling = true;
+    }
+
+    public void disableProfiling() {
+        profiling = false;
+        profiler.disableAllocationTracking();
+    }
+
+    public CallProfiler getProfiler() {
+        return profiler;
+    }
+
     public void reset() {
         data.clear();
+        profiler.reset();
     }
 
     public void resetAllBut(final VncSequence records) {
@@ -107,6 +137,26 @@ public class MeterRegistry implements Serializable {
                         .collect(Collectors.toList()));
     }
 
+    public VncMap getVncProfilerData() {
+        return VncHashMap.of(
+                new VncKeyword("functions"),
+                VncList.ofList(
+                    profiler.getFunctionProfiles()
+                            .stream()
+                            .map(p -> convertToVncMap(p))
+                            .collect(Collectors.toList())),
+                new VncKeyword("stacks"),
+                VncList.ofList(
+                    profiler.getStackProfiles()
+                            .stream()
+                            .map(p -> convertToVncMap(p))
+                            .collect(Collectors.toList())));
+    }
+
+    public String getProfilerCollapsedStacks(final boolean allocation) {
+        return profiler.getCollapsedStacks(allocation);
+    }
+
     public String getTimerDataFormatted(
             final String title,
             final boolean withAnonymousFunctions
@@ -176,10 +226,36 @@ public class MeterRegistry implements Serializable {
                 new VncKeyword("nanos"), new VncLong(timer.elapsedNanos));
     }
 
+    private VncMap convertToVncMap(final CallProfiler.FunctionProfile p) {
+        final Map<VncVal,VncVal> arities = new HashMap<>();
+        p.callsByArity.forEach((k,v) -> arities.put(new VncLong(k), new VncLong(v)));
+
+        return VncHashMap.of(
+                new VncKeyword("name"),        new VncString(p.name),
+                new VncKeyword("count"),       new VncLong(p.calls),
+                new VncKeyword("arities"),     new VncHashMap(arities),
+                new VncKeyword("self-nanos"),  new VncLong(p.selfNanos),
+                new VncKeyword("total-nanos"), new VncLong(p.totalNanos),
+                new VncKeyword("self-alloc"),  new VncLong(p.selfAlloc),
+                new VncKeyword("total-alloc"), new VncLong(p.totalAlloc));
+    }
+
+    private VncMap convertToVncMap(final CallProfiler.StackProfile p) {
+        return VncHashMap.of(
+                new VncKeyword("path"),        new VncString(p.path),
+                new VncKeyword("count"),       new VncLong(p.calls),
+                new VncKeyword("self-nanos"),  new VncLong(p.selfNanos),
+                new VncKeyword("total-nanos"), new VncLong(p.totalNanos),
+                new VncKeyword("self-alloc"),  new VncLong(p.selfAlloc),
+                new VncKeyword("total-alloc"), new VncLong(p.totalAlloc));
+    }
+
 
     private static final long serialVersionUID = 5426843508785133806L;
 
     private final Map<String,ElapsedTime> data = new ConcurrentHashMap<>();
+    private final CallProfiler profiler = new CallProfiler();
 
     public volatile boolean enabled;
+    public volatile boolean profiling;
 }
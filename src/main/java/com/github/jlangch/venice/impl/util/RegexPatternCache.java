@@ -0,0 +1,59 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util;
+
+import java.util.regex.Pattern;
+
+import com.github.jlangch.venice.impl.util.concurrent.MemoizeCache;
+
+
+/**
+ * A bounded cache for compiled regex patterns. Shared by the regex and
+ * string functions that accept a regex as string.
+ */
+public class RegexPatternCache {
+
+    /**
+     * Returns the compiled pattern for a regex.
+     *
+     * @param regex a regex
+     * @return the compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the regex is
+     *         invalid. Invalid regexes are not cached.
+     */
+    public static Pattern compile(final String regex) {
+        return regex.length() > MAX_REGEX_LEN
+                ? Pattern.compile(regex)
+                : cache.get(regex, Pattern::compile);
+    }
+
+    public static MemoizeCache.Stats getStats() {
+        return cache.getStats();
+    }
+
+
+    private static final int MAX_SIZE = 500;
+    private static final int MAX_REGEX_LEN = 1000;
+
+    private static final MemoizeCache<String,Pattern> cache =
+            new MemoizeCache<>(MAX_SIZE, MemoizeCache.Eviction.LRU, 0L, 0L);
+}
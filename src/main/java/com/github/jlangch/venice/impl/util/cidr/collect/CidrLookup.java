@@ -0,0 +1,41 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.cidr.collect;
+
+import com.github.jlangch.venice.impl.util.cidr.CIDR;
+
+
+/**
+ * Maps CIDR blocks to values. A lookup returns the value of the most
+ * specific CIDR block that contains an IP address.
+ */
+public interface CidrLookup<V> {
+
+    V getValue(String ipAddr);
+
+    V getValue(CIDR key);
+
+    CIDR getCIDR(String ipAddr);
+
+    int size();
+
+}
@@ -0,0 +1,681 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.cidr.collect;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.util.cidr.CIDR;
+
+
+/**
+ * An immutable compact CIDR lookup table.
+ *
+ * <p>The nested CIDR blocks are flattened to a sorted array of disjoint
+ * address ranges. Each range refers to the most specific CIDR block that
+ * covers it. A lookup is a binary search over the range starts.
+ *
+ * <p>The addresses are stored as primitive longs (one long per IPv4 address,
+ * two longs per IPv6 address) and the values are deduplicated by identity
+ * and referenced by an index. A table holds either IPv4 or IPv6 blocks.
+ *
+ * <p>A table can be saved to a binary file and loaded from it. Loading a
+ * table maps the file into memory, only the values are read into the heap.
+ *
+ * <p>The table is thread-safe.
+ */
+public class CidrTable<V> implements CidrLookup<V> {
+
+    private CidrTable(
+            final boolean ip4,
+            final int rangeCount,
+            final LongBuffer rangeStarts,
+            final LongBuffer rangeEnds,
+            final IntBuffer rangeEntries,
+            final int entryCount,
+            final LongBuffer entryStarts,
+            final IntBuffer entryPrefixes,
+            final IntBuffer entryParents,
+            final IntBuffer entryValues,
+            final Object[] values
+    ) {
+        this.ip4 = ip4;
+        this.stride = ip4 ? 1 : 2;
+        this.rangeCount = rangeCount;
+        this.rangeStarts = rangeStarts;
+        this.rangeEnds = rangeEnds;
+        this.rangeEntries = rangeEntries;
+        this.entryCount = entryCount;
+        this.entryStarts = entryStarts;
+        this.entryPrefixes = entryPrefixes;
+        this.entryParents = entryParents;
+        this.entryValues = entryValues;
+        this.values = values;
+    }
+
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Freezes a trie to a table.
+     *
+     * @param <V> the value type
+     * @param trie a trie
+     * @return the table
+     */
+    public static <V> CidrTable<V> of(final CidrTrie<V> trie) {
+        final Builder<V> builder = new Builder<>();
+        addNodes(builder, trie.getRoot());
+        return builder.build();
+    }
+
+    /**
+     * Loads a table from a file that has been written by
+     * {@link CidrTable#save(File)}. The file is mapped into memory.
+     *
+     * @param <V> the value type
+     * @param file the file
+     * @return the table
+     */
+    public static <V> CidrTable<V> load(final File file) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel ch = raf.getChannel()
+        ) {
+            final MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+
+            if (buf.remaining() < HEADER_SIZE || buf.getInt() != MAGIC) {
+                throw new VncException(String.format(
+                        "The file '%s' is not a CIDR table", file.getPath()));
+            }
+
+            final int version = buf.getInt();
+            if (version != VERSION) {
+                throw new VncException(String.format(
+                        "The CIDR table file '%s' has an unsupported version %d",
+                        file.getPath(), version));
+            }
+
+            final boolean ip4 = buf.getInt() == 4;
+            final int stride = ip4 ? 1 : 2;
+            final int rangeCount = buf.getInt();
+            final int entryCount = buf.getInt();
+            final int valuesLength = buf.getInt();
+
+            final LongBuffer rangeStarts = longs(buf, rangeCount * stride);
+            final LongBuffer rangeEnds = longs(buf, rangeCount * stride);
+            final IntBuffer rangeEntries = ints(buf, rangeCount);
+            final LongBuffer entryStarts = longs(buf, entryCount * stride);
+            final IntBuffer entryPrefixes = ints(buf, entryCount);
+            final IntBuffer entryParents = ints(buf, entryCount);
+            final IntBuffer entryValues = ints(buf, entryCount);
+
+            final byte[] valueBytes = new byte[valuesLength];
+            buf.get(valueBytes);
+
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(valueBytes))) {
+                final Object[] values = (Object[])ois.readObject();
+
+                return new CidrTable<V>(
+                            ip4,
+                            rangeCount, rangeStarts, rangeEnds, rangeEntries,
+                            entryCount, entryStarts, entryPrefixes, entryParents, entryValues,
+                            values);
+            }
+        }
+        catch(VncException ex) {
+            throw ex;
+        }
+        catch(Exception ex) {
+            throw new VncException(String.format(
+                    "Failed to load the CIDR table from '%s'", file.getPath()), ex);
+        }
+    }
+
+    /**
+     * Saves the table to a file. The values must be serializable.
+     *
+     * @param file the file
+     */
+    public void save(final File file) {
+        try {
+            final byte[] valueBytes;
+            try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                 ObjectOutputStream oos = new ObjectOutputStream(bos)
+            ) {
+                oos.writeObject(values);
+                oos.flush();
+                valueBytes = bos.toByteArray();
+            }
+
+            try (DataOutputStream os = new DataOutputStream(
+                                            new BufferedOutputStream(
+                                                new FileOutputStream(file), 64 * 1024))
+            ) {
+                os.writeInt(MAGIC);
+                os.writeInt(VERSION);
+                os.writeInt(ip4 ? 4 : 6);
+                os.writeInt(rangeCount);
+                os.writeInt(entryCount);
+                os.writeInt(valueBytes.length);
+
+                writeLongs(os, rangeStarts, rangeCount * stride);
+                writeLongs(os, rangeEnds, rangeCount * stride);
+                writeInts(os, rangeEntries, rangeCount);
+                writeLongs(os, entryStarts, entryCount * stride);
+                writeInts(os, entryPrefixes, entryCount);
+                writeInts(os, entryParents, entryCount);
+                writeInts(os, entryValues, entryCount);
+
+                os.write(valueBytes);
+            }
+        }
+        catch(Exception ex) {
+            throw new VncException(String.format(
+                    "Failed to save the CIDR table to '%s'", file.getPath()), ex);
+        }
+    }
+
+    @Override
+    public V getValue(final String ipAddr) {
+        if (ipAddr.indexOf('/') >= 0) {
+            return getValue(CIDR.parse(ipAddr));
+        }
+
+        final int entry = findEntry(toInetAddress(ipAddr));
+        return entry < 0 ? null : getEntryValue(entry);
+    }
+
+    public V getValue(final InetAddress ipAddr) {
+        final int entry = findEntry(ipAddr);
+        return entry < 0 ? null : getEntryValue(entry);
+    }
+
+    @Override
+    public V getValue(final CIDR key) {
+        final int entry = findEntry(key);
+        return entry < 0 ? null : getEntryValue(entry);
+    }
+
+    @Override
+    public CIDR getCIDR(final String ipAddr) {
+        final int entry = ipAddr.indexOf('/') >= 0
+                            ? findEntry(CIDR.parse(ipAddr))
+                            : findEntry(toInetAddress(ipAddr));
+
+        return entry < 0 ? null : getEntryCIDR(entry);
+    }
+
+    /**
+     * @return the number of CIDR blocks in the table
+     */
+    @Override
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * @return the number of disjoint address ranges in the table
+     */
+    public int rangeCount() {
+        return rangeCount;
+    }
+
+    public boolean isIP4() {
+        return ip4;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "CidrTable: %s, %d blocks, %d ranges, %d values",
+                ip4 ? "IPv4" : "IPv6", entryCount, rangeCount, values.length);
+    }
+
+
+    private int findEntry(final InetAddress addr) {
+        if ((addr instanceof Inet4Address) != ip4) {
+            return -1;
+        }
+
+        final byte[] bytes = addr.getAddress();
+        final int range = findRange(hi(bytes), lo(bytes));
+        return range < 0 ? -1 : rangeEntries.get(range);
+    }
+
+    private int findEntry(final CIDR key) {
+        if (key.isIP4() != ip4) {
+            return -1;
+        }
+
+        final byte[] bytes = key.getLowInetAddress().getAddress();
+        final int range = findRange(hi(bytes), lo(bytes));
+
+        // the most specific block that contains the whole key block
+        int entry = range < 0 ? -1 : rangeEntries.get(range);
+        while(entry >= 0 && entryPrefixes.get(entry) > key.getRange()) {
+            entry = entryParents.get(entry);
+        }
+        return entry;
+    }
+
+    private int findRange(final long hi, final long lo) {
+        int low = 0;
+        int high = rangeCount - 1;
+        int found = -1;
+
+        while(low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (compare(startHi(mid), startLo(mid), hi, lo) <= 0) {
+                found = mid;
+                low = mid + 1;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+
+        return found >= 0 && compare(hi, lo, endHi(found), endLo(found)) <= 0
+                ? found
+                : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V getEntryValue(final int entry) {
+        return (V)values[entryValues.get(entry)];
+    }
+
+    private CIDR getEntryCIDR(final int entry) {
+        final long hi = ip4 ? 0L : entryStarts.get(entry * 2);
+        final long lo = ip4 ? entryStarts.get(entry) : entryStarts.get(entry * 2 + 1);
+
+        final ByteBuffer buf = ByteBuffer.allocate(ip4 ? 4 : 16);
+        if (ip4) {
+            buf.putInt((int)lo);
+        }
+        else {
+            buf.putLong(hi).putLong(lo);
+        }
+
+        try {
+            final String addr = InetAddress.getByAddress(buf.array()).getHostAddress();
+            return CIDR.parse(addr + "/" + entryPrefixes.get(entry));
+        }
+        catch(IOException ex) {
+            throw new VncException("Invalid CIDR table address", ex);
+        }
+    }
+
+    private long startHi(final int range) {
+        return ip4 ? 0L : rangeStarts.get(range * 2);
+    }
+
+    private long startLo(final int range) {
+        return ip4 ? rangeStarts.get(range) : rangeStarts.get(range * 2 + 1);
+    }
+
+    private long endHi(final int range) {
+        return ip4 ? 0L : rangeEnds.get(range * 2);
+    }
+
+    private long endLo(final int range) {
+        return ip4 ? rangeEnds.get(range) : rangeEnds.get(range * 2 + 1);
+    }
+
+    private static InetAddress toInetAddress(final String ipAddr) {
+        try {
+            return InetAddress.getByName(ipAddr);
+        }
+        catch(Exception ex) {
+            throw new VncException("Invalid IP address '" + ipAddr + "'", ex);
+        }
+    }
+
+    private static <V> void addNodes(final Builder<V> builder, final CidrTrieNode<V> node) {
+        if (node != null) {
+            if (node.hasValue()) {
+                builder.add(node.getKey(), node.getValue());
+            }
+            addNodes(builder, node.getChild(true));
+            addNodes(builder, node.getChild(false));
+        }
+    }
+
+    private static int compare(
+            final long hi1, final long lo1,
+            final long hi2, final long lo2
+    ) {
+        final int c = Long.compareUnsigned(hi1, hi2);
+        return c != 0 ? c : Long.compareUnsigned(lo1, lo2);
+    }
+
+    private static long hi(final byte[] addr) {
+        return addr.length == 4 ? 0L : ByteBuffer.wrap(addr).getLong(0);
+    }
+
+    private static long lo(final byte[] addr) {
+        return addr.length == 4
+                ? ByteBuffer.wrap(addr).getInt(0) & 0xFFFFFFFFL
+                : ByteBuffer.wrap(addr).getLong(8);
+    }
+
+    private static LongBuffer longs(final ByteBuffer buf, final int count) {
+        final ByteBuffer slice = buf.slice();
+        slice.limit(count * 8);
+        buf.position(buf.position() + count * 8);
+        return slice.asLongBuffer();
+    }
+
+    private static IntBuffer ints(final ByteBuffer buf, final int count) {
+        final ByteBuffer slice = buf.slice();
+        slice.limit(count * 4);
+        buf.position(buf.position() + count * 4);
+        return slice.asIntBuffer();
+    }
+
+    private static void writeLongs(
+            final DataOutputStream os,
+            final LongBuffer buf,
+            final int count
+    ) throws IOException {
+        for(int ii=0; ii<count; ii++) {
+            os.writeLong(buf.get(ii));
+        }
+    }
+
+    private static void writeInts(
+            final DataOutputStream os,
+            final IntBuffer buf,
+            final int count
+    ) throws IOException {
+        for(int ii=0; ii<count; ii++) {
+            os.writeInt(buf.get(ii));
+        }
+    }
+
+
+    /**
+     * Builds a table from CIDR blocks. The blocks can be added in any
+     * order. If a block is added more than once the last value wins.
+     * A <code>null</code> value removes a block.
+     */
+    public static class Builder<V> {
+
+        private Builder() {
+        }
+
+        public Builder<V> add(final CIDR cidr, final V value) {
+            if (count == 0) {
+                ip4 = cidr.isIP4();
+            }
+            else if (ip4 != cidr.isIP4()) {
+                throw new VncException(
+                        "A CIDR table cannot mix IPv4 and IPv6 blocks. " +
+                        "Please keep IPv4 and IPv6 CIDRs in different tables.");
+            }
+
+            ensureCapacity(count + 1);
+
+            final byte[] addr = cidr.getLowInetAddress().getAddress();
+            startHi[count] = hi(addr);
+            startLo[count] = lo(addr);
+            prefix[count] = cidr.getRange();
+            vals.add(value);
+            count++;
+
+            return this;
+        }
+
+        public CidrTable<V> build() {
+            final int width = ip4 ? 32 : 128;
+            final int stride = ip4 ? 1 : 2;
+
+            // sort by start address, widest block first, then by insertion
+            final Integer[] order = new Integer[count];
+            for(int ii=0; ii<count; ii++) order[ii] = ii;
+            Arrays.sort(order, (a, b) -> {
+                final int c = compare(startHi[a], startLo[a], startHi[b], startLo[b]);
+                if (c != 0) return c;
+                final int p = Integer.compare(prefix[a], prefix[b]);
+                return p != 0 ? p : Integer.compare(a, b);
+            });
+
+            // drop duplicate blocks (the last one wins) and removed blocks
+            final int[] entries = new int[count];
+            int entryCount = 0;
+            for(int ii=0; ii<count; ii++) {
+                final int e = order[ii];
+                final boolean dup = ii+1 < count
+                                        && startHi[e] == startHi[order[ii+1]]
+                                        && startLo[e] == startLo[order[ii+1]]
+                                        && prefix[e] == prefix[order[ii+1]];
+                if (!dup && vals.get(e) != null) {
+                    entries[entryCount++] = e;
+                }
+            }
+
+            // deduplicate the values
+            final Map<V,Integer> valueIndex = new IdentityHashMap<>();
+            final List<Object> values = new ArrayList<>();
+            final int[] entryValues = new int[entryCount];
+            for(int ii=0; ii<entryCount; ii++) {
+                final V v = vals.get(entries[ii]);
+                Integer idx = valueIndex.get(v);
+                if (idx == null) {
+                    idx = values.size();
+                    valueIndex.put(v, idx);
+                    values.add(v);
+                }
+                entryValues[ii] = idx;
+            }
+
+            final long[] entryStarts = new long[entryCount * stride];
+            final long[] entryEndsHi = new long[entryCount];
+            final long[] entryEndsLo = new long[entryCount];
+            final int[] entryPrefixes = new int[entryCount];
+            final int[] entryParents = new int[entryCount];
+            for(int ii=0; ii<entryCount; ii++) {
+                final int e = entries[ii];
+                if (ip4) {
+                    entryStarts[ii] = startLo[e];
+                }
+                else {
+                    entryStarts[ii*2] = startHi[e];
+                    entryStarts[ii*2+1] = startLo[e];
+                }
+                entryPrefixes[ii] = prefix[e];
+
+                final int hostBits = width - prefix[e];
+                entryEndsHi[ii] = startHi[e] | hostMaskHi(hostBits);
+                entryEndsLo[ii] = startLo[e] | hostMaskLo(hostBits);
+            }
+
+            // flatten the nested blocks to disjoint ranges
+            final RangeCollector ranges = new RangeCollector(stride, entryCount);
+            final int[] stack = new int[width + 2];
+            int sp = 0;
+            long cursorHi = 0L;
+            long cursorLo = 0L;
+            boolean exhausted = false;
+
+            for(int ii=0; ii<=entryCount; ii++) {
+                final boolean last = ii == entryCount;
+                final long sHi = last ? 0L : startHi[entries[ii]];
+                final long sLo = last ? 0L : startLo[entries[ii]];
+
+                // close the blocks that end before this block
+                while(sp > 0
+                        && (last || compare(entryEndsHi[stack[sp-1]], entryEndsLo[stack[sp-1]], sHi, sLo) < 0)
+                ) {
+                    final int top = stack[--sp];
+                    final long eHi = entryEndsHi[top];
+                    final long eLo = entryEndsLo[top];
+                    if (!exhausted && compare(cursorHi, cursorLo, eHi, eLo) <= 0) {
+                        ranges.add(cursorHi, cursorLo, eHi, eLo, top);
+                    }
+                    if (eHi == MAX_HI[stride] && eLo == MAX_LO[stride]) {
+                        exhausted = true;
+                    }
+                    else {
+                        cursorHi = eLo == -1L ? eHi + 1 : eHi;
+                        cursorLo = eLo + 1;
+                    }
+                }
+
+                if (last) {
+                    break;
+                }
+
+                // the enclosing block covers the gap up to this block
+                if (sp > 0 && compare(cursorHi, cursorLo, sHi, sLo) < 0) {
+                    ranges.add(cursorHi, cursorLo, sLo == 0L ? sHi - 1 : sHi, sLo - 1, stack[sp-1]);
+                }
+
+                entryParents[ii] = sp > 0 ? stack[sp-1] : -1;
+                stack[sp++] = ii;
+                cursorHi = sHi;
+                cursorLo = sLo;
+                exhausted = false;
+            }
+
+            return new CidrTable<V>(
+                        ip4,
+                        ranges.count,
+                        LongBuffer.wrap(ranges.starts, 0, ranges.count * stride).slice(),
+                        LongBuffer.wrap(ranges.ends, 0, ranges.count * stride).slice(),
+                        IntBuffer.wrap(ranges.entries, 0, ranges.count).slice(),
+                        entryCount,
+                        LongBuffer.wrap(entryStarts),
+                        IntBuffer.wrap(entryPrefixes),
+                        IntBuffer.wrap(entryParents),
+                        IntBuffer.wrap(entryValues),
+                        values.toArray());
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > startLo.length) {
+                final int newCapacity = Math.max(capacity, startLo.length * 2);
+                startHi = Arrays.copyOf(startHi, newCapacity);
+                startLo = Arrays.copyOf(startLo, newCapacity);
+                prefix = Arrays.copyOf(prefix, newCapacity);
+            }
+        }
+
+        private static long hostMaskHi(final int hostBits) {
+            return hostBits <= 64 ? 0L : (hostBits == 128 ? -1L : (1L << (hostBits - 64)) - 1);
+        }
+
+        private static long hostMaskLo(final int hostBits) {
+            return hostBits >= 64 ? -1L : (1L << hostBits) - 1;
+        }
+
+
+        private boolean ip4 = true;
+        private int count = 0;
+        private long[] startHi = new long[1024];
+        private long[] startLo = new long[1024];
+        private int[] prefix = new int[1024];
+        private final List<V> vals = new ArrayList<>();
+    }
+
+    private static class RangeCollector {
+        public RangeCollector(final int stride, final int entries) {
+            final int capacity = 2 * entries + 1;
+            this.stride = stride;
+            this.starts = new long[capacity * stride];
+            this.ends = new long[capacity * stride];
+            this.entries = new int[capacity];
+        }
+
+        public void add(
+                final long startHi, final long startLo,
+                final long endHi, final long endLo,
+                final int entry
+        ) {
+            if (stride == 1) {
+                starts[count] = startLo;
+                ends[count] = endLo;
+            }
+            else {
+                starts[count*2] = startHi;
+                starts[count*2+1] = startLo;
+                ends[count*2] = endHi;
+                ends[count*2+1] = endLo;
+            }
+            entries[count] = entry;
+            count++;
+        }
+
+        private final int stride;
+        private final long[] starts;
+        private final long[] ends;
+        private final int[] entries;
+        private int count;
+    }
+
+
+    private static final int MAGIC = 0x56434944;  // "VCID"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+
+    // the highest address by stride (1: IPv4, 2: IPv6)
+    private static final long[] MAX_HI = { 0L, 0L, -1L };
+    private static final long[] MAX_LO = { 0L, 0xFFFFFFFFL, -1L };
+
+    private final boolean ip4;
+    private final int stride;
+
+    private final int rangeCount;
+    private final LongBuffer rangeStarts;
+    private final LongBuffer rangeEnds;
+    private final IntBuffer rangeEntries;
+
+    private final int entryCount;
+    private final LongBuffer entryStarts;
+    private final IntBuffer entryPrefixes;
+    private final IntBuffer entryParents;
+    private final IntBuffer entryValues;
+
+    private final Object[] values;
+}
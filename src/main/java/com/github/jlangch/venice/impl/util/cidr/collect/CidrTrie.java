@@ -39,7 +39,7 @@ import com.github.jlangch.venice.impl.util.cidr.CIDR;
  *
  * @see <a href="https://en.wikipedia.org/wiki/Trie">Trie</a>
  */
-public class CidrTrie<V> {
+public class CidrTrie<V> implements CidrLookup<V> {
 
     public CidrTrie() {
     }
@@ -80,6 +80,13 @@ public class CidrTrie<V> {
             else {
                 // update value node
                 current.setChild(isLeft, child.withData(key, value));
+
+                if (!child.hasValue() && value != null) {
+                    size.incrementAndGet();
+                }
+                else if (child.hasValue() && value == null) {
+                    size.decrementAndGet();
+                }
             }
         }
         finally {
@@ -87,16 +94,19 @@ public class CidrTrie<V> {
         }
     }
 
+    @Override
     public V getValue(final String ipAddr) {
         final CidrTrieNode<V> node = getNode(CIDR.parse(ipAddr));
         return node == null ? null : node.getValue();
     }
 
+    @Override
     public V getValue(final CIDR key) {
         final CidrTrieNode<V> node = getNode(key);
         return node == null ? null : node.getValue();
     }
 
+    @Override
     public CIDR getCIDR(final String ipAddr) {
         final CIDR key = CIDR.parse(ipAddr);
 
@@ -116,11 +126,16 @@ public class CidrTrie<V> {
         }
     }
 
+    @Override
     public int size() {
         return size.get();
     }
 
 
+    CidrTrieNode<V> getRoot() {
+        return root;
+    }
+
     private CidrTrieNode<V> getNode(final CIDR key) {
         final int ipBits = key.isIP4() ? 32 : 128;
         final int highestBit = ipBits-1;
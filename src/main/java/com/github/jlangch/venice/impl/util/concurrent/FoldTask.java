@@ -0,0 +1,144 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RecursiveTask;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.thread.ThreadBridge;
+import com.github.jlangch.venice.impl.thread.ThreadContext;
+import com.github.jlangch.venice.impl.types.IVncFunction;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncSequence;
+import com.github.jlangch.venice.impl.types.util.Coerce;
+import com.github.jlangch.venice.impl.util.transducer.Reduced;
+import com.github.jlangch.venice.impl.util.transducer.Reducer;
+
+
+/**
+ * A fork/join task that splits an indexed sequence into chunks, reduces
+ * each chunk with its own init value and combines the partial results
+ * pairwise.
+ *
+ * <p>Each chunk is reduced with <code>(reducef (combinef) item)</code>. If a
+ * transducer is given every chunk gets its own transformed reduce function
+ * <code>(xform reducef)</code>, so stateful transducers do not share state
+ * across chunks, and the chunk result is completed with <code>(xf acc)</code>.
+ * The partial results are combined with <code>(combinef left right)</code>.
+ *
+ * <p>Venice functions are run with the thread context inherited from the
+ * thread that started the fold.
+ */
+public class FoldTask extends RecursiveTask<VncVal> {
+
+    public FoldTask(
+            final ThreadBridge threadBridge,
+            final VncSequence seq,
+            final int start,
+            final int end,
+            final int chunkSize,
+            final IVncFunction combineFn,
+            final IVncFunction xform,
+            final IVncFunction reduceFn
+    ) {
+        this.threadBridge = threadBridge;
+        this.seq = seq;
+        this.start = start;
+        this.end = end;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.combineFn = combineFn;
+        this.xform = xform;
+        this.reduceFn = reduceFn;
+    }
+
+
+    @Override
+    protected VncVal compute() {
+        if (end - start <= chunkSize) {
+            return bridged(() -> reduceChunk());
+        }
+        else {
+            final int mid = (start + end) >>> 1;
+
+            final FoldTask left = new FoldTask(
+                                    threadBridge, seq, start, mid, chunkSize,
+                                    combineFn, xform, reduceFn);
+            final FoldTask right = new FoldTask(
+                                    threadBridge, seq, mid, end, chunkSize,
+                                    combineFn, xform, reduceFn);
+
+            right.fork();
+            final VncVal leftResult = left.compute();
+            final VncVal rightResult = right.join();
+
+            return bridged(() -> combineFn.apply(VncList.of(leftResult, rightResult)));
+        }
+    }
+
+    private VncVal reduceChunk() {
+        final VncVal init = combineFn.apply(VncList.empty());
+
+        final IVncFunction xf = xform == null
+                                    ? reduceFn
+                                    : Coerce.toIVncFunction(xform.apply(VncList.of((VncVal)reduceFn)));
+
+        final VncVal acc = Reducer.reduce(
+                                xf,
+                                init,
+                                seq.slice(start, end),
+                                ThreadContext.getMeterRegistry());
+
+        return xform == null
+                ? acc
+                : Reduced.unreduced(xf.apply(VncList.of(acc)));
+    }
+
+    private VncVal bridged(final Callable<VncVal> callable) {
+        try {
+            // The thread that started the fold may run tasks itself. It has
+            // its own context that must not be replaced nor removed.
+            return threadBridge.isSameAsCurrentThread()
+                    ? callable.call()
+                    : threadBridge.bridgeCallable(callable).call();
+        }
+        catch(RuntimeException ex) {
+            throw ex;
+        }
+        catch(Exception ex) {
+            throw new VncException("fold: failed to reduce a chunk", ex);
+        }
+    }
+
+
+    private static final long serialVersionUID = -1848883965231344442L;
+
+    private final ThreadBridge threadBridge;
+    private final VncSequence seq;
+    private final int start;
+    private final int end;
+    private final int chunkSize;
+    private final IVncFunction combineFn;
+    private final IVncFunction xform;
+    private final IVncFunction reduceFn;
+}
@@ -0,0 +1,182 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * A mailbox runs the tasks sent to it one at a time in the order they
+ * have been sent.
+ *
+ * <p>Every task is sent together with the executor it must run on. The
+ * mailbox is an intrusive multi-producer single-consumer queue. Senders
+ * enqueue with a single atomic swap and schedule the mailbox by setting
+ * its <i>scheduled</i> flag with a CAS. No locks are involved.
+ *
+ * <p>A scheduled mailbox drains up to <code>batchSize</code> consecutive
+ * tasks for the same executor in one turn, then yields the thread and
+ * reschedules itself if more tasks are pending. If the next task is bound
+ * to another executor the mailbox moves over to that executor.
+ *
+ * <p>If an executor rejects the mailbox (e.g. it has been shut down while
+ * tasks were pending) the pending tasks are run in the current thread.
+ */
+public class Mailbox {
+
+    public Mailbox() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    public Mailbox(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("A batch size must be greater than 0");
+        }
+
+        this.batchSize = batchSize;
+
+        final Node stub = new Node(null, null);
+        this.head = stub;
+        this.tail.set(stub);
+    }
+
+    /**
+     * Sends a task to the mailbox.
+     *
+     * @param executor the executor the task will run on
+     * @param task the task
+     */
+    public void send(final Executor executor, final Runnable task) {
+        if (executor == null) {
+            throw new IllegalArgumentException("An executor must not be null");
+        }
+        if (task == null) {
+            throw new IllegalArgumentException("A task must not be null");
+        }
+
+        // wait-free enqueue: swap the tail, then link the predecessor
+        final Node node = new Node(executor, task);
+        final Node prev = tail.getAndSet(node);
+        prev.next = node;
+
+        if (scheduled.compareAndSet(false, true)) {
+            // the mailbox may hold older tasks for another executor
+            final Node first = head.next;
+            dispatch(first == null ? executor : first.executor);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the mailbox has no pending tasks.
+     */
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+
+    private void dispatch(final Executor executor) {
+        try {
+            executor.execute(() -> drain(executor));
+        }
+        catch(RejectedExecutionException ex) {
+            drain(null);
+        }
+    }
+
+    /**
+     * Drains the mailbox. Runs in the consumer thread only, that is the
+     * thread that owns the <i>scheduled</i> flag.
+     *
+     * @param executor the executor that runs the drainer or
+     *                 <code>null</code> to drain all tasks in the
+     *                 current thread
+     */
+    private void drain(final Executor executor) {
+        int count = 0;
+        while(true) {
+            final Node next = head.next;
+            if (next == null) {
+                break;
+            }
+
+            if (executor != null && (next.executor != executor || count >= batchSize)) {
+                // hand over to the task's executor, the mailbox stays scheduled
+                dispatch(next.executor);
+                return;
+            }
+
+            // unlink before running, so the task's node can be collected
+            head = next;
+            final Runnable task = next.task;
+            next.task = null;
+            count++;
+
+            try {
+                task.run();
+            }
+            catch(RuntimeException ex) {
+                // tasks are supposed to handle their errors
+            }
+            catch(Error ex) {
+                release();
+                throw ex;
+            }
+        }
+
+        release();
+    }
+
+    private void release() {
+        scheduled.set(false);
+
+        // a sender may have enqueued a task after the mailbox has been
+        // seen empty and before the flag has been cleared
+        final Node next = head.next;
+        if (next != null && scheduled.compareAndSet(false, true)) {
+            dispatch(next.executor);
+        }
+    }
+
+
+    private static class Node {
+        public Node(final Executor executor, final Runnable task) {
+            this.executor = executor;
+            this.task = task;
+        }
+
+        private final Executor executor;
+        private Runnable task;
+        private volatile Node next;
+    }
+
+
+
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final int batchSize;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicReference<Node> tail = new AtomicReference<>();
+    private volatile Node head;  // written by the consumer only
+}
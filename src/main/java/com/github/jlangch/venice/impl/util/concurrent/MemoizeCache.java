@@ -0,0 +1,467 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import com.github.jlangch.venice.VncException;
+
+
+/**
+ * A thread safe cache for memoized functions.
+ *
+ * <p>The cache is optionally bounded by a maximum size. Beyond the maximum
+ * size entries are evicted by LRU or by frequency (the least frequently
+ * used entry among the least recently used ones). Entries optionally expire
+ * after write or after access.
+ *
+ * <p>A value is computed only once per key. Concurrent callers of a key that
+ * is being computed wait for the computation's result. Lookups of cached
+ * values do not block. The recency order is only updated if the order lock
+ * is not contended, so under heavy load the LRU order is approximate.
+ *
+ * <p>A computation that requests its own key again on the same thread is
+ * recomputed without caching. Waiting for another thread's computation can
+ * be interrupted, and a wait that would close a cycle of threads waiting on
+ * each other's keys fails with a {@link VncException} instead of
+ * deadlocking.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class MemoizeCache<K,V> {
+
+    /**
+     * Creates a cache
+     *
+     * @param maxSize the max number of entries, 0 for an unbounded cache
+     * @param eviction the eviction policy for bounded caches
+     * @param expireAfterWriteMillis an entry expires after this time after
+     *                               its creation, 0 for no expiry
+     * @param expireAfterAccessMillis an entry expires after this time after
+     *                                its last access, 0 for no expiry
+     */
+    public MemoizeCache(
+            final long maxSize,
+            final Eviction eviction,
+            final long expireAfterWriteMillis,
+            final long expireAfterAccessMillis
+    ) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The max size must not be negative!");
+        }
+        if (expireAfterWriteMillis < 0 || expireAfterAccessMillis < 0) {
+            throw new IllegalArgumentException("The expiry times must not be negative!");
+        }
+
+        this.maxSize = maxSize;
+        this.eviction = eviction == null ? Eviction.LRU : eviction;
+        this.expireAfterWriteNanos = expireAfterWriteMillis * 1_000_000L;
+        this.expireAfterAccessNanos = expireAfterAccessMillis * 1_000_000L;
+        this.timed = expireAfterWriteMillis > 0 || expireAfterAccessMillis > 0;
+    }
+
+    public static <K,V> MemoizeCache<K,V> unbounded() {
+        return new MemoizeCache<>(0L, Eviction.LRU, 0L, 0L);
+    }
+
+
+    /**
+     * Returns the cached value for the key or computes it.
+     *
+     * @param key a key
+     * @param compute the function that computes the value for a key
+     * @return the value
+     */
+    public V get(final K key, final Function<K,V> compute) {
+        while(true) {
+            final Node<K,V> node = map.get(key);
+            if (node != null) {
+                if (!node.isDone()) {
+                    if (node.owner == Thread.currentThread()) {
+                        // recursive computation of the same key
+                        return compute.apply(key);
+                    }
+                    hits.increment();
+                    return await(node);
+                }
+                else if (!isExpired(node, timed ? System.nanoTime() : 0L)) {
+                    hits.increment();
+                    touch(node);
+                    return node.value;
+                }
+                else {
+                    if (remove(node)) {
+                        expirations.increment();
+                    }
+                    continue;
+                }
+            }
+
+            final Node<K,V> created = new Node<>(key);
+            if (map.putIfAbsent(key, created) != null) {
+                continue;  // lost the race, use the other computation
+            }
+
+            misses.increment();
+
+            final V value;
+            try {
+                value = compute.apply(key);
+            }
+            catch(RuntimeException | Error ex) {
+                map.remove(key, created);
+                created.fail(ex);
+                throw ex;
+            }
+
+            created.complete(value, timed ? System.nanoTime() : 0L);
+            link(created);
+            return value;
+        }
+    }
+
+    /**
+     * @return the number of cached entries (including the entries being
+     *         computed)
+     */
+    public int size() {
+        return map.size();
+    }
+
+    public void clear() {
+        orderLock.lock();
+        try {
+            map.clear();
+            head = null;
+            tail = null;
+        }
+        finally {
+            orderLock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(
+                    hits.sum(),
+                    misses.sum(),
+                    evictions.sum(),
+                    expirations.sum(),
+                    map.size());
+    }
+
+
+    private V await(final Node<K,V> node) {
+        final Thread self = Thread.currentThread();
+
+        // register before checking, so one of two racing threads sees the cycle
+        waiting.put(self, node);
+        try {
+            if (isWaitCycle(node, self)) {
+                throw new VncException(String.format(
+                        "Cyclic memoized computation of the key %s across threads!",
+                        node.key));
+            }
+
+            return node.future.get();
+        }
+        catch(InterruptedException ex) {
+            throw new com.github.jlangch.venice.InterruptedException(
+                        "interrupted while waiting for a memoized value",
+                        ex);
+        }
+        catch(ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new VncException("Failed memoized computation", cause);
+        }
+        finally {
+            waiting.remove(self);
+        }
+    }
+
+    private boolean isWaitCycle(final Node<K,V> node, final Thread self) {
+        // follow the chain: node's owner waits for a node whose owner waits...
+        Node<K,V> n = node;
+        for(int ii=0; ii<=waiting.size(); ii++) {
+            final Thread owner = n.owner;  // cleared when the node completes
+            if (owner == null) {
+                return false;
+            }
+            if (owner == self) {
+                return true;
+            }
+            n = waiting.get(owner);
+            if (n == null) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean isExpired(final Node<K,V> node, final long now) {
+        if (timed) {
+            if (expireAfterWriteNanos > 0 && now - node.writeNanos >= expireAfterWriteNanos) {
+                return true;
+            }
+            if (expireAfterAccessNanos > 0 && now - node.accessNanos >= expireAfterAccessNanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void touch(final Node<K,V> node) {
+        if (expireAfterAccessNanos > 0) {
+            node.accessNanos = System.nanoTime();
+        }
+
+        if (maxSize > 0 && eviction == Eviction.LFU) {
+            node.frequency++;  // racy, an approximate count suffices
+        }
+
+        if (maxSize > 0 || expireAfterAccessNanos > 0) {
+            // keep the lookups non blocking, skip reordering if contended
+            if (orderLock.tryLock()) {
+                try {
+                    if (node.linked) {
+                        unlinkNode(node);
+                        linkNodeAtTail(node);
+                    }
+                }
+                finally {
+                    orderLock.unlock();
+                }
+            }
+        }
+    }
+
+    private void link(final Node<K,V> node) {
+        if (maxSize == 0 && !timed) {
+            return;  // unbounded, no order needed
+        }
+
+        orderLock.lock();
+        try {
+            if (map.get(node.key) != node) {
+                return;  // cleared or removed meanwhile
+            }
+
+            linkNodeAtTail(node);
+
+            // drop expired entries from the LRU end
+            if (timed) {
+                final long now = System.nanoTime();
+                while(head != null && head != node && isExpired(head, now)) {
+                    final Node<K,V> h = head;
+                    unlinkNode(h);
+                    if (map.remove(h.key, h)) {
+                        expirations.increment();
+                    }
+                }
+            }
+
+            if (maxSize > 0) {
+                while(map.size() > maxSize && head != null && head != node) {
+                    final Node<K,V> victim = selectVictim(node);
+                    unlinkNode(victim);
+                    if (map.remove(victim.key, victim)) {
+                        evictions.increment();
+                    }
+                }
+            }
+        }
+        finally {
+            orderLock.unlock();
+        }
+    }
+
+    private Node<K,V> selectVictim(final Node<K,V> newest) {
+        if (eviction == Eviction.LRU) {
+            return head;
+        }
+        else {
+            // the least frequently used among the least recently used entries
+            Node<K,V> victim = head;
+            Node<K,V> n = head.next;
+            for(int ii=1; ii<LFU_SAMPLE_SIZE && n != null && n != newest; ii++) {
+                if (n.frequency < victim.frequency) {
+                    victim = n;
+                }
+                n = n.next;
+            }
+            return victim;
+        }
+    }
+
+    private boolean remove(final Node<K,V> node) {
+        final boolean removed = map.remove(node.key, node);
+        if (node.linked) {
+            orderLock.lock();
+            try {
+                if (node.linked) {
+                    unlinkNode(node);
+                }
+            }
+            finally {
+                orderLock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    // guarded by orderLock
+    private void linkNodeAtTail(final Node<K,V> node) {
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        }
+        else {
+            tail.next = node;
+        }
+        tail = node;
+        node.linked = true;
+    }
+
+    // guarded by orderLock
+    private void unlinkNode(final Node<K,V> node) {
+        if (node.prev == null) {
+            head = node.next;
+        }
+        else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        }
+        else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        node.linked = false;
+    }
+
+
+    public static enum Eviction { LRU, LFU };
+
+    public static class Stats {
+        public Stats(
+                final long hits,
+                final long misses,
+                final long evictions,
+                final long expirations,
+                final long size
+        ) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.size = size;
+        }
+
+        public double getHitRate() {
+            final long total = hits + misses;
+            return total == 0L ? 0.0D : (double)hits / (double)total;
+        }
+
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long expirations;
+        public final long size;
+    }
+
+    private static class Node<K,V> {
+        public Node(final K key) {
+            this.key = key;
+            this.owner = Thread.currentThread();
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        public void complete(final V value, final long nanos) {
+            this.value = value;
+            this.writeNanos = nanos;
+            this.accessNanos = nanos;
+            this.owner = null;
+            this.done = true;
+            future.complete(value);
+        }
+
+        public void fail(final Throwable ex) {
+            this.owner = null;
+            future.completeExceptionally(ex);
+        }
+
+        private final K key;
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile Thread owner;
+        private volatile boolean done;
+        private V value;         // published by 'done'
+        private long writeNanos; // published by 'done'
+        private volatile long accessNanos;
+        private volatile int frequency;
+
+        // guarded by orderLock
+        private Node<K,V> prev;
+        private Node<K,V> next;
+        private volatile boolean linked;
+    }
+
+
+    private static final int LFU_SAMPLE_SIZE = 8;
+
+    private final long maxSize;
+    private final Eviction eviction;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final boolean timed;
+
+    private final Map<K,Node<K,V>> map = new ConcurrentHashMap<>();
+
+    // the nodes the threads are waiting for
+    private final Map<Thread,Node<K,V>> waiting = new ConcurrentHashMap<>();
+
+    private final ReentrantLock orderLock = new ReentrantLock();
+    private Node<K,V> head;  // least recently used, guarded by orderLock
+    private Node<K,V> tail;  // most recently used, guarded by orderLock
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+}
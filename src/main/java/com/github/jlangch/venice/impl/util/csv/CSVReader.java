@@ -21,20 +21,30 @@
  */
 package com.github.jlangch.venice.impl.util.csv;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.NoSuchElementException;
 
 import com.github.jlangch.venice.VncException;
 
 
+/**
+ * A streaming CSV reader.
+ *
+ * <p>The reader is a hand written state machine that reads the CSV data
+ * character by character. Quoted fields may contain separators, escaped
+ * quotes (two consecutive quotes) and line breaks.
+ *
+ * <p>Empty unquoted fields are returned as <code>null</code>, empty quoted
+ * fields as an empty string.
+ */
 public class CSVReader {
 
     public CSVReader() {
@@ -42,11 +52,8 @@ public class CSVReader {
     }
 
     public CSVReader(final char separator, final char quote) {
-        this.separator = String.valueOf(separator);
-        this.quote = String.valueOf(quote);
-
-        this.doubleQuotes = this.quote + this.quote;
-        this.matcher = Pattern.compile(makeRegex()).matcher("");
+        this.separator = separator;
+        this.quote = quote;
     }
 
     public List<List<String>> parse(final String csv) {
@@ -65,72 +72,170 @@ public class CSVReader {
     public List<List<String>> parse(final Reader reader) {
         final List<List<String>> records = new ArrayList<>();
 
-        try(BufferedReader br = new BufferedReader(reader)) {
-            String l = br.readLine();
-            while(l != null) {
-                final List<String> items = split(l);
-                final List<String> parsedItems = new ArrayList<>();
-                int ii = 0;
-                while(ii<items.size()) {
-                    final String v = items.get(ii);
-                    if (v.equals(separator)) {
-                        parsedItems.add(null);
-                        ii += 1;
-                    }
-                    else {
-                        parsedItems.add(unquote(v));
-                        ii += 2;
-                    }
-                }
-
-                records.add(parsedItems);
-                l = br.readLine();
+        try(Reader rd = reader) {
+            final Iterator<List<String>> iter = iterator(rd);
+            while(iter.hasNext()) {
+                records.add(iter.next());
             }
             return records;
         }
+        catch(VncException ex) {
+            throw ex;
+        }
         catch(Exception ex) {
             throw new VncException("Failed to parse CSV", ex);
         }
     }
 
-    public List<String> split(final String line) {
-        matcher.reset(line);
+    /**
+     * Returns an iterator that parses the records lazily from the reader.
+     * The iterator does not close the reader.
+     *
+     * @param reader a reader
+     * @return the record iterator
+     */
+    public Iterator<List<String>> iterator(final Reader reader) {
+        return new RecordIterator(reader);
+    }
 
-        final List<String> items = new ArrayList<>();
 
-        while (matcher.find()) {
-            items.add(unquote(matcher.group()));
+    private static enum State { FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED };
+
+    private class RecordIterator implements Iterator<List<String>> {
+
+        public RecordIterator(final Reader reader) {
+            this.reader = reader;
         }
 
-        return items;
-    }
+        @Override
+        public boolean hasNext() {
+            if (nextRecord == null && !eof) {
+                try {
+                    nextRecord = readRecord();
+                }
+                catch(IOException ex) {
+                    throw new VncException("Failed to parse CSV", ex);
+                }
+            }
+            return nextRecord != null;
+        }
+
+        @Override
+        public List<String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final List<String> record = nextRecord;
+            nextRecord = null;
+            return record;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int ch = read();
+            if (ch < 0) {
+                eof = true;
+                return null;
+            }
+
+            final List<String> record = new ArrayList<>();
+            State state = State.FIELD_START;
+
+            while(true) {
+                if (state == State.QUOTED) {
+                    if (ch < 0) {
+                        throw new VncException(String.format(
+                                "Failed to parse CSV. Unterminated quoted field in record %d",
+                                recordNr + 1));
+                    }
+                    else if (ch == quote) {
+                        state = State.QUOTE_IN_QUOTED;
+                    }
+                    else {
+                        field.append((char)ch);
+                    }
+                }
+                else if (ch < 0 || ch == '\n' || ch == '\r') {
+                    if (ch == '\r') {
+                        final int next = read();
+                        if (next != '\n' && next >= 0) {
+                            pushback = next;
+                        }
+                    }
+
+                    // an empty unquoted field at the end of a record is skipped
+                    if (quoted || field.length() > 0) {
+                        addField(record);
+                    }
 
-    private String unquote(final String item) {
-        if (item.startsWith(quote) && item.endsWith(quote)) {
-            return item.substring(1, item.length()-1)
-                       .replace(doubleQuotes, quote);
+                    recordNr++;
+                    return record;
+                }
+                else if (ch == separator) {
+                    addField(record);
+                    state = State.FIELD_START;
+                }
+                else if (state == State.FIELD_START) {
+                    if (ch == quote) {
+                        quoted = true;
+                        state = State.QUOTED;
+                    }
+                    else {
+                        field.append((char)ch);
+                        state = State.UNQUOTED;
+                    }
+                }
+                else if (state == State.QUOTE_IN_QUOTED) {
+                    field.append((char)ch);
+                    state = ch == quote ? State.QUOTED : State.UNQUOTED;
+                }
+                else {
+                    field.append((char)ch);
+                }
+
+                ch = read();
+            }
         }
-        else {
-            return item;
+
+        private void addField(final List<String> record) {
+            record.add(quoted || field.length() > 0 ? field.toString() : null);
+            field.setLength(0);
+            quoted = false;
         }
-    }
 
-    private String makeRegex() {
-        return String.format(
-                "[%s]|[^%s%s]+|[%s](?:[^%s]|[%s][%s])*[%s]",
-                separator,
-                separator,
-                quote,
-                quote,
-                quote,
-                quote,
-                quote,
-                quote);
+        private int read() throws IOException {
+            if (pushback >= 0) {
+                final int ch = pushback;
+                pushback = -1;
+                return ch;
+            }
+
+            if (pos >= len) {
+                len = reader.read(buf, 0, buf.length);
+                pos = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+
+            return buf[pos++];
+        }
+
+
+        private final Reader reader;
+        private final char[] buf = new char[8192];
+        private final StringBuilder field = new StringBuilder();
+        private int pos = 0;
+        private int len = 0;
+        private int pushback = -1;
+        private boolean quoted = false;
+        private boolean eof = false;
+        private long recordNr = 0;
+        private List<String> nextRecord = null;
     }
 
 
-    private final String separator;
-    private final String quote;
-    private final String doubleQuotes;
-    private final Matcher matcher;
+    private final char separator;
+    private final char quote;
 }
@@ -25,18 +25,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 
+/**
+ * Immutable, index-based directed acyclic graph.
+ *
+ * <p>The nodes are stored in insertion order and the relations as index
+ * arrays. Roots and the topological order are computed once when the DAG
+ * is built. Adding nodes or edges returns a new DAG and leaves this DAG
+ * untouched. Use a {@link DagBuilder} to build large graphs, it adds edges
+ * incrementally without rebuilding the graph for every edge.
+ */
 public class DAG<T> {
 
     /**
@@ -52,52 +55,62 @@ public class DAG<T> {
      * </pre>
      */
     public DAG() {
+        this(new ArrayList<>(), new HashMap<>(), new int[0][], new int[0][], new long[0]);
     }
 
-    private DAG(
-            final Map<T, Node<T>> nodes,
-            final Set<Edge<Node<T>>> edges
+    DAG(
+            final List<T> values,
+            final Map<T,Integer> index,
+            final int[][] children,
+            final int[][] parents,
+            final long[] edges
     ) {
-        this.nodes.putAll(nodes);
-        this.edges.addAll(edges);
-
-        update();
+        this.values = values;
+        this.index = index;
+        this.children = children;
+        this.parents = parents;
+        this.edges = edges;
+        this.roots = findRoots(parents);
+        this.order = sort(roots, children, parents);
     }
 
+
     public DAG<T> addNode(final T value) {
         if (value == null) {
             throw new IllegalArgumentException("A node value must not be null");
         }
 
-        getNodeOrCreate(value);
-
-        return new DAG<>(nodes, edges);
+        return isNode(value) ? this : toBuilder().addNode(value).build();
     }
 
     public DAG<T> addNodes(final List<T> values) {
-        if (values != null) {
-            for(T v : values) {
-                getNodeOrCreate(v);
-            }
-        }
-
-        return new DAG<>(nodes, edges);
+        return values == null || values.isEmpty()
+                ? this
+                : toBuilder().addNodes(values).build();
     }
 
     public DAG<T> addEdge(final T parent, final T child) {
-        addEdgeInternal(parent, child);
+        if (parent == null) {
+            throw new IllegalArgumentException("A parent must not be null");
+        }
+        if (child == null) {
+            throw new IllegalArgumentException("A child must not be null");
+        }
 
-        return new DAG<>(nodes, edges);
+        return isEdge(parent, child) ? this : toBuilder().addEdge(parent, child).build();
     }
 
     public DAG<T> addEdges(final List<Edge<T>> edges) {
-        if (edges != null) {
-            for(Edge<T> e : edges) {
-                addEdgeInternal(e.getParent(), e.getChild());
-            }
-        }
+        return edges == null || edges.isEmpty()
+                ? this
+                : toBuilder().addEdges(edges).build();
+    }
 
-        return new DAG<>(nodes, this.edges);
+    /**
+     * @return a builder initialized with the nodes and edges of this DAG
+     */
+    public DagBuilder<T> toBuilder() {
+        return new DagBuilder<>(values, children, parents, edges, order);
     }
 
     public Node<T> getNode(final T value) {
@@ -105,163 +118,119 @@ public class DAG<T> {
             throw new IllegalArgumentException("A node value must not be null");
         }
 
-        return nodes.get(value);
+        final Integer idx = index.get(value);
+        return idx == null ? null : nodes().get(idx);
     }
 
     public Collection<Node<T>> getNodes() {
-        return Collections.unmodifiableCollection(nodes.values());
+        return Collections.unmodifiableCollection(nodes());
     }
 
     public List<Edge<Node<T>>> getEdges() {
-        return Collections.unmodifiableList(
-                new ArrayList<>(edges));
+        final List<Node<T>> nodes = nodes();
+        final List<Edge<Node<T>>> list = new ArrayList<>(edges.length);
+        for(long e : edges) {
+            list.add(new Edge<>(nodes.get(edgeParent(e)), nodes.get(edgeChild(e))));
+        }
+        return Collections.unmodifiableList(list);
     }
 
     public Collection<T> getValues() {
-        return Collections.unmodifiableCollection(
-                nodes.values()
-                     .stream()
-                     .map(n -> n.getValue())
-                     .collect(Collectors.toList()));
+        return Collections.unmodifiableCollection(values);
     }
 
     public int size() {
-        return nodes.size();
+        return values.size();
     }
 
     public boolean isEmpty() {
-        return nodes.isEmpty();
+        return values.isEmpty();
     }
 
     public Node<T> node(final T value) {
-        if (value == null) {
-            throw new IllegalArgumentException("A node value must not be null");
-        }
-
-        return nodes.get(value);
+        return getNode(value);
     }
 
     public List<T> children(final T value) {
-        if (value == null) {
-            throw new IllegalArgumentException("A node value must not be null");
-        }
-
-        final Node<T> node = nodes.get(value);
-        if (node == null) {
-            throw new NoSuchElementException("Node not found: " + value);
-        }
-
-        final Set<Node<T>> children = new LinkedHashSet<>();
-        final List<Node<T>> toVisit = new LinkedList<>(node.getChildren());
-
-        while(!toVisit.isEmpty()) {
-            final Node<T> n = toVisit.remove(0);
-            if (!children.contains(n)) {
-                children.add(n);
-                toVisit.addAll(n.getChildren());
-            }
-        }
-
-        return Node.toValues(children);
+        return toValues(traverse(indexOf(value), children));
     }
 
     public List<T> directChildren(final T value) {
-        if (value == null) {
-            throw new IllegalArgumentException("A node value must not be null");
-        }
-
-        final Node<T> node = nodes.get(value);
-        if (node == null) {
-            throw new NoSuchElementException("Node not found: " + value);
-        }
-
-        return Node.toValues(node.getChildren());
+        return toValues(children[indexOf(value)]);
     }
 
     public List<T> parents(final T value) {
-        if (value == null) {
-            throw new IllegalArgumentException("A node value must not be null");
-        }
-
-        final Node<T> node = nodes.get(value);
-        if (node == null) {
-            throw new NoSuchElementException("Node not found: " + value);
-        }
-
-        final Set<Node<T>> parents = new LinkedHashSet<>();
-        final List<Node<T>> toVisit = new LinkedList<>(node.getParents());
-
-        while(!toVisit.isEmpty()) {
-            final Node<T> n = toVisit.remove(0);
-            if (!parents.contains(n)) {
-                parents.add(n);
-                toVisit.addAll(n.getParents());
-            }
-        }
-
-        return Node.toValues(parents);
+        return toValues(traverse(indexOf(value), parents));
     }
 
     public List<T> directParents(final T value) {
-        if (value == null) {
-            throw new IllegalArgumentException("A node value must not be null");
-        }
-
-        final Node<T> node = nodes.get(value);
-        if (node == null) {
-            throw new NoSuchElementException("Node not found: " + value);
-        }
-        return Node.toValues(node.getParents());
+        return toValues(parents[indexOf(value)]);
     }
 
     public List<T> roots() {
-        return Node.toValues(roots);
+        return toValues(roots);
     }
 
     /**
      * Topological Sort using Kahn's algorithm.
      *
-     * @return the sorted values
+     * <p>The order is computed once when the DAG is built.
      *
-     * @throws DagCycleException if cycle is found
+     * @return the sorted values
      */
     public List<T> topologicalSort() throws DagCycleException {
-        return new TopologicalSort<T>(edges, getIsolatedNodes()).sort();
+        if (isEmpty()) {
+            throw new RuntimeException("The graph is empty!");
+        }
+
+        return toValues(order);
     }
 
     public boolean isParentOf(final T parent, final T value)  {
-        return parents(value).contains(parent);
+        final int idx = indexOf(value);
+        final Integer p = index.get(parent);
+        return p != null && contains(traverse(idx, parents), p);
     }
 
     public boolean isChildOf(final T child, final T value)  {
-        return children(value).contains(child);
+        final int idx = indexOf(value);
+        final Integer c = index.get(child);
+        return c != null && contains(traverse(idx, children), c);
     }
 
     public boolean isNode(final T value)  {
-        return nodes.containsKey(value);
+        return index.containsKey(value);
     }
 
     public boolean isEdge(final T parent, final T child)  {
-        return edges.contains(new Edge<Node<T>>(new Node<T>(parent), new Node<T>(child)));
+        final Integer p = index.get(parent);
+        final Integer c = index.get(child);
+        return p != null && c != null && contains(children[p], c);
     }
 
     @Override
     public String toString() {
-        return String.format("DAG{nodes=%d}", nodes.size());
+        return String.format("DAG{nodes=%d}", values.size());
     }
 
     public List<Node<T>> getIsolatedNodes() {
         // nodes without parent and children
-        return nodes.values()
-                    .stream()
-                    .filter(n -> n.isWithoutRelations())
-                    .collect(Collectors.toList());
+        final List<Node<T>> nodes = nodes();
+        final List<Node<T>> isolated = new ArrayList<>();
+        for(int ii=0; ii<nodes.size(); ii++) {
+            if (parents[ii].length == 0 && children[ii].length == 0) {
+                isolated.add(nodes.get(ii));
+            }
+        }
+        return isolated;
     }
 
     public Comparator<T> comparator() {
-        final AtomicInteger idx = new AtomicInteger();
-        final Map<T,Integer> map = new ConcurrentHashMap<>();
-        topologicalSort().forEach(e -> map.put(e, idx.getAndIncrement()));
+        final Map<T,Integer> map = new HashMap<>();
+        final List<T> sorted = topologicalSort();
+        for(int ii=0; ii<sorted.size(); ii++) {
+            map.put(sorted.get(ii), ii);
+        }
 
         return new Comparator<T>() {
             @Override
@@ -273,72 +242,185 @@ public class DAG<T> {
     }
 
 
-    private Node<T> getNodeOrCreate(final T value) {
-        return nodes.computeIfAbsent(value, v -> new Node<>(v));
+    // package-private index based access used by the DagScheduler
+
+    int[] rootIndices() {
+        return roots;
     }
 
-    private void update() throws DagCycleException {
-        roots.clear();
-        findRoots();
-        checkForCycles();
+    int[] childIndices(final int idx) {
+        return children[idx];
     }
 
-    private void addEdgeInternal(final T parent, final T child) {
-        if (parent == null) {
-            throw new IllegalArgumentException("A parent must not be null");
+    int parentCount(final int idx) {
+        return parents[idx].length;
+    }
+
+    T valueAt(final int idx) {
+        return values.get(idx);
+    }
+
+
+    private int indexOf(final T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("A node value must not be null");
         }
-        if (child == null) {
-            throw new IllegalArgumentException("A child must not be null");
+
+        final Integer idx = index.get(value);
+        if (idx == null) {
+            throw new NoSuchElementException("Node not found: " + value);
         }
+        return idx;
+    }
+
+    private List<T> toValues(final int[] indices) {
+        final List<T> list = new ArrayList<>(indices.length);
+        for(int idx : indices) {
+            list.add(values.get(idx));
+        }
+        return list;
+    }
 
-        final Node<T> parentNode = getNodeOrCreate(parent);
-        final Node<T> childNode = getNodeOrCreate(child);
+    private int[] traverse(final int start, final int[][] relations) {
+        // breadth first, the nodes are returned in the order they are reached
+        final boolean[] visited = new boolean[values.size()];
+        final int[] found = new int[values.size()];
+        int count = 0;
 
-        final Edge<Node<T>> edge = new Edge<>(parentNode, childNode);
-        if (!edges.contains(edge)) {
-            parentNode.addChild(childNode);
-            edges.add(edge);
+        final IntQueue toVisit = new IntQueue();
+        toVisit.addAll(relations[start]);
+        while(!toVisit.isEmpty()) {
+            final int n = toVisit.poll();
+            if (!visited[n]) {
+                visited[n] = true;
+                found[count++] = n;
+                toVisit.addAll(relations[n]);
+            }
         }
+
+        final int[] result = new int[count];
+        System.arraycopy(found, 0, result, 0, count);
+        return result;
     }
 
-    private void findRoots() {
-        for (Node<T> n : nodes.values()) {
-            if (n.getParents().isEmpty()) {
-                roots.add(n);
+    private List<Node<T>> nodes() {
+        List<Node<T>> nodes = nodeCache;
+        if (nodes == null) {
+            // materialize the node objects lazily, most queries work on
+            // the index arrays
+            nodes = new ArrayList<>(values.size());
+            for(T v : values) {
+                nodes.add(new Node<>(v));
             }
+            for(long e : edges) {
+                nodes.get(edgeParent(e)).link(nodes.get(edgeChild(e)));
+            }
+            nodeCache = nodes;
+        }
+        return nodes;
+    }
+
+    private static boolean contains(final int[] indices, final int idx) {
+        for(int ii : indices) {
+            if (ii == idx) return true;
         }
+        return false;
     }
 
-    private void checkForCycles() throws DagCycleException {
-        if (roots.isEmpty() && nodes.size() > 1) {
-            throw new DagCycleException("No childless node found to be selected as root!");
+    private static int[] findRoots(final int[][] parents) {
+        int count = 0;
+        for(int[] p : parents) {
+            if (p.length == 0) count++;
         }
 
-        final List<Node<T>> cycleCrawlerPath = new ArrayList<>();
-        for (Node<T> n : roots) {
-            checkForCycles(n, cycleCrawlerPath);
+        final int[] roots = new int[count];
+        int r = 0;
+        for(int ii=0; ii<parents.length; ii++) {
+            if (parents[ii].length == 0) roots[r++] = ii;
         }
+        return roots;
     }
 
-    private void checkForCycles(final Node<T> n, final List<Node<T>> path) {
-        if (path.contains(n)) {
-            path.add(n);
-            throw new DagCycleException(
-                        getPath(path.subList(path.indexOf(n), path.size())));
+    private static int[] sort(
+            final int[] roots,
+            final int[][] children,
+            final int[][] parents
+    ) {
+        // Kahn's algorithm with a stack
+        final int size = parents.length;
+        final int[] indegree = new int[size];
+        for(int ii=0; ii<size; ii++) {
+            indegree[ii] = parents[ii].length;
+        }
+
+        final int[] stack = new int[size];
+        int top = 0;
+        for(int r : roots) {
+            stack[top++] = r;
         }
-        path.add(n);
-        n.getParents().forEach(node -> checkForCycles(node, path));
-        path.remove(path.size() - 1);
+
+        final int[] sorted = new int[size];
+        int count = 0;
+        while(top > 0) {
+            final int n = stack[--top];
+            sorted[count++] = n;
+            for(int c : children[n]) {
+                if (--indegree[c] == 0) {
+                    stack[top++] = c;
+                }
+            }
+        }
+
+        if (count != size) {
+            // the DagBuilder rejects cycles, just a safety net
+            throw new DagCycleException("The graph has at least one cycle!");
+        }
+
+        return sorted;
+    }
+
+    private static int edgeParent(final long edge) {
+        return (int)(edge >>> 32);
     }
 
-    private String getPath(final List<Node<T>> path) {
-        return path.stream()
-                   .map(n -> String.valueOf(n.getValue()))
-                   .collect(Collectors.joining(" -> "));
+    private static int edgeChild(final long edge) {
+        return (int)edge;
+    }
+
+
+    private static final class IntQueue {
+        void addAll(final int[] values) {
+            if (tail + values.length > data.length) {
+                final int[] d = new int[Math.max(data.length * 2, tail - head + values.length)];
+                System.arraycopy(data, head, d, 0, tail - head);
+                tail -= head;
+                head = 0;
+                data = d;
+            }
+            System.arraycopy(values, 0, data, tail, values.length);
+            tail += values.length;
+        }
+
+        int poll() {
+            return data[head++];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        private int[] data = new int[16];
+        private int head;
+        private int tail;
     }
 
 
-    private final Map<T, Node<T>> nodes = new LinkedHashMap<>();
-    private final List<Node<T>> roots = new ArrayList<>();
-    private final Set<Edge<Node<T>>> edges = new LinkedHashSet<>();
+    private final List<T> values;
+    private final Map<T,Integer> index;
+    private final int[][] children;
+    private final int[][] parents;
+    private final long[] edges;  // (parent << 32 | child) in insertion order
+    private final int[] roots;
+    private final int[] order;   // topological order
+    private volatile List<Node<T>> nodeCache;
 }
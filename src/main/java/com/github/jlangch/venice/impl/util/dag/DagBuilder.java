@@ -0,0 +1,536 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.dag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Incremental builder for a {@link DAG}.
+ *
+ * <p>The builder maintains a topological order of its nodes while edges are
+ * added (Pearce-Kelly dynamic topological sort). An edge that agrees with the
+ * current order is added in O(1). Otherwise only the nodes between the two
+ * edge nodes in the current order are visited to check for a cycle and to
+ * repair the order.
+ *
+ * <pre>
+ * DAG&lt;String&gt; dag = new DagBuilder&lt;String&gt;()
+ *                         .addEdge("A", "B")
+ *                         .addEdge("B", "C")
+ *                         .build();
+ * </pre>
+ *
+ * <p>A builder is not thread-safe.
+ */
+public class DagBuilder<T> {
+
+    public DagBuilder() {
+    }
+
+    DagBuilder(
+            final List<T> values,
+            final int[][] children,
+            final int[][] parents,
+            final long[] edges,
+            final int[] order
+    ) {
+        for(int ii=0; ii<values.size(); ii++) {
+            final T v = values.get(ii);
+            index.put(v, ii);
+            this.values.add(v);
+            this.children.add(new IntArray(children[ii]));
+            this.parents.add(new IntArray(parents[ii]));
+        }
+
+        ord.ensureSize(values.size());
+        for(int ii=0; ii<order.length; ii++) {
+            ord.data[order[ii]] = ii;
+        }
+        nextBack = order.length;
+
+        for(long e : edges) {
+            this.edges.add(e);
+            edgeSet.add(e);
+        }
+    }
+
+
+    public DagBuilder<T> addNode(final T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("A node value must not be null");
+        }
+
+        getNodeOrCreate(value, false);
+        return this;
+    }
+
+    public DagBuilder<T> addNodes(final Collection<T> values) {
+        if (values != null) {
+            for(T v : values) {
+                addNode(v);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds an edge.
+     *
+     * @param parent the parent value
+     * @param child the child value
+     * @return this builder
+     * @throws DagCycleException if the edge would create a cycle. The
+     *         builder is left unchanged in this case.
+     */
+    public DagBuilder<T> addEdge(final T parent, final T child) throws DagCycleException {
+        if (parent == null) {
+            throw new IllegalArgumentException("A parent must not be null");
+        }
+        if (child == null) {
+            throw new IllegalArgumentException("A child must not be null");
+        }
+
+        final Integer p = index.get(parent);
+        final Integer c = index.get(child);
+
+        if (p != null && c != null) {
+            if (edgeSet.contains(edge(p, c))) {
+                return this;
+            }
+            if (p.intValue() == c.intValue()) {
+                throw new DagCycleException(parent + " -> " + child);
+            }
+            if (ord.data[p] > ord.data[c]) {
+                // the edge disagrees with the current order
+                reorder(p, c);
+            }
+            link(p, c);
+        }
+        else if (parent.equals(child)) {
+            throw new DagCycleException(parent + " -> " + child);
+        }
+        else {
+            // A new node has no relations yet, the edge cannot close a cycle.
+            // A new parent goes to the front and a new child to the end of
+            // the order, so the edge agrees with the order.
+            link(getNodeOrCreate(parent, true), getNodeOrCreate(child, false));
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a batch of edges.
+     *
+     * <p>A small batch is added edge by edge. A large batch is linked first
+     * and the order is then recomputed with a single pass over the graph,
+     * so the cost is bounded by O(nodes + edges) for the whole batch.
+     *
+     * @param edges the edges
+     * @return this builder
+     * @throws DagCycleException if the edges would create a cycle. The
+     *         builder is left unchanged in this case.
+     */
+    public DagBuilder<T> addEdges(final List<Edge<T>> edges) throws DagCycleException {
+        if (edges == null || edges.isEmpty()) {
+            return this;
+        }
+
+        if (edges.size() * BATCH_RATIO < values.size() + this.edges.size) {
+            final int nodeCount = values.size();
+            final int edgeCount = this.edges.size;
+            try {
+                for(Edge<T> e : edges) {
+                    addEdge(e.getParent(), e.getChild());
+                }
+            }
+            catch(RuntimeException ex) {
+                // an incremental reorder keeps the order valid for the
+                // remaining nodes and edges
+                rollback(nodeCount, edgeCount);
+                throw ex;
+            }
+        }
+        else {
+            addEdgesBatch(edges);
+        }
+
+        return this;
+    }
+
+    public boolean isNode(final T value) {
+        return index.containsKey(value);
+    }
+
+    public boolean isEdge(final T parent, final T child) {
+        final Integer p = index.get(parent);
+        final Integer c = index.get(child);
+        return p != null && c != null && edgeSet.contains(edge(p, c));
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Builds an immutable DAG from the current state of the builder. The
+     * builder can still be used afterwards.
+     *
+     * @return the DAG
+     */
+    public DAG<T> build() {
+        final int size = values.size();
+        final int[][] c = new int[size][];
+        final int[][] p = new int[size][];
+        for(int ii=0; ii<size; ii++) {
+            c[ii] = children.get(ii).toArray();
+            p[ii] = parents.get(ii).toArray();
+        }
+
+        return new DAG<>(new ArrayList<>(values), new HashMap<>(index), c, p, edges.toArray());
+    }
+
+
+    private int getNodeOrCreate(final T value, final boolean front) {
+        final Integer idx = index.get(value);
+        if (idx != null) {
+            return idx;
+        }
+
+        final int n = values.size();
+        index.put(value, n);
+        values.add(value);
+        children.add(new IntArray());
+        parents.add(new IntArray());
+        ord.add(front ? nextFront-- : nextBack++);
+        return n;
+    }
+
+    private void addEdgesBatch(final List<Edge<T>> edges) {
+        final int nodeCount = values.size();
+        final int edgeCount = this.edges.size;
+        final int[] ordSnapshot = ord.toArray();
+        final int front = nextFront;
+        final int back = nextBack;
+
+        try {
+            for(Edge<T> e : edges) {
+                final T parent = e.getParent();
+                final T child = e.getChild();
+                if (parent == null) {
+                    throw new IllegalArgumentException("A parent must not be null");
+                }
+                if (child == null) {
+                    throw new IllegalArgumentException("A child must not be null");
+                }
+                if (parent.equals(child)) {
+                    throw new DagCycleException(parent + " -> " + child);
+                }
+
+                final int p = getNodeOrCreate(parent, true);
+                final int c = getNodeOrCreate(child, false);
+                if (!edgeSet.contains(edge(p, c))) {
+                    link(p, c);
+                }
+            }
+
+            recomputeOrder();
+        }
+        catch(RuntimeException ex) {
+            rollback(nodeCount, edgeCount);
+            System.arraycopy(ordSnapshot, 0, ord.data, 0, nodeCount);
+            nextFront = front;
+            nextBack = back;
+            throw ex;
+        }
+    }
+
+    private void recomputeOrder() {
+        // Kahn's algorithm over the whole graph
+        final int size = values.size();
+        final int[] indegree = new int[size];
+        final int[] stack = new int[size];
+        int top = 0;
+        for(int ii=0; ii<size; ii++) {
+            indegree[ii] = parents.get(ii).size;
+            if (indegree[ii] == 0) {
+                stack[top++] = ii;
+            }
+        }
+
+        final int[] newOrd = new int[size];
+        int count = 0;
+        while(top > 0) {
+            final int n = stack[--top];
+            newOrd[n] = count++;
+            final IntArray ch = children.get(n);
+            for(int ii=0; ii<ch.size; ii++) {
+                if (--indegree[ch.data[ii]] == 0) {
+                    stack[top++] = ch.data[ii];
+                }
+            }
+        }
+
+        if (count < size) {
+            throw new DagCycleException(findCycle(indegree));
+        }
+
+        System.arraycopy(newOrd, 0, ord.data, 0, size);
+        nextFront = -1;
+        nextBack = size;
+    }
+
+    private String findCycle(final int[] indegree) {
+        // Every node left over by Kahn's algorithm has a left over parent.
+        // Walking up the parents must therefore end in a cycle.
+        int n = 0;
+        while(indegree[n] == 0) n++;
+
+        final Map<Integer,Integer> seen = new HashMap<>();
+        final List<Integer> walk = new ArrayList<>();
+        while(!seen.containsKey(n)) {
+            seen.put(n, walk.size());
+            walk.add(n);
+
+            final IntArray pa = parents.get(n);
+            for(int ii=0; ii<pa.size; ii++) {
+                if (indegree[pa.data[ii]] > 0) {
+                    n = pa.data[ii];
+                    break;
+                }
+            }
+        }
+
+        // the walk goes from child to parent, the path from parent to child
+        final List<String> path = new ArrayList<>();
+        for(int ii=walk.size()-1; ii>=seen.get(n); ii--) {
+            path.add(String.valueOf(values.get(walk.get(ii))));
+        }
+        path.add(String.valueOf(values.get(walk.get(walk.size()-1))));
+        return String.join(" -> ", path);
+    }
+
+    private void rollback(final int nodeCount, final int edgeCount) {
+        // edges and nodes are appended, undo them in reverse order
+        for(int ii=edges.size-1; ii>=edgeCount; ii--) {
+            final long e = edges.data[ii];
+            edgeSet.remove(e);
+            children.get((int)(e >>> 32)).size--;
+            parents.get((int)e).size--;
+        }
+        edges.size = edgeCount;
+
+        for(int ii=values.size()-1; ii>=nodeCount; ii--) {
+            index.remove(values.remove(ii));
+            children.remove(ii);
+            parents.remove(ii);
+        }
+
+        ord.size = nodeCount;
+    }
+
+    private void link(final int parent, final int child) {
+        children.get(parent).add(child);
+        parents.get(child).add(parent);
+
+        final long e = edge(parent, child);
+        edges.add(e);
+        edgeSet.add(e);
+    }
+
+    private void reorder(final int parent, final int child) {
+        final int lb = ord.data[child];
+        final int ub = ord.data[parent];
+
+        ensureScratch();
+
+        // forward search from the child, limited to nodes ordered before
+        // the parent. Reaching the parent closes a cycle.
+        final IntArray deltaF = new IntArray();
+        final int markF = ++epoch;
+        final IntArray stack = new IntArray();
+        stack.add(child);
+        mark[child] = markF;
+        pred[child] = -1;
+        while(stack.size > 0) {
+            final int n = stack.data[--stack.size];
+            deltaF.add(n);
+            final IntArray ch = children.get(n);
+            for(int ii=0; ii<ch.size; ii++) {
+                final int w = ch.data[ii];
+                if (w == parent) {
+                    pred[w] = n;
+                    throw new DagCycleException(cyclePath(parent, child));
+                }
+                if (mark[w] != markF && ord.data[w] < ub) {
+                    mark[w] = markF;
+                    pred[w] = n;
+                    stack.add(w);
+                }
+            }
+        }
+
+        // backward search from the parent, limited to nodes ordered after
+        // the child
+        final IntArray deltaB = new IntArray();
+        final int markB = ++epoch;
+        stack.add(parent);
+        mark[parent] = markB;
+        while(stack.size > 0) {
+            final int n = stack.data[--stack.size];
+            deltaB.add(n);
+            final IntArray pa = parents.get(n);
+            for(int ii=0; ii<pa.size; ii++) {
+                final int w = pa.data[ii];
+                if (mark[w] != markB && ord.data[w] > lb) {
+                    mark[w] = markB;
+                    stack.add(w);
+                }
+            }
+        }
+
+        // reassign the affected order slots: the parent's ancestors first,
+        // then the child's descendants, each keeping their relative order
+        final int[] b = sortByOrder(deltaB);
+        final int[] f = sortByOrder(deltaF);
+        final int[] slots = new int[b.length + f.length];
+        for(int ii=0; ii<b.length; ii++) slots[ii] = ord.data[b[ii]];
+        for(int ii=0; ii<f.length; ii++) slots[b.length + ii] = ord.data[f[ii]];
+        Arrays.sort(slots);
+
+        int s = 0;
+        for(int n : b) ord.data[n] = slots[s++];
+        for(int n : f) ord.data[n] = slots[s++];
+    }
+
+    private int[] sortByOrder(final IntArray nodes) {
+        final long[] keyed = new long[nodes.size];
+        for(int ii=0; ii<nodes.size; ii++) {
+            keyed[ii] = ((long)ord.data[nodes.data[ii]] << 32) | nodes.data[ii];
+        }
+        Arrays.sort(keyed);
+
+        final int[] sorted = new int[keyed.length];
+        for(int ii=0; ii<keyed.length; ii++) {
+            sorted[ii] = (int)keyed[ii];
+        }
+        return sorted;
+    }
+
+    private String cyclePath(final int parent, final int child) {
+        // walk back from the parent to the child along the search tree
+        final List<String> path = new ArrayList<>();
+        for(int n=parent; n != -1; n=pred[n]) {
+            path.add(0, String.valueOf(values.get(n)));
+        }
+        path.add(0, String.valueOf(values.get(parent)));
+        return String.join(" -> ", path);
+    }
+
+    private void ensureScratch() {
+        final int size = values.size();
+        if (mark.length < size) {
+            final int capacity = Math.max(size, mark.length * 2);
+            mark = Arrays.copyOf(mark, capacity);
+            pred = new int[capacity];
+        }
+    }
+
+    private static long edge(final int parent, final int child) {
+        return ((long)parent << 32) | (child & 0xFFFFFFFFL);
+    }
+
+
+    private static final class IntArray {
+        IntArray() {
+            this.data = new int[4];
+        }
+
+        IntArray(final int[] values) {
+            this.data = Arrays.copyOf(values, Math.max(4, values.length));
+            this.size = values.length;
+        }
+
+        void add(final int v) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = v;
+        }
+
+        void ensureSize(final int n) {
+            if (data.length < n) {
+                data = Arrays.copyOf(data, n);
+            }
+            size = Math.max(size, n);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        int[] data;
+        int size;
+    }
+
+    private static final class LongArray {
+        void add(final long v) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = v;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        long[] data = new long[16];
+        int size;
+    }
+
+
+    // batches with at least (nodes + edges) / BATCH_RATIO edges are added
+    // with a single order recomputation
+    private static final int BATCH_RATIO = 16;
+
+    private final Map<T,Integer> index = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+    private final List<IntArray> children = new ArrayList<>();
+    private final List<IntArray> parents = new ArrayList<>();
+    private final LongArray edges = new LongArray();
+    private final Set<Long> edgeSet = new HashSet<>();
+    private final IntArray ord = new IntArray();  // node -> position in topological order
+    private int nextFront = -1;
+    private int nextBack = 0;
+    private int[] mark = new int[0];
+    private int[] pred = new int[0];
+    private int epoch;
+}
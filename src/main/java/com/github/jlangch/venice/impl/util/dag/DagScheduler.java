@@ -0,0 +1,148 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.dag;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+
+/**
+ * Runs a task for every node of a DAG on an executor.
+ *
+ * <p>A node's task is started as soon as the tasks of all its parents have
+ * completed. At most <i>parallelism</i> tasks are running at the same time.
+ * The scheduling is driven by the calling thread, it submits the ready
+ * tasks and waits for their completion.
+ *
+ * <p>If a task fails, the running tasks are cancelled, no further tasks are
+ * started, and the failure is thrown.
+ */
+public class DagScheduler<T,R> {
+
+    public DagScheduler(
+            final DAG<T> dag,
+            final ExecutorService executor,
+            final int parallelism
+    ) {
+        if (dag == null) {
+            throw new IllegalArgumentException("A dag must not be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("An executor must not be null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be greater than 0");
+        }
+
+        this.dag = dag;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+
+    /**
+     * Executes the task for every node.
+     *
+     * <p>The task wrapper maps a node's callable before it is submitted. It
+     * can be used to run the callable with an inherited thread context.
+     *
+     * @param task the task, called with the node's value
+     * @param taskWrapper maps the callable of a node before submitting it
+     * @return the task results mapped by node value, in completion order.
+     *         A node always completes after its parents.
+     * @throws ExecutionException if a task failed
+     * @throws InterruptedException if the calling thread was interrupted
+     */
+    public Map<T,R> execute(
+            final Function<T,R> task,
+            final Function<Callable<R>,Callable<R>> taskWrapper
+    ) throws ExecutionException, InterruptedException {
+        final int size = dag.size();
+
+        final CompletionService<R> completionService = new ExecutorCompletionService<>(executor);
+
+        final int[] pending = new int[size];  // parents not yet completed
+        for(int ii=0; ii<size; ii++) {
+            pending[ii] = dag.parentCount(ii);
+        }
+
+        final ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for(int r : dag.rootIndices()) {
+            ready.add(r);
+        }
+
+        final Map<Future<R>,Integer> inFlight = new HashMap<>();
+        final Map<T,R> results = new LinkedHashMap<>();
+
+        try {
+            while(true) {
+                while(inFlight.size() < parallelism && !ready.isEmpty()) {
+                    final int idx = ready.poll();
+                    final T value = dag.valueAt(idx);
+                    final Callable<R> callable = () -> task.apply(value);
+                    inFlight.put(completionService.submit(taskWrapper.apply(callable)), idx);
+                }
+
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+
+                final Future<R> done = completionService.take();
+                final int idx = inFlight.remove(done);
+
+                results.put(dag.valueAt(idx), done.get());
+
+                for(int c : dag.childIndices(idx)) {
+                    if (--pending[c] == 0) {
+                        ready.add(c);
+                    }
+                }
+            }
+
+            return results;
+        }
+        finally {
+            // cancel the tasks still running after a failure
+            inFlight.keySet().forEach(f -> f.cancel(true));
+        }
+    }
+
+    public Map<T,R> execute(
+            final Function<T,R> task
+    ) throws ExecutionException, InterruptedException {
+        return execute(task, Function.identity());
+    }
+
+
+    private final DAG<T> dag;
+    private final ExecutorService executor;
+    private final int parallelism;
+}
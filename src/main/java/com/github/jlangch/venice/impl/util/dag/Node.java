@@ -58,6 +58,18 @@ public class Node<T> {
         }
     }
 
+    /**
+     * Links a child without checking for existing relations. Used to
+     * materialize the nodes of a frozen DAG, where the relations are
+     * known to be unique and acyclic.
+     *
+     * @param child the child node
+     */
+    void link(final Node<T> child) {
+        children.add(child);
+        child.parents.add(this);
+    }
+
     public boolean isWithoutRelations() {
         return parents.isEmpty() && children.isEmpty();
     }
@@ -43,6 +43,7 @@ import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFColor;
 import org.apache.poi.xssf.usermodel.XSSFFont;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -57,6 +58,11 @@ import com.github.jlangch.venice.impl.util.MimeTypes;
  * Excel file formats. When opening an excel file the format (xls, xlsx) will
  * be detected automatically.
  *
+ * <p>A streaming xlsx Excel (SXSSF) keeps a sliding window of rows in memory
+ * and flushes older rows to a temporary file. The memory use stays flat
+ * regardless of the number of rows, but rows that have been flushed cannot
+ * be read or modified anymore.
+ *
  * <p>The following cell formats are pre-registered and can be changed any
  * time:
  * <ul>
@@ -116,6 +122,20 @@ public class Excel implements Closeable {
         return new Excel(new XSSFWorkbook());
     }
 
+    public static Excel createXlsxStreaming() {
+        return createXlsxStreaming(SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+    }
+
+    public static Excel createXlsxStreaming(final int rowAccessWindowSize) {
+        if (rowAccessWindowSize < 1) {
+            throw new IllegalArgumentException(
+                    "A 'rowAccessWindowSize' must be a positive number");
+        }
+
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(null, rowAccessWindowSize, true);
+        return new Excel(workbook);
+    }
+
     public static Excel open(final byte[] document) {
         return open(new ByteArrayInputStream(document));
     }
@@ -320,6 +340,11 @@ public class Excel implements Closeable {
         catch(Exception ex) {
             // silently close
         }
+
+        if (workbook instanceof SXSSFWorkbook) {
+            // remove the temporary files backing the flushed rows
+            ((SXSSFWorkbook)workbook).dispose();
+        }
     }
 
     public String makeFilename(final String name) {
@@ -333,7 +358,11 @@ public class Excel implements Closeable {
     }
 
     public boolean isXlsx() {
-        return workbook instanceof XSSFWorkbook;
+        return workbook instanceof XSSFWorkbook || workbook instanceof SXSSFWorkbook;
+    }
+
+    public boolean isStreaming() {
+        return workbook instanceof SXSSFWorkbook;
     }
 
 
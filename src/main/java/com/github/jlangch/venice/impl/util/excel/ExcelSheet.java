@@ -38,6 +38,7 @@ import org.apache.poi.ss.usermodel.Row.MissingCellPolicy;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
@@ -354,11 +355,48 @@ public class ExcelSheet {
         sheet.setDisplayZeros(value);
     }
 
+    /**
+     * Tracks the column widths of a streaming sheet for auto sizing. The
+     * widths must be tracked before the rows get flushed, so this must be
+     * called before writing the rows. Tracking measures every cell written,
+     * thus it is enabled only if the sheet's columns are auto sized.
+     *
+     * <p>Has no effect on non streaming sheets.
+     */
+    public void trackColumnsForAutoSizing() {
+        if (sheet instanceof SXSSFSheet) {
+            ((SXSSFSheet)sheet).trackAllColumnsForAutoSizing();
+        }
+    }
+
     public void autoSizeColumn(final int col) {
+        if (sheet instanceof SXSSFSheet) {
+            // untracked columns are sized by the rows not yet flushed
+            final SXSSFSheet sxssfSheet = (SXSSFSheet)sheet;
+            if (!sxssfSheet.isColumnTrackedForAutoSizing(col)) {
+                sxssfSheet.trackColumnForAutoSizing(col);
+            }
+        }
+
         sheet.autoSizeColumn(col);
     }
 
     public void autoSizeColumns() {
+        if (sheet instanceof SXSSFSheet) {
+            // the first row may have been flushed already
+            int lastCol = 0;
+            for(Integer col : ((SXSSFSheet)sheet).getTrackedColumnsForAutoSizing()) {
+                lastCol = Math.max(lastCol, col + 1);
+            }
+            for(Row row : sheet) {
+                lastCol = Math.max(lastCol, row.getLastCellNum());
+            }
+            for(int col = 0; col<lastCol; col++) {
+                autoSizeColumn(col);
+            }
+            return;
+        }
+
         final int firstRow = sheet.getFirstRowNum();
         if (firstRow >= 0) {
             final Row row = sheet.getRow(firstRow);
@@ -435,7 +473,18 @@ public class ExcelSheet {
 
     private Row getRowCreate(final int row) {
         final Row r = sheet.getRow(row);
-        return (r != null) ? r :sheet.createRow(row);
+        if (r != null) {
+            return r;
+        }
+        else if (sheet instanceof SXSSFSheet && row <= ((SXSSFSheet)sheet).getLastFlushedRowNum()) {
+            throw new ExcelException(String.format(
+                    "The Excel row %d has already been flushed to disk by the " +
+                    "streaming Excel and cannot be modified anymore",
+                    row));
+        }
+        else {
+            return sheet.createRow(row);
+        }
     }
 
     private String coalesce(final String s1, final String s2) {
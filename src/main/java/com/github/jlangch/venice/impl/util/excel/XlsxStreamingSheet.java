@@ -0,0 +1,320 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.excel;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import com.github.jlangch.venice.ExcelException;
+import com.github.jlangch.venice.impl.util.TimeUtil;
+
+
+/**
+ * A streaming xlsx Excel sheet.
+ *
+ * <p>The sheet's XML is pulled row by row. Only the current row is held in
+ * memory. The cell values are mapped to:
+ * <ul>
+ *   <li>string cells -&gt; String</li>
+ *   <li>boolean cells -&gt; Boolean</li>
+ *   <li>numeric cells -&gt; Double</li>
+ *   <li>numeric cells with a date format -&gt; LocalDateTime</li>
+ *   <li>error cells -&gt; String (the error code, e.g. "#DIV/0!")</li>
+ *   <li>formula cells -&gt; the cached formula result</li>
+ *   <li>blank or missing cells -&gt; null</li>
+ * </ul>
+ *
+ * @author juerg
+ */
+public class XlsxStreamingSheet implements Closeable {
+
+    XlsxStreamingSheet(
+            final String name,
+            final InputStream is,
+            final ReadOnlySharedStringsTable strings,
+            final StylesTable styles
+    ) {
+        this.name = name;
+        this.is = is;
+        this.strings = strings;
+        this.styles = styles;
+
+        try {
+            this.xml = XML_INPUT_FACTORY.createXMLStreamReader(is);
+        }
+        catch(Exception ex) {
+            close();
+            throw new ExcelException(String.format(
+                    "Failed to open the Excel sheet '%s'", name), ex);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Advances to the next row of the sheet. Rows without any cells
+     * that are not present in the sheet's XML are skipped.
+     *
+     * @return <code>true</code> if there is a next row else <code>false</code>
+     */
+    public boolean next() {
+        if (closed) {
+            return false;
+        }
+
+        try {
+            while(xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT
+                        && "row".equals(xml.getLocalName())
+                ) {
+                    final String r = xml.getAttributeValue(null, "r");
+                    rowNum = r == null ? rowNum + 1 : Integer.parseInt(r) - 1;
+                    readRow();
+                    return true;
+                }
+            }
+
+            close();
+            return false;
+        }
+        catch(ExcelException ex) {
+            close();
+            throw ex;
+        }
+        catch(Exception ex) {
+            close();
+            throw new ExcelException(String.format(
+                    "Failed to read the Excel sheet '%s'", name), ex);
+        }
+    }
+
+    /**
+     * @return the zero based row number of the current row
+     */
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * @return the cell values of the current row. The list index is the
+     *         zero based column number.
+     */
+    public List<Object> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+
+            try {
+                if (xml != null) {
+                    xml.close();
+                }
+            }
+            catch(Exception ex) {
+                // silently close
+            }
+
+            try {
+                is.close();
+            }
+            catch(Exception ex) {
+                // silently close
+            }
+        }
+    }
+
+
+    private void readRow() throws XMLStreamException {
+        values = new ArrayList<>();
+
+        int col = -1;
+        while(xml.hasNext()) {
+            final int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                final String ref = xml.getAttributeValue(null, "r");
+                col = ref == null ? col + 1 : columnIndex(ref);
+
+                final Object value = readCell();
+                while(values.size() <= col) {
+                    values.add(null);
+                }
+                values.set(col, value);
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+        }
+    }
+
+    private Object readCell() throws XMLStreamException {
+        final String type = xml.getAttributeValue(null, "t");
+        final String style = xml.getAttributeValue(null, "s");
+
+        String value = null;
+        String inlineText = null;
+
+        while(xml.hasNext()) {
+            final int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String elName = xml.getLocalName();
+                if ("v".equals(elName)) {
+                    value = xml.getElementText();
+                }
+                else if ("is".equals(elName)) {
+                    inlineText = readInlineString();
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+
+        if (type == null || "n".equals(type)) {
+            return value == null || value.isEmpty() ? null : toNumber(value, style);
+        }
+
+        switch(type) {
+            case "s":
+                return value == null
+                        ? null
+                        : strings.getItemAt(Integer.parseInt(value.trim())).getString();
+            case "inlineStr":
+                return inlineText;
+            case "str":
+            case "e":
+                return value;
+            case "b":
+                return value == null ? null : "1".equals(value.trim());
+            default:
+                return value;
+        }
+    }
+
+    private String readInlineString() throws XMLStreamException {
+        final StringBuilder sb = new StringBuilder();
+
+        // skip the phonetic runs <rPh><t>...</t></rPh>
+        int phoneticDepth = 0;
+
+        while(xml.hasNext()) {
+            final int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String elName = xml.getLocalName();
+                if ("rPh".equals(elName)) {
+                    phoneticDepth++;
+                }
+                else if ("t".equals(elName) && phoneticDepth == 0) {
+                    sb.append(xml.getElementText());
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                final String elName = xml.getLocalName();
+                if ("rPh".equals(elName)) {
+                    phoneticDepth--;
+                }
+                else if ("is".equals(elName)) {
+                    break;
+                }
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private Object toNumber(final String value, final String style) {
+        final double d = Double.parseDouble(value.trim());
+
+        if (style != null && isDateStyle(Integer.parseInt(style)) && DateUtil.isValidExcelDate(d)) {
+            return TimeUtil.convertDateToLocalDateTime(DateUtil.getJavaDate(d));
+        }
+        else {
+            return d;
+        }
+    }
+
+    private boolean isDateStyle(final int styleIdx) {
+        Boolean isDate = dateStyles.get(styleIdx);
+        if (isDate == null) {
+            final XSSFCellStyle style = styles == null ? null : styles.getStyleAt(styleIdx);
+            isDate = style != null
+                        && style.getDataFormatString() != null
+                        && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            dateStyles.put(styleIdx, isDate);
+        }
+        return isDate;
+    }
+
+    private static int columnIndex(final String cellRef) {
+        // "AB12" -> 27
+        int col = 0;
+        for(int ii=0; ii<cellRef.length(); ii++) {
+            final char ch = cellRef.charAt(ii);
+            if (ch >= 'A' && ch <= 'Z') {
+                col = col * 26 + (ch - 'A' + 1);
+            }
+            else {
+                break;
+            }
+        }
+        return col - 1;
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private final String name;
+    private final InputStream is;
+    private final ReadOnlySharedStringsTable strings;
+    private final StylesTable styles;
+    private final Map<Integer,Boolean> dateStyles = new HashMap<>();
+    private XMLStreamReader xml;
+    private boolean closed = false;
+    private int rowNum = -1;
+    private List<Object> values = new ArrayList<>();
+}
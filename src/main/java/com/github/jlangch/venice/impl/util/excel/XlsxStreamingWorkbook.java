@@ -0,0 +1,175 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.excel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+
+import com.github.jlangch.venice.ExcelException;
+
+
+/**
+ * A streaming xlsx Excel reader.
+ *
+ * <p>In contrast to {@link Excel} the workbook is not loaded into a
+ * DOM. The sheets are parsed row by row from the xlsx package, only the
+ * shared strings and the cell styles are held in memory.
+ *
+ * @author juerg
+ */
+public class XlsxStreamingWorkbook implements Closeable {
+
+    private XlsxStreamingWorkbook(final OPCPackage pkg) {
+        try {
+            this.pkg = pkg;
+            this.reader = new XSSFReader(pkg);
+            this.strings = new ReadOnlySharedStringsTable(pkg);
+            this.styles = reader.getStylesTable();
+        }
+        catch(Exception ex) {
+            pkg.revert();
+            throw new ExcelException("Failed to open the xlsx Excel document", ex);
+        }
+    }
+
+    public static XlsxStreamingWorkbook open(final File file) {
+        try {
+            return new XlsxStreamingWorkbook(OPCPackage.open(file, PackageAccess.READ));
+        }
+        catch(ExcelException ex) {
+            throw ex;
+        }
+        catch(Exception ex) {
+            throw new ExcelException(String.format(
+                    "Failed to open the xlsx Excel file '%s'", file.getPath()), ex);
+        }
+    }
+
+    public static XlsxStreamingWorkbook open(final InputStream document) {
+        try {
+            return new XlsxStreamingWorkbook(OPCPackage.open(document));
+        }
+        catch(ExcelException ex) {
+            throw ex;
+        }
+        catch(Exception ex) {
+            throw new ExcelException(
+                    "Failed to open the xlsx Excel document from the input stream", ex);
+        }
+    }
+
+    public List<String> getSheetNames() {
+        final List<String> names = new ArrayList<>();
+
+        final XSSFReader.SheetIterator iter = sheetIterator();
+        while(iter.hasNext()) {
+            closeQuietly(iter.next());
+            names.add(iter.getSheetName());
+        }
+
+        return names;
+    }
+
+    public XlsxStreamingSheet getSheet(final String name) {
+        final XSSFReader.SheetIterator iter = sheetIterator();
+        while(iter.hasNext()) {
+            final InputStream is = iter.next();
+            if (iter.getSheetName().equals(name)) {
+                return openSheet(iter.getSheetName(), is);
+            }
+            closeQuietly(is);
+        }
+
+        throw new ExcelException(String.format(
+                "The Excel document does not have a sheet '%s'", name));
+    }
+
+    public XlsxStreamingSheet getSheetAt(final int sheetIdx) {
+        int idx = 0;
+
+        final XSSFReader.SheetIterator iter = sheetIterator();
+        while(iter.hasNext()) {
+            final InputStream is = iter.next();
+            if (idx++ == sheetIdx) {
+                return openSheet(iter.getSheetName(), is);
+            }
+            closeQuietly(is);
+        }
+
+        throw new ExcelException(String.format(
+                "The Excel document does not have a sheet with the index %d", sheetIdx));
+    }
+
+    @Override
+    public void close() {
+        final Iterator<XlsxStreamingSheet> iter = openSheets.iterator();
+        while(iter.hasNext()) {
+            iter.next().close();
+            iter.remove();
+        }
+
+        // the package is read-only, revert closes it without saving
+        pkg.revert();
+    }
+
+
+    private XlsxStreamingSheet openSheet(final String name, final InputStream is) {
+        final XlsxStreamingSheet sheet = new XlsxStreamingSheet(name, is, strings, styles);
+        openSheets.add(sheet);
+        return sheet;
+    }
+
+    private XSSFReader.SheetIterator sheetIterator() {
+        try {
+            return (XSSFReader.SheetIterator)reader.getSheetsData();
+        }
+        catch(Exception ex) {
+            throw new ExcelException("Failed to read the sheets of the xlsx Excel document", ex);
+        }
+    }
+
+    private static void closeQuietly(final InputStream is) {
+        try {
+            is.close();
+        }
+        catch(Exception ex) {
+            // silently close
+        }
+    }
+
+
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    private final ReadOnlySharedStringsTable strings;
+    private final StylesTable styles;
+    private final List<XlsxStreamingSheet> openSheets = new ArrayList<>();
+}
@@ -0,0 +1,526 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.io.zip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilenameFilter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import com.github.jlangch.venice.impl.threadpool.ThreadPoolUtil;
+import com.github.jlangch.venice.impl.util.io.IOStreamUtil;
+
+
+/**
+ * Zips files and directories deflating the file entries in parallel.
+ *
+ * <p>The files are deflated by worker threads into memory buffers while
+ * the entries are written to the output stream in their original order.
+ * Files larger than {@link #MAX_BUFFERED_SIZE} are deflated by the
+ * writing thread and streamed with a trailing data descriptor.
+ *
+ * <p>The writer does not support ZIP64. Sources that may exceed the
+ * classic zip limits are written sequentially with a
+ * {@link ZipOutputStream}.
+ */
+class ParallelZipper {
+
+    public ParallelZipper(
+            final FilenameFilter filter,
+            final Function<File,InputStream> mapper,
+            final PrintStream ps
+    ) {
+        this.filter = filter;
+        this.mapper = mapper;
+        this.ps = ps;
+    }
+
+    public void zip(
+            final List<File> sourceFileOrDirs,
+            final OutputStream os
+    ) throws IOException {
+        final List<Entry> entries = new ArrayList<>();
+        for(File f : sourceFileOrDirs) {
+            collect(f, f.getName(), entries);
+        }
+
+        if (!fitsWithoutZip64(entries)) {
+            zipSequential(entries, os);
+            return;
+        }
+
+        final int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        final int window = 2 * threads;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                                            threads,
+                                            ThreadPoolUtil.createCountedThreadFactory(
+                                                "venice-zip-pool", true));
+        try {
+            final CountingOutputStream out = new CountingOutputStream(os);
+            final List<Entry> written = new ArrayList<>();
+            final long dosTime = dosTime(LocalDateTime.now());
+
+            int submitted = 0;
+            for(int ii=0; ii<entries.size(); ii++) {
+                while (submitted < entries.size() && submitted <= ii + window) {
+                    submit(entries.get(submitted++), executor);
+                }
+
+                final Entry e = entries.get(ii);
+                e.dosTime = dosTime;
+                write(e, out);
+                written.add(e);
+            }
+
+            writeCentralDirectory(written, out);
+            out.flush();
+        }
+        finally {
+            executor.shutdownNow();
+            entries.forEach(e -> closeQuietly(e.mapped));
+        }
+    }
+
+    private void collect(
+            final File fileToZip,
+            final String fileName,
+            final List<Entry> entries
+    ) throws IOException {
+        final Path path = fileToZip.toPath();
+        if (Files.isHidden(path) || Files.isSymbolicLink(path)) {
+            return;
+        }
+        else if (fileToZip.isDirectory()) {
+            final String name = fileName.endsWith("/")
+                                    ? fileName
+                                    : fileName + "/";
+
+            entries.add(new Entry(name, fileToZip, true));
+
+            final File[] children = fileToZip.listFiles();
+            for (File childFile : children) {
+                collect(childFile, name + childFile.getName(), entries);
+            }
+        }
+        else if (fileToZip.isFile()) {
+            if (filter == null || filter.accept(fileToZip.getParentFile(), fileToZip.getName())) {
+                entries.add(new Entry(fileName, fileToZip, false));
+            }
+        }
+    }
+
+    private void submit(
+            final Entry e,
+            final ExecutorService executor
+    ) {
+        if (e.directory) {
+            return;
+        }
+
+        // the mapper is called on the caller's thread in the entry order
+        e.mapped = mapper == null ? null : mapper.apply(e.file);
+
+        if (e.mapped != null || e.file.length() <= MAX_BUFFERED_SIZE) {
+            e.deflated = executor.submit(() -> {
+                try (InputStream is = e.mapped != null ? e.mapped : new FileInputStream(e.file)) {
+                    return deflate(is);
+                }
+            });
+        }
+    }
+
+    private void write(
+            final Entry e,
+            final CountingOutputStream out
+    ) throws IOException {
+        e.offset = out.count;
+
+        if (e.directory) {
+            ps.println("  adding: " + e.name);
+
+            e.method = ZipEntry.STORED;
+            writeLocalHeader(e, out);
+        }
+        else {
+            ps.println("  adding: " + e.name + (e.mapped == null ? "" : "  (mapped)"));
+
+            e.method = ZipEntry.DEFLATED;
+
+            if (e.deflated != null) {
+                final Deflated d = await(e.deflated);
+                e.crc = d.crc;
+                e.size = d.size;
+                e.compressedSize = d.data.length;
+                writeLocalHeader(e, out);
+                out.write(d.data);
+            }
+            else {
+                // large file: stream it with a trailing data descriptor
+                e.flags |= FLAG_DATA_DESCRIPTOR;
+                writeLocalHeader(e, out);
+
+                final long start = out.count;
+                final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                try (InputStream is = new FileInputStream(e.file)) {
+                    final CRC32 crc = new CRC32();
+                    final DeflaterOutputStream dos = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+                    e.size = copy(is, dos, crc);
+                    dos.finish();
+                    e.crc = crc.getValue();
+                }
+                finally {
+                    deflater.end();
+                }
+                e.compressedSize = out.count - start;
+
+                checkZip32Limit(e.compressedSize);
+                checkZip32Limit(e.size);
+
+                writeInt(out, SIG_DATA_DESCRIPTOR);
+                writeInt(out, e.crc);
+                writeInt(out, e.compressedSize);
+                writeInt(out, e.size);
+            }
+        }
+    }
+
+    private void writeLocalHeader(
+            final Entry e,
+            final CountingOutputStream out
+    ) throws IOException {
+        checkZip32Limit(e.offset);
+
+        final boolean descriptor = (e.flags & FLAG_DATA_DESCRIPTOR) != 0;
+
+        writeInt(out, SIG_LOCAL_HEADER);
+        writeShort(out, e.version());
+        writeShort(out, e.flags);
+        writeShort(out, e.method);
+        writeInt(out, e.dosTime);
+        writeInt(out, descriptor ? 0 : e.crc);
+        writeInt(out, descriptor ? 0 : e.compressedSize);
+        writeInt(out, descriptor ? 0 : e.size);
+        writeShort(out, e.nameBytes.length);
+        writeShort(out, 0);
+        out.write(e.nameBytes);
+    }
+
+    private void writeCentralDirectory(
+            final List<Entry> entries,
+            final CountingOutputStream out
+    ) throws IOException {
+        final long start = out.count;
+        checkZip32Limit(start);
+
+        for(Entry e : entries) {
+            writeInt(out, SIG_CENTRAL_HEADER);
+            writeShort(out, VERSION_DEFLATED);  // version made by
+            writeShort(out, e.version());
+            writeShort(out, e.flags);
+            writeShort(out, e.method);
+            writeInt(out, e.dosTime);
+            writeInt(out, e.crc);
+            writeInt(out, e.compressedSize);
+            writeInt(out, e.size);
+            writeShort(out, e.nameBytes.length);
+            writeShort(out, 0);  // extra field length
+            writeShort(out, 0);  // comment length
+            writeShort(out, 0);  // disk number start
+            writeShort(out, 0);  // internal file attributes
+            writeInt(out, 0);    // external file attributes
+            writeInt(out, e.offset);
+            out.write(e.nameBytes);
+        }
+
+        final long size = out.count - start;
+        checkZip32Limit(out.count);
+
+        writeInt(out, SIG_END_OF_CENTRAL_DIR);
+        writeShort(out, 0);
+        writeShort(out, 0);
+        writeShort(out, entries.size());
+        writeShort(out, entries.size());
+        writeInt(out, size);
+        writeInt(out, start);
+        writeShort(out, 0);  // comment length
+    }
+
+    private void zipSequential(
+            final List<Entry> entries,
+            final OutputStream os
+    ) throws IOException {
+        final ZipOutputStream zipOut = new ZipOutputStream(os);
+
+        for(Entry e : entries) {
+            if (e.directory) {
+                ps.println("  adding: " + e.name);
+
+                final ZipEntry ze = new ZipEntry(e.name);
+                ze.setMethod(ZipEntry.STORED);
+                ze.setSize(0);
+                ze.setCrc(0);
+                zipOut.putNextEntry(ze);
+                zipOut.closeEntry();
+            }
+            else {
+                InputStream is = mapper == null ? null : mapper.apply(e.file);
+
+                ps.println("  adding: " + e.name + (is == null ? "" : "  (mapped)"));
+
+                is = is == null ? new FileInputStream(e.file) : is;
+
+                try (InputStream is_ = is) {
+                    final ZipEntry ze = new ZipEntry(e.name);
+                    ze.setMethod(ZipEntry.DEFLATED);
+                    zipOut.putNextEntry(ze);
+                    IOStreamUtil.copy(is_, zipOut);
+                    zipOut.closeEntry();
+                }
+            }
+        }
+
+        zipOut.finish();
+        zipOut.flush();
+    }
+
+    private static boolean fitsWithoutZip64(final List<Entry> entries) {
+        if (entries.size() >= 0xFFFF) {
+            return false;
+        }
+
+        // leave plenty of room for the headers and incompressible data
+        long total = 0L;
+        for(Entry e : entries) {
+            total += e.directory ? 0L : e.file.length();
+            if (total > ZIP32_SAFE_SIZE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Deflated deflate(final InputStream is) throws IOException {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final CRC32 crc = new CRC32();
+            final DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater, BUFFER_SIZE);
+            final long size = copy(is, dos, crc);
+            dos.finish();
+
+            checkZip32Limit(size);
+
+            return new Deflated(baos.toByteArray(), crc.getValue(), size);
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    private static long copy(
+            final InputStream is,
+            final OutputStream os,
+            final CRC32 crc
+    ) throws IOException {
+        final byte[] buf = new byte[BUFFER_SIZE];
+        long size = 0L;
+        int n;
+        while ((n = is.read(buf)) != -1) {
+            crc.update(buf, 0, n);
+            os.write(buf, 0, n);
+            size += n;
+        }
+        return size;
+    }
+
+    private static Deflated await(final Future<Deflated> future) throws IOException {
+        try {
+            return future.get();
+        }
+        catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while zipping");
+        }
+        catch(ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            else {
+                throw new IOException(cause.getMessage(), cause);
+            }
+        }
+    }
+
+    private static void checkZip32Limit(final long value) throws ZipException {
+        if (value > 0xFFFFFFFFL) {
+            throw new ZipException("The zip exceeds 4GB. ZIP64 is not supported by the parallel zipper!");
+        }
+    }
+
+    private static long dosTime(final LocalDateTime t) {
+        if (t.getYear() < 1980) {
+            return (1L << 21) | (1L << 16);  // 1980-01-01
+        }
+
+        return ((long)(t.getYear() - 1980) << 25)
+                | ((long)t.getMonthValue() << 21)
+                | ((long)t.getDayOfMonth() << 16)
+                | ((long)t.getHour() << 11)
+                | ((long)t.getMinute() << 5)
+                | ((long)t.getSecond() >> 1);
+    }
+
+    private static void writeShort(final OutputStream os, final int v) throws IOException {
+        os.write(v & 0xFF);
+        os.write((v >>> 8) & 0xFF);
+    }
+
+    private static void writeInt(final OutputStream os, final long v) throws IOException {
+        os.write((int)(v & 0xFF));
+        os.write((int)((v >>> 8) & 0xFF));
+        os.write((int)((v >>> 16) & 0xFF));
+        os.write((int)((v >>> 24) & 0xFF));
+    }
+
+    private static void closeQuietly(final InputStream is) {
+        if (is != null) {
+            try {
+                is.close();
+            }
+            catch(IOException ex) {
+                // ignore
+            }
+        }
+    }
+
+
+    private static class Entry {
+        public Entry(final String name, final File file, final boolean directory) {
+            this.name = name;
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.file = file;
+            this.directory = directory;
+            this.flags = nameBytes.length == name.length() ? 0 : FLAG_UTF8;
+        }
+
+        public int version() {
+            return method == ZipEntry.STORED ? VERSION_STORED : VERSION_DEFLATED;
+        }
+
+        public final String name;
+        public final byte[] nameBytes;
+        public final File file;
+        public final boolean directory;
+
+        public InputStream mapped;
+        public Future<Deflated> deflated;
+
+        public int flags;
+        public int method;
+        public long dosTime;
+        public long crc;
+        public long size;
+        public long compressedSize;
+        public long offset;
+    }
+
+    private static class Deflated {
+        public Deflated(final byte[] data, final long crc, final long size) {
+            this.data = data;
+            this.crc = crc;
+            this.size = size;
+        }
+
+        public final byte[] data;
+        public final long crc;
+        public final long size;
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        public CountingOutputStream(final OutputStream os) {
+            super(os);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        public long count;
+    }
+
+
+    public static final long MAX_BUFFERED_SIZE = 8L * 1024L * 1024L;
+
+    private static final long ZIP32_SAFE_SIZE = 0x7FFFFFFFL;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static final int SIG_LOCAL_HEADER = 0x04034b50;
+    private static final int SIG_CENTRAL_HEADER = 0x02014b50;
+    private static final int SIG_DATA_DESCRIPTOR = 0x08074b50;
+    private static final int SIG_END_OF_CENTRAL_DIR = 0x06054b50;
+
+    private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+    private static final int FLAG_UTF8 = 0x0800;
+
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+
+    private final FilenameFilter filter;
+    private final Function<File,InputStream> mapper;
+    private final PrintStream ps;
+}
@@ -26,6 +26,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
@@ -40,12 +41,14 @@ import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
@@ -57,6 +60,9 @@ import com.github.jlangch.venice.impl.util.io.IOStreamUtil;
  * A helper to compress/uncompress binary data blocks using the zip
  * inflater/deflater.
  *
+ * <p>Zips given as a file are accessed randomly through the zip's central
+ * directory. Only the requested entries are inflated.
+ *
  * <p> Use <pre>unzip -vl a.zip</pre> to list a zip
  */
 public class Zipper {
@@ -113,41 +119,62 @@ public class Zipper {
         }
 
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-                for (Map.Entry<String,Object> entry : entries.entrySet()) {
-                    final String entryName = normalizeAndValidateEntryName(entry.getKey());
+            zip(entries, baos);
+            return baos.toByteArray();
+        }
+        catch(IOException ex) {
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+    }
 
-                    if (entryName.endsWith("/")) {
-                        // directory
+    /**
+     * Zips the entries to an output stream. The entry data is streamed
+     * from files and input streams without buffering it in memory.
+     *
+     * <p>The output stream is flushed but not closed.
+     *
+     * @param entries the entries (byte[], File, or InputStream data)
+     * @param os the output stream
+     */
+    public static void zip(final Map<String, Object> entries, final OutputStream os) {
+        if (entries == null ) {
+            throw new IllegalArgumentException("An 'entries' map must not be null");
+        }
+        if (os == null) {
+            throw new IllegalArgumentException("An 'os' must not be null");
+        }
+
+        try {
+            final ZipOutputStream zos = new ZipOutputStream(os);
+
+            for (Map.Entry<String,Object> entry : entries.entrySet()) {
+                final String entryName = normalizeAndValidateEntryName(entry.getKey());
+
+                if (entryName.endsWith("/")) {
+                    // directory
+                    final ZipEntry e = new ZipEntry(entryName);
+                    e.setMethod(ZipEntry.STORED);
+                    e.setSize(0);
+                    e.setCrc(0);
+
+                    zos.putNextEntry(e);
+                    zos.closeEntry();
+                }
+                else {
+                    // file
+                    if (entry.getValue() != null) {
                         final ZipEntry e = new ZipEntry(entryName);
-                        e.setMethod(ZipEntry.STORED);
-                        e.setSize(0);
-                        e.setCrc(0);
+                        e.setMethod(ZipEntry.DEFLATED);
 
                         zos.putNextEntry(e);
+                        copyData(entry.getValue(), zos);
                         zos.closeEntry();
                     }
-                    else {
-                        // file
-                        if (entry.getValue() != null) {
-                            final byte[] entryBytes = slurpBytes(entry.getValue());
-
-                            final ZipEntry e = new ZipEntry(entryName);
-                            e.setMethod(ZipEntry.DEFLATED);
-
-                            zos.putNextEntry(e);
-                            zos.write(entryBytes);
-                            zos.closeEntry();
-                        }
-                    }
                 }
-
-                zos.finish();
-                zos.flush();
             }
 
-            baos.flush();
-            return baos.toByteArray();
+            zos.finish();
+            zos.flush();
         }
         catch(IOException ex) {
             throw new RuntimeException(ex.getMessage(), ex);
@@ -258,8 +285,17 @@ public class Zipper {
             throw new IllegalArgumentException("A 'entryName' must not be null or empty");
         }
 
-        try (FileInputStream is = new FileInputStream(zip)) {
-            return unzip(is, entryName);
+        final String name = normalizeAndValidateEntryName(entryName);
+
+        try (ZipFile zf = new ZipFile(zip)) {
+            final ZipEntry entry = getEntry(zf, name);
+            if (entry == null) {
+                return null; // ZIP entry not found
+            }
+
+            try (InputStream is = zf.getInputStream(entry)) {
+                return slurpBytes(is);
+            }
         }
         catch(IOException ex) {
             throw new RuntimeException(ex.getMessage(), ex);
@@ -296,13 +332,11 @@ public class Zipper {
                     break;
                 }
 
-                final byte[] data = slurpBytes(zis);
-
-                zis.closeEntry();
-
                 if (name.equals(entry.getName())) {
-                    return data;
+                    return slurpBytes(zis);
                 }
+
+                zis.closeEntry();
             }
 
             return null; // ZIP entry not found
@@ -317,8 +351,19 @@ public class Zipper {
             throw new IllegalArgumentException("A 'zip' must not be null");
         }
 
-        try (FileInputStream is = new FileInputStream(zip)) {
-            return unzipNthEntry(is, nth);
+        try (ZipFile zf = new ZipFile(zip)) {
+            if (nth < 0 || nth >= zf.size()) {
+                return null; // ZIP entry not found
+            }
+
+            final Enumeration<? extends ZipEntry> entries = zf.entries();
+            for(int ii=0; ii<nth; ii++) {
+                entries.nextElement();
+            }
+
+            try (InputStream is = zf.getInputStream(entries.nextElement())) {
+                return slurpBytes(is);
+            }
         }
         catch(IOException ex) {
             throw new RuntimeException(ex.getMessage(), ex);
@@ -352,10 +397,8 @@ public class Zipper {
                     break;
                 }
 
-                final byte[] data = slurpBytes(zis);
-
                 if (entryIdx == nth) {
-                    return data;
+                    return slurpBytes(zis);
                 }
 
                 zis.closeEntry();
@@ -377,9 +420,28 @@ public class Zipper {
             throw new IllegalArgumentException("A 'entryName' must not be null or empty");
         }
 
+        return unzipToStream(new ByteArrayInputStream(binary), entryName);
+    }
+
+    /**
+     * Returns an input stream to read the entry's data from. The stream
+     * inflates the data on the fly. Closing the returned stream closes
+     * the passed stream.
+     *
+     * @param inputStream the zip
+     * @param entryName the entry name
+     * @return the entry's stream or <code>null</code> if the zip has no
+     *         entry with the name
+     */
+    public static InputStream unzipToStream(final InputStream inputStream, final String entryName) {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("An 'inputStream' must not be null");
+        }
+
         final String name = normalizeAndValidateEntryName(entryName);
 
-        try(ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(binary))) {
+        final ZipInputStream zis = new ZipInputStream(inputStream);
+        try {
             while(true) {
                 final ZipEntry entry = zis.getNextEntry();
                 if (entry == null) {
@@ -390,9 +452,58 @@ public class Zipper {
                 }
                 zis.closeEntry();
             }
-            return null;
+
+            zis.close();
+            return null; // ZIP entry not found
+        }
+        catch(IOException ex) {
+            closeQuietly(zis);
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns an input stream to read the entry's data from. The entry is
+     * looked up in the zip's central directory and inflated on the fly.
+     * Closing the returned stream closes the zip file.
+     *
+     * @param zip the zip file
+     * @param entryName the entry name
+     * @return the entry's stream or <code>null</code> if the zip has no
+     *         entry with the name
+     */
+    public static InputStream unzipToStream(final File zip, final String entryName) {
+        if (zip == null) {
+            throw new IllegalArgumentException("A 'zip' must not be null");
+        }
+
+        final String name = normalizeAndValidateEntryName(entryName);
+
+        ZipFile zf = null;
+        try {
+            zf = new ZipFile(zip);
+
+            final ZipEntry entry = getEntry(zf, name);
+            if (entry == null) {
+                zf.close();
+                return null; // ZIP entry not found
+            }
+
+            final ZipFile zipFile = zf;
+            return new FilterInputStream(zf.getInputStream(entry)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    }
+                    finally {
+                        zipFile.close();
+                    }
+                }
+            };
         }
         catch(IOException ex) {
+            closeQuietly(zf);
             throw new RuntimeException(ex.getMessage(), ex);
         }
     }
@@ -435,8 +546,26 @@ public class Zipper {
             throw new IllegalArgumentException("A 'zip' must not be null");
         }
 
-        try (FileInputStream is = new FileInputStream(zip)) {
-            return unzipAll(is, matcher);
+        final Map<String, byte[]> files = new HashMap<String, byte[]>();
+
+        try (ZipFile zf = new ZipFile(zip)) {
+            final Enumeration<? extends ZipEntry> entries = zf.entries();
+            while(entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+
+                if (matcher == null) {
+                    files.put(
+                        entry.getName(),
+                        entry.isDirectory() ? null : slurpBytes(zf, entry));
+                }
+                else if (!entry.isDirectory()) {
+                    if (matcher.matches(new File(entry.getName()).toPath())) {
+                        files.put(entry.getName(), slurpBytes(zf, entry));
+                    }
+                }
+            }
+
+            return files;
         }
         catch(IOException ex) {
             throw new RuntimeException(ex.getMessage(), ex);
@@ -470,16 +599,14 @@ public class Zipper {
                     break;
                 }
 
-                final byte[] data = slurpBytes(zis);
-
                 if (matcher == null) {
                     files.put(
                         entry.getName(),
-                        entry.isDirectory() ? null : data);
+                        entry.isDirectory() ? null : slurpBytes(zis));
                 }
                 else if (!entry.isDirectory()) {
                     if (matcher.matches(new File(entry.getName()).toPath())) {
-                        files.put(entry.getName(), data);
+                        files.put(entry.getName(), slurpBytes(zis));
                     }
                 }
 
@@ -499,6 +626,17 @@ public class Zipper {
             final FilenameFilter filter,
             final Function<File,InputStream> mapper,
             final PrintStream ps
+    ) {
+        zipFileOrDir(zip, sourceFileOrDirs, filter, mapper, ps, false);
+    }
+
+    public static void zipFileOrDir(
+            final File zip,
+            final List<File> sourceFileOrDirs,
+            final FilenameFilter filter,
+            final Function<File,InputStream> mapper,
+            final PrintStream ps,
+            final boolean parallel
     ) {
         if (zip == null) {
             throw new IllegalArgumentException("A 'zip' must not be null");
@@ -508,7 +646,7 @@ public class Zipper {
         }
 
         try (FileOutputStream fos = new FileOutputStream(zip)) {
-            zipFileOrDir(fos, sourceFileOrDirs, filter, mapper, ps);
+            zipFileOrDir(fos, sourceFileOrDirs, filter, mapper, ps, parallel);
         }
         catch(IOException ex) {
             throw new RuntimeException(ex.getMessage(), ex);
@@ -521,6 +659,30 @@ public class Zipper {
             final FilenameFilter filter,
             final Function<File,InputStream> mapper,
             final PrintStream ps
+    ) {
+        zipFileOrDir(os, sourceFileOrDirs, filter, mapper, ps, false);
+    }
+
+    /**
+     * Zips files and directories recursively.
+     *
+     * <p>With <code>parallel</code> enabled the file entries are deflated
+     * concurrently on a thread pool while the entries are written in order.
+     *
+     * @param os the output stream. It is closed after writing the zip.
+     * @param sourceFileOrDirs the files and directories to zip
+     * @param filter an optional file filter
+     * @param mapper an optional file content mapper
+     * @param ps the print stream the added entries are reported to
+     * @param parallel if true deflate the file entries in parallel
+     */
+    public static void zipFileOrDir(
+            final OutputStream os,
+            final List<File> sourceFileOrDirs,
+            final FilenameFilter filter,
+            final Function<File,InputStream> mapper,
+            final PrintStream ps,
+            final boolean parallel
     ) {
         if (os == null) {
             throw new IllegalArgumentException("An 'os' must not be null");
@@ -529,6 +691,18 @@ public class Zipper {
             throw new IllegalArgumentException("A 'sourceFileOrDirs' must not be null or empty");
         }
 
+        if (parallel) {
+            try (OutputStream os_ = os) {
+                ps.println("Output:");
+
+                new ParallelZipper(filter, mapper, ps).zip(sourceFileOrDirs, os_);
+            }
+            catch(IOException ex) {
+                throw new RuntimeException(ex.getMessage(), ex);
+            }
+            return;
+        }
+
         try {
             try (ZipOutputStream zipOut = new ZipOutputStream(os)) {
                 ps.println("Output:");
@@ -566,8 +740,23 @@ public class Zipper {
             throw new IllegalArgumentException("A 'zip' must not be null");
         }
 
-        try (FileInputStream fis = new FileInputStream(zip)) {
-            return listZip(fis, printer);
+        final List<ZipEntryAttr> entryAttrs = new ArrayList<>();
+
+        try (ZipFile zf = new ZipFile(zip)) {
+            printer.start();
+
+            final Enumeration<? extends ZipEntry> entries = zf.entries();
+            while(entries.hasMoreElements()) {
+                final ZipEntryAttr entryAttr = toZipEntryAttr(entries.nextElement());
+
+                entryAttrs.add(entryAttr);
+
+                printer.print(entryAttr);
+            }
+
+            printer.end();
+
+            return entryAttrs;
         }
         catch (IOException ex) {
             throw new RuntimeException(ex.getMessage(), ex);
@@ -595,14 +784,7 @@ public class Zipper {
                 // close the entry first to get the entry's data available
                 zis.closeEntry();
 
-                final ZipEntryAttr entryAttr = new ZipEntryAttr(
-                                                        entry.getName(),
-                                                        entry.isDirectory(),
-                                                        entry.getMethod() == 0 ? "Stored" : "Defl:N",
-                                                        entry.isDirectory() ? 0 : entry.getSize(),
-                                                        entry.isDirectory() ? 0 : entry.getCompressedSize(),
-                                                        entry.getLastModifiedTime(),
-                                                        entry.getCrc());
+                final ZipEntryAttr entryAttr = toZipEntryAttr(entry);
 
                 entryAttrs.add(entryAttr);
 
@@ -742,8 +924,14 @@ public class Zipper {
             throw new IllegalArgumentException("A 'zip' must not be null");
         }
 
-        try(InputStream is = new FileInputStream(zip)) {
-            return listZipEntryNames(is);
+        final List<String> entries = new ArrayList<>();
+
+        try(ZipFile zf = new ZipFile(zip)) {
+            final Enumeration<? extends ZipEntry> e = zf.entries();
+            while(e.hasMoreElements()) {
+                entries.add(e.nextElement().getName());
+            }
+            return entries;
         }
         catch(IOException ex) {
             throw new RuntimeException(ex.getMessage(), ex);
@@ -837,6 +1025,23 @@ public class Zipper {
         }
     }
 
+    private static ZipEntry getEntry(final ZipFile zf, final String name) {
+        // ZipFile::getEntry falls back to a directory entry "name/"
+        final ZipEntry entry = zf.getEntry(name);
+        return entry == null || !name.equals(entry.getName()) ? null : entry;
+    }
+
+    private static ZipEntryAttr toZipEntryAttr(final ZipEntry entry) {
+        return new ZipEntryAttr(
+                    entry.getName(),
+                    entry.isDirectory(),
+                    entry.getMethod() == 0 ? "Stored" : "Defl:N",
+                    entry.isDirectory() ? 0 : entry.getSize(),
+                    entry.isDirectory() ? 0 : entry.getCompressedSize(),
+                    entry.getLastModifiedTime(),
+                    entry.getCrc());
+    }
+
     private static File newFile(File destinationDir, ZipEntry zipEntry) throws IOException {
         final File destFile = new File(destinationDir, zipEntry.getName());
 
@@ -888,6 +1093,41 @@ public class Zipper {
     }
 
 
+    private static byte[] slurpBytes(final ZipFile zf, final ZipEntry entry) throws IOException {
+        try (InputStream is = zf.getInputStream(entry)) {
+            return slurpBytes(is);
+        }
+    }
+
+    private static void copyData(final Object source, final OutputStream os) throws IOException {
+        if (source instanceof byte[]) {
+            os.write((byte[])source);
+        }
+        else if (source instanceof InputStream) {
+            IOStreamUtil.copy((InputStream)source, os);
+        }
+        else if (source instanceof File) {
+            try (FileInputStream fis = new FileInputStream((File)source)) {
+                IOStreamUtil.copy(fis, os);
+            }
+        }
+        else {
+            throw new IllegalArgumentException(
+                    "Only entry values of type byte[], File or InputStream are supported!");
+        }
+    }
+
+    private static void closeQuietly(final AutoCloseable c) {
+        if (c != null) {
+            try {
+                c.close();
+            }
+            catch(Exception ex) {
+                // ignore
+            }
+        }
+    }
+
     private static void deletePath(Path p) {
         try {
             Files.delete(p);
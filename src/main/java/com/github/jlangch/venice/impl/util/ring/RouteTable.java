@@ -0,0 +1,369 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.ring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * A compiled route table for the Ring module.
+ *
+ * <p>The routes are partitioned by their HTTP verb. Every partition is a
+ * tree with one level per URI path segment. Literal segments are looked up
+ * in a hash map, so routing a request costs O(path length) for literal
+ * routes. Wildcard and parameter segments are matched segment by segment.
+ *
+ * <p>Route templates:
+ * <ul>
+ *   <li>filter templates: "/**", "/static/images/*.png", "/static/**&#47;*.png"
+ *       <br>"*" matches one or more chars except '/', "**" matches any
+ *       number of path segments</li>
+ *   <li>parameter templates (contain a ':'): "/users/:id/playlists/:pid"
+ *       <br>a parameter matches one or more chars [0-9a-zA-Z_]</li>
+ * </ul>
+ *
+ * <p>If multiple routes match a request URI, the route with the longest
+ * template wins. If they have the same length the route added last wins.
+ *
+ * <p>Templates with a "**" that is not a full path segment (e.g. "/a/b**")
+ * are matched with a regex against the full URI.
+ *
+ * <p>The routes must be added before the table is shared with the threads
+ * that match the requests.
+ */
+public class RouteTable {
+
+    public RouteTable() {
+    }
+
+
+    /**
+     * Add a route
+     *
+     * @param verb a HTTP verb like "get", "post", ...
+     * @param template a route template
+     * @return the 0-based index of the added route
+     */
+    public synchronized int add(final String verb, final String template) {
+        final int index = routeCount++;
+        final Route route = new Route(index, template);
+
+        final Node root = roots.computeIfAbsent(verb, v -> new Node());
+
+        final boolean params = template.contains(":");
+        final String[] segments = split(template);
+
+        if (!params && hasPartialMultiWildcard(segments)) {
+            // fallback, match by regex
+            root.regexRoutes.add(new RegexRoute(route, filterRegex(template)));
+            return index;
+        }
+
+        Node node = root;
+        for(String seg : segments) {
+            if (params) {
+                node = seg.contains(":")
+                        ? node.patternChild(paramSegmentRegex(seg))
+                        : node.literalChild(seg);
+            }
+            else if (seg.equals("**")) {
+                if (node.multi == null) {
+                    node.multi = new Node();
+                }
+                node = node.multi;
+            }
+            else if (seg.contains("*")) {
+                node = node.patternChild(filterSegmentRegex(seg));
+            }
+            else {
+                node = node.literalChild(seg);
+            }
+        }
+
+        node.routes.add(route);
+
+        return index;
+    }
+
+    /**
+     * Match a request URI
+     *
+     * @param verb a HTTP verb like "get", "post", ...
+     * @param uri a request URI
+     * @return the matching route or <code>null</code> if there is no
+     *         matching route
+     */
+    public RouteMatch match(final String verb, final String uri) {
+        final Node root = roots.get(verb);
+        if (root == null || uri == null) {
+            return null;
+        }
+
+        final MatchState state = new MatchState();
+
+        match(root, split(uri), 0, new ArrayList<>(), state);
+
+        for(RegexRoute r : root.regexRoutes) {
+            if (state.isBetter(r.route) && r.regex.matcher(uri).matches()) {
+                state.set(r.route, Collections.emptyList());
+            }
+        }
+
+        return state.best == null
+                ? null
+                : new RouteMatch(state.best.index, state.bestParams);
+    }
+
+    public synchronized int size() {
+        return routeCount;
+    }
+
+
+    private static void match(
+            final Node node,
+            final String[] segments,
+            final int pos,
+            final List<String> params,
+            final MatchState state
+    ) {
+        if (pos == segments.length) {
+            for(Route r : node.routes) {
+                if (state.isBetter(r)) {
+                    state.set(r, new ArrayList<>(params));
+                }
+            }
+            return;
+        }
+
+        final String seg = segments[pos];
+
+        final Node literal = node.literals.get(seg);
+        if (literal != null) {
+            match(literal, segments, pos + 1, params, state);
+        }
+
+        for(PatternNode p : node.patterns) {
+            final Matcher m = p.pattern.matcher(seg);
+            if (m.matches()) {
+                final int groups = m.groupCount();
+                for(int ii=1; ii<=groups; ii++) {
+                    params.add(m.group(ii));
+                }
+
+                match(p.node, segments, pos + 1, params, state);
+
+                for(int ii=0; ii<groups; ii++) {
+                    params.remove(params.size()-1);
+                }
+            }
+        }
+
+        if (node.multi != null) {
+            // "**" consumes one or more segments
+            for(int next=pos+1; next<=segments.length; next++) {
+                match(node.multi, segments, next, params, state);
+            }
+        }
+    }
+
+    private static String[] split(final String uri) {
+        // keep trailing empty segments: "/" -> ["", ""]
+        return uri.split("/", -1);
+    }
+
+    private static boolean hasPartialMultiWildcard(final String[] segments) {
+        for(String seg : segments) {
+            if (seg.contains("**") && !seg.equals("**")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Pattern filterRegex(final String template) {
+        // "**" -> ".*", "*" -> "[^/]+", literals are quoted
+        final StringBuilder sb = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        int ii = 0;
+        while(ii < template.length()) {
+            if (template.startsWith("**", ii)) {
+                appendQuoted(sb, literal);
+                sb.append(".*");
+                ii += 2;
+            }
+            else if (template.charAt(ii) == '*') {
+                appendQuoted(sb, literal);
+                sb.append("[^/]+");
+                ii++;
+            }
+            else {
+                literal.append(template.charAt(ii++));
+            }
+        }
+        appendQuoted(sb, literal);
+        return Pattern.compile(sb.toString());
+    }
+
+    private static String filterSegmentRegex(final String segment) {
+        final StringBuilder sb = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        for(char c : segment.toCharArray()) {
+            if (c == '*') {
+                appendQuoted(sb, literal);
+                sb.append("[^/]+");
+            }
+            else {
+                literal.append(c);
+            }
+        }
+        appendQuoted(sb, literal);
+        return sb.toString();
+    }
+
+    private static String paramSegmentRegex(final String segment) {
+        final StringBuilder sb = new StringBuilder();
+        final Matcher m = PARAM.matcher(segment);
+        int last = 0;
+        while(m.find()) {
+            sb.append(Pattern.quote(segment.substring(last, m.start())));
+            sb.append(PARAM_VALUE_REGEX);
+            last = m.end();
+        }
+        sb.append(Pattern.quote(segment.substring(last)));
+        return sb.toString();
+    }
+
+    private static void appendQuoted(final StringBuilder sb, final StringBuilder literal) {
+        if (literal.length() > 0) {
+            sb.append(Pattern.quote(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+
+    public static class RouteMatch {
+        private RouteMatch(final int index, final List<String> paramValues) {
+            this.index = index;
+            this.paramValues = paramValues;
+        }
+
+        /**
+         * @return the index of the matched route
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the values of the route's URI parameters in the order
+         *         the parameters are defined in the route template
+         */
+        public List<String> getParamValues() {
+            return paramValues;
+        }
+
+        private final int index;
+        private final List<String> paramValues;
+    }
+
+
+    private static class Node {
+        Node literalChild(final String segment) {
+            return literals.computeIfAbsent(segment, s -> new Node());
+        }
+
+        Node patternChild(final String regex) {
+            for(PatternNode p : patterns) {
+                if (p.regex.equals(regex)) return p.node;
+            }
+            final PatternNode p = new PatternNode(regex);
+            patterns.add(p);
+            return p.node;
+        }
+
+        final Map<String,Node> literals = new HashMap<>();
+        final List<PatternNode> patterns = new ArrayList<>();
+        final List<Route> routes = new ArrayList<>();
+        final List<RegexRoute> regexRoutes = new ArrayList<>();
+        Node multi;
+    }
+
+    private static class PatternNode {
+        PatternNode(final String regex) {
+            this.regex = regex;
+            this.pattern = Pattern.compile(regex);
+        }
+
+        final String regex;
+        final Pattern pattern;
+        final Node node = new Node();
+    }
+
+    private static class Route {
+        Route(final int index, final String template) {
+            this.index = index;
+            this.len = template.length();
+        }
+
+        final int index;
+        final int len;
+    }
+
+    private static class RegexRoute {
+        RegexRoute(final Route route, final Pattern regex) {
+            this.route = route;
+            this.regex = regex;
+        }
+
+        final Route route;
+        final Pattern regex;
+    }
+
+    private static class MatchState {
+        boolean isBetter(final Route r) {
+            return best == null
+                    || r.len > best.len
+                    || (r.len == best.len && r.index > best.index);
+        }
+
+        void set(final Route r, final List<String> params) {
+            best = r;
+            bestParams = params;
+        }
+
+        Route best;
+        List<String> bestParams;
+    }
+
+
+    private static final String PARAM_VALUE_REGEX = "([0-9a-zA-Z_]+)";
+    private static final Pattern PARAM = Pattern.compile(":[0-9a-zA-Z_]+");
+
+    private final Map<String,Node> roots = new HashMap<>();
+    private int routeCount = 0;
+}
@@ -0,0 +1,363 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.serialize;
+
+import static com.github.jlangch.venice.impl.types.Constants.Nil;
+import static com.github.jlangch.venice.impl.util.serialize.AstTags.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.ast.ConstNode;
+import com.github.jlangch.venice.impl.ast.DoNode;
+import com.github.jlangch.venice.impl.ast.FormNode;
+import com.github.jlangch.venice.impl.ast.GlobalRefNode;
+import com.github.jlangch.venice.impl.ast.IfNode;
+import com.github.jlangch.venice.impl.ast.InvokeNode;
+import com.github.jlangch.venice.impl.ast.LetNode;
+import com.github.jlangch.venice.impl.ast.LocalRefNode;
+import com.github.jlangch.venice.impl.ast.LoopNode;
+import com.github.jlangch.venice.impl.ast.Node;
+import com.github.jlangch.venice.impl.ast.RecurNode;
+import com.github.jlangch.venice.impl.types.VncBigDecimal;
+import com.github.jlangch.venice.impl.types.VncBigInteger;
+import com.github.jlangch.venice.impl.types.VncBoolean;
+import com.github.jlangch.venice.impl.types.VncChar;
+import com.github.jlangch.venice.impl.types.VncDouble;
+import com.github.jlangch.venice.impl.types.VncInteger;
+import com.github.jlangch.venice.impl.types.VncJavaObject;
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncLong;
+import com.github.jlangch.venice.impl.types.VncString;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncHashMap;
+import com.github.jlangch.venice.impl.types.collections.VncHashSet;
+import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncVector;
+import com.github.jlangch.venice.impl.util.MetaUtil;
+import com.github.jlangch.venice.impl.util.RegexPatternCache;
+
+
+/**
+ * Decodes Venice forms and analyzed node trees written by an
+ * {@link AstEncoder}.
+ *
+ * <p>The values must be read in the same order they have been written.
+ */
+public class AstDecoder {
+
+    public AstDecoder(final byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    public AstDecoder(final byte[] data, final int offset, final int length) {
+        this.buf = data;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+
+    public VncVal readValue() {
+        final int b = readByte();
+        final int tag = b & TAG_MASK;
+
+        switch(tag) {
+            case NIL:      return Nil;
+            case TRUE:     return VncBoolean.True;
+            case FALSE:    return VncBoolean.False;
+            case REF:      return ref(readVarInt());
+            case POSITION: return readPosition();
+            default:       break;
+        }
+
+        final VncVal meta = (b & META) == 0 ? Nil : readValue();
+
+        final VncVal val;
+        switch(tag) {
+            case SYMBOL:
+                val = symbol(readString(), meta);
+                break;
+            case KEYWORD:
+                val = VncKeyword.intern(readString(), meta);
+                break;
+            case LIST:
+                val = VncList.ofList(Arrays.asList(readValues()), meta);
+                break;
+            case VECTOR:
+                val = VncVector.ofList(Arrays.asList(readValues()), meta);
+                break;
+            case MAP:
+                val = new VncHashMap(meta).assoc(readValues(readVarInt() * 2));
+                break;
+            case SET:
+                val = new VncHashSet(io.vavr.collection.HashSet.of(readValues()), meta);
+                break;
+            case STRING:
+                val = new VncString(readString(), meta);
+                break;
+            case LONG: {
+                    final long v = unZigZag(readVarLong());
+                    val = meta == Nil ? VncLong.of(v) : new VncLong(v, meta);
+                }
+                break;
+            case INTEGER:
+                val = new VncInteger((int)unZigZag(readVarLong()), meta);
+                break;
+            case DOUBLE:
+                val = new VncDouble(Double.longBitsToDouble(readFixedLong()), meta);
+                break;
+            case BIGDECIMAL:
+                val = new VncBigDecimal(new BigDecimal(readUtf8()), meta);
+                break;
+            case BIGINTEGER:
+                val = new VncBigInteger(new BigInteger(readUtf8()), meta);
+                break;
+            case CHAR:
+                val = withMeta(new VncChar((char)readVarInt()), meta);
+                break;
+            case PATTERN:
+                val = withMeta(new VncJavaObject(RegexPatternCache.compile(readString())), meta);
+                break;
+            case OBJECT:
+                val = (VncVal)javaDeserialize(readBytes());
+                break;
+            default:
+                throw new VncException(String.format("Invalid AST value tag %d", tag));
+        }
+
+        refs.add(val);
+        return val;
+    }
+
+    public Node readNode() {
+        final int tag = readByte();
+
+        switch(tag) {
+            case NODE_CONST:
+                return new ConstNode(readValue());
+            case NODE_GLOBAL_REF:
+                return new GlobalRefNode((VncSymbol)readValue());
+            case NODE_LOCAL_REF:
+                return new LocalRefNode((VncSymbol)readValue(), readVarInt(), readVarInt());
+            case NODE_INVOKE: {
+                    final VncList form = (VncList)readValue();
+                    final Node fn = readNode();
+                    final Node[] args = readNodes();
+                    return new InvokeNode(fn, args, form, readBoolean());
+                }
+            case NODE_FORM:
+                return new FormNode(readValue(), readBoolean());
+            case NODE_DO:
+                return new DoNode(readNodes());
+            case NODE_IF:
+                return new IfNode(readNode(), readNode(), readNode());
+            case NODE_LET:
+                return new LetNode(readSymbols(), readNodes(), readNodes());
+            case NODE_LOOP:
+                return new LoopNode(readSymbols(), readNodes(), readNodes());
+            case NODE_RECUR:
+                return new RecurNode(readNodes());
+            case NODE_OBJECT:
+                return (Node)javaDeserialize(readBytes());
+            default:
+                throw new VncException(String.format("Invalid AST node tag %d", tag));
+        }
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public int readVarInt() {
+        return (int)readVarLong();
+    }
+
+    public long readVarLong() {
+        long v = 0L;
+        for(int shift=0; shift<64; shift+=7) {
+            final int b = readByte();
+            v |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return v;
+            }
+        }
+        throw new VncException("Malformed variable length integer");
+    }
+
+    /**
+     * Reads a string written to the string table by
+     * {@link AstEncoder#writeString(String)}.
+     *
+     * @return the string, may be <code>null</code>
+     */
+    public String readString() {
+        final int idx = readVarInt();
+        if (idx == 0) {
+            return null;
+        }
+        else if (idx == 1) {
+            final String s = readUtf8();
+            strings.add(s);
+            return s;
+        }
+        else {
+            return strings.get(idx - 2);
+        }
+    }
+
+    public byte[] readBytes() {
+        final int len = readVarInt();
+        ensureAvailable(len);
+        final byte[] bytes = Arrays.copyOfRange(buf, pos, pos + len);
+        pos += len;
+        return bytes;
+    }
+
+    public boolean isEOF() {
+        return pos >= limit;
+    }
+
+
+    private VncVal[] readValues() {
+        return readValues(readVarInt());
+    }
+
+    private VncVal[] readValues(final int count) {
+        final VncVal[] vals = new VncVal[count];
+        for(int ii=0; ii<count; ii++) {
+            vals[ii] = readValue();
+        }
+        return vals;
+    }
+
+    private VncSymbol[] readSymbols() {
+        final VncSymbol[] syms = new VncSymbol[readVarInt()];
+        for(int ii=0; ii<syms.length; ii++) {
+            syms[ii] = (VncSymbol)readValue();
+        }
+        return syms;
+    }
+
+    private Node[] readNodes() {
+        final Node[] nodes = new Node[readVarInt()];
+        for(int ii=0; ii<nodes.length; ii++) {
+            nodes[ii] = readNode();
+        }
+        return nodes;
+    }
+
+    private VncVal readPosition() {
+        final String file = readString();
+        // the string table returns the same instance for a file name
+        if (lastFileVal == null || file != lastFile) {
+            lastFile = file;
+            lastFileVal = new VncString(file);
+        }
+
+        return VncHashMap.of(
+                    MetaUtil.FILE,   lastFileVal,
+                    MetaUtil.LINE,   VncLong.of(unZigZag(readVarLong())),
+                    MetaUtil.COLUMN, VncLong.of(unZigZag(readVarLong())));
+    }
+
+    private VncSymbol symbol(final String name, final VncVal meta) {
+        // parsing a symbol's name is not for free, share the parsed symbol
+        VncSymbol sym = symbols.get(name);
+        if (sym == null) {
+            sym = new VncSymbol(name);
+            symbols.put(name, sym);
+        }
+        return meta == Nil ? sym : sym.withMeta(meta);
+    }
+
+    private VncVal ref(final int idx) {
+        if (idx < 0 || idx >= refs.size()) {
+            throw new VncException(String.format("Invalid AST value reference %d", idx));
+        }
+        return refs.get(idx);
+    }
+
+    private String readUtf8() {
+        final int len = readVarInt();
+        ensureAvailable(len);
+        final String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+        pos += len;
+        return s;
+    }
+
+    private long readFixedLong() {
+        ensureAvailable(8);
+        long v = 0L;
+        for(int ii=0; ii<8; ii++) {
+            v |= (buf[pos++] & 0xFFL) << (ii * 8);
+        }
+        return v;
+    }
+
+    private int readByte() {
+        ensureAvailable(1);
+        return buf[pos++] & 0xFF;
+    }
+
+    private void ensureAvailable(final int n) {
+        if (n < 0 || pos + n > limit) {
+            throw new VncException("Unexpected end of the encoded AST data");
+        }
+    }
+
+    private static VncVal withMeta(final VncVal val, final VncVal meta) {
+        return meta == Nil ? val : val.withMeta(meta);
+    }
+
+    private static Object javaDeserialize(final byte[] data) {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return ois.readObject();
+        }
+        catch(Exception ex) {
+            throw new VncException("Failed to deserialize a Java serialized AST value", ex);
+        }
+    }
+
+    private static long unZigZag(final long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+
+    private final byte[] buf;
+    private final int limit;
+    private int pos;
+    private final List<String> strings = new ArrayList<>();
+    private final List<VncVal> refs = new ArrayList<>();
+    private final Map<String,VncSymbol> symbols = new HashMap<>();
+    private String lastFile;
+    private VncVal lastFileVal;
+}
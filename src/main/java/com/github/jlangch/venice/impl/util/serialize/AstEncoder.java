@@ -0,0 +1,432 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.serialize;
+
+import static com.github.jlangch.venice.impl.types.Constants.Nil;
+import static com.github.jlangch.venice.impl.util.serialize.AstTags.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.ast.ConstNode;
+import com.github.jlangch.venice.impl.ast.DoNode;
+import com.github.jlangch.venice.impl.ast.FormNode;
+import com.github.jlangch.venice.impl.ast.GlobalRefNode;
+import com.github.jlangch.venice.impl.ast.IfNode;
+import com.github.jlangch.venice.impl.ast.InvokeNode;
+import com.github.jlangch.venice.impl.ast.LetNode;
+import com.github.jlangch.venice.impl.ast.LocalRefNode;
+import com.github.jlangch.venice.impl.ast.LoopNode;
+import com.github.jlangch.venice.impl.ast.Node;
+import com.github.jlangch.venice.impl.ast.RecurNode;
+import com.github.jlangch.venice.impl.types.VncBigDecimal;
+import com.github.jlangch.venice.impl.types.VncBigInteger;
+import com.github.jlangch.venice.impl.types.VncBoolean;
+import com.github.jlangch.venice.impl.types.VncChar;
+import com.github.jlangch.venice.impl.types.VncDouble;
+import com.github.jlangch.venice.impl.types.VncInteger;
+import com.github.jlangch.venice.impl.types.VncJavaObject;
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncLong;
+import com.github.jlangch.venice.impl.types.VncString;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncHashMap;
+import com.github.jlangch.venice.impl.types.collections.VncHashSet;
+import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncMapEntry;
+import com.github.jlangch.venice.impl.types.collections.VncSequence;
+import com.github.jlangch.venice.impl.types.collections.VncTinyList;
+import com.github.jlangch.venice.impl.types.collections.VncTinyVector;
+import com.github.jlangch.venice.impl.types.collections.VncVector;
+import com.github.jlangch.venice.impl.util.MetaUtil;
+
+
+/**
+ * Encodes Venice forms and analyzed node trees to a compact binary format.
+ *
+ * <p>Symbol, keyword, and string values are written to a string table
+ * on their first occurrence and are referenced by their table index
+ * afterwards. Integers are written as variable length integers and the
+ * reader's <code>{:file, :line, :column}</code> meta data is written in
+ * a dedicated compact form. A value that is referenced more than once
+ * (e.g. a form referenced by the AST and by its analyzed node) is
+ * written once and referenced by index afterwards.
+ *
+ * <p>Values the format does not cover (e.g. functions or Java objects a
+ * macro expanded to) are embedded using Java serialization.
+ *
+ * @see AstDecoder
+ */
+public class AstEncoder {
+
+    public AstEncoder() {
+        this(1024);
+    }
+
+    public AstEncoder(final int initialCapacity) {
+        buf = new byte[Math.max(16, initialCapacity)];
+    }
+
+
+    public void writeValue(final VncVal val) {
+        if (val == null || val == Nil) {
+            writeByte(NIL);
+            return;
+        }
+
+        final Integer ref = refs.get(val);
+        if (ref != null) {
+            writeByte(REF);
+            writeVarInt(ref);
+            return;
+        }
+
+        final Class<?> clazz = val.getClass();
+        final VncVal meta = val.getMeta();
+
+        if (val.getWrappingTypeDef() != null) {
+            writeSerialized(val);
+        }
+        else if (clazz == VncSymbol.class) {
+            writeTag(SYMBOL, meta);
+            writeString(((VncSymbol)val).getQualifiedName());
+        }
+        else if (clazz == VncKeyword.class) {
+            writeTag(KEYWORD, meta);
+            writeString(((VncKeyword)val).getQualifiedName());
+        }
+        else if (clazz == VncList.class || clazz == VncTinyList.class) {
+            writeTag(LIST, meta);
+            writeSequence((VncList)val);
+        }
+        else if (clazz == VncVector.class || clazz == VncTinyVector.class) {
+            writeTag(VECTOR, meta);
+            writeSequence((VncVector)val);
+        }
+        else if (clazz == VncHashMap.class) {
+            if (isPositionMeta((VncHashMap)val)) {
+                writePosition((VncHashMap)val);
+                return;  // not referenceable
+            }
+            writeTag(MAP, meta);
+            writeVarInt(((VncHashMap)val).size());
+            for(VncMapEntry e : ((VncHashMap)val).entries()) {
+                writeValue(e.getKey());
+                writeValue(e.getValue());
+            }
+        }
+        else if (clazz == VncHashSet.class) {
+            writeTag(SET, meta);
+            writeVarInt(((VncHashSet)val).size());
+            for(VncVal v : (VncHashSet)val) {
+                writeValue(v);
+            }
+        }
+        else if (clazz == VncString.class) {
+            writeTag(STRING, meta);
+            writeString(((VncString)val).getValue());
+        }
+        else if (clazz == VncLong.class) {
+            writeTag(LONG, meta);
+            writeVarLong(zigZag(((VncLong)val).getValue()));
+        }
+        else if (clazz == VncInteger.class) {
+            writeTag(INTEGER, meta);
+            writeVarLong(zigZag(((VncInteger)val).getValue()));
+        }
+        else if (clazz == VncDouble.class) {
+            writeTag(DOUBLE, meta);
+            writeFixedLong(Double.doubleToRawLongBits(((VncDouble)val).getValue()));
+        }
+        else if (clazz == VncBigDecimal.class) {
+            writeTag(BIGDECIMAL, meta);
+            writeUtf8(((VncBigDecimal)val).getValue().toString());
+        }
+        else if (clazz == VncBigInteger.class) {
+            writeTag(BIGINTEGER, meta);
+            writeUtf8(((VncBigInteger)val).getValue().toString());
+        }
+        else if (clazz == VncChar.class) {
+            writeTag(CHAR, meta);
+            writeVarInt(((VncChar)val).getValue());
+        }
+        else if (clazz == VncBoolean.class && meta == Nil) {
+            writeByte(VncBoolean.isTrue(val) ? TRUE : FALSE);
+            return;  // not referenceable
+        }
+        else if (isPlainPattern(val)) {
+            writeTag(PATTERN, meta);
+            writeString(((Pattern)((VncJavaObject)val).getDelegate()).pattern());
+        }
+        else {
+            writeSerialized(val);
+        }
+
+        refs.put(val, refs.size());
+    }
+
+    public void writeNode(final Node node) {
+        final Class<?> clazz = node.getClass();
+
+        if (clazz == ConstNode.class) {
+            writeByte(NODE_CONST);
+            writeValue(((ConstNode)node).getValue());
+        }
+        else if (clazz == GlobalRefNode.class) {
+            writeByte(NODE_GLOBAL_REF);
+            writeValue(((GlobalRefNode)node).getSymbol());
+        }
+        else if (clazz == LocalRefNode.class) {
+            final LocalRefNode n = (LocalRefNode)node;
+            writeByte(NODE_LOCAL_REF);
+            writeValue(n.getSymbol());
+            writeVarInt(n.getLevelsUp());
+            writeVarInt(n.getSlot());
+        }
+        else if (clazz == InvokeNode.class) {
+            final InvokeNode n = (InvokeNode)node;
+            writeByte(NODE_INVOKE);
+            writeValue(n.getForm());
+            writeNode(n.getFn());
+            writeNodes(n.getArgs());
+            writeBoolean(n.isTailPosition());
+        }
+        else if (clazz == FormNode.class) {
+            final FormNode n = (FormNode)node;
+            writeByte(NODE_FORM);
+            writeValue(n.getForm());
+            writeBoolean(n.isTailPosition());
+        }
+        else if (clazz == DoNode.class) {
+            writeByte(NODE_DO);
+            writeNodes(((DoNode)node).getBody());
+        }
+        else if (clazz == IfNode.class) {
+            final IfNode n = (IfNode)node;
+            writeByte(NODE_IF);
+            writeNode(n.getCond());
+            writeNode(n.getTrueNode());
+            writeNode(n.getFalseNode());
+        }
+        else if (clazz == LetNode.class) {
+            final LetNode n = (LetNode)node;
+            writeByte(NODE_LET);
+            writeValues(n.getSymbols());
+            writeNodes(n.getInits());
+            writeNodes(n.getBody());
+        }
+        else if (clazz == LoopNode.class) {
+            final LoopNode n = (LoopNode)node;
+            writeByte(NODE_LOOP);
+            writeValues(n.getSymbols());
+            writeNodes(n.getInits());
+            writeNodes(n.getBody());
+        }
+        else if (clazz == RecurNode.class) {
+            writeByte(NODE_RECUR);
+            writeNodes(((RecurNode)node).getArgs());
+        }
+        else {
+            writeByte(NODE_OBJECT);
+            writeBytes(javaSerialize(node));
+        }
+    }
+
+    public void writeBoolean(final boolean b) {
+        writeByte(b ? 1 : 0);
+    }
+
+    public void writeVarInt(final int v) {
+        writeVarLong(v & 0xFFFFFFFFL);
+    }
+
+    public void writeVarLong(final long v) {
+        ensureCapacity(10);
+        long n = v;
+        while((n & ~0x7FL) != 0) {
+            buf[pos++] = (byte)((n & 0x7F) | 0x80);
+            n >>>= 7;
+        }
+        buf[pos++] = (byte)n;
+    }
+
+    /**
+     * Writes a string to the string table. A string that has been
+     * written before is written as a string table reference.
+     *
+     * @param s a string, may be <code>null</code>
+     */
+    public void writeString(final String s) {
+        if (s == null) {
+            writeVarInt(0);
+            return;
+        }
+
+        final Integer idx = strings.get(s);
+        if (idx != null) {
+            writeVarInt(idx + 2);
+        }
+        else {
+            writeVarInt(1);
+            writeUtf8(s);
+            strings.put(s, strings.size());
+        }
+    }
+
+    public void writeBytes(final byte[] bytes) {
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    public int size() {
+        return pos;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, pos);
+    }
+
+
+    private void writeTag(final int tag, final VncVal meta) {
+        if (meta == Nil) {
+            writeByte(tag);
+        }
+        else {
+            writeByte(tag | META);
+            writeValue(meta);
+        }
+    }
+
+    private void writeSequence(final VncSequence seq) {
+        writeVarInt(seq.size());
+        for(VncVal v : seq) {
+            writeValue(v);
+        }
+    }
+
+    private void writeValues(final VncVal[] vals) {
+        writeVarInt(vals.length);
+        for(VncVal v : vals) {
+            writeValue(v);
+        }
+    }
+
+    private void writeNodes(final Node[] nodes) {
+        writeVarInt(nodes.length);
+        for(Node n : nodes) {
+            writeNode(n);
+        }
+    }
+
+    private void writePosition(final VncHashMap meta) {
+        writeByte(POSITION);
+        writeString(((VncString)meta.get(MetaUtil.FILE)).getValue());
+        writeVarLong(zigZag(((VncLong)meta.get(MetaUtil.LINE)).getValue()));
+        writeVarLong(zigZag(((VncLong)meta.get(MetaUtil.COLUMN)).getValue()));
+    }
+
+    private void writeSerialized(final VncVal val) {
+        writeByte(OBJECT);
+        writeBytes(javaSerialize(val));
+    }
+
+    private void writeUtf8(final String s) {
+        writeBytes(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeFixedLong(final long v) {
+        ensureCapacity(8);
+        for(int ii=0; ii<8; ii++) {
+            buf[pos++] = (byte)(v >>> (ii * 8));
+        }
+    }
+
+    private void writeByte(final int b) {
+        ensureCapacity(1);
+        buf[pos++] = (byte)b;
+    }
+
+    private void ensureCapacity(final int n) {
+        if (pos + n > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+    }
+
+    private static boolean isPositionMeta(final VncHashMap map) {
+        return map.size() == 3
+                && map.getMeta() == Nil
+                && isPlain(map.get(MetaUtil.FILE), VncString.class)
+                && isPlain(map.get(MetaUtil.LINE), VncLong.class)
+                && isPlain(map.get(MetaUtil.COLUMN), VncLong.class);
+    }
+
+    private static boolean isPlain(final VncVal val, final Class<?> clazz) {
+        return val.getClass() == clazz
+                && val.getMeta() == Nil
+                && val.getWrappingTypeDef() == null;
+    }
+
+    private static boolean isPlainPattern(final VncVal val) {
+        if (val.getClass() == VncJavaObject.class) {
+            final Object delegate = ((VncJavaObject)val).getDelegate();
+            return delegate instanceof Pattern && ((Pattern)delegate).flags() == 0;
+        }
+        else {
+            return false;
+        }
+    }
+
+    private static byte[] javaSerialize(final Object obj) {
+        try {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(obj);
+            }
+            return baos.toByteArray();
+        }
+        catch(Exception ex) {
+            throw new VncException(
+                    "Failed to serialize a value of type " + obj.getClass().getName(),
+                    ex);
+        }
+    }
+
+    static long zigZag(final long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+
+    private final Map<String,Integer> strings = new HashMap<>();
+    private final Map<VncVal,Integer> refs = new IdentityHashMap<>();
+    private byte[] buf;
+    private int pos;
+}
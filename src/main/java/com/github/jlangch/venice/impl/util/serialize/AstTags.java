@@ -0,0 +1,75 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.serialize;
+
+
+/**
+ * The tags of the binary AST format.
+ *
+ * <p>A value is written as a tag byte followed by the value's data. The
+ * {@link #META} bit of the tag byte flags that the value's meta data
+ * follows the tag byte.
+ */
+final class AstTags {
+
+    private AstTags() {
+    }
+
+
+    // value tags
+    static final int NIL         = 0;
+    static final int TRUE        = 1;
+    static final int FALSE       = 2;
+    static final int REF         = 3;
+    static final int POSITION    = 4;
+    static final int LONG        = 5;
+    static final int INTEGER     = 6;
+    static final int DOUBLE      = 7;
+    static final int BIGDECIMAL  = 8;
+    static final int BIGINTEGER  = 9;
+    static final int CHAR        = 10;
+    static final int STRING      = 11;
+    static final int KEYWORD     = 12;
+    static final int SYMBOL      = 13;
+    static final int LIST        = 14;
+    static final int VECTOR      = 15;
+    static final int MAP         = 16;
+    static final int SET         = 17;
+    static final int PATTERN     = 18;
+    static final int OBJECT      = 19;
+
+    static final int META        = 0x80;
+    static final int TAG_MASK    = 0x7F;
+
+    // node tags
+    static final int NODE_CONST      = 0;
+    static final int NODE_FORM       = 1;
+    static final int NODE_GLOBAL_REF = 2;
+    static final int NODE_LOCAL_REF  = 3;
+    static final int NODE_INVOKE     = 4;
+    static final int NODE_DO         = 5;
+    static final int NODE_IF         = 6;
+    static final int NODE_LET        = 7;
+    static final int NODE_LOOP       = 8;
+    static final int NODE_RECUR      = 9;
+    static final int NODE_OBJECT     = 10;
+}
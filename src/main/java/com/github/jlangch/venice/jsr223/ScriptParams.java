@@ -0,0 +1,189 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.jsr223;
+
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+
+
+/**
+ * A read-only view of a script context's bindings that is passed as
+ * parameters to a Venice script.
+ *
+ * <p>The view does not copy the bindings. Keys are resolved in the order:
+ * engine scope bindings, global scope bindings, and the context's writer,
+ * error writer, and reader as <code>*out*</code>, <code>*err*</code>, and
+ * <code>*in*</code>.
+ */
+class ScriptParams extends AbstractMap<String,Object> {
+
+    public ScriptParams(final ScriptContext context) {
+        this.layers = new ArrayList<>(3);
+
+        if (context != null) {
+            final Bindings engineScope = context.getBindings(ScriptContext.ENGINE_SCOPE);
+            if (engineScope != null) {
+                layers.add(engineScope);
+            }
+
+            final Bindings globalScope = context.getBindings(ScriptContext.GLOBAL_SCOPE);
+            if (globalScope != null) {
+                layers.add(globalScope);
+            }
+
+            layers.add(stdio(context));
+        }
+    }
+
+    @Override
+    public Set<Entry<String,Object>> entrySet() {
+        return new AbstractSet<Entry<String,Object>>() {
+            @Override
+            public Iterator<Entry<String,Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for(Iterator<?> it = iterator(); it.hasNext(); it.next()) {
+                    size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return layerOf(key, layers.size()) >= 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int layer = layerOf(key, layers.size());
+        return layer < 0 ? null : layers.get(layer).get(key);
+    }
+
+    /**
+     * Flushes the print streams that have been created for the context's
+     * writers.
+     */
+    public void flush() {
+        for(PrintStream ps : streams) {
+            ps.flush();
+        }
+    }
+
+
+    private Map<String,Object> stdio(final ScriptContext context) {
+        final Map<String,Object> map = new HashMap<>(4);
+
+        if (context.getWriter() != null && layerOf("*out*", layers.size()) < 0) {
+            map.put("*out*", printStream(context.getWriter()));
+        }
+        if (context.getErrorWriter() != null && layerOf("*err*", layers.size()) < 0) {
+            map.put("*err*", printStream(context.getErrorWriter()));
+        }
+        if (context.getReader() != null && layerOf("*in*", layers.size()) < 0) {
+            map.put("*in*", context.getReader());
+        }
+
+        return map;
+    }
+
+    private PrintStream printStream(final Writer writer) {
+        try {
+            final PrintStream ps = new PrintStream(new WriterOutputStream(writer), true, "UTF-8");
+            streams.add(ps);
+            return ps;
+        }
+        catch(UnsupportedEncodingException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private int layerOf(final Object key, final int maxLayer) {
+        for(int ii=0; ii<maxLayer; ii++) {
+            if (layers.get(ii).containsKey(key)) {
+                return ii;
+            }
+        }
+        return -1;
+    }
+
+
+    private class EntryIterator implements Iterator<Entry<String,Object>> {
+
+        @Override
+        public boolean hasNext() {
+            while(next == null) {
+                if (current != null && current.hasNext()) {
+                    final Entry<String,Object> e = current.next();
+                    // skip keys that are shadowed by a preceding layer
+                    if (layerOf(e.getKey(), layer) < 0) {
+                        next = e;
+                    }
+                }
+                else if (layer + 1 < layers.size()) {
+                    layer++;
+                    current = layers.get(layer).entrySet().iterator();
+                }
+                else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<String,Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<String,Object> e = next;
+            next = null;
+            return e;
+        }
+
+        private int layer = -1;
+        private Iterator<Entry<String,Object>> current;
+        private Entry<String,Object> next;
+    }
+
+
+    private final List<Map<String,Object>> layers;
+    private final List<PrintStream> streams = new ArrayList<>(2);
+}
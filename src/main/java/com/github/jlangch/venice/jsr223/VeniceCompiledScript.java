@@ -0,0 +1,65 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.jsr223;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import com.github.jlangch.venice.PreCompiled;
+
+
+/**
+ * A Venice script compiled by a {@link VeniceScriptEngine}.
+ *
+ * <p>A compiled script is thread-safe and can be evaluated any number of
+ * times with different script contexts.
+ */
+public class VeniceCompiledScript extends CompiledScript {
+
+    VeniceCompiledScript(
+            final VeniceScriptEngine engine,
+            final PreCompiled precompiled
+    ) {
+        this.engine = engine;
+        this.precompiled = precompiled;
+    }
+
+    @Override
+    public Object eval(final ScriptContext context) throws ScriptException {
+        return engine.eval(precompiled, context, null);
+    }
+
+    @Override
+    public ScriptEngine getEngine() {
+        return engine;
+    }
+
+    public PreCompiled getPreCompiled() {
+        return precompiled;
+    }
+
+
+    private final VeniceScriptEngine engine;
+    private final PreCompiled precompiled;
+}
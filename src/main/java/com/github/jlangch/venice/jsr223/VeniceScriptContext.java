@@ -21,79 +21,24 @@
  */
 package com.github.jlangch.venice.jsr223;
 
-import java.io.Reader;
-import java.io.Writer;
-import java.util.List;
-
 import javax.script.Bindings;
-import javax.script.ScriptContext;
-
-
-public class VeniceScriptContext implements ScriptContext {
-
-    @Override
-    public void setBindings(final Bindings bindings, final int scope) {
-    }
-
-    @Override
-    public Bindings getBindings(final int scope) {
-        return null;
-    }
+import javax.script.SimpleScriptContext;
 
-    @Override
-    public void setAttribute(final String name, final Object value, final int scope) {
-    }
-
-    @Override
-    public Object getAttribute(final String name, final int scope) {
-        return null;
-    }
-
-    @Override
-    public Object removeAttribute(final String name, final int scope) {
-        return null;
-    }
-
-    @Override
-    public Object getAttribute(final String name) {
-        return null;
-    }
 
-    @Override
-    public int getAttributesScope(final String name) {
-        return 0;
-    }
-
-    @Override
-    public Writer getWriter() {
-        return null;
-    }
-
-    @Override
-    public Writer getErrorWriter() {
-        return null;
-    }
-
-    @Override
-    public void setWriter(final Writer writer) {
-    }
-
-    @Override
-    public void setErrorWriter(final Writer writer) {
-    }
-
-    @Override
-    public Reader getReader() {
-        return null;
-    }
+/**
+ * A script context with {@link VeniceBindings} as the engine scope
+ * bindings.
+ */
+public class VeniceScriptContext extends SimpleScriptContext {
 
-    @Override
-    public void setReader(final Reader reader) {
+    public VeniceScriptContext() {
+        this(new VeniceBindings());
     }
 
-    @Override
-    public List<Integer> getScopes() {
-        return null;
+    public VeniceScriptContext(final Bindings engineScope) {
+        super();
+        setBindings(
+            engineScope == null ? new VeniceBindings() : engineScope,
+            ENGINE_SCOPE);
     }
-
 }
@@ -21,7 +21,15 @@
  */
 package com.github.jlangch.venice.jsr223;
 
+import java.io.IOException;
 import java.io.Reader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import javax.script.AbstractScriptEngine;
 import javax.script.Bindings;
@@ -32,29 +40,51 @@ import javax.script.ScriptContext;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptException;
 
+import com.github.jlangch.venice.PreCompiled;
+import com.github.jlangch.venice.SymbolNotFoundException;
+import com.github.jlangch.venice.Venice;
 
+
+/**
+ * A JSR-223 script engine for Venice.
+ *
+ * <p>Scripts are pre-compiled with up-front macro expansion and kept in a
+ * bounded LRU cache keyed by the script text. Evaluating a script again
+ * reuses the pre-compiled script and the pre-compiled global environment.
+ *
+ * <p>The engine and global scope bindings are passed as parameters to the
+ * script without copying them. The context's writer, error writer, and
+ * reader are bound to <code>*out*</code>, <code>*err*</code>, and
+ * <code>*in*</code> unless the bindings define these.
+ *
+ * <p>All evaluations of an engine share a retained global environment.
+ * Functions defined by a script can be called by subsequent scripts, by
+ * <code>invokeFunction</code>, and through the interfaces returned by
+ * <code>getInterface</code>. The bindings and the streams are visible to
+ * the evaluation they are passed to only, they are not retained.
+ */
 public class VeniceScriptEngine
     extends AbstractScriptEngine
     implements Compilable, Invocable {
 
     public VeniceScriptEngine() {
-        this.factory = null;
+        this(null, new VeniceBindings());
     }
 
     public VeniceScriptEngine(final ScriptEngineFactory factory) {
-        this.factory = factory;
+        this(factory, new VeniceBindings());
     }
 
     public VeniceScriptEngine(final Bindings bindings) {
-        super(bindings);
-        this.factory = null;
+        this(null, bindings);
     }
 
     public VeniceScriptEngine(
-             final ScriptEngineFactory factory,
+            final ScriptEngineFactory factory,
             final Bindings bindings
     ) {
-        super(bindings);
+        super();
+        setContext(new VeniceScriptContext(bindings));
         this.factory = factory;
     }
 
@@ -64,7 +94,19 @@ public class VeniceScriptEngine
             final String name,
             final Object... args
     ) throws ScriptException, NoSuchMethodException {
-        return null;
+        if (thiz == null) {
+            throw new IllegalArgumentException("A 'thiz' object must not be null");
+        }
+        validateName(name);
+
+        // (. __thiz :name __arg0 __arg1 ...)
+        final Map<String,Object> locals = invokeLocals(args);
+        locals.put("__thiz", thiz);
+
+        return eval(
+                compileCached(invokeScript(". __thiz :" + name, locals.size() - 1)),
+                context,
+                locals);
     }
 
     @Override
@@ -72,27 +114,69 @@ public class VeniceScriptEngine
             final String name,
             final Object... args
     ) throws ScriptException, NoSuchMethodException {
-        return null;
+        validateName(name);
+
+        // (name __arg0 __arg1 ...)
+        final Map<String,Object> locals = invokeLocals(args);
+        final PreCompiled pc = compileCached(invokeScript(name, locals.size()));
+        try {
+            return eval(pc, context, locals);
+        }
+        catch(ScriptException ex) {
+            if (ex.getCause() instanceof SymbolNotFoundException
+                    && name.equals(((SymbolNotFoundException)ex.getCause()).getSymbol())
+            ) {
+                throw new NoSuchMethodException(name);
+            }
+            throw ex;
+        }
     }
 
     @Override
     public <T> T getInterface(final Class<T> clasz) {
-        return null;
+        if (clasz == null || !clasz.isInterface()) {
+            throw new IllegalArgumentException("A 'clasz' must be an interface");
+        }
+
+        // all abstract methods must be implemented by a Venice function
+        for(Method m : clasz.getMethods()) {
+            if (!m.isDefault() && !Modifier.isStatic(m.getModifiers()) && !isFunction(m.getName())) {
+                return null;
+            }
+        }
+
+        return clasz.cast(
+                Proxy.newProxyInstance(
+                    clasz.getClassLoader(),
+                    new Class<?>[] { clasz },
+                    (proxy, method, args) -> {
+                        if (method.getDeclaringClass() == Object.class) {
+                            switch(method.getName()) {
+                                case "equals":   return proxy == args[0];
+                                case "hashCode": return System.identityHashCode(proxy);
+                                default:         return clasz.getName() + "@venice";
+                            }
+                        }
+
+                        return toReturnType(
+                                invokeFunction(method.getName(), args),
+                                method.getReturnType());
+                    }));
     }
 
     @Override
     public <T> T getInterface(final Object thiz, final Class<T> clasz) {
-        return null;
+        return clasz.isInstance(thiz) ? clasz.cast(thiz) : null;
     }
 
     @Override
     public CompiledScript compile(final String script) throws ScriptException {
-        return null;
+        return new VeniceCompiledScript(this, compileCached(script));
     }
 
     @Override
     public CompiledScript compile(final Reader script) throws ScriptException {
-        return null;
+        return compile(read(script));
     }
 
     @Override
@@ -100,7 +184,7 @@ public class VeniceScriptEngine
             final String script,
             final ScriptContext context
     ) throws ScriptException {
-        return null;
+        return eval(compileCached(script), context, null);
     }
 
     @Override
@@ -108,12 +192,12 @@ public class VeniceScriptEngine
             final Reader reader,
             final ScriptContext context
     ) throws ScriptException {
-        return null;
+        return eval(read(reader), context);
     }
 
     @Override
     public Bindings createBindings() {
-        return null;
+        return new VeniceBindings();
     }
 
     @Override
@@ -121,6 +205,182 @@ public class VeniceScriptEngine
          return factory;
     }
 
+    /**
+     * Sets the maximum number of pre-compiled scripts the engine caches.
+     *
+     * @param size the cache size, 0 disables the cache
+     */
+    public void setCompiledScriptCacheSize(final int size) {
+        synchronized(compiledScripts) {
+            cacheSize = Math.max(0, size);
+            if (cacheSize == 0) {
+                compiledScripts.clear();
+            }
+        }
+    }
+
+    public int getCompiledScriptCacheSize() {
+        synchronized(compiledScripts) {
+            return cacheSize;
+        }
+    }
+
+    public void clearCompiledScriptCache() {
+        synchronized(compiledScripts) {
+            compiledScripts.clear();
+        }
+    }
+
+
+    /**
+     * Discards the functions and vars the scripts evaluated so far have
+     * defined.
+     */
+    public void reset() {
+        venice.clearRetained();
+    }
+
+
+    Object eval(
+            final PreCompiled precompiled,
+            final ScriptContext context,
+            final Map<String,Object> locals
+    ) throws ScriptException {
+        final ScriptParams params = new ScriptParams(context);
+        try {
+            return venice.evalRetained(precompiled, params, locals);
+        }
+        catch(RuntimeException ex) {
+            throw new ScriptException(ex);
+        }
+        finally {
+            params.flush();
+        }
+    }
+
+    private PreCompiled compileCached(final String script) throws ScriptException {
+        if (script == null) {
+            throw new IllegalArgumentException("A 'script' must not be null");
+        }
+
+        synchronized(compiledScripts) {
+            final PreCompiled pc = compiledScripts.get(script);
+            if (pc != null) {
+                return pc;
+            }
+        }
+
+        // compile outside the lock, concurrent compilations of the same
+        // script are harmless
+        final PreCompiled pc;
+        try {
+            pc = venice.precompile("script", script, true);
+        }
+        catch(RuntimeException ex) {
+            throw new ScriptException(ex);
+        }
+
+        synchronized(compiledScripts) {
+            if (cacheSize > 0) {
+                compiledScripts.put(script, pc);
+            }
+        }
+
+        return pc;
+    }
+
+    private static String invokeScript(final String fn, final int argCount) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("(").append(fn);
+        for(int ii=0; ii<argCount; ii++) {
+            sb.append(" __arg").append(ii);
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+    private boolean isFunction(final String name) {
+        if (name == null || !VALID_NAME.matcher(name).matches()) {
+            return false;
+        }
+
+        try {
+            return Boolean.TRUE.equals(
+                    eval(compileCached("(and (bound? '" + name + ") (fn? " + name + "))"),
+                         context,
+                         null));
+        }
+        catch(ScriptException ex) {
+            return false;
+        }
+    }
+
+    private static Object toReturnType(final Object val, final Class<?> type) {
+        if (type == void.class || type == Void.class) {
+            return null;
+        }
+        else if (val instanceof Number) {
+            // Venice returns integral numbers as long and decimals as double
+            final Number n = (Number)val;
+            if (type == int.class || type == Integer.class) return n.intValue();
+            if (type == short.class || type == Short.class) return n.shortValue();
+            if (type == byte.class || type == Byte.class) return n.byteValue();
+            if (type == float.class || type == Float.class) return n.floatValue();
+            if (type == double.class || type == Double.class) return n.doubleValue();
+            if (type == long.class || type == Long.class) return n.longValue();
+        }
+        return val;
+    }
+
+    private static Map<String,Object> invokeLocals(final Object[] args) {
+        final Map<String,Object> locals = new HashMap<>();
+        if (args != null) {
+            for(int ii=0; ii<args.length; ii++) {
+                locals.put("__arg" + ii, args[ii]);
+            }
+        }
+        return locals;
+    }
+
+    private static void validateName(final String name) throws NoSuchMethodException {
+        if (name == null || !VALID_NAME.matcher(name).matches()) {
+            throw new NoSuchMethodException(String.valueOf(name));
+        }
+    }
+
+    private static String read(final Reader reader) throws ScriptException {
+        try {
+            final StringBuilder sb = new StringBuilder();
+            final char[] buf = new char[4096];
+            int n;
+            while((n = reader.read(buf)) != -1) {
+                sb.append(buf, 0, n);
+            }
+            return sb.toString();
+        }
+        catch(IOException ex) {
+            throw new ScriptException(ex);
+        }
+    }
+
+
+    public static final int DEFAULT_COMPILED_SCRIPT_CACHE_SIZE = 256;
+
+    private static final Pattern VALID_NAME = Pattern.compile("[^\\s()\\[\\]{}\"'`~@^;,#:.][^\\s()\\[\\]{}\"'`~@^;,]*");
 
     private final ScriptEngineFactory factory;
+    private final Venice venice = new Venice();
+
+    private int cacheSize = DEFAULT_COMPILED_SCRIPT_CACHE_SIZE;
+
+    // LRU cache: script -> pre-compiled script
+    private final LinkedHashMap<String,PreCompiled> compiledScripts =
+            new LinkedHashMap<String,PreCompiled>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String,PreCompiled> eldest) {
+                    return size() > cacheSize;
+                }
+
+                private static final long serialVersionUID = -1848883965231344442L;
+            };
 }
@@ -36,11 +36,11 @@ import com.github.jlangch.venice.impl.Modules;
 public class VeniceScriptEngineFactory implements ScriptEngineFactory {
 
     public VeniceScriptEngineFactory() {
+        properties.setProperty(ScriptEngine.ENGINE, getEngineName());
+        properties.setProperty(ScriptEngine.ENGINE_VERSION, getEngineVersion());
         properties.setProperty(ScriptEngine.NAME, getEngineName());
         properties.setProperty(ScriptEngine.LANGUAGE, getLanguageName());
         properties.setProperty(ScriptEngine.LANGUAGE_VERSION, getLanguageVersion());
-
-        this.scriptEngine = new VeniceScriptEngine(this, new VeniceBindings());
     }
 
 
@@ -81,10 +81,6 @@ public class VeniceScriptEngineFactory implements ScriptEngineFactory {
 
     @Override
     public Object getParameter(final String key) {
-         if (ScriptEngine.ENGINE.equals(key)) {
-             return getScriptEngine();
-         }
-
          return properties.getProperty(key);
     }
 
@@ -131,10 +127,9 @@ public class VeniceScriptEngineFactory implements ScriptEngineFactory {
 
     @Override
     public ScriptEngine getScriptEngine() {
-        return scriptEngine;
+        return new VeniceScriptEngine(this, new VeniceBindings());
     }
 
 
-    private final ScriptEngine scriptEngine;
     private final Properties properties = new Properties();
 }
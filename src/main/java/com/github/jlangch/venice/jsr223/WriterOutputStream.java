@@ -0,0 +1,110 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.jsr223;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * An output stream that decodes UTF-8 bytes and writes the characters
+ * to a writer.
+ *
+ * <p>Incomplete multi-byte sequences are kept until the next write.
+ */
+class WriterOutputStream extends OutputStream {
+
+    public WriterOutputStream(final Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] { (byte)b }, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while(remaining > 0) {
+            final int n = Math.min(remaining, in.remaining());
+            in.put(b, offset, n);
+            offset += n;
+            remaining -= n;
+            decode(false);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushOutput();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        decode(true);
+        decoder.flush(out);
+        flushOutput();
+        writer.flush();
+    }
+
+
+    private void decode(final boolean endOfInput) throws IOException {
+        in.flip();
+        while(true) {
+            final CoderResult result = decoder.decode(in, out, endOfInput);
+            if (result.isOverflow()) {
+                flushOutput();
+            }
+            else {
+                break;
+            }
+        }
+        in.compact();
+    }
+
+    private void flushOutput() throws IOException {
+        if (out.position() > 0) {
+            writer.write(out.array(), 0, out.position());
+            out.clear();
+        }
+    }
+
+
+    private final Writer writer;
+    private final ByteBuffer in = ByteBuffer.allocate(1024);
+    private final CharBuffer out = CharBuffer.allocate(1024);
+    private final CharsetDecoder decoder =
+            StandardCharsets.UTF_8
+                .newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+}
@@ -118,6 +118,20 @@ import com.github.jlangch.venice.impl.util.excel.Excel;
  *                           .writeToBytes();
  * </pre>
  *
+ * <p><b>Example 5 (streaming large data):</b>
+ * <pre>
+ *    ExcelBuilder
+ *       .createXlsxStreaming(200)
+ *       .withSheet("Persons", Person.class)
+ *          .withColumn("FirstName", Person::getFirstName)
+ *          .withColumn("LastName", Person::getLastName)
+ *          .withColumn("Age", Person::getAge)
+ *          .renderItems(persons)
+ *          .autoSizeColumns()
+ *          .end()
+ *       .write(outputStream);
+ * </pre>
+ *
  * @author juerg
  */
 public class ExcelBuilder {
@@ -135,6 +149,29 @@ public class ExcelBuilder {
         return new ExcelBuilder(Excel.createXlsx());
     }
 
+    /**
+     * Creates a streaming xlsx Excel builder that keeps a sliding window
+     * of the last 100 rows in memory.
+     *
+     * @return the builder
+     */
+    public static ExcelBuilder createXlsxStreaming() {
+        return new ExcelBuilder(Excel.createXlsxStreaming());
+    }
+
+    /**
+     * Creates a streaming xlsx Excel builder. The builder keeps a sliding
+     * window of the last <code>rowAccessWindowSize</code> rows per sheet in
+     * memory and flushes the older rows to a temporary file. Flushed rows
+     * cannot be read or modified anymore.
+     *
+     * @param rowAccessWindowSize the number of rows kept in memory
+     * @return the builder
+     */
+    public static ExcelBuilder createXlsxStreaming(final int rowAccessWindowSize) {
+        return new ExcelBuilder(Excel.createXlsxStreaming(rowAccessWindowSize));
+    }
+
 
     public ExcelFontBuilder withFont(final String name) {
         return new ExcelFontBuilder(this, managedExcel, name);
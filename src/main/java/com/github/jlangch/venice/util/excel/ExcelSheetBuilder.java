@@ -138,6 +138,11 @@ public class ExcelSheetBuilder<T> {
         return this;
     }
 
+    public ExcelSheetBuilder<T> trackColumnsForAutoSizing() {
+        sheet.trackColumnsForAutoSizing();
+        return this;
+    }
+
     public ExcelSheetBuilder<T> autoSizeColumns() {
         sheet.autoSizeColumns();
         return this;
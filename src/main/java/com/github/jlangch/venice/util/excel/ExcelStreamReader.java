@@ -0,0 +1,97 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.util.excel;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.github.jlangch.venice.impl.util.excel.XlsxStreamingWorkbook;
+
+
+/**
+ * A streaming xlsx Excel reader. The sheets are read row by row without
+ * loading the workbook into memory.
+ *
+ * <p><b>Example:</b>
+ * <pre>
+ *    try (ExcelStreamReader reader = ExcelStreamReader.open(file)) {
+ *        final ExcelStreamSheetReader sheet = reader.getSheet("Persons");
+ *        while(sheet.next()) {
+ *            final int row = sheet.getRowNum();
+ *            final List&lt;Object&gt; values = sheet.getValues();
+ *            ...
+ *        }
+ *    }
+ * </pre>
+ *
+ * @author juerg
+ */
+public class ExcelStreamReader implements Closeable {
+
+    private ExcelStreamReader(final XlsxStreamingWorkbook workbook) {
+        this.workbook = workbook;
+    }
+
+
+    public static ExcelStreamReader open(final byte[] document) {
+        return new ExcelStreamReader(XlsxStreamingWorkbook.open(new ByteArrayInputStream(document)));
+    }
+
+    public static ExcelStreamReader open(final ByteBuffer document) {
+        return new ExcelStreamReader(XlsxStreamingWorkbook.open(new ByteArrayInputStream(document.array())));
+    }
+
+    public static ExcelStreamReader open(final File file) {
+        return new ExcelStreamReader(XlsxStreamingWorkbook.open(file));
+    }
+
+    public static ExcelStreamReader open(final InputStream is) {
+        return new ExcelStreamReader(XlsxStreamingWorkbook.open(is));
+    }
+
+
+
+    public List<String> getSheetNames() {
+        return workbook.getSheetNames();
+    }
+
+    public ExcelStreamSheetReader getSheet(final String name) {
+        return new ExcelStreamSheetReader(workbook.getSheet(name));
+    }
+
+    public ExcelStreamSheetReader getSheetAt(final int sheetIdx) {
+        return new ExcelStreamSheetReader(workbook.getSheetAt(sheetIdx-1));
+    }
+
+    @Override
+    public void close() {
+        workbook.close();
+    }
+
+
+
+    private final XlsxStreamingWorkbook workbook;
+}
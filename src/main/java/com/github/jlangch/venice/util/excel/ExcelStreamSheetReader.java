@@ -0,0 +1,68 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.util.excel;
+
+import java.io.Closeable;
+import java.util.List;
+
+import com.github.jlangch.venice.impl.util.excel.XlsxStreamingSheet;
+
+
+/**
+ * A streaming xlsx Excel sheet reader
+ *
+ * @author juerg
+ */
+public class ExcelStreamSheetReader implements Closeable {
+
+    public ExcelStreamSheetReader(
+        final XlsxStreamingSheet sheet
+    ) {
+        this.sheet = sheet;
+    }
+
+
+    public String getName() {
+        return sheet.getName();
+    }
+
+    public boolean next() {
+        return sheet.next();
+    }
+
+    public int getRowNum() {
+        return sheet.getRowNum() + 1;
+    }
+
+    public List<Object> getValues() {
+        return sheet.getValues();
+    }
+
+    @Override
+    public void close() {
+        sheet.close();
+    }
+
+
+
+    private final XlsxStreamingSheet sheet;
+}
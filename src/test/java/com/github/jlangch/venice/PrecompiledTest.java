@@ -24,8 +24,10 @@ package com.github.jlangch.venice;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -34,6 +36,9 @@ import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.util.MetaUtil;
 import com.github.jlangch.venice.impl.util.StopWatch;
 import com.github.jlangch.venice.util.CapturingPrintStream;
 
@@ -91,6 +96,46 @@ public class PrecompiledTest {
         assertEquals(4L, venice.eval(PreCompiled.deserialize(data)));
     }
 
+    @Test
+    public void test_serialize_uncompressed() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(do                                                     \n" +
+                "  (defn f [x] (str/join \"-\" [x 2I 3.5 4.0M 5N #\\a]))     \n" +
+                "  (let [m {:a #{1 2} :b '(c d)}]                        \n" +
+                "    [(f x) (match? \"12\" #\"[0-9]+\") (:b m)]))            ";
+
+        final PreCompiled precomp = venice.precompile("test", script, true);
+
+        final byte[] compressed = precomp.serialize();
+        final byte[] uncompressed = precomp.serialize(false);
+
+        final Object expected = venice.eval(precomp, Parameters.of("x", 1L));
+        assertEquals(expected, venice.eval(PreCompiled.deserialize(compressed), Parameters.of("x", 1L)));
+        assertEquals(expected, venice.eval(PreCompiled.deserialize(uncompressed), Parameters.of("x", 1L)));
+    }
+
+    @Test
+    public void test_serialize_keeps_location() {
+        final Venice venice = new Venice();
+
+        final PreCompiled precomp = venice.precompile("test", "(do\n  (/ 1 0))", true);
+
+        final PreCompiled precomp2 = PreCompiled.deserialize(precomp.serialize(false));
+
+        assertEquals("test", precomp2.getName());
+        assertTrue(precomp2.isMacroexpand());
+
+        final VncVal form = ((VncList)precomp.getPrecompiled()).second();
+        final VncVal form2 = ((VncList)precomp2.getPrecompiled()).second();
+        assertEquals(form, form2);
+        assertEquals(form.getMeta(), form2.getMeta());
+        assertEquals(2, MetaUtil.getLine(form2.getMeta()));
+
+        assertThrows(VncException.class, () -> venice.eval(precomp2));
+    }
+
     @Test
     public void test_version() {
         final Venice venice = new Venice();
@@ -366,4 +411,163 @@ public class PrecompiledTest {
 
         assertThrows(VncException.class, () -> venice.eval(precomp));
     }
+
+    @Test
+    public void test_analyzed_simple() {
+        final Venice venice = new Venice();
+
+        final PreCompiled precomp = venice.precompile("test", "(if (and true (= 1 1)) 4 0)", true, true);
+
+        assertTrue(precomp.isAnalyzed());
+        assertEquals(4L, venice.eval(precomp));
+    }
+
+    @Test
+    public void test_analyzed_with_params() {
+        final Venice venice = new Venice();
+
+        final String script = "(+ (cond (< x 0) -1 (> x 0) 1 :else 0) " +
+                              "   (cond (< y 0) -1 (> y 0) 1 :else 0))";
+
+        final PreCompiled precomp = venice.precompile("test", script, true, true);
+
+        assertEquals(0L, venice.eval(precomp, Parameters.of("x", -10, "y", 10)));
+        assertEquals(2L, venice.eval(precomp, Parameters.of("x", 10, "y", 10)));
+    }
+
+    @Test
+    public void test_analyzed_retained_locals_shadow_globals() {
+        final Venice venice = new Venice();
+
+        final String script = "(let [x 1] (str name \"-\" (+ count x) \"-\" (first list)))";
+
+        final PreCompiled precomp = venice.precompile("test", script, true, true);
+
+        assertEquals(
+            "foo-42-3",
+            venice.evalRetained(
+                precomp,
+                null,
+                Parameters.of("name", "foo", "count", 41, "list", Arrays.asList(3, 4))));
+
+        // without locals the symbols resolve to the core functions
+        assertEquals(
+            "(1 2)",
+            venice.evalRetained(
+                venice.precompile("test", "(str (list 1 (count [1 2])))", true, true),
+                null,
+                null));
+    }
+
+    @Test
+    public void test_analyzed_let_loop_recur() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(let [n 10]                          \n" +
+                "  (loop [i 0, sum 0]                 \n" +
+                "    (if (< i n)                      \n" +
+                "      (let [j (inc i)]               \n" +
+                "        (recur j (+ sum j)))         \n" +
+                "      sum)))                           ";
+
+        final PreCompiled precomp = venice.precompile("test", script, true, true);
+
+        assertEquals(55L, venice.eval(precomp));
+    }
+
+    @Test
+    public void test_analyzed_closure() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(do                                  \n" +
+                "  (defn adder [x] (fn [y] (+ x y)))  \n" +
+                "  (let [x 10, f (adder x)]           \n" +
+                "    [(f 1) ((fn [] x))]))              ";
+
+        final PreCompiled precomp = venice.precompile("test", script, true, true);
+
+        assertEquals("[11, 10]", venice.eval(precomp).toString());
+    }
+
+    @Test
+    public void test_analyzed_shadowing() {
+        final Venice venice = new Venice();
+
+        final String script = "(let [inc dec, x (inc 1)] [x (let [x 5] x) (:a {:a x})])";
+
+        final PreCompiled precomp = venice.precompile("test", script, true, true);
+
+        assertEquals("[0, 5, 0]", venice.eval(precomp).toString());
+    }
+
+    @Test
+    public void test_analyzed_recur_not_in_tail_pos() {
+        final Venice venice = new Venice();
+
+        final PreCompiled precomp = venice.precompile(
+                                        "test",
+                                        "(loop [i 0] (inc (recur 1)))",
+                                        true,
+                                        true);
+
+        assertThrows(NotInTailPositionException.class, () -> venice.eval(precomp));
+    }
+
+    @Test
+    public void test_analyzed_recur_arity() {
+        final Venice venice = new Venice();
+
+        final PreCompiled precomp = venice.precompile(
+                                        "test",
+                                        "(loop [i 0] (if (< i 2) (recur 1 2) i))",
+                                        true,
+                                        true);
+
+        assertThrows(VncException.class, () -> venice.eval(precomp));
+    }
+
+    @Test
+    public void test_analyzed_serialize() {
+        final Venice venice = new Venice();
+
+        final PreCompiled precomp = venice.precompile(
+                                        "test",
+                                        "(do (defn sum [x y] (+ x y)) (loop [i 0] (if (< i 3) (recur (inc i)) (sum i 1))))",
+                                        true,
+                                        true);
+
+        final PreCompiled precomp2 = PreCompiled.deserialize(precomp.serialize());
+
+        assertTrue(precomp2.isAnalyzed());
+        assertEquals(4L, venice.eval(precomp2));
+    }
+
+    @Test
+    public void test_analyzed_serialize_uncompressed() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(let [n 10]                          \n" +
+                "  (loop [i 0, sum 0]                 \n" +
+                "    (if (< i n)                      \n" +
+                "      (let [j (inc i)]               \n" +
+                "        (recur j (+ sum j)))         \n" +
+                "      (str sum \"-\" (count [i n])))))   ";
+
+        final PreCompiled precomp = venice.precompile("test", script, true, true);
+
+        final PreCompiled precomp2 = PreCompiled.deserialize(precomp.serialize(false));
+
+        assertTrue(precomp2.isAnalyzed());
+        assertEquals("55-2", venice.eval(precomp2));
+    }
+
+    @Test
+    public void test_analyze_requires_macroexpand() {
+        final Venice venice = new Venice();
+
+        assertThrows(IllegalArgumentException.class, () -> venice.precompile("test", "(+ 1 2)", false, true));
+    }
 }
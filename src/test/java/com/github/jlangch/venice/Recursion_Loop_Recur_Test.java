@@ -222,6 +222,90 @@ public class Recursion_Loop_Recur_Test {
         assertEquals(Long.valueOf(0L), venice.eval(s));
     }
 
+    @Test
+    public void test_loop_many_iterations() {
+        final Venice venice = new Venice();
+
+        final String s =
+                "(loop [i 0, a 0, b 1, c 2]                        \n" +
+                "   (if (< i 100000)                               \n" +
+                "      (recur (inc i) (+ a 1) (+ b 1) (+ c 1))     \n" +
+                "      [i a b c]))                                   ";
+
+        assertEquals("[100000 100000 100001 100002]", venice.eval("(str " + s + ")"));
+    }
+
+    @Test
+    public void test_loop_swap_bindings() {
+        final Venice venice = new Venice();
+
+        // recur must evaluate all args before rebinding
+        final String s =
+                "(loop [i 0, a 1, b 2]                 \n" +
+                "   (if (< i 3)                        \n" +
+                "      (recur (inc i) b a)             \n" +
+                "      [a b]))                           ";
+
+        assertEquals("[2 1]", venice.eval("(str " + s + ")"));
+    }
+
+    @Test
+    public void test_loop_closure_captures_iteration() {
+        final Venice venice = new Venice();
+
+        final String s =
+                "(loop [i 0, fs []]                            \n" +
+                "   (if (< i 3)                                \n" +
+                "      (recur (inc i) (conj fs (fn [] i)))     \n" +
+                "      (map #(%) fs)))                           ";
+
+        assertEquals("(0 1 2)", venice.eval("(str " + s + ")"));
+
+        // analyzed loop nodes
+        final PreCompiled precomp = venice.precompile("test", "(str " + s + ")", true, true);
+        assertEquals("(0 1 2)", venice.eval(precomp));
+    }
+
+    @Test
+    public void test_loop_closure_captures_iteration_let() {
+        final Venice venice = new Venice();
+
+        final String s =
+                "(loop [i 0, fs []]                            \n" +
+                "   (let [j (* i 10)                           \n" +
+                "         f (fn [] [i j])]                     \n" +
+                "      (if (< i 3)                             \n" +
+                "         (recur (inc i) (conj fs f))          \n" +
+                "         (map #(%) fs))))                       ";
+
+        assertEquals("([0 0] [1 10] [2 20])", venice.eval("(str " + s + ")"));
+
+        // analyzed loop nodes
+        final PreCompiled precomp = venice.precompile("test", "(str " + s + ")", true, true);
+        assertEquals("([0 0] [1 10] [2 20])", venice.eval(precomp));
+    }
+
+    @Test
+    public void test_loop_closure_captures_iteration_nested() {
+        final Venice venice = new Venice();
+
+        final String s =
+                "(loop [i 0, fs []]                                          \n" +
+                "   (if (< i 2)                                              \n" +
+                "      (recur (inc i)                                        \n" +
+                "             (loop [j 0, gs fs]                             \n" +
+                "                (if (< j 2)                                 \n" +
+                "                   (recur (inc j) (conj gs (fn [] [i j])))  \n" +
+                "                   gs)))                                    \n" +
+                "      (map #(%) fs)))                                         ";
+
+        assertEquals("([0 0] [0 1] [1 0] [1 1])", venice.eval("(str " + s + ")"));
+
+        // analyzed loop nodes
+        final PreCompiled precomp = venice.precompile("test", "(str " + s + ")", true, true);
+        assertEquals("([0 0] [0 1] [1 0] [1 1])", venice.eval(precomp));
+    }
+
     @Test
     public void test_loop_not_tail_loop() {
         final Venice venice = new Venice();
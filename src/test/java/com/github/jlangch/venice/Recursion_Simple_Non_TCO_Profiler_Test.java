@@ -73,4 +73,32 @@ public class Recursion_Simple_Non_TCO_Profiler_Test {
         assertEquals(Long.valueOf(9L), venice.eval(lisp));
     }
 
+    @Test
+    public void test_recursive_call_profiler() {
+        final Venice venice = new Venice();
+
+        final String lisp =
+                "(do                                                 \n" +
+                "  (defn fib [n]                                     \n" +
+                "    (if (< n 2)                                     \n" +
+                "      n                                             \n" +
+                "      (+ (fib (- n 1)) (fib (- n 2)))))             \n" +
+                "                                                    \n" +
+                "  (let [data (perf (fib 4) 0 1 :profile true)       \n" +
+                "        fib  (->> (:functions data)                 \n" +
+                "                  (filter #(= (:name %) \"user/fib\")) \n" +
+                "                  (first))]                         \n" +
+                "    [(:count fib)                                   \n" +
+                "     (get (:arities fib) 1)                         \n" +
+                "     (<= (:total-nanos fib)                         \n" +
+                "         (->> (:stacks data)                        \n" +
+                "              (map :total-nanos)                    \n" +
+                "              (apply max)))                         \n" +
+                "     (str/contains? (prof :profile-collapsed)       \n" +
+                "                    \"user/fib;user/fib;user/fib \")  \n" +
+                "     (prof :profile-status)]))                        ";
+
+        assertEquals("[9 9 true true :off]", venice.eval("(pr-str " + lisp + ")"));
+    }
+
 }
@@ -653,4 +653,41 @@ public class SpecialFormsTest_deftype {
 
         venice.eval(script);
     }
+
+    @Test
+    public void test_deftype_access_fields_many() {
+        final Venice venice = new Venice();
+
+        // more than 8 fields use a hashed field index
+        final String script =
+                "(do                                                             \n" +
+                "  (deftype :big [a :long, b :long, c :long, d :long, e :long,   \n" +
+                "                 f :long, g :long, h :long, i :long, j :long])  \n" +
+                "  (def x (big. 1 2 3 4 5 6 7 8 9 10))                           \n" +
+                "  (def y (assoc x :j 100 :a 0))                                 \n" +
+                "  (pr-str [(:a x) (:i x) (:j x) (:z x) (:z x 42)                \n" +
+                "           (get x :e) (contains? x :f) (contains? x :z)         \n" +
+                "           (:a y) (:j y) (count y) (keys y)]))                    ";
+
+        assertEquals(
+            "[1 9 10 nil 42 5 true false 0 100 10 (:a :b :c :d :e :f :g :h :i :j)]",
+            venice.eval(script));
+    }
+
+    @Test
+    public void test_deftype_map_view() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(do                                                 \n" +
+                "  (deftype :complex [real :long, imaginary :long])  \n" +
+                "  (def x (complex. 100 200))                        \n" +
+                "  (pr-str [(dissoc x :real)                         \n" +
+                "           (into (ordered-map) x)                   \n" +
+                "           (hash-set (complex. 1 2) (complex. 1 2))]))  ";
+
+        assertEquals(
+            "[{:imaginary 200} {:real 100 :imaginary 200} #{{:custom-type* :user/complex :real 1 :imaginary 2}}]",
+            venice.eval(script));
+    }
 }
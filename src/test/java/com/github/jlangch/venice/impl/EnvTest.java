@@ -22,6 +22,7 @@
 package com.github.jlangch.venice.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -110,4 +111,100 @@ public class EnvTest {
         assertEquals(new VncLong(300), env_2.get(new VncSymbol("g")));
     }
 
+    @Test
+    public void testManyLocals() {
+        final Env env = new Env(new Env(), 2);
+
+        for(int ii=0; ii<100; ii++) {
+            env.setLocal(new Var(new VncSymbol("a" + ii), new VncLong(ii)));
+        }
+
+        // rebind
+        env.setLocal(new Var(new VncSymbol("a50"), new VncLong(500)));
+
+        assertEquals(100, env.getLocalVars(0).size());
+        assertEquals(new VncLong(0), env.get(new VncSymbol("a0")));
+        assertEquals(new VncLong(500), env.get(new VncSymbol("a50")));
+        assertEquals(new VncLong(99), env.get(new VncSymbol("a99")));
+    }
+
+    @Test
+    public void testManyGlobalRefs() {
+        final Env env = new Env(new Env(), 1);
+        env.setLocal(new Var(new VncSymbol("a"), new VncLong(1)));
+
+        for(int ii=0; ii<50; ii++) {
+            env.setGlobal(new Var(new VncSymbol("g" + ii), new VncLong(ii)));
+        }
+
+        // the global lookups add global reference vars to the local level
+        for(int ii=0; ii<50; ii++) {
+            assertEquals(new VncLong(ii), env.get(new VncSymbol("g" + ii)));
+        }
+
+        env.setLocal(new Var(new VncSymbol("b"), new VncLong(2)));
+        env.setLocal(new Var(new VncSymbol("g10"), new VncLong(100)));
+
+        assertEquals(3, env.getLocalVars(0).size());
+        assertEquals(new VncLong(1), env.get(new VncSymbol("a")));
+        assertEquals(new VncLong(2), env.get(new VncSymbol("b")));
+        assertEquals(new VncLong(100), env.get(new VncSymbol("g10")));
+        assertEquals(new VncLong(49), env.get(new VncSymbol("g49")));
+        assertEquals(new VncLong(2), env.findLocalVar(new VncSymbol("b"), 0, 0).getVal());
+    }
+
+    @Test
+    public void testLexicalAddress() {
+        final Env env_0 = new Env();
+        env_0.setLocal(new Var(new VncSymbol("a"), new VncLong(100)));
+        env_0.setLocal(new Var(new VncSymbol("b"), new VncLong(200)));
+
+        final Env env_1 = new Env(env_0, 1);
+        env_1.setLocal(new Var(new VncSymbol("c"), new VncLong(300)));
+
+        assertEquals(new VncLong(200), env_1.findLocalVar(new VncSymbol("b"), 1, 1).getVal());
+        assertEquals(new VncLong(300), env_1.findLocalVar(new VncSymbol("c"), 0, 0).getVal());
+
+        // wrong address hints fall back to symbol lookup
+        assertEquals(new VncLong(100), env_1.findLocalVar(new VncSymbol("a"), 0, 0).getVal());
+        assertEquals(new VncLong(100), env_1.findLocalVar(new VncSymbol("a"), 5, 7).getVal());
+        assertNull(env_1.findLocalVar(new VncSymbol("x"), 0, 0));
+    }
+
+    @Test
+    public void testGlobalVarCache() {
+        final Env env = new Env(new Env());
+        final VncSymbol g = new VncSymbol("g");
+
+        env.setGlobal(new Var(g, new VncLong(900)));
+        assertEquals(new VncLong(900), env.get(g));
+        assertEquals(new VncLong(900), env.get(g));  // cached
+
+        // redefining the global invalidates the cache
+        env.setGlobal(new Var(new VncSymbol("g"), new VncLong(901)));
+        assertEquals(new VncLong(901), env.get(g));
+
+        // an unrelated global invalidates the cache as well
+        env.setGlobal(new Var(new VncSymbol("h"), new VncLong(1)));
+        assertEquals(new VncLong(901), env.get(g));
+
+        // a removed global must not be served from the cache
+        env.removeGlobalSymbol(new VncSymbol("g"));
+        assertThrows(VncException.class, () -> env.get(g));
+
+        // a local var shadows the cached global var
+        env.setGlobal(new Var(new VncSymbol("g"), new VncLong(902)));
+        assertEquals(new VncLong(902), env.get(g));
+        final Env local = new Env(env);
+        local.setLocal(new Var(new VncSymbol("g"), new VncLong(1)));
+        assertEquals(new VncLong(1), local.get(g));
+        assertEquals(new VncLong(902), env.get(g));
+
+        // the cache is bound to the env's global var table
+        final Env other = new Env();
+        other.setGlobal(new Var(new VncSymbol("g"), new VncLong(700)));
+        assertEquals(new VncLong(700), other.get(g));
+        assertEquals(new VncLong(902), env.get(g));
+    }
+
 }
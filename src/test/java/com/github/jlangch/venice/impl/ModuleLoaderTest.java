@@ -0,0 +1,48 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jlangch.venice.Venice;
+
+
+public class ModuleLoaderTest {
+
+    @Test
+    public void test_cached_core_form() {
+        final Venice venice = new Venice();
+
+        assertEquals(3L, venice.eval("test", "(+ 1 2)", false, null));
+        assertNotNull(ModuleLoader.getCachedModuleForm("core", false));
+
+        assertEquals(3L, venice.eval("test", "(+ 1 2)", true, null));
+        assertNotNull(ModuleLoader.getCachedModuleForm("core", true));
+
+        // further environments are set up from the cached forms
+        assertEquals("(1 2 3)", venice.eval("test", "(str (map inc '(0 1 2)))", false, null));
+        assertEquals("(1 2 3)", venice.eval("test", "(str (map inc '(0 1 2)))", true, null));
+    }
+}
@@ -104,4 +104,20 @@ public class CidrFunctionsTest {
         assertTrue((Boolean)venice.eval("(cidr/ip6? (cidr/inet-addr \"2001:db8:85a3:8d3:ffff:ffff:ffff:ffff\"))"));
     }
 
+    @Test
+    public void test_table() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(let [table (cidr/table [[\"192.16.0.0/16\" \"EU\"]         \n" +
+                "                         [\"192.16.10.0/24\" \"DE\"]])]     \n" +
+                "  (pr-str [(cidr/size table)                                 \n" +
+                "           (cidr/lookup table \"192.16.10.15\")               \n" +
+                "           (cidr/lookup table \"192.16.11.15\")               \n" +
+                "           (cidr/lookup table \"192.17.0.1\")                 \n" +
+                "           (cidr/lookup table (cidr/parse \"192.16.0.0/20\"))]))";
+
+        assertEquals("[2 \"DE\" \"EU\" nil \"EU\"]", venice.eval(script));
+    }
+
 }
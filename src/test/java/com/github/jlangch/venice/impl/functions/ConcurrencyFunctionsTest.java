@@ -706,6 +706,38 @@ public class ConcurrencyFunctionsTest {
         assertEquals("(9 11)", venice.eval("(pr-str (pmap + [1 2] [8 9 10 11]))"));
     }
 
+    @Test
+    public void test_pmap_order() {
+        final Venice venice = new Venice();
+
+        assertEquals(
+            "(0 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17 18 19)",
+            venice.eval("(pr-str (pmap #(do (sleep (if (== % 0) 200 1)) %) (range 20)))"));
+
+        assertEquals(
+            "(1 2 3 4 5 6 7 8 9 10)",
+            venice.eval("(pr-str (pmap (fn [x] (first (pmap inc [x]))) (range 10)))"));
+    }
+
+    @Test
+    public void test_pmap_failure() {
+        final Venice venice = new Venice();
+
+        assertThrows(
+            ValueException.class,
+            () -> venice.eval("(pmap #(if (== % 5) (throw 5) %) (range 10))"));
+    }
+
+    @Test
+    public void test_upmap() {
+        final Venice venice = new Venice();
+
+        assertEquals("()", venice.eval("(pr-str (upmap inc nil))"));
+        assertEquals("()", venice.eval("(pr-str (upmap inc []))"));
+        assertEquals("(2 3 4 5 6 7)", venice.eval("(pr-str (sort (upmap inc [1 2 3 4 5 6])))"));
+        assertEquals("(9 11)", venice.eval("(pr-str (sort (upmap + [1 2 3] [8 9])))"));
+    }
+
     @Test
     public void test_pcalls() {
         final Venice venice = new Venice();
@@ -714,6 +746,86 @@ public class ConcurrencyFunctionsTest {
         assertEquals("(3 5 7)", venice.eval("(pr-str (pcalls #(+ 1 2) #(+ 2 3) #(+ 3 4)))"));
     }
 
+    @Test
+    public void test_pmap_parallelism() {
+        final Venice venice = new Venice();
+
+        final long parallelism = (Long)venice.eval("(pmap-parallelism)");
+        assertTrue(parallelism >= 1L);
+
+        try {
+            assertEquals(8L, venice.eval("(pmap-parallelism 8)"));
+            assertEquals(8L, venice.eval("(pmap-parallelism)"));
+            assertEquals(
+                "(0 1 2 3 4 5 6 7)",
+                venice.eval("(pr-str (pmap #(do (sleep 10) %) (range 8)))"));
+
+            assertThrows(VncException.class, () -> venice.eval("(pmap-parallelism 0)"));
+        }
+        finally {
+            venice.eval("(pmap-parallelism " + parallelism + ")");
+        }
+    }
+
+    @Test
+    public void test_pmap_window() {
+        final Venice venice = new Venice();
+
+        final long parallelism = (Long)venice.eval("(pmap-parallelism)");
+
+        assertEquals(parallelism + 2L, venice.eval("(pmap-window)"));
+
+        assertEquals(
+            "[1 (0 1 2 3 4 5 6 7) 1]",
+            venice.eval(
+                "(do                                               \n" +
+                "  (pmap-window 1)                                  \n" +
+                "  (pr-str [(pmap-window)                           \n" +
+                "           (pmap #(do (sleep 5) %) (range 8))      \n" +
+                "           @(future pmap-window)]))                  "));
+
+        // the window is not retained by the next evaluation
+        assertEquals(parallelism + 2L, venice.eval("(pmap-window)"));
+        assertEquals(parallelism + 2L, venice.eval("(do (pmap-window 4) (pmap-window nil))"));
+
+        assertThrows(VncException.class, () -> venice.eval("(pmap-window 0)"));
+    }
+
+    @Test
+    public void test_fold() {
+        final Venice venice = new Venice();
+
+        assertEquals(0L, venice.eval("(fold + nil)"));
+        assertEquals(0L, venice.eval("(fold + [])"));
+        assertEquals(6L, venice.eval("(fold + [1 2 3])"));
+        assertEquals(50005000L, venice.eval("(fold + (range 1 10001))"));
+        assertEquals(50005000L, venice.eval("(fold 100 + + (vec (range 1 10001)))"));
+        assertEquals(50005000L, venice.eval("(fold 100 + + (long-vector (range 1 10001)))"));
+        assertEquals(5000.5D, venice.eval("(/ (fold 7 + + (double-vector (range 1 10001))) 10000.0)"));
+        assertEquals(5050L, venice.eval("(fold 10 + + (take 100 (lazy-seq 1 inc)))"));
+
+        // order is preserved
+        assertEquals(
+            "[0 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17 18 19]",
+            venice.eval("(pr-str (fold 3 (fn ([] []) ([x y] (into x y))) conj (vec (range 20))))"));
+
+        // maps and sets
+        assertEquals(6L, venice.eval("(fold 1 + (fn [acc [k v]] (+ acc v)) {:a 1 :b 2 :c 3})"));
+        assertEquals(6L, venice.eval("(fold 1 + + #{1 2 3})"));
+    }
+
+    @Test
+    public void test_fold_transducer() {
+        final Venice venice = new Venice();
+
+        assertEquals(338350L, venice.eval("(fold 10 + (map #(* % %)) + (vec (range 1 101)))"));
+
+        // stateful transducers keep their state per chunk
+        assertEquals(
+            "[0 1 10 11 20 21 30 31]",
+            venice.eval("(pr-str (fold 10 (fn ([] []) ([x y] (into x y))) (take 2) conj (vec (range 40))))"));
+    }
+
     @Test
     public void test_promise_1() {
         final Venice venice = new Venice();
@@ -261,6 +261,68 @@ public class CoreFunctionsTest {
         assertEquals("(#\\1 #\\2)", venice.eval("(pr-str (butlast \"123\"))"));
     }
 
+    @Test
+    public void test_double_vector() {
+        final Venice venice = new Venice();
+
+        assertEquals("[1.0 2.5 3.0]", venice.eval("(str (double-vector [1 2.5 3]))"));
+        assertEquals("[0.0 0.0]", venice.eval("(str (double-vector 2))"));
+        assertEquals("[1.5 1.5]", venice.eval("(str (double-vector 2 1.5))"));
+        assertEquals("[1.0 2.0]", venice.eval("(str (double-vector (double-array [1.0 2.0])))"));
+        assertEquals(":core/double-vector", venice.eval("(str (type (double-vector [1.0])))"));
+        assertTrue((Boolean)venice.eval("(double-vector? (double-vector [1.0]))"));
+        assertFalse((Boolean)venice.eval("(double-vector? [1.0])"));
+
+        assertEquals(6.5, venice.eval("(apply + (double-vector [1.0 2.0 3.5]))"));
+        assertEquals(-4.5, venice.eval("(apply - (double-vector [1.0 2.0 3.5]))"));
+        assertEquals(7.0, venice.eval("(apply * (double-vector [1.0 2.0 3.5]))"));
+        assertEquals(0.25, venice.eval("(apply / (double-vector [1.0 2.0 2.0]))"));
+        assertEquals(1.0, venice.eval("(apply min (double-vector [3.0 1.0 2.0]))"));
+        assertEquals(3.0, venice.eval("(apply max (double-vector [3.0 1.0 2.0]))"));
+        assertEquals(6.5, venice.eval("(reduce + (double-vector [1.0 2.0 3.5]))"));
+
+        assertEquals(":core/vector", venice.eval("(str (type (conj (double-vector [1.0]) :a)))"));
+        assertEquals(":core/double-vector", venice.eval("(str (type (conj (double-vector [1.0]) 2.0)))"));
+    }
+
+    @Test
+    public void test_long_vector() {
+        final Venice venice = new Venice();
+
+        assertEquals("[1 2 3]", venice.eval("(str (long-vector [1 2 3]))"));
+        assertEquals("[1 2 3]", venice.eval("(str (long-vector '(1 2.5 3I)))"));
+        assertEquals("[0 0]", venice.eval("(str (long-vector 2))"));
+        assertEquals("[42 42]", venice.eval("(str (long-vector 2 42))"));
+        assertEquals("[1 2]", venice.eval("(str (long-vector (long-array [1 2])))"));
+        assertEquals(":core/long-vector", venice.eval("(str (type (long-vector [1])))"));
+        assertTrue((Boolean)venice.eval("(long-vector? (long-vector [1]))"));
+        assertFalse((Boolean)venice.eval("(long-vector? [1])"));
+
+        assertEquals(2L, venice.eval("(nth (long-vector [1 2 3]) 1)"));
+        assertEquals(2L, venice.eval("((long-vector [1 2 3]) 1)"));
+        assertEquals(3L, venice.eval("(count (long-vector [1 2 3]))"));
+        assertEquals("[2 3]", venice.eval("(str (rest (long-vector [1 2 3])))"));
+        assertEquals("[3 2 1]", venice.eval("(str (reverse (long-vector [1 2 3])))"));
+        assertEquals("(2 3 4)", venice.eval("(str (map inc (long-vector [1 2 3])))"));
+        assertEquals(":core/long-vector", venice.eval("(str (type (conj (long-vector [1]) 2)))"));
+        assertEquals(":core/vector", venice.eval("(str (type (conj (long-vector [1]) 2.0)))"));
+        assertTrue((Boolean)venice.eval("(= (long-vector [1 2]) (long-vector [1 2]))"));
+
+        assertEquals(0L, venice.eval("(apply + (long-vector []))"));
+        assertEquals(-1L, venice.eval("(apply - (long-vector [1]))"));
+        assertEquals(6L, venice.eval("(apply + (long-vector [1 2 3]))"));
+        assertEquals(-4L, venice.eval("(apply - (long-vector [1 2 3]))"));
+        assertEquals(24L, venice.eval("(apply * (long-vector [2 3 4]))"));
+        assertEquals(2L, venice.eval("(apply / (long-vector [12 3 2]))"));
+        assertEquals(1L, venice.eval("(apply min (long-vector [3 1 2]))"));
+        assertEquals(3L, venice.eval("(apply max (long-vector [3 1 2]))"));
+        assertEquals(6L, venice.eval("(reduce + (long-vector [1 2 3]))"));
+        assertEquals(16L, venice.eval("(reduce + 10 (long-vector [1 2 3]))"));
+
+        assertThrows(VncException.class, () -> venice.eval("(apply / (long-vector [1 0]))"));
+        assertThrows(VncException.class, () -> venice.eval("(long-vector [1 :a])"));
+    }
+
     @Test
     public void test_new_char() {
         final Venice venice = new Venice();
@@ -2035,6 +2097,10 @@ public class CoreFunctionsTest {
         assertEquals("{:a 1 :b 2 :c 3}", venice.eval("(str (into (ordered-map) [{:a 1} {:b 2} {:c 3}] ))"));
         assertEquals("{:a 1 :b 2 :c 3}", venice.eval("(str (into (ordered-map) { :a 1 :b 2 :c 3} ))"));
         assertEquals("{:a 1 :b 2 :c 3}", venice.eval("(str (into (ordered-map) (ordered-map :a 1 :b 2 :c 3) ))"));
+
+        assertEquals(3L, venice.eval("(count (into {:a 0} [[:a 1] {:b 2} (map-entry :c 3)]))"));
+        assertEquals(1L, venice.eval("(:a (into {:a 0} [[:a 1] {:b 2} (map-entry :c 3)]))"));
+        assertEquals(1000L, venice.eval("(count (into {} (map #(vector % %) (range 1000))))"));
     }
 
     @Test
@@ -3010,6 +3076,57 @@ public class CoreFunctionsTest {
         assertEquals("[101 101 101 102 102 2]", venice.eval("(str " + script2 + ")"));
     }
 
+    @Test
+    public void test_memoize_bounded() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(do                                                 \n" +
+                "   (def counter (atom 0))                           \n" +
+                "   (def test-memo                                   \n" +
+                "        (memoize (fn [a] (swap! counter inc) (* a 10)) \n" +
+                "                 :max-size 2))                      \n" +
+                "   (test-memo 1)                                    \n" +
+                "   (test-memo 2)                                    \n" +
+                "   (test-memo 1)                                    \n" +
+                "   (test-memo 3)       ; evicts 2                   \n" +
+                "   (test-memo 1)                                    \n" +
+                "   (test-memo 2)                                    \n" +
+                "   [@counter (memoize-stats test-memo)])              ";
+
+        assertEquals(
+            "[4 {:hits 2 :misses 4 :hit-rate 0.3333333333333333 :evictions 2 :expirations 0 :size 2}]",
+            venice.eval("(pr-str " + script + ")"));
+    }
+
+    @Test
+    public void test_memoize_expire() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(do                                                 \n" +
+                "   (def counter (atom 0))                           \n" +
+                "   (def test-memo                                   \n" +
+                "        (memoize (fn [] (swap! counter inc))        \n" +
+                "                 :expire-after-write 50))           \n" +
+                "   (test-memo)                                      \n" +
+                "   (test-memo)                                      \n" +
+                "   (sleep 100)                                      \n" +
+                "   (test-memo)                                      \n" +
+                "   [@counter (:expirations (memoize-stats test-memo))])  ";
+
+        assertEquals("[2 1]", venice.eval("(pr-str " + script + ")"));
+    }
+
+    @Test
+    public void test_memoize_invalid() {
+        final Venice venice = new Venice();
+
+        assertThrows(VncException.class, () -> venice.eval("(memoize + :eviction :fifo)"));
+        assertThrows(VncException.class, () -> venice.eval("(memoize + :max-size -1)"));
+        assertThrows(VncException.class, () -> venice.eval("(memoize-stats +)"));
+    }
+
     @Test
     public void test_merge() {
         final Venice venice = new Venice();
@@ -3722,6 +3839,26 @@ public class CoreFunctionsTest {
         assertEquals(Long.valueOf(1L), venice.eval("(pop! (push! (stack) 1))"));
     }
 
+    @Test
+    public void test_persistent_BANG() {
+        final Venice venice = new Venice();
+
+        assertEquals("[1 2 3]", venice.eval("(str (persistent! (transient [1 2 3])))"));
+        assertEquals("{:a 1}", venice.eval("(str (persistent! (transient {:a 1})))"));
+        assertEquals("#{1}", venice.eval("(str (persistent! (transient #{1})))"));
+
+        assertEquals(":core/vector", venice.eval("(str (type (persistent! (transient (vec (range 10))))))"));
+        assertEquals(":core/hash-map", venice.eval("(str (type (persistent! (transient {:a 1}))))"));
+        assertEquals(":core/hash-set", venice.eval("(str (type (persistent! (transient #{1}))))"));
+
+        assertThrows(VncException.class, () -> venice.eval("(persistent! [1 2])"));
+        assertThrows(VncException.class, () -> venice.eval("(persistent! (mutable-vector 1 2))"));
+
+        // a transient is invalidated by persistent!
+        assertThrows(VncException.class, () -> venice.eval("(let [t (transient [])] (persistent! t) (conj! t 1))"));
+        assertThrows(VncException.class, () -> venice.eval("(let [t (transient [])] (persistent! t) (persistent! t))"));
+    }
+
     @Test
     public void test_pos() {
         final Venice venice = new Venice();
@@ -4578,6 +4715,36 @@ public class CoreFunctionsTest {
         assertFalse((Boolean)venice.eval("(symbol? {})"));
     }
 
+    @Test
+    public void test_transient() {
+        final Venice venice = new Venice();
+
+        assertEquals("[1 2 3 4 5]", venice.eval("(str (persistent! (conj! (transient [1 2 3]) 4 5)))"));
+        assertEquals("[10 2 3 4]", venice.eval("(str (persistent! (assoc! (transient [1 2 3]) 0 10 3 4)))"));
+        assertEquals("{:a 1 :b 2}", venice.eval("(str (persistent! (assoc! (transient {:a 1}) :b 2)))"));
+        assertEquals("{:a 1}", venice.eval("(str (persistent! (dissoc! (transient {:a 1 :b 2}) :b)))"));
+        assertEquals("{:a 1 :b 2}", venice.eval("(str (persistent! (conj! (transient {}) [:a 1] (map-entry :b 2))))"));
+        assertEquals("#{0 1 2}", venice.eval("(str (persistent! (reduce conj! (transient #{}) (range 3))))"));
+        assertEquals("#{0 2}", venice.eval("(str (persistent! (disj! (transient #{0 1 2}) 1)))"));
+        assertEquals(1000L, venice.eval("(count (persistent! (reduce #(assoc! %1 %2 %2) (transient {}) (range 1000))))"));
+        assertEquals(3L, venice.eval("(count (conj! (transient [1 2]) 3))"));
+
+        // the persistent collection is not modified
+        assertEquals("[1 2 3]", venice.eval("(let [v [1 2 3]] (conj! (transient v) 4) (str v))"));
+
+        // a transient is owned by the creating thread
+        assertEquals(
+            ":rejected",
+            venice.eval(
+                "(let [t (transient [])]                                   \n" +
+                "  (str @(future #(try (conj! t 1)                         \n" +
+                "                      :accepted                           \n" +
+                "                      (catch :VncException ex :rejected)))))"));
+
+        assertThrows(VncException.class, () -> venice.eval("(transient '(1 2 3))"));
+        assertThrows(VncException.class, () -> venice.eval("(transient (sorted-map :a 1))"));
+    }
+
     @Test
     public void test_trampoline() {
         final Venice venice = new Venice();
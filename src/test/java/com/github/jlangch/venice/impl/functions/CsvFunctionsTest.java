@@ -0,0 +1,54 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.functions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jlangch.venice.Venice;
+
+
+public class CsvFunctionsTest {
+
+    @Test
+    public void test_read() {
+        final Venice venice = new Venice();
+
+        assertEquals("((\"1\" \"ab\" \"false\"))", venice.eval("(pr-str (csv/read \"1,\\\"ab\\\",false\"))"));
+        assertEquals("((\"1\" \"ab\" \"false\"))", venice.eval("(pr-str (csv/read \"1:'ab':false\" :separator \":\" :quote \"'\"))"));
+        assertEquals("((1 \"false\"))", venice.eval("(pr-str (csv/read \"1,\\\"ab\\\",false\" :columns [0 2] :coerce {0 long}))"));
+        assertEquals("((\"1\" nil \"3\"))", venice.eval("(pr-str (csv/read \"1,,3\"))"));
+        assertEquals("((\"1\" \"a\\nb\"))", venice.eval("(pr-str (csv/read \"1,\\\"a\\nb\\\"\"))"));
+    }
+
+    @Test
+    public void test_read_seq() {
+        final Venice venice = new Venice();
+
+        assertEquals("((1 \"a\") (2 \"b\") (3 \"c\"))", venice.eval("(pr-str (doall (csv/read-seq \"1,a\\n2,b\\n3,c\" :coerce {0 long})))"));
+        assertEquals("(\"a\" \"b\")", venice.eval("(pr-str (map first (csv/read-seq \"1,a\\n2,b\" :columns [1])))"));
+        assertEquals(6L, venice.eval("(transduce (map first) + (csv/read-seq \"1,a\\n2,b\\n3,c\" :coerce {0 long}))"));
+        assertEquals("((\"1\"))", venice.eval("(pr-str (doall (take 1 (csv/read-seq \"1\\n2\\n3\"))))"));
+        assertEquals("()", venice.eval("(pr-str (doall (csv/read-seq \"\")))"));
+    }
+}
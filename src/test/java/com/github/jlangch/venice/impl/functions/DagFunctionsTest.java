@@ -0,0 +1,108 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.functions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jlangch.venice.Venice;
+import com.github.jlangch.venice.VncException;
+
+
+public class DagFunctionsTest {
+
+    @Test
+    public void test_add_edges() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(let [g1 (dag/dag [\"A\" \"B\"])                          \n" +
+                "      g2 (dag/add-edges g1 [\"B\" \"C\"] [\"C\" \"D\"])]  \n" +
+                "  (pr-str [(count g1) (count g2) (dag/topological-sort g2)]))";
+
+        assertEquals("[2 4 [\"A\" \"B\" \"C\" \"D\"]]", venice.eval(script));
+
+        assertThrows(VncException.class, () -> venice.eval(
+                "(dag/add-edges (dag/dag [\"A\" \"B\"]) [\"B\" \"C\"] [\"C\" \"A\"])"));
+    }
+
+    @Test
+    public void test_execute() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(let [g (dag/dag [\"A\" \"B\"] [\"A\" \"C\"] [\"B\" \"D\"] [\"C\" \"D\"]) \n" +
+                "      r (dag/execute g (fn [n] (str n \"!\")))]                           \n" +
+                "  (pr-str [(first (keys r))                                               \n" +
+                "           (last (keys r))                                                \n" +
+                "           (into (sorted-map) r)]))                                       ";
+
+        assertEquals(
+                "[\"A\" \"D\" {\"A\" \"A!\" \"B\" \"B!\" \"C\" \"C!\" \"D\" \"D!\"}]",
+                venice.eval(script));
+    }
+
+    @Test
+    public void test_execute_parallelism() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(let [running (atom 0)                                      \n" +
+                "      max-running (atom 0)                                  \n" +
+                "      g (apply dag/add-nodes (dag/dag) (range 20))]         \n" +
+                "  (dag/execute g                                            \n" +
+                "               (fn [n]                                      \n" +
+                "                 (swap! max-running max (swap! running inc))\n" +
+                "                 (sleep 5)                                  \n" +
+                "                 (swap! running dec))                       \n" +
+                "               :parallelism 3)                              \n" +
+                "  (<= @max-running 3))                                        ";
+
+        assertEquals(true, venice.eval(script));
+    }
+
+    @Test
+    public void test_execute_failure() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(let [done (atom [])                                               \n" +
+                "      g (dag/dag [\"A\" \"B\"] [\"B\" \"C\"])]                     \n" +
+                "  (try                                                             \n" +
+                "    (dag/execute g (fn [n]                                         \n" +
+                "                     (when (= n \"B\")                             \n" +
+                "                       (throw (ex :VncException \"failed\")))      \n" +
+                "                     (swap! done conj n)))                         \n" +
+                "    (catch :VncException e [(ex-message e) @done])))                 ";
+
+        assertEquals("[\"failed\" [\"A\"]]", venice.eval("(pr-str " + script + ")"));
+    }
+
+    @Test
+    public void test_execute_empty() {
+        final Venice venice = new Venice();
+
+        assertEquals("{}", venice.eval("(pr-str (dag/execute (dag/dag) identity))"));
+    }
+}
@@ -23,6 +23,8 @@ package com.github.jlangch.venice.impl.functions;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -34,6 +36,7 @@ import org.junit.jupiter.api.Test;
 
 import com.github.jlangch.venice.Venice;
 import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.types.VncLong;
 
 
 public class MathFunctionsTest {
@@ -418,6 +421,45 @@ public class MathFunctionsTest {
         });
     }
 
+    @Test
+    public void test_arithmetic_fast_paths() {
+        final Venice venice = new Venice();
+
+        assertEquals(Long.valueOf(5L), venice.eval("(+ 2 3)"));
+        assertEquals(Long.valueOf(-1L), venice.eval("(- 2 3)"));
+        assertEquals(Long.valueOf(6L), venice.eval("(* 2 3)"));
+        assertEquals(Long.valueOf(2L), venice.eval("(/ 7 3)"));
+        assertEquals(Long.valueOf(2000L), venice.eval("(inc 1999)"));
+        assertEquals(Long.valueOf(-129L), venice.eval("(dec -128)"));
+
+        assertEquals(Double.valueOf(5.5D), venice.eval("(+ 2.5 3.0)"));
+        assertEquals(Double.valueOf(0.5D), venice.eval("(/ 1.0 2.0)"));
+
+        // mixed types take the generic path
+        assertEquals(Double.valueOf(5.5D), venice.eval("(+ 2 3.5)"));
+        assertEquals(Integer.valueOf(5), venice.eval("(+ 2I 3I)"));
+
+        // long overflow and division by zero behave as before
+        assertEquals(Long.MIN_VALUE, venice.eval("(+ 9223372036854775807 1)"));
+        assertThrows(VncException.class, () -> venice.eval("(/ 1 0)"));
+
+        // comparisons
+        assertTrue((Boolean)venice.eval("(< 1 2)"));
+        assertFalse((Boolean)venice.eval("(>= 1 2)"));
+        assertTrue((Boolean)venice.eval("(<= 1.0 1.0)"));
+        assertTrue((Boolean)venice.eval("(== 1.0 1.0)"));
+        assertTrue((Boolean)venice.eval("(== 1 1.0)"));
+        assertFalse((Boolean)venice.eval("(< (/ 0.0 0.0) 1.0)"));
+    }
+
+    @Test
+    public void test_long_cache() {
+        assertSame(VncLong.of(-128L), VncLong.of(-128L));
+        assertSame(VncLong.of(1024L), VncLong.of(1024L));
+        assertNotSame(VncLong.of(1025L), VncLong.of(1025L));
+        assertEquals(1025L, VncLong.of(1025L).toJavaLong());
+    }
+
     @Test
     public void test_even_Q() {
         final Venice venice = new Venice();
@@ -672,6 +714,40 @@ public class MathFunctionsTest {
         assertEquals(new BigDecimal("3.500"), venice.eval("(dec/scale (math/mean 4N 3.0M) 3 :HALF_UP)"));
     }
 
+    @Test
+    public void test_mean_primitive_vector() {
+        final Venice venice = new Venice();
+
+        assertEquals(2.5, venice.eval("(apply math/mean (long-vector [1 2 3 4]))"));
+        assertEquals(2.5, venice.eval("(apply math/mean (double-vector [1.0 2.0 3.0 4.0]))"));
+        assertEquals(1.0, venice.eval("(apply math/mean (long-vector [1]))"));
+        assertEquals(null, venice.eval("(apply math/mean (long-vector []))"));
+    }
+
+    @Test
+    public void test_median_primitive_vector() {
+        final Venice venice = new Venice();
+
+        assertEquals(3.0, venice.eval("(math/median (long-vector [3]))"));
+        assertEquals(3.0, venice.eval("(math/median (long-vector [4 1 3]))"));
+        assertEquals(2.5, venice.eval("(math/median (long-vector [4 2 1 3]))"));
+        assertEquals(2.5, venice.eval("(math/median (double-vector [4.0 2.0 1.0 3.0]))"));
+        assertEquals(null, venice.eval("(math/median (double-vector []))"));
+
+        assertEquals(
+            venice.eval("(str (math/quartiles '(3, 7, 8, 5, 12, 14, 21, 13, 18)))"),
+            venice.eval("(str (math/quartiles (long-vector '(3, 7, 8, 5, 12, 14, 21, 13, 18))))"));
+        assertEquals(
+            venice.eval("(str (math/quartiles '(3, 7, 8, 5, 12, 14, 21, 15, 18, 14)))"),
+            venice.eval("(str (math/quartiles (long-vector '(3, 7, 8, 5, 12, 14, 21, 15, 18, 14))))"));
+
+        assertEquals(
+            venice.eval("(math/quantile 0.5 '(3, 7, 8, 5, 12, 14, 21, 13, 18))"),
+            venice.eval("(math/quantile 0.5 (long-vector '(3, 7, 8, 5, 12, 14, 21, 13, 18)))"));
+        assertEquals(3L, venice.eval("(math/quantile 0.0 (long-vector '(7, 3, 8)))"));
+        assertEquals(8.0, venice.eval("(math/quantile 1.0 (double-vector '(7, 3, 8)))"));
+    }
+
     @Test
     public void test_median() {
         final Venice venice = new Venice();
@@ -743,6 +819,19 @@ public class MathFunctionsTest {
         assertEquals("3.1623M", venice.eval("(str (dec/scale (decimal (sqrt 10N)) 4 :HALF_UP))"));
     }
 
+    @Test
+    public void test_standard_deviation_primitive_vector() {
+        final Venice venice = new Venice();
+
+        assertEquals(
+            venice.eval("(math/standard-deviation :sample '(10 8 30 22 15))"),
+            venice.eval("(math/standard-deviation :sample (long-vector '(10 8 30 22 15)))"));
+        assertEquals(
+            venice.eval("(math/standard-deviation :population '(1.4 3.6 7.8 9.0 2.2))"),
+            venice.eval("(math/standard-deviation :population (double-vector '(1.4 3.6 7.8 9.0 2.2)))"));
+        assertEquals(0.0, venice.eval("(math/standard-deviation :sample (long-vector [1]))"));
+    }
+
     @Test
     public void test_standard_deviation() {
         final Venice venice = new Venice();
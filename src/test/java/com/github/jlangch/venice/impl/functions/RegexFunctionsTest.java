@@ -23,6 +23,7 @@ package com.github.jlangch.venice.impl.functions;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.regex.Pattern;
@@ -30,6 +31,7 @@ import java.util.regex.Pattern;
 import org.junit.jupiter.api.Test;
 
 import com.github.jlangch.venice.Venice;
+import com.github.jlangch.venice.VncException;
 
 
 public class RegexFunctionsTest {
@@ -55,6 +57,13 @@ public class RegexFunctionsTest {
                 "   (regex/matcher p \"100\"))            "));
     }
 
+    @Test
+    public void test_regex_matcher_invalid_pattern() {
+        final Venice venice = new Venice();
+
+        assertThrows(VncException.class, () -> venice.eval("(regex/matcher \"[0-9\" \"100\")"));
+    }
+
     @Test
     public void test_regex_matcher_1() {
         final Venice venice = new Venice();
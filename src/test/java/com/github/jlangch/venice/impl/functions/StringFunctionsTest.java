@@ -554,6 +554,9 @@ public class StringFunctionsTest {
         assertEquals("(ab cd ef)", venice.eval("(str (str/split \"ab:cd:ef\" \":\"))"));
         assertEquals("(ab cd ef)", venice.eval("(str (str/split \"ab:cd:ef\" \" *: *\"))"));
         assertEquals("(ab:cd:ef)", venice.eval("(str (str/split \"ab:cd:ef\" \" +\"))"));
+        assertEquals("(ab cd ef)", venice.eval("(str (str/split \"ab : cd:ef\" #\" *: *\"))"));
+        assertEquals("(a b)", venice.eval("(str (str/split \"a.b\" \"[.]\"))"));
+        assertEquals("(a b)", venice.eval("(str (str/split \"a|b\" \"\\\\|\"))"));
     }
 
     @Test
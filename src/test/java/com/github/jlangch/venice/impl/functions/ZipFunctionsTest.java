@@ -23,6 +23,7 @@ package com.github.jlangch.venice.impl.functions;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.ByteBuffer;
@@ -46,6 +47,23 @@ public class ZipFunctionsTest {
                                     "utf-8"));
     }
 
+    @Test
+    public void test_io_zip_to_stream() throws Exception {
+        final Venice venice = new Venice();
+
+        assertEquals("def",
+                venice.eval(
+                        "(do                                                          \n" +
+                        "  (import :java.io.ByteArrayOutputStream)                    \n" +
+                        "  (try-with [os (. :ByteArrayOutputStream :new)]             \n" +
+                        "    (io/zip-to-stream os                                     \n" +
+                        "                      \"a\" (bytebuf-from-string \"abc\" :utf-8)  \n" +
+                        "                      \"b\" (bytebuf-from-string \"def\" :utf-8)) \n" +
+                        "    (-> (. os :toByteArray)                                  \n" +
+                        "        (io/unzip \"b\")                                     \n" +
+                        "        (bytebuf-to-string :utf-8))))                          "));
+    }
+
     @Test
     public void test_io_zip_file_add_file() {
         final Venice venice = new Venice();
@@ -174,6 +192,44 @@ public class ZipFunctionsTest {
         }
     }
 
+    @Test
+    public void test_io_zip_file_parallel() {
+        final Venice venice = new Venice();
+
+        try {
+            venice.eval(
+                    "(let [base-dir (io/file (io/temp-dir \"zip-test-\"))    \n" +
+                    "      zip-dir  (io/file base-dir \"test\")              \n" +
+                    "      sub-dir  (io/file zip-dir \"sub\")                \n" +
+                    "      zip      (io/file base-dir \"a.zip\")]            \n" +
+                    "                                                        \n" +
+                    "  (io/mkdir sub-dir)                                    \n" +
+                    "  (docoll #(io/spit (io/file zip-dir (str \"a\" % \".txt\"))  \n" +
+                    "                    (str/repeat (str %) 1000))           \n" +
+                    "          (range 20))                                   \n" +
+                    "  (io/spit (io/file sub-dir \"b.txt\") \"b\")             \n" +
+                    "                                                        \n" +
+                    "  (io/zip-file :parallel true zip zip-dir)              \n" +
+                    "  (assert (io/exists-file? zip))                        \n" +
+                    "  (assert (== 23 (io/zip-size zip)))                    \n" +
+                    "  (assert (contains? (set (io/zip-list-entry-names zip))  \n" +
+                    "                     \"test/sub/\"))                    \n" +
+                    "  (assert (= (str/repeat \"7\" 1000)                      \n" +
+                    "             (-> (io/unzip zip \"test/a7.txt\")         \n" +
+                    "                 (bytebuf-to-string :utf-8))))          \n" +
+                    "  (assert (= \"b\"                                        \n" +
+                    "             (-> (io/slurp zip :binary true)            \n" +
+                    "                 (io/unzip \"test/sub/b.txt\")          \n" +
+                    "                 (bytebuf-to-string :utf-8))))          \n" +
+                    "                                                        \n" +
+                    "  (io/delete-file-tree base-dir)                        \n" +
+                    ")");
+        }
+        catch(Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     @Test
     public void test_io_zip_append() {
         final Venice venice = new Venice();
@@ -333,6 +389,44 @@ public class ZipFunctionsTest {
         assertEquals("def", new String(data.get("b.txt").array(), "utf-8"));
     }
 
+    @Test
+    public void test_io_unzip_to_stream() throws Exception {
+        final Venice venice = new Venice();
+
+        assertEquals("def",
+                venice.eval(
+                    "(try-with [is (-> (io/zip \"a\" (bytebuf-from-string \"abc\" :utf-8)  \n" +
+                    "                          \"b\" (bytebuf-from-string \"def\" :utf-8)) \n" +
+                    "                  (io/unzip-to-stream \"b\"))]                        \n" +
+                    "  (io/slurp-stream is :binary false :encoding :utf-8))                "));
+
+        assertNull(
+                venice.eval(
+                    "(-> (io/zip \"a\" (bytebuf-from-string \"abc\" :utf-8)) \n" +
+                    "    (io/unzip-to-stream \"x\"))                          "));
+    }
+
+    @Test
+    public void test_io_unzip_file() throws Exception {
+        final Venice venice = new Venice();
+
+        assertEquals("def:ghi:abc:3:nil",
+                venice.eval(
+                    "(let [zip (io/temp-file \"test-\" \".zip\")]                  \n" +
+                    "  (io/delete-file-on-exit zip)                                \n" +
+                    "  (io/spit zip (io/zip \"a\" (bytebuf-from-string \"abc\" :utf-8)  \n" +
+                    "                       \"d/\" nil                                \n" +
+                    "                       \"d/b\" (bytebuf-from-string \"def\" :utf-8) \n" +
+                    "                       \"c\" (bytebuf-from-string \"ghi\" :utf-8))) \n" +
+                    "  (str/join \":\"                                               \n" +
+                    "    [(bytebuf-to-string (io/unzip zip \"d/b\") :utf-8)           \n" +
+                    "     (bytebuf-to-string (io/unzip-nth zip 3) :utf-8)          \n" +
+                    "     (try-with [is (io/unzip-to-stream zip \"a\")]              \n" +
+                    "       (io/slurp-stream is :binary false :encoding :utf-8))   \n" +
+                    "     (count (io/unzip-all zip))                               \n" +
+                    "     (pr-str (io/unzip zip \"d\"))]))                           "));
+    }
+
     @Test
     public void test_io_gzip() throws Exception {
         final Venice venice = new Venice();
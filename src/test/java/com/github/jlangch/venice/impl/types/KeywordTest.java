@@ -23,11 +23,15 @@ package com.github.jlangch.venice.impl.types;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
 import com.github.jlangch.venice.Venice;
+import com.github.jlangch.venice.impl.types.collections.VncHashMap;
 
 
 public class KeywordTest {
@@ -106,4 +110,51 @@ public class KeywordTest {
         assertEquals(":a", venice.eval("(pr-str (:a #{:a :b } :e))"));
         assertEquals(":e", venice.eval("(pr-str (:c #{:a :b} :e))"));
     }
+
+    @Test
+    public void test_intern() {
+        final VncKeyword a = VncKeyword.intern("alpha");
+
+        assertSame(a, VncKeyword.intern("alpha"));
+        assertSame(a, VncKeyword.intern(":alpha"));
+        assertSame(
+            VncKeyword.intern("xx/alpha"),
+            VncKeyword.intern(":xx/alpha"));
+
+        // keywords with meta data share the interned name
+        final VncKeyword m = VncKeyword.intern(":alpha", VncHashMap.of(new VncKeyword("line"), new VncLong(1)));
+        assertNotSame(a, m);
+        assertSame(a.getQualifiedName(), m.getQualifiedName());
+        assertEquals(a, m);
+        assertEquals(a.hashCode(), m.hashCode());
+
+        // interned and non interned keywords are equal
+        assertEquals(a, new VncKeyword("alpha"));
+        assertEquals(new VncKeyword("alpha"), a);
+        assertEquals(a.hashCode(), new VncKeyword("alpha").hashCode());
+        assertNotEquals(a, VncKeyword.intern("beta"));
+        assertNotEquals(a, new VncString("alpha"));
+    }
+
+    @Test
+    public void test_intern_meta_copies() {
+        final VncVal meta1 = VncHashMap.of(new VncKeyword("line"), new VncLong(1));
+        final VncVal meta2 = VncHashMap.of(new VncKeyword("line"), new VncLong(2));
+
+        // the reader creates meta copies only, the copies keep their
+        // interned keyword alive
+        final VncKeyword m1 = VncKeyword.intern(":gamma-123", meta1);
+        final VncKeyword m2 = VncKeyword.intern(":gamma-123", meta2);
+
+        for(int ii=0; ii<3; ii++) {
+            System.gc();
+        }
+
+        assertEquals(m1, m2);
+        assertEquals(m1, VncKeyword.intern("gamma-123"));
+        assertEquals(VncKeyword.intern("gamma-123"), m2);
+        assertEquals(m1, VncKeyword.intern(":gamma-123", meta2));
+        assertNotEquals(m1, VncKeyword.intern(":gamma-124", meta1));
+        assertEquals(m1, m1.withMeta(meta2));
+    }
 }
@@ -22,6 +22,7 @@
 package com.github.jlangch.venice.impl.types.collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import org.junit.jupiter.api.Test;
 
@@ -31,6 +32,56 @@ import com.github.jlangch.venice.impl.types.VncLong;
 
 public class SequenceTest {
 
+    @Test
+    public void test_primitive_vector_equals_vector() {
+        final VncLongVector lv = VncLongVector.of(1L, 2L, 3L, 4L, 5L, 6L);
+        final VncVector v = VncVector.ofColl(lv.getJavaList());
+
+        assertEquals(v, lv);
+        assertEquals(lv, v);
+        assertEquals(v.hashCode(), lv.hashCode());
+
+        final VncLongVector tiny_lv = VncLongVector.of(1L, 2L);
+        final VncVector tiny_v = VncVector.of(new VncLong(1L), new VncLong(2L));
+
+        assertEquals(tiny_v, tiny_lv);
+        assertEquals(tiny_lv, tiny_v);
+        assertEquals(tiny_v.hashCode(), tiny_lv.hashCode());
+
+        final VncDoubleVector dv = VncDoubleVector.of(1.0D, 2.5D, 3.0D, 4.0D, 5.0D);
+        final VncVector v2 = VncVector.ofColl(dv.getJavaList());
+
+        assertEquals(v2, dv);
+        assertEquals(dv, v2);
+        assertEquals(v2.hashCode(), dv.hashCode());
+
+        assertNotEquals(lv, VncLongVector.of(1L, 2L, 3L, 4L, 5L));
+        assertNotEquals(v, VncLongVector.of(1L, 2L, 3L, 4L, 5L, 7L));
+    }
+
+    @Test
+    public void test_long_vector_addAtEnd() {
+        VncSequence seq = VncLongVector.of();
+        for(long ii=0; ii<100; ii++) {
+            seq = seq.addAtEnd(new VncLong(ii));
+        }
+
+        assertEquals(VncLongVector.class, seq.getClass());
+        assertEquals(100, seq.size());
+        assertEquals(99L, seq.last().convertToJavaObject());
+
+        // two vectors appended to the same vector do not share the
+        // appended slot
+        final VncSequence a = seq.addAtEnd(new VncLong(100L));
+        final VncSequence b = seq.addAtEnd(new VncLong(200L));
+
+        assertEquals(100, seq.size());
+        assertEquals(100L, a.last().convertToJavaObject());
+        assertEquals(200L, b.last().convertToJavaObject());
+        assertEquals(seq, a.butlast());
+        assertEquals(seq, b.butlast());
+    }
+
     @Test
     public void test_addAllAtStart_VncTinyVector() {
         VncSequence add = VncList.of(new VncLong(1L), new VncLong(2L));
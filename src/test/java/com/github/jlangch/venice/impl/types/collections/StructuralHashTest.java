@@ -0,0 +1,136 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.types.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jlangch.venice.Venice;
+import com.github.jlangch.venice.impl.types.VncAtom;
+import com.github.jlangch.venice.impl.types.VncKeyword;
+import com.github.jlangch.venice.impl.types.VncLong;
+import com.github.jlangch.venice.impl.types.VncString;
+import com.github.jlangch.venice.impl.types.VncVal;
+
+
+public class StructuralHashTest {
+
+    @Test
+    public void test_vector() {
+        final VncVector v1 = vector(10);
+        final VncVector v2 = vector(10);
+
+        assertTrue(v1.isHashStable());
+        assertEquals(v1.hashCode(), v2.hashCode());
+        assertEquals(v1, v2);
+        assertNotEquals(v1, vector(11));
+
+        // nested immutable collections
+        final VncVector n1 = VncVector.of(v1, VncVector.of(new VncLong(1)), VncHashMap.of(k("a"), v1),
+                                          VncHashSet.of(v1), VncList.of(v1));
+        final VncVector n2 = VncVector.of(v2, VncVector.of(new VncLong(1)), VncHashMap.of(k("a"), v2),
+                                          VncHashSet.of(v2), VncList.of(v2));
+        assertTrue(n1.isHashStable());
+        assertEquals(n1.hashCode(), n2.hashCode());
+        assertEquals(n1, n2);
+    }
+
+    @Test
+    public void test_mutable_elements() {
+        final VncMutableList m1 = VncMutableList.of(new VncLong(1));
+        final VncMutableList m2 = VncMutableList.of(new VncLong(1));
+
+        final VncVector v1 = vector(10).addAtEnd(m1);
+        final VncVector v2 = vector(10).addAtEnd(m2);
+
+        // a hash code that may change is not cached
+        assertFalse(v1.isHashStable());
+        assertEquals(v1.hashCode(), v2.hashCode());
+        assertEquals(v1, v2);
+
+        m1.addAtEnd(new VncLong(2));
+        assertNotEquals(v1, v2);
+        m2.addAtEnd(new VncLong(2));
+        assertEquals(v1.hashCode(), v2.hashCode());
+        assertEquals(v1, v2);
+    }
+
+    @Test
+    public void test_deeply_nested() {
+        // the stability is computed once per level, deep nesting must
+        // hash in linear time
+        VncVector atomVec = VncVector.ofColl(Arrays.asList(new VncAtom(new VncLong(1))));
+        VncVector mutableVec = VncVector.ofColl(Arrays.asList(VncMutableList.of(new VncLong(1))));
+        for(int ii=0; ii<200; ii++) {
+            atomVec = VncVector.ofColl(Arrays.asList(atomVec, new VncLong(ii)));
+            mutableVec = VncVector.ofColl(Arrays.asList(mutableVec, new VncLong(ii)));
+        }
+
+        assertTrue(atomVec.isHashStable());
+        assertEquals(atomVec.hashCode(), atomVec.hashCode());
+
+        assertFalse(mutableVec.isHashStable());
+        assertEquals(mutableVec.hashCode(), mutableVec.hashCode());
+        assertFalse(mutableVec.isHashStable());
+    }
+
+    @Test
+    public void test_map() {
+        final VncHashMap m1 = VncHashMap.of(k("a"), vector(10), k("b"), new VncString("x"));
+        final VncHashMap m2 = VncHashMap.of(k("b"), new VncString("x"), k("a"), vector(10));
+
+        assertTrue(m1.isHashStable());
+        assertEquals(m1.hashCode(), m2.hashCode());
+        assertEquals(m1, m2);
+        assertNotEquals(m1, VncHashMap.of(k("a"), vector(11), k("b"), new VncString("x")));
+    }
+
+    @Test
+    public void test_composite_keys() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(let [data (map (fn [x] {:k (vec (range 20)) :g (mod x 3)}) (range 300))] \n" +
+                "  (pr-str (sort (vals (frequencies (map (juxt :k :g) data))))))           ";
+
+        assertEquals("(100 100 100)", venice.eval(script));
+    }
+
+
+    private static VncVector vector(final int size) {
+        VncVector v = VncVector.empty();
+        for(int ii=0; ii<size; ii++) {
+            v = v.addAtEnd(new VncLong(ii));
+        }
+        return v;
+    }
+
+    private static VncVal k(final String name) {
+        return new VncKeyword(name);
+    }
+}
@@ -0,0 +1,177 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jlangch.venice.impl.util.CallProfiler.FunctionProfile;
+import com.github.jlangch.venice.impl.util.CallProfiler.StackProfile;
+
+
+public class CallProfilerTest {
+
+    @Test
+    public void test_self_and_total() {
+        final CallProfiler profiler = new CallProfiler();
+
+        profiler.enter("a", 0);
+        profiler.enter("b", 1);
+        spin();
+        profiler.exit();
+        profiler.enter("b", 2);
+        profiler.exit();
+        profiler.exit();
+
+        final Map<String,FunctionProfile> fns = functions(profiler);
+        assertEquals(1L, fns.get("a").calls);
+        assertEquals(2L, fns.get("b").calls);
+        assertEquals(1L, fns.get("b").callsByArity.get(1).longValue());
+        assertEquals(1L, fns.get("b").callsByArity.get(2).longValue());
+
+        // a's self time excludes the time spent in b
+        final FunctionProfile a = fns.get("a");
+        final FunctionProfile b = fns.get("b");
+        assertEquals(a.totalNanos, a.selfNanos + b.totalNanos);
+        assertEquals(b.totalNanos, b.selfNanos);
+
+        final Map<String,StackProfile> stacks = stacks(profiler);
+        assertEquals(2, stacks.size());
+        assertEquals(1L, stacks.get("a").calls);
+        assertEquals(2L, stacks.get("a;b").calls);
+        assertEquals(a.totalNanos, stacks.get("a").totalNanos);
+    }
+
+    @Test
+    public void test_recursion() {
+        final CallProfiler profiler = new CallProfiler();
+
+        profiler.enter("f", 1);
+        profiler.enter("f", 1);
+        profiler.enter("f", 1);
+        spin();
+        profiler.exit();
+        profiler.exit();
+        profiler.exit();
+
+        // the inclusive time of the nested calls is not counted twice
+        final FunctionProfile f = functions(profiler).get("f");
+        assertEquals(3L, f.calls);
+        assertEquals(stacks(profiler).get("f").totalNanos, f.totalNanos);
+        assertEquals(f.totalNanos, f.selfNanos);
+
+        assertEquals(3, stacks(profiler).size());
+        assertTrue(stacks(profiler).containsKey("f;f;f"));
+    }
+
+    @Test
+    public void test_collapsed_stacks() {
+        final CallProfiler profiler = new CallProfiler();
+
+        profiler.enter("a", 0);
+        profiler.enter("b", 0);
+        spin();
+        profiler.exit();
+        profiler.exit();
+
+        final List<String> lines = StringUtil.splitIntoLines(profiler.getCollapsedStacks(false));
+        assertTrue(lines.stream().anyMatch(l -> l.matches("a;b [0-9]+")));
+        lines.forEach(l -> assertTrue(l.matches("[a-z;]+ [1-9][0-9]*")));
+    }
+
+    @Test
+    public void test_allocation_tracking() {
+        final CallProfiler profiler = new CallProfiler();
+
+        // not measured unless switched on
+        profiler.enter("a", 0);
+        allocate();
+        profiler.exit();
+        assertEquals(0L, functions(profiler).get("a").selfAlloc);
+
+        if (profiler.isAllocationTrackingSupported()) {
+            profiler.enableAllocationTracking();
+            try {
+                profiler.enter("b", 0);
+                allocate();
+                profiler.exit();
+                assertTrue(functions(profiler).get("b").selfAlloc > 0L);
+            }
+            finally {
+                profiler.disableAllocationTracking();
+            }
+        }
+
+        assertFalse(profiler.isAllocationTracking());
+    }
+
+    @Test
+    public void test_unbalanced_and_reset() {
+        final CallProfiler profiler = new CallProfiler();
+
+        profiler.exit();  // ignored
+
+        profiler.enter("a", 0);
+        profiler.exit();
+        assertEquals(1, functions(profiler).size());
+
+        profiler.reset();
+        assertEquals(0, functions(profiler).size());
+        assertEquals(0, stacks(profiler).size());
+        assertEquals("", profiler.getCollapsedStacks(false));
+    }
+
+
+    private static Map<String,FunctionProfile> functions(final CallProfiler profiler) {
+        return profiler.getFunctionProfiles()
+                       .stream()
+                       .collect(Collectors.toMap(p -> p.name, Function.identity()));
+    }
+
+    private static Map<String,StackProfile> stacks(final CallProfiler profiler) {
+        return profiler.getStackProfiles()
+                       .stream()
+                       .collect(Collectors.toMap(p -> p.path, Function.identity()));
+    }
+
+    private static void allocate() {
+        for(int ii=0; ii<100; ii++) {
+            sink = new byte[1024];
+        }
+    }
+
+    private static void spin() {
+        final long end = System.nanoTime() + 200_000L;
+        while(System.nanoTime() < end) { }
+    }
+
+
+    private static volatile byte[] sink;
+}
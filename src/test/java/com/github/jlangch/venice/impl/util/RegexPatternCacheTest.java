@@ -0,0 +1,53 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.Test;
+
+
+public class RegexPatternCacheTest {
+
+    @Test
+    public void test_cached() {
+        assertSame(RegexPatternCache.compile("[0-9]+"), RegexPatternCache.compile("[0-9]+"));
+        assertTrue(RegexPatternCache.compile("[0-9]+").matcher("123").matches());
+    }
+
+    @Test
+    public void test_invalid() {
+        assertThrows(PatternSyntaxException.class, () -> RegexPatternCache.compile("[0-9"));
+        assertThrows(PatternSyntaxException.class, () -> RegexPatternCache.compile("[0-9"));
+    }
+
+    @Test
+    public void test_long_regex_not_cached() {
+        final String regex = StringUtil.repeat("a", 2000);
+        assertNotSame(RegexPatternCache.compile(regex), RegexPatternCache.compile(regex));
+    }
+}
@@ -0,0 +1,159 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.cidr.collect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.util.cidr.CIDR;
+
+
+public class CidrTableTest {
+
+    @Test
+    public void test_IP4() {
+        final CidrTable<String> table = CidrTable.<String>builder()
+                                            .add(CIDR.parse("192.16.0.0/16"), "a")
+                                            .add(CIDR.parse("192.16.10.0/24"), "b")
+                                            .add(CIDR.parse("192.16.10.128/25"), "c")
+                                            .add(CIDR.parse("10.0.0.0/8"), "d")
+                                            .build();
+
+        assertEquals(4, table.size());
+        assertEquals(5, table.rangeCount());
+
+        assertEquals("a", table.getValue("192.16.0.0"));
+        assertEquals("a", table.getValue("192.16.9.255"));
+        assertEquals("b", table.getValue("192.16.10.0"));
+        assertEquals("b", table.getValue("192.16.10.127"));
+        assertEquals("c", table.getValue("192.16.10.128"));
+        assertEquals("c", table.getValue("192.16.10.255"));
+        assertEquals("a", table.getValue("192.16.11.0"));
+        assertEquals("a", table.getValue("192.16.255.255"));
+        assertEquals("d", table.getValue("10.1.2.3"));
+
+        assertNull(table.getValue("0.0.0.0"));
+        assertNull(table.getValue("192.15.255.255"));
+        assertNull(table.getValue("192.17.0.0"));
+        assertNull(table.getValue("255.255.255.255"));
+        assertNull(table.getValue("2001:db8::1"));
+
+        assertEquals("b", table.getValue(CIDR.parse("192.16.10.0/24")));
+        assertEquals("a", table.getValue(CIDR.parse("192.16.10.0/23")));
+        assertEquals("c", table.getValue("192.16.10.128/26"));
+        assertNull(table.getValue(CIDR.parse("192.16.0.0/15")));
+
+        assertEquals("192.16.10.0/24", table.getCIDR("192.16.10.100").getNotation());
+        assertEquals("192.16.0.0/16", table.getCIDR("192.16.200.1").getNotation());
+        assertNull(table.getCIDR("192.17.0.0"));
+    }
+
+    @Test
+    public void test_IP6() {
+        final CidrTable<String> table = CidrTable.<String>builder()
+                                            .add(CIDR.parse("2001:db8::/32"), "a")
+                                            .add(CIDR.parse("2001:db8:85a3::/48"), "b")
+                                            .add(CIDR.parse("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff/128"), "c")
+                                            .build();
+
+        assertEquals(3, table.size());
+
+        assertEquals("a", table.getValue("2001:db8::1"));
+        assertEquals("b", table.getValue("2001:db8:85a3:8d3:1319:8a2e:370:7347"));
+        assertEquals("a", table.getValue("2001:db8:85a4::"));
+        assertEquals("c", table.getValue("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"));
+
+        assertNull(table.getValue("2001:db9::"));
+        assertNull(table.getValue("::1"));
+        assertNull(table.getValue("192.16.10.1"));
+    }
+
+    @Test
+    public void test_duplicates() {
+        final CidrTable<String> table = CidrTable.<String>builder()
+                                            .add(CIDR.parse("192.16.10.0/24"), "a")
+                                            .add(CIDR.parse("192.16.10.0/24"), "b")
+                                            .add(CIDR.parse("192.16.20.0/24"), "c")
+                                            .add(CIDR.parse("192.16.20.0/24"), null)
+                                            .build();
+
+        assertEquals(1, table.size());
+        assertEquals("b", table.getValue("192.16.10.1"));
+        assertNull(table.getValue("192.16.20.1"));
+    }
+
+    @Test
+    public void test_mixed() {
+        assertThrows(VncException.class, () ->
+            CidrTable.<String>builder()
+                     .add(CIDR.parse("192.16.10.0/24"), "a")
+                     .add(CIDR.parse("2001:db8::/32"), "b"));
+    }
+
+    @Test
+    public void test_trie() {
+        final CidrTrie<String> trie = new CidrTrie<>();
+        trie.insert(CIDR.parse("192.16.0.0/16"), "a");
+        trie.insert(CIDR.parse("192.16.10.0/24"), "b");
+
+        final CidrTable<String> table = CidrTable.of(trie);
+
+        assertEquals(trie.size(), table.size());
+        for(String ip : new String[] {"192.16.0.1", "192.16.10.1", "192.16.11.1", "192.17.0.1"}) {
+            assertEquals(trie.getValue(ip), table.getValue(ip));
+        }
+    }
+
+    @Test
+    public void test_save_load() throws Exception {
+        final CidrTable<String> table = CidrTable.<String>builder()
+                                            .add(CIDR.parse("192.16.0.0/16"), "a")
+                                            .add(CIDR.parse("192.16.10.0/24"), "b")
+                                            .add(CIDR.parse("192.17.0.0/16"), "a")
+                                            .build();
+
+        final File file = File.createTempFile("cidr-table", ".bin");
+        try {
+            table.save(file);
+
+            final CidrTable<String> loaded = CidrTable.load(file);
+
+            assertEquals(3, loaded.size());
+            assertEquals(table.rangeCount(), loaded.rangeCount());
+            assertEquals("a", loaded.getValue("192.16.0.1"));
+            assertEquals("b", loaded.getValue("192.16.10.1"));
+            assertEquals("a", loaded.getValue("192.17.0.1"));
+            assertNull(loaded.getValue("192.18.0.1"));
+            assertEquals("192.16.10.0/24", loaded.getCIDR("192.16.10.1").getNotation());
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+}
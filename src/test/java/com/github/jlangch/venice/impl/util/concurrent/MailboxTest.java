@@ -0,0 +1,135 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+
+public class MailboxTest {
+
+    @Test
+    public void test_order() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Mailbox mailbox = new Mailbox(3);
+            final List<Integer> result = new ArrayList<>();
+            final CountDownLatch latch = new CountDownLatch(1000);
+
+            for(int ii=0; ii<1000; ii++) {
+                final int n = ii;
+                mailbox.send(executor, () -> { result.add(n); latch.countDown(); });
+            }
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            for(int ii=0; ii<1000; ii++) {
+                assertEquals(ii, result.get(ii));
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_serial_many_senders() throws Exception {
+        final ExecutorService senders = Executors.newFixedThreadPool(8);
+        final ExecutorService executor1 = Executors.newFixedThreadPool(4);
+        final ExecutorService executor2 = Executors.newCachedThreadPool();
+        try {
+            final Mailbox mailbox = new Mailbox();
+            final AtomicInteger running = new AtomicInteger(0);
+            final AtomicInteger overlaps = new AtomicInteger(0);
+            final int[] counter = new int[1];  // guarded by the mailbox
+            final CountDownLatch latch = new CountDownLatch(8 * 10_000);
+
+            for(int t=0; t<8; t++) {
+                final ExecutorService executor = t % 2 == 0 ? executor1 : executor2;
+                senders.execute(() -> {
+                    for(int ii=0; ii<10_000; ii++) {
+                        mailbox.send(executor, () -> {
+                            if (running.incrementAndGet() > 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            counter[0]++;
+                            running.decrementAndGet();
+                            latch.countDown();
+                        });
+                    }
+                });
+            }
+
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            assertEquals(0, overlaps.get());
+            assertEquals(8 * 10_000, counter[0]);
+            assertTrue(mailbox.isEmpty());
+        }
+        finally {
+            senders.shutdown();
+            executor1.shutdown();
+            executor2.shutdown();
+        }
+    }
+
+    @Test
+    public void test_failing_task() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Mailbox mailbox = new Mailbox();
+            final CountDownLatch latch = new CountDownLatch(1);
+
+            mailbox.send(executor, () -> { throw new RuntimeException("fail"); });
+            mailbox.send(executor, () -> latch.countDown());
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_rejected() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        executor.shutdown();
+
+        final Mailbox mailbox = new Mailbox();
+        final AtomicInteger counter = new AtomicInteger(0);
+
+        // a rejecting executor runs the tasks in the sender's thread
+        mailbox.send(executor, () -> counter.incrementAndGet());
+        mailbox.send(executor, () -> counter.incrementAndGet());
+
+        assertEquals(2, counter.get());
+    }
+
+}
@@ -0,0 +1,266 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.util.concurrent.MemoizeCache.Eviction;
+
+
+public class MemoizeCacheTest {
+
+    @Test
+    public void test_unbounded() {
+        final MemoizeCache<Integer,String> cache = MemoizeCache.unbounded();
+        final AtomicInteger calls = new AtomicInteger();
+
+        for(int ii=0; ii<3; ii++) {
+            assertEquals("1", cache.get(1, k -> { calls.incrementAndGet(); return String.valueOf(k); }));
+            assertEquals("2", cache.get(2, k -> { calls.incrementAndGet(); return String.valueOf(k); }));
+        }
+
+        assertEquals(2, calls.get());
+        assertEquals(4L, cache.getStats().hits);
+        assertEquals(2L, cache.getStats().misses);
+        assertEquals(2L, cache.getStats().size);
+    }
+
+    @Test
+    public void test_lru() {
+        final MemoizeCache<Integer,Integer> cache = new MemoizeCache<>(3, Eviction.LRU, 0, 0);
+
+        cache.get(1, k -> k);
+        cache.get(2, k -> k);
+        cache.get(3, k -> k);
+        cache.get(1, k -> k);  // 2 is the least recently used
+        cache.get(4, k -> k);
+
+        assertEquals(3, cache.size());
+        assertEquals(1L, cache.getStats().evictions);
+
+        final AtomicInteger calls = new AtomicInteger();
+        cache.get(1, k -> { calls.incrementAndGet(); return k; });
+        cache.get(3, k -> { calls.incrementAndGet(); return k; });
+        cache.get(4, k -> { calls.incrementAndGet(); return k; });
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void test_lfu() {
+        final MemoizeCache<Integer,Integer> cache = new MemoizeCache<>(3, Eviction.LFU, 0, 0);
+
+        cache.get(1, k -> k);
+        cache.get(2, k -> k);
+        cache.get(3, k -> k);
+        for(int ii=0; ii<5; ii++) {
+            cache.get(1, k -> k);
+            cache.get(3, k -> k);
+        }
+        cache.get(2, k -> k);  // 2 is the least frequently used but the most recent one
+        cache.get(4, k -> k);
+
+        final AtomicInteger calls = new AtomicInteger();
+        cache.get(1, k -> { calls.incrementAndGet(); return k; });
+        cache.get(3, k -> { calls.incrementAndGet(); return k; });
+        assertEquals(0, calls.get());
+        assertEquals(1L, cache.getStats().evictions);
+    }
+
+    @Test
+    public void test_expire_after_access() throws Exception {
+        final MemoizeCache<Integer,Integer> cache = new MemoizeCache<>(0, Eviction.LRU, 0, 50);
+
+        final AtomicInteger calls = new AtomicInteger();
+        cache.get(1, k -> { calls.incrementAndGet(); return k; });
+        for(int ii=0; ii<4; ii++) {
+            Thread.sleep(20);
+            cache.get(1, k -> { calls.incrementAndGet(); return k; });
+        }
+        assertEquals(1, calls.get());
+
+        Thread.sleep(100);
+        cache.get(1, k -> { calls.incrementAndGet(); return k; });
+        assertEquals(2, calls.get());
+        assertEquals(1L, cache.getStats().expirations);
+    }
+
+    @Test
+    public void test_single_flight() throws Exception {
+        final MemoizeCache<Integer,Integer> cache = MemoizeCache.unbounded();
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for(int ii=0; ii<8; ii++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1, k -> {
+                                calls.incrementAndGet();
+                                sleep(100);
+                                return 42;
+                            });
+                }));
+            }
+
+            start.countDown();
+            for(Future<Integer> f : results) {
+                assertEquals(42, f.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_exception() {
+        final MemoizeCache<Integer,Integer> cache = MemoizeCache.unbounded();
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> cache.get(1, k -> { throw new IllegalStateException(); }));
+
+        // failed computations are not cached
+        assertEquals(1, cache.get(1, k -> k));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void test_recursive_same_key() {
+        final MemoizeCache<Integer,Integer> cache = MemoizeCache.unbounded();
+
+        assertEquals(2, cache.get(1, k -> cache.get(1, x -> x + 1)));
+    }
+
+    @Test
+    public void test_cyclic_keys_across_threads() throws Exception {
+        final MemoizeCache<Integer,Integer> cache = MemoizeCache.unbounded();
+        final CountDownLatch computing = new CountDownLatch(2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // 1 depends on 2 and 2 depends on 1, computed by two threads
+            final Future<Integer> f1 = executor.submit(() ->
+                cache.get(1, k -> { computing.countDown(); await(computing); return cache.get(2, x -> x); }));
+            final Future<Integer> f2 = executor.submit(() ->
+                cache.get(2, k -> { computing.countDown(); await(computing); return cache.get(1, x -> x); }));
+
+            int failed = 0;
+            for(Future<Integer> f : Arrays.asList(f1, f2)) {
+                try {
+                    f.get(10, TimeUnit.SECONDS);
+                }
+                catch(ExecutionException ex) {
+                    assertTrue(ex.getCause() instanceof VncException);
+                    failed++;
+                }
+            }
+            assertTrue(failed > 0);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_interrupt_waiting() throws Exception {
+        final MemoizeCache<Integer,Integer> cache = MemoizeCache.unbounded();
+        final CountDownLatch computing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        final Thread owner = new Thread(() ->
+            cache.get(1, k -> { computing.countDown(); await(release); return 42; }));
+        owner.start();
+        computing.await();
+
+        final Thread waiter = new Thread(() -> {
+            try {
+                cache.get(1, k -> k);
+            }
+            catch(Throwable ex) {
+                error.set(ex);
+            }
+        });
+        waiter.start();
+        sleep(100);
+        waiter.interrupt();
+        waiter.join(10_000);
+
+        assertTrue(error.get() instanceof com.github.jlangch.venice.InterruptedException);
+
+        release.countDown();
+        owner.join(10_000);
+        assertEquals(42, cache.get(1, k -> k));
+    }
+
+    @Test
+    public void test_clear() {
+        final MemoizeCache<Integer,Integer> cache = new MemoizeCache<>(10, Eviction.LRU, 0, 0);
+
+        cache.get(1, k -> k);
+        cache.get(2, k -> k);
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertTrue(cache.getStats().misses == 2L);
+    }
+
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch(InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch(InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -22,7 +22,12 @@
 package com.github.jlangch.venice.impl.util.csv;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.StringReader;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -88,4 +93,54 @@ public class CSVReaderTest {
         assertEquals("ZH", records.get(0).get(3));
     }
 
+    @Test
+    public void test_multiple_records() {
+        final List<List<String>> records = new CSVReader().parse("1,2\n3,4\r\n5,6\r7,8\n");
+
+        assertEquals(4, records.size());
+        assertEquals("1", records.get(0).get(0));
+        assertEquals("4", records.get(1).get(1));
+        assertEquals("5", records.get(2).get(0));
+        assertEquals("8", records.get(3).get(1));
+    }
+
+    @Test
+    public void test_empty_lines() {
+        assertEquals(0, new CSVReader().parse("").size());
+
+        final List<List<String>> records = new CSVReader().parse("1\n\n2");
+
+        assertEquals(3, records.size());
+        assertEquals(0, records.get(1).size());
+        assertEquals("2", records.get(2).get(0));
+    }
+
+    @Test
+    public void test_quoted_multiline() {
+        final List<List<String>> records =
+                new CSVReader().parse("1,\"line 1\nline 2\",3\n4,\"\"\"x\"\"\",\"\"");
+
+        assertEquals(2, records.size());
+        assertEquals(3, records.get(0).size());
+        assertEquals("line 1\nline 2", records.get(0).get(1));
+        assertEquals("3", records.get(0).get(2));
+        assertEquals("\"x\"", records.get(1).get(1));
+        assertEquals("", records.get(1).get(2));
+    }
+
+    @Test
+    public void test_unterminated_quote() {
+        assertThrows(RuntimeException.class, () -> new CSVReader().parse("1,\"abc"));
+    }
+
+    @Test
+    public void test_iterator() {
+        final Iterator<List<String>> iter = new CSVReader().iterator(new StringReader("1,2\n3,4"));
+
+        assertTrue(iter.hasNext());
+        assertEquals("2", iter.next().get(1));
+        assertTrue(iter.hasNext());
+        assertEquals("3", iter.next().get(0));
+        assertFalse(iter.hasNext());
+    }
 }
@@ -0,0 +1,215 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.dag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+
+public class DAG_builder_Test {
+
+    @Test
+    public void test_build() {
+        final DAG<String> dag =
+                new DagBuilder<String>()
+                        .addEdge("A", "B")      //     A  E
+                        .addEdge("B", "C")      //     |  |
+                        .addEdge("C", "D")      //     B  F
+                        .addEdge("E", "F")      //     | / \
+                        .addEdge("F", "C")      //     C   G
+                        .addEdge("F", "G")      //      \ /
+                        .addEdge("G", "D")      //       D
+                        .build();
+
+        assertEquals(7, dag.size());
+        assertEquals("A E", String.join(" ", dag.roots()));
+        assertEquals("E F G A B C D", String.join(" ", dag.topologicalSort()));
+    }
+
+    @Test
+    public void test_build_reverse_order() {
+        // every edge disagrees with the insertion order
+        final DagBuilder<String> builder = new DagBuilder<String>()
+                                                .addNodes(Arrays.asList("D", "C", "B", "A"))
+                                                .addEdge("C", "D")
+                                                .addEdge("B", "C")
+                                                .addEdge("A", "B");
+
+        assertThrows(DagCycleException.class, () -> builder.addEdge("D", "A"));
+        assertThrows(DagCycleException.class, () -> builder.addEdge("C", "B"));
+
+        // a rejected edge leaves the builder unchanged
+        assertFalse(builder.isEdge("D", "A"));
+        assertEquals("A B C D", String.join(" ", builder.build().topologicalSort()));
+    }
+
+    @Test
+    public void test_cycle_path() {
+        final DagBuilder<String> builder = new DagBuilder<String>()
+                                                .addEdge("A", "B")
+                                                .addEdge("B", "C");
+
+        final DagCycleException ex = assertThrows(
+                                        DagCycleException.class,
+                                        () -> builder.addEdge("C", "A"));
+
+        assertEquals("C -> A -> B -> C", ex.getMessage());
+
+        assertThrows(DagCycleException.class, () -> builder.addEdge("X", "X"));
+        assertFalse(builder.isNode("X"));
+    }
+
+    @Test
+    public void test_immutable() {
+        final DAG<String> dag1 = new DAG<String>().addEdge("A", "B");
+        final DAG<String> dag2 = dag1.addEdge("B", "C");
+
+        assertEquals(2, dag1.size());
+        assertEquals("B", String.join(" ", dag1.children("A")));
+        assertFalse(dag1.isNode("C"));
+
+        assertEquals(3, dag2.size());
+        assertEquals("B C", String.join(" ", dag2.children("A")));
+    }
+
+    @Test
+    public void test_to_builder() {
+        final DAG<String> dag = new DAG<String>()
+                                    .addEdge("A", "B")
+                                    .addNode("Z")
+                                    .toBuilder()
+                                    .addEdge("C", "A")
+                                    .build();
+
+        assertEquals("Z C", String.join(" ", dag.roots()));
+        assertEquals("A B", String.join(" ", dag.children("C")));
+        assertTrue(dag.isEdge("C", "A"));
+    }
+
+    @Test
+    public void test_large_bottom_up() {
+        // a layered graph, added bottom up
+        final DagBuilder<Integer> builder = new DagBuilder<>();
+        for(int layer=LAYERS-1; layer>0; layer--) {
+            addLayer(builder, layer);
+        }
+
+        assertTopologicalOrder(builder.build(), LAYERS);
+        assertThrows(DagCycleException.class, () -> builder.addEdge(LAYERS * WIDTH - 1, 0));
+    }
+
+    @Test
+    public void test_reorder() {
+        // the nodes are added in reverse order first, so the builder has
+        // to repair the order for every edge
+        final int layers = LAYERS / 4;
+
+        final DagBuilder<Integer> builder = new DagBuilder<>();
+        for(int ii=layers*WIDTH-1; ii>=0; ii--) {
+            builder.addNode(ii);
+        }
+        for(int layer=1; layer<layers; layer++) {
+            addLayer(builder, layer);
+        }
+
+        assertTopologicalOrder(builder.build(), layers);
+        assertThrows(DagCycleException.class, () -> builder.addEdge(layers * WIDTH - 1, 0));
+    }
+
+    @Test
+    public void test_batch() {
+        final List<Edge<Integer>> edges = new ArrayList<>();
+        for(int layer=LAYERS-1; layer>0; layer--) {
+            for(int ii=0; ii<WIDTH; ii++) {
+                final int child = layer * WIDTH + ii;
+                edges.add(new Edge<>((layer-1) * WIDTH + ii, child));
+                edges.add(new Edge<>((layer-1) * WIDTH + (ii + 1) % WIDTH, child));
+            }
+        }
+
+        final DagBuilder<Integer> builder = new DagBuilder<>();
+        for(int ii=LAYERS*WIDTH-1; ii>=0; ii--) {
+            builder.addNode(ii);
+        }
+        builder.addEdges(edges);
+
+        assertTopologicalOrder(builder.build(), LAYERS);
+    }
+
+    @Test
+    public void test_batch_cycle() {
+        final DagBuilder<String> builder = new DagBuilder<String>().addEdge("A", "B");
+
+        final DagCycleException ex = assertThrows(
+                DagCycleException.class,
+                () -> builder.addEdges(Arrays.asList(
+                                        new Edge<>("B", "C"),
+                                        new Edge<>("C", "D"),
+                                        new Edge<>("D", "B"))));
+
+        assertEquals("C -> D -> B -> C", ex.getMessage());
+
+        // the builder is left unchanged
+        assertEquals(2, builder.size());
+        assertFalse(builder.isNode("C"));
+        assertEquals("B E", String.join(" ", builder.addEdge("B", "E").build().children("A")));
+    }
+
+
+    private static void addLayer(final DagBuilder<Integer> builder, final int layer) {
+        for(int ii=0; ii<WIDTH; ii++) {
+            final int child = layer * WIDTH + ii;
+            builder.addEdge((layer-1) * WIDTH + ii, child);
+            builder.addEdge((layer-1) * WIDTH + (ii + 1) % WIDTH, child);
+        }
+    }
+
+    private static void assertTopologicalOrder(final DAG<Integer> dag, final int layers) {
+        assertEquals(layers * WIDTH, dag.size());
+        assertEquals(WIDTH, dag.roots().size());
+
+        final List<Integer> sorted = dag.topologicalSort();
+        final Map<Integer,Integer> pos = new HashMap<>();
+        for(int ii=0; ii<sorted.size(); ii++) {
+            pos.put(sorted.get(ii), ii);
+        }
+        for(Integer v : sorted) {
+            for(Integer c : dag.directChildren(v)) {
+                assertTrue(pos.get(v) < pos.get(c));
+            }
+        }
+    }
+
+
+    private static final int LAYERS = 100;
+    private static final int WIDTH = 50;
+}
@@ -0,0 +1,128 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.dag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+
+public class DAG_scheduler_Test {
+
+    @Test
+    public void test_execute() throws Exception {
+        final DAG<String> dag =
+                new DAG<String>()
+                        .addEdge("A", "B")      //       A
+                        .addEdge("A", "C")      //      / \
+                        .addEdge("B", "D")      //     B   C
+                        .addEdge("C", "D")      //      \ /
+                        .addNode("Z");          //       D    Z
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<String> done = Collections.synchronizedList(new ArrayList<>());
+
+            final Map<String,String> results =
+                    new DagScheduler<String,String>(dag, executor, 4)
+                            .execute(v -> { done.add(v); return v.toLowerCase(); });
+
+            assertEquals(5, results.size());
+            assertEquals("d", results.get("D"));
+
+            assertTrue(done.indexOf("A") < done.indexOf("B"));
+            assertTrue(done.indexOf("A") < done.indexOf("C"));
+            assertTrue(done.indexOf("B") < done.indexOf("D"));
+            assertTrue(done.indexOf("C") < done.indexOf("D"));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_parallelism() throws Exception {
+        final List<String> nodes = new ArrayList<>();
+        for(int ii=0; ii<20; ii++) {
+            nodes.add("N" + ii);
+        }
+        final DAG<String> dag = new DAG<String>().addNodes(nodes);
+
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+
+            new DagScheduler<String,String>(dag, executor, 3)
+                    .execute(v -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try { Thread.sleep(5); } catch(InterruptedException ex) { }
+                        running.decrementAndGet();
+                        return v;
+                    });
+
+            assertTrue(maxRunning.get() <= 3);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_failure() {
+        final DAG<String> dag =
+                new DAG<String>()
+                        .addEdge("A", "B")
+                        .addEdge("B", "C");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<String> done = Collections.synchronizedList(new ArrayList<>());
+
+            final ExecutionException ex = assertThrows(
+                    ExecutionException.class,
+                    () -> new DagScheduler<String,String>(dag, executor, 2)
+                                .execute(v -> {
+                                    if (v.equals("B")) throw new IllegalStateException("failed");
+                                    done.add(v);
+                                    return v;
+                                }));
+
+            assertEquals("failed", ex.getCause().getMessage());
+            assertEquals("A", String.join(" ", done));  // C is never started
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
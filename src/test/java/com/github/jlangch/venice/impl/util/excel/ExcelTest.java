@@ -23,8 +23,12 @@ package com.github.jlangch.venice.impl.util.excel;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -35,6 +39,8 @@ import org.junit.jupiter.api.Test;
 import com.github.jlangch.venice.support.Person;
 import com.github.jlangch.venice.util.excel.DataRecord;
 import com.github.jlangch.venice.util.excel.ExcelBuilder;
+import com.github.jlangch.venice.util.excel.ExcelStreamReader;
+import com.github.jlangch.venice.util.excel.ExcelStreamSheetReader;
 
 
 public class ExcelTest {
@@ -431,6 +437,77 @@ public class ExcelTest {
     }
 
 
+    @Test
+    public void test_Streaming() {
+        final List<Person> persons = new ArrayList<>();
+        for(int ii=0; ii<1000; ii++) {
+            persons.add(new Person("John", "Doe-" + ii, ii));
+        }
+
+        final byte[] data = ExcelBuilder
+                                .createXlsxStreaming(10)
+                                .withSheet("Persons", Person.class)
+                                    .trackColumnsForAutoSizing()
+                                    .withColumn("FirstName", Person::getFirstName)
+                                    .withColumn("LastName", Person::getLastName)
+                                    .withColumn("Age", Person::getAge)
+                                    .renderItems(persons)
+                                    .autoSizeColumns()
+                                    .end()
+                                .writeToBytes();
+
+        try (ExcelStreamReader reader = ExcelStreamReader.open(data)) {
+            assertEquals(Arrays.asList("Persons"), reader.getSheetNames());
+
+            final ExcelStreamSheetReader sheet = reader.getSheet("Persons");
+
+            assertTrue(sheet.next());
+            assertEquals(1, sheet.getRowNum());
+            assertEquals(Arrays.asList("FirstName", "LastName", "Age"), sheet.getValues());
+
+            int rows = 0;
+            while(sheet.next()) {
+                assertEquals(rows + 2, sheet.getRowNum());
+                assertEquals(
+                    Arrays.asList("John", "Doe-" + rows, (double)rows),
+                    sheet.getValues());
+                rows++;
+            }
+            assertEquals(1000, rows);
+            assertFalse(sheet.next());
+        }
+    }
+
+    @Test
+    public void test_StreamingReader_types() {
+        final Excel excel = Excel.createXlsx();
+        final ExcelSheet sheet = excel.createSheet("Data");
+        sheet.setString(0, 0, "a");
+        sheet.setBoolean(0, 1, true);
+        sheet.setFloat(0, 2, 1.5D);
+        sheet.setDate(0, 3, LocalDateTime.of(2021, 1, 1, 15, 30, 45));
+        sheet.setInteger(2, 1, 10L);
+        sheet.setFormula(2, 2, "B3*2");
+        excel.evaluateAllFormulas();
+
+        try (ExcelStreamReader reader = ExcelStreamReader.open(excel.writeToBytes())) {
+            final ExcelStreamSheetReader sheetReader = reader.getSheetAt(1);
+
+            assertTrue(sheetReader.next());
+            assertEquals(1, sheetReader.getRowNum());
+            assertEquals(
+                Arrays.asList("a", true, 1.5D, LocalDateTime.of(2021, 1, 1, 15, 30, 45)),
+                sheetReader.getValues());
+
+            assertTrue(sheetReader.next());
+            assertEquals(3, sheetReader.getRowNum());
+            assertEquals(Arrays.asList(null, 10.0D, 20.0D), sheetReader.getValues());
+
+            assertFalse(sheetReader.next());
+        }
+    }
+
+
     private List<Person> persons() {
         return Arrays.asList(
                 new Person("John", "Doe",   28),
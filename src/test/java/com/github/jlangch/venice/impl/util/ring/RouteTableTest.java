@@ -0,0 +1,107 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.ring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+
+public class RouteTableTest {
+
+    @Test
+    public void test_filter() {
+        assertTrue(matches("/", "/"));
+        assertFalse(matches("/", "/a"));
+
+        assertTrue(matches("/**", "/"));
+        assertTrue(matches("/**", "/a/b/c"));
+
+        assertTrue(matches("/x/**", "/x/"));
+        assertTrue(matches("/x/**", "/x/a/b/"));
+        assertFalse(matches("/x/**", "/x"));
+        assertFalse(matches("/x/**", "/a/b"));
+
+        assertFalse(matches("/x/**/z", "/x/z"));
+        assertTrue(matches("/x/**/z", "/x/a/z"));
+        assertTrue(matches("/x/**/z", "/x/a/b/c/z"));
+        assertFalse(matches("/x/**/z", "/x/a/b/c/y"));
+
+        assertFalse(matches("/*.png", "/"));
+        assertTrue(matches("/*.png", "/x.png"));
+        assertFalse(matches("/**/*.png", "/x.png"));
+        assertTrue(matches("/**/*.png", "/a/b/x.png"));
+        assertTrue(matches("/**/test/**/*.png", "/a/a/test/b/b/x.png"));
+
+        assertTrue(matches("/a/a{3}.png", "/a/a{3}.png"));
+        assertTrue(matches("/a/*.png", "/a/(x).png"));
+
+        // partial segment multi wildcard
+        assertTrue(matches("/a/b**", "/a/bcd/e"));
+        assertFalse(matches("/a/b**", "/a/x"));
+    }
+
+    @Test
+    public void test_params() {
+        assertTrue(matches("/a/b/:id/c", "/a/b/XYZ500_/c"));
+        assertFalse(matches("/a/b/:id/c", "/a/b/5-0/c"));
+        assertTrue(matches("/a/:id.json", "/a/5.json"));
+
+        final RouteTable rt = new RouteTable();
+        rt.add("get", "/users/:id/lists/:lid");
+        rt.add("get", "/files/:name.:ext");
+
+        assertEquals(
+            Arrays.asList("7", "x_1"),
+            rt.match("get", "/users/7/lists/x_1").getParamValues());
+        assertEquals(
+            Arrays.asList("a", "txt"),
+            rt.match("get", "/files/a.txt").getParamValues());
+    }
+
+    @Test
+    public void test_priority() {
+        final RouteTable rt = new RouteTable();
+        assertEquals(0, rt.add("get", "/**"));
+        assertEquals(1, rt.add("get", "/test/**"));
+        assertEquals(2, rt.add("post", "/test/**"));
+        assertEquals(3, rt.add("get", "/test/**"));
+
+        assertEquals(0, rt.match("get", "/a").getIndex());
+        assertEquals(3, rt.match("get", "/test/a").getIndex());  // last wins
+        assertEquals(2, rt.match("post", "/test/a").getIndex());
+        assertNull(rt.match("post", "/a"));
+        assertNull(rt.match("put", "/test/a"));
+    }
+
+
+    private static boolean matches(final String template, final String uri) {
+        final RouteTable rt = new RouteTable();
+        rt.add("get", template);
+        return rt.match("get", uri) != null;
+    }
+}
@@ -0,0 +1,150 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.impl.util.serialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jlangch.venice.VncException;
+import com.github.jlangch.venice.impl.reader.Reader;
+import com.github.jlangch.venice.impl.types.VncDouble;
+import com.github.jlangch.venice.impl.types.VncInteger;
+import com.github.jlangch.venice.impl.types.VncJavaObject;
+import com.github.jlangch.venice.impl.types.VncLong;
+import com.github.jlangch.venice.impl.types.VncSymbol;
+import com.github.jlangch.venice.impl.types.VncVal;
+import com.github.jlangch.venice.impl.types.collections.VncList;
+import com.github.jlangch.venice.impl.types.collections.VncSequence;
+import com.github.jlangch.venice.impl.types.collections.VncVector;
+import com.github.jlangch.venice.impl.util.MetaUtil;
+
+
+public class AstCodecTest {
+
+    @Test
+    public void test_forms() {
+        final VncVal form = Reader.read_str(
+                "(do                                                \n" +
+                "  (def x {:a 1, :b [1 2.5 3.0M 4N 5I \"s\" #{:x}]})  \n" +
+                "  (let [y '(nil true false #\\a)]                   \n" +
+                "    (str/join \"-\" [x y :core/k])))                  ",
+                "test.venice");
+
+        final VncVal decoded = roundTrip(form);
+
+        assertEquals(form, decoded);
+        assertEquals(form.toString(true), decoded.toString(true));
+    }
+
+    @Test
+    public void test_meta() {
+        final VncList form = (VncList)Reader.read_str("(do\n  (+ 1 x))", "test.venice");
+
+        final VncList decoded = (VncList)roundTrip(form);
+
+        assertEquals(form.getMeta(), decoded.getMeta());
+
+        final VncList add = (VncList)decoded.second();
+        assertEquals(form.second().getMeta(), add.getMeta());
+        assertEquals("test.venice", MetaUtil.getFile(add.getMeta()));
+        assertEquals(2, MetaUtil.getLine(add.getMeta()));
+
+        final VncSymbol x = (VncSymbol)add.third();
+        assertEquals(((VncList)form.second()).third().getMeta(), x.getMeta());
+    }
+
+    @Test
+    public void test_numbers() {
+        final VncVector vals = VncVector.of(
+                                new VncLong(Long.MIN_VALUE),
+                                new VncLong(Long.MAX_VALUE),
+                                new VncLong(-1L),
+                                new VncInteger(Integer.MIN_VALUE),
+                                new VncInteger(-300),
+                                new VncDouble(-0.5D),
+                                new VncDouble(Double.MAX_VALUE));
+
+        assertEquals(vals, roundTrip(vals));
+    }
+
+    @Test
+    public void test_pattern() {
+        final VncVal decoded = roundTrip(Reader.read_str("#\"[0-9]+\"", "test.venice"));
+
+        final Object pattern = ((VncJavaObject)decoded).getDelegate();
+        assertEquals("[0-9]+", ((Pattern)pattern).pattern());
+    }
+
+    @Test
+    public void test_shared_values() {
+        final VncList list = VncList.of(new VncSymbol("a"), new VncLong(1L));
+
+        final VncSequence decoded = (VncSequence)roundTrip(VncVector.of(list, list));
+
+        assertSame(decoded.first(), decoded.second());
+    }
+
+    @Test
+    public void test_string_table() {
+        final String name = "a-rather-long-symbol-name";
+        final VncVal[] syms = new VncVal[100];
+        for(int ii=0; ii<syms.length; ii++) {
+            syms[ii] = new VncSymbol(name);
+        }
+
+        final AstEncoder encoder = new AstEncoder();
+        encoder.writeValue(VncList.of(syms));
+
+        assertTrue(encoder.size() < 2 * syms.length + name.length() + 8);
+        assertEquals(VncList.of(syms), new AstDecoder(encoder.toByteArray()).readValue());
+    }
+
+    @Test
+    public void test_truncated() {
+        final AstEncoder encoder = new AstEncoder();
+        encoder.writeValue(Reader.read_str("(+ 1 2)", "test.venice"));
+
+        final byte[] data = encoder.toByteArray();
+
+        assertThrows(
+            VncException.class,
+            () -> new AstDecoder(Arrays.copyOf(data, data.length - 1)).readValue());
+    }
+
+
+    private static VncVal roundTrip(final VncVal val) {
+        final AstEncoder encoder = new AstEncoder();
+        encoder.writeValue(val);
+
+        final AstDecoder decoder = new AstDecoder(encoder.toByteArray());
+        final VncVal decoded = decoder.readValue();
+        assertTrue(decoder.isEOF());
+        return decoded;
+    }
+}
@@ -0,0 +1,194 @@
+/*   __    __         _
+ *   \ \  / /__ _ __ (_) ___ ___
+ *    \ \/ / _ \ '_ \| |/ __/ _ \
+ *     \  /  __/ | | | | (_|  __/
+ *      \/ \___|_| |_|_|\___\___|
+ *
+ *
+ * Copyright 2017-2022 Venice
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jlangch.venice.jsr223;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.junit.jupiter.api.Test;
+
+
+public class VeniceScriptEngineTest {
+
+    @Test
+    public void test_eval() throws Exception {
+        final ScriptEngine engine = new VeniceScriptEngineFactory().getScriptEngine();
+
+        assertEquals(3L, engine.eval("(+ 1 2)"));
+    }
+
+    @Test
+    public void test_eval_bindings() throws Exception {
+        final ScriptEngine engine = new VeniceScriptEngineFactory().getScriptEngine();
+
+        final Bindings bindings = engine.createBindings();
+        bindings.put("x", 10L);
+        bindings.put("y", 20L);
+
+        assertEquals(30L, engine.eval("(+ x y)", bindings));
+
+        engine.put("x", 5L);
+        engine.put("y", 6L);
+        assertEquals(11L, engine.eval("(+ x y)"));
+    }
+
+    @Test
+    public void test_eval_error() {
+        final ScriptEngine engine = new VeniceScriptEngineFactory().getScriptEngine();
+
+        assertThrows(ScriptException.class, () -> engine.eval("(+ 1 undefined-symbol)"));
+    }
+
+    @Test
+    public void test_compile() throws Exception {
+        final VeniceScriptEngine engine = new VeniceScriptEngine();
+
+        final CompiledScript script = engine.compile("(* x 2)");
+
+        for(long ii=0; ii<10; ii++) {
+            final Bindings bindings = engine.createBindings();
+            bindings.put("x", ii);
+            assertEquals(ii * 2, script.eval(bindings));
+        }
+
+        // compiled scripts are cached
+        final VeniceCompiledScript s1 = (VeniceCompiledScript)engine.compile("(* x 2)");
+        final VeniceCompiledScript s2 = (VeniceCompiledScript)engine.compile("(* x 2)");
+        assertSame(s1.getPreCompiled(), s2.getPreCompiled());
+    }
+
+    @Test
+    public void test_compile_cache_size() throws Exception {
+        final VeniceScriptEngine engine = new VeniceScriptEngine();
+        engine.setCompiledScriptCacheSize(1);
+
+        final VeniceCompiledScript s1 = (VeniceCompiledScript)engine.compile("(+ 1 1)");
+        engine.compile("(+ 2 2)");  // evicts (+ 1 1)
+        final VeniceCompiledScript s2 = (VeniceCompiledScript)engine.compile("(+ 1 1)");
+
+        assertEquals(2L, s2.eval());
+        assertEquals(false, s1.getPreCompiled() == s2.getPreCompiled());
+    }
+
+    @Test
+    public void test_invoke_function() throws Exception {
+        final VeniceScriptEngine engine = new VeniceScriptEngine();
+
+        assertEquals(6L, engine.invokeFunction("+", 1L, 2L, 3L));
+        assertEquals("a-b", engine.invokeFunction("str/join", "-", Arrays.asList("a", "b")));
+
+        assertThrows(NoSuchMethodException.class, () -> engine.invokeFunction("(foo)"));
+        assertThrows(NoSuchMethodException.class, () -> engine.invokeFunction("no-such-fn", 1L));
+    }
+
+    @Test
+    public void test_invoke_function_defined_by_eval() throws Exception {
+        final VeniceScriptEngine engine = new VeniceScriptEngine();
+
+        engine.eval("(defn add [x y] (+ x y))");
+        engine.eval("(def offset 100)");
+
+        assertEquals(3L, engine.invokeFunction("add", 1L, 2L));
+        assertEquals(103L, engine.eval("(add offset 3)"));
+
+        // the invocation args are not retained
+        assertEquals(false, engine.eval("(bound? '__arg0)"));
+
+        engine.reset();
+        assertThrows(NoSuchMethodException.class, () -> engine.invokeFunction("add", 1L, 2L));
+    }
+
+    @Test
+    public void test_eval_bindings_not_retained() throws Exception {
+        final VeniceScriptEngine engine = new VeniceScriptEngine();
+
+        engine.put("x", 5L);
+        engine.eval("(def y (* x 2))");
+        assertEquals(10L, engine.eval("y"));
+
+        // a removed binding is not visible to the next evaluation
+        engine.getBindings(ScriptContext.ENGINE_SCOPE).remove("x");
+        assertEquals(false, engine.eval("(bound? 'x)"));
+        assertEquals(10L, engine.eval("y"));
+    }
+
+    @Test
+    public void test_get_interface() throws Exception {
+        final VeniceScriptEngine engine = new VeniceScriptEngine();
+
+        assertNull(engine.getInterface(Calculator.class));
+
+        engine.eval("(do (defn add [x y] (+ x y)) (defn scale [x] (* x 1.5)))");
+
+        final Calculator calc = engine.getInterface(Calculator.class);
+        assertNotNull(calc);
+        assertEquals(3, calc.add(1, 2));
+        assertEquals(3.0D, calc.scale(2.0D));
+    }
+
+    @Test
+    public void test_invoke_method() throws Exception {
+        final VeniceScriptEngine engine = new VeniceScriptEngine();
+
+        assertEquals("HELLO", engine.invokeMethod("hello", "toUpperCase"));
+        assertEquals(5L, ((Number)engine.invokeMethod("hello", "length")).longValue());
+    }
+
+    @Test
+    public void test_context_writer() throws Exception {
+        final ScriptEngine engine = new VeniceScriptEngine();
+
+        final StringWriter out = new StringWriter();
+        engine.getContext().setWriter(out);
+
+        engine.eval("(print \"hello\")");
+
+        assertEquals("hello", out.toString());
+    }
+
+    @Test
+    public void test_script_engine_manager() throws Exception {
+        final ScriptEngine engine = new ScriptEngineManager().getEngineByName("venice");
+
+        assertNotNull(engine);
+        assertEquals(3L, engine.eval("(+ 1 2)"));
+    }
+
+
+    public static interface Calculator {
+        int add(int x, int y);
+        double scale(double x);
+    }
+}
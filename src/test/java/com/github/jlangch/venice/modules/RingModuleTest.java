@@ -21,6 +21,7 @@
  */
 package com.github.jlangch.venice.modules;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -125,6 +126,44 @@ public class RingModuleTest {
         assertTrue(test_params("/a/b/:something_00/c", "/a/b/XYZ500_/c"));
     }
 
+    @Test
+    public void test_match_routes() {
+        final Venice venice = new Venice();
+
+        final String script =
+                "(do                                                                \n" +
+                "   (load-module :ring)                                             \n" +
+                "   (defn handler [id]                                              \n" +
+                "     (fn [req] [id (into (sorted-map) (:parameters req))]))        \n" +
+                "   (def app (ring/match-routes                                     \n" +
+                "              [[:get  \"/**\"                   (handler 1)]          \n" +
+                "               [:get  \"/test/**\"              (handler 2)]          \n" +
+                "               [:get  \"/static/**/*.png\"      (handler 3)]          \n" +
+                "               [:get  \"/users/:id/lists/:lid\" (handler 4)]          \n" +
+                "               [:post \"/users/:id\"            (handler 5)]          \n" +
+                "               [:get  \"/test/**\"              (handler 6)]]))       \n" +
+                "   (pr-str                                                         \n" +
+                "     (map #(let [res (app {:request-method (first %)                \n" +
+                "                          :uri (second %)                          \n" +
+                "                          :parameters {}})]                        \n" +
+                "             (if (map? res) (:status res) res))                    \n" +
+                "          [[:get \"/\"]                                              \n" +
+                "           [:get \"/test/a/b\"]                                      \n" +
+                "           [:get \"/static/img/a.png\"]                              \n" +
+                "           [:get \"/users/10/lists/a_1\"]                            \n" +
+                "           [:post \"/users/20\"]                                     \n" +
+                "           [:put \"/users/20\"]])))                                    ";
+
+        assertEquals(
+            "([1 {}] " +
+            "[6 {}] " +
+            "[3 {}] " +
+            "[4 {:id \"10\" :lid \"a_1\"}] " +
+            "[5 {:id \"20\"}] " +
+            "404)",
+            venice.eval(script));
+    }
+
     private static boolean test_filter(
             final String filter,
             final String uri
@@ -114,6 +114,15 @@ public class Sandbox_VeniceFunction_Test {
         });
     }
 
+    @Test
+    public void test_RejectAllInterceptor_dag_execute() {
+        assertThrows(SecurityException.class, () -> {
+            // RejectAllInterceptor -> dag/execute is blacklisted (runs tasks on threads)
+            new Venice(new RejectAllInterceptor()).eval(
+                    "(dag/execute (dag/dag [\"A\" \"B\"]) (fn [n] n))");
+        });
+    }
+
 
 
     // ------------------------------------------------------------------------